@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# Copyright (c) 2015, salesforce.com, inc.
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without modification, are permitted provided
+# that the following conditions are met:
+#
+#    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+#    following disclaimer.
+#
+#    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+#    the following disclaimer in the documentation and/or other materials provided with the distribution.
+#
+#    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+#    promote products derived from this software without specific prior written permission.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+# WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+# PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+# ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+# TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+# HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+# NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+# POSSIBILITY OF SUCH DAMAGE.
+
+# Creates an AppCDS (application class data sharing) archive for the CLI, which reduces JVM startup time by skipping most of the
+# class loading and verification work. Requires JDK 13+.
+#
+# The archive can only be used with classes loaded from jars, so the compiled classes are first packaged into target/appcds.
+# script/omakase.sh uses the archive (and these jars) automatically, until the classes are recompiled. Run this script again
+# after rebuilding.
+
+DIR=target/appcds
+CLASSPATH="target/dependency/*:$DIR/omakase.jar:$DIR/omakase-tools.jar"
+
+if [ ! -d "target/dependency" ]; then
+  echo "Building and copying maven dependencies..."
+  mvn clean install dependency:copy-dependencies -DskipTests
+  echo ""
+fi
+
+mkdir -p $DIR
+rm -f $DIR/*
+jar cf $DIR/omakase.jar -C target/classes . || exit 1
+jar cf $DIR/omakase-tools.jar -C target/test-classes . || exit 1
+
+echo "Running training workload..."
+java -XX:ArchiveClassesAtExit=$DIR/omakase.jsa -cp "$CLASSPATH" com.salesforce.omakase.tools.StartupTraining || exit 1
+
+echo ""
+echo "Archive written to $DIR/omakase.jsa. Compare startup times with: script/omakase.sh -t"
@@ -31,4 +31,12 @@ if [ ! -d "target/dependency" ]; then
 fi
 
 
-java -Xms512m -Xmx4G -cp target/dependency/*:target/classes:target/test-classes com.salesforce.omakase.tools.Run "$@"
+CLASSPATH="target/dependency/*:target/classes:target/test-classes"
+
+# use the AppCDS archive created by script/appcds.sh, unless the classes have been recompiled since
+if [ -f "target/appcds/omakase.jsa" ] && [ -z "$(find target/classes target/test-classes -newer target/appcds/omakase.jsa)" ]; then
+  CLASSPATH="target/dependency/*:target/appcds/omakase.jar:target/appcds/omakase-tools.jar"
+  CDS="-XX:SharedArchiveFile=target/appcds/omakase.jsa"
+fi
+
+java -Xms512m -Xmx4G $CDS -cp "$CLASSPATH" com.salesforce.omakase.tools.Run "$@"
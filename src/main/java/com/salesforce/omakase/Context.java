@@ -39,6 +39,7 @@ import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.MutableClassToInstanceMap;
 import com.salesforce.omakase.ast.Status;
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.broadcast.BroadcasterPool;
 import com.salesforce.omakase.broadcast.EmittingBroadcaster;
 import com.salesforce.omakase.broadcast.VisitingBroadcaster;
 import com.salesforce.omakase.broadcast.emitter.SubscriptionPhase;
@@ -86,6 +87,12 @@ final class Context implements PluginRegistry {
     /** parser factory determines which parsers to use */
     private ParserFactory parserFactory;
 
+    /** created before the first parse and reused for subsequent ones, along with its pool of broadcasters */
+    private Grammar grammar;
+
+    /** whether a source has been parsed with this context before (e.g., in a session) */
+    private boolean parsed;
+
     @Override
     public void register(Iterable<? extends Plugin> plugins) {
         for (Plugin plugin : plugins) {
@@ -109,6 +116,7 @@ final class Context implements PluginRegistry {
                 throw new IllegalStateException(Message.fmt(UNIQUE_PLUGIN, GrammarPlugin.class));
             }
             tokenFactory = checkNotNull(((GrammarPlugin)plugin).getTokenFactory(), "tokenFactory cannot be null");
+            grammar = null;
         }
 
         // handle parser plugins
@@ -117,6 +125,7 @@ final class Context implements PluginRegistry {
                 throw new IllegalStateException(Message.fmt(UNIQUE_PLUGIN, ParserPlugin.class));
             }
             parserFactory = checkNotNull(((ParserPlugin)plugin).getParserFactory(), "parserFactory cannot be null");
+            grammar = null;
         }
 
         // handle plugin dependencies
@@ -182,9 +191,18 @@ final class Context implements PluginRegistry {
     protected Grammar beforeParsing(ErrorManager em) {
         checkNotNull(em, "An error manager must be given to the context");
 
-        Grammar grammar = new Grammar(
-            tokenFactory != null ? tokenFactory : StandardTokenFactory.instance(),
-            parserFactory != null ? parserFactory : StandardParserFactory.instance());
+        if (grammar == null) {
+            grammar = new Grammar(
+                tokenFactory != null ? tokenFactory : StandardTokenFactory.instance(),
+                parserFactory != null ? parserFactory : StandardParserFactory.instance(),
+                new BroadcasterPool());
+        }
+
+        if (parsed) {
+            // forget the previous stylesheet
+            visitor.reset();
+        }
+        parsed = true;
 
         emittingBroadcaster.root(broadcaster);
         emittingBroadcaster.grammar(grammar);
@@ -29,9 +29,11 @@ package com.salesforce.omakase;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.Lists;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.emitter.SubscriptionException;
 import com.salesforce.omakase.error.DefaultErrorManager;
+import com.salesforce.omakase.error.ErrorLimitException;
 import com.salesforce.omakase.error.ErrorManager;
 import com.salesforce.omakase.error.ProblemSummaryException;
 import com.salesforce.omakase.parser.Grammar;
@@ -77,6 +79,7 @@ import com.salesforce.omakase.plugin.Plugin;
  *
  * @author nmcwilliams
  * @see Omakase.Request
+ * @see Omakase.Session
  */
 public final class Omakase {
     /** do not construct */
@@ -100,6 +103,46 @@ public final class Omakase {
         return new Request(source);
     }
 
+    /**
+     * Starts a {@link Session} for processing many sources with the same plugins.
+     * <p>
+     * Each call to {@link Session#process(CharSequence)} is like a separate {@link #source(CharSequence)} request, except that
+     * the plugins, the subscriptions to them and the parsing infrastructure are set up only once and then reused.
+     *
+     * @return The new session (see {@link Session}).
+     */
+    public static Omakase.Session session() {
+        return new Session();
+    }
+
+    /** processes the source with the compact AST mode of the {@link Request} or {@link Session} */
+    private static PluginRegistry process(Context context, Source source, ErrorManager em, boolean compactAst) {
+        return SyntaxCollections.withCompactAst(compactAst, () -> process(context, source, em));
+    }
+
+    /** parses the source with the context and the error manager, the common logic of {@link Request} and {@link Session} */
+    private static PluginRegistry process(Context context, Source source, ErrorManager em) {
+        try {
+            try {
+                Grammar grammar = context.beforeParsing(em);
+                grammar.parser().stylesheetParser().parse(source, grammar, context.broadcaster());
+                context.afterParsing();
+            } catch (ParserException e) {
+                em.report(e);
+            } catch (SubscriptionException e) {
+                em.report(e);
+            }
+        } catch (ErrorLimitException e) {
+            // the error manager has seen enough (possibly when reporting the above), it has the errors to summarize
+        }
+
+        if (em.autoSummarize() && em.hasErrors()) {
+            throw new ProblemSummaryException(em.summarize());
+        }
+
+        return context;
+    }
+
     /**
      * Represents a CSS parsing operation.
      * <p>
@@ -114,6 +157,7 @@ public final class Omakase {
         private final Source source;
 
         private ErrorManager em;
+        private boolean compactAst;
 
         Request(CharSequence source) {
             this.context = new Context();
@@ -172,6 +216,21 @@ public final class Omakase {
             return this;
         }
 
+        /**
+         * Specifies whether the small leaf collections of the syntax tree (the parts of each selector and the members of each
+         * property value) should be compact, array-backed collections (default false). This reduces the memory used by large
+         * syntax trees that are held onto after processing. See {@link SyntaxCollections}.
+         *
+         * @param enabled
+         *     True to create compact collections.
+         *
+         * @return this, for chaining.
+         */
+        public Request compactAst(boolean enabled) {
+            this.compactAst = enabled;
+            return this;
+        }
+
         /**
          * Processes the CSS source code, invoking registered plugins as applicable.
          * <p>
@@ -187,21 +246,105 @@ public final class Omakase {
             if (this.em == null) {
                 this.em = new DefaultErrorManager();
             }
-            try {
-                Grammar grammar = context.beforeParsing(this.em);
-                grammar.parser().stylesheetParser().parse(source, grammar, context.broadcaster());
-                context.afterParsing();
-            } catch (ParserException e) {
-                em.report(e);
-            } catch (SubscriptionException e) {
-                em.report(e);
-            }
+            return Omakase.process(context, source, em, compactAst);
+        }
+    }
 
-            if (em.autoSummarize() && em.hasErrors()) {
-                throw new ProblemSummaryException(em.summarize());
-            }
+    /**
+     * Processes a series of CSS sources using the same plugins.
+     * <p>
+     * This is for when many stylesheets are processed in the same way, e.g., by a server compiling stylesheets on each request.
+     * The plugins are registered once, and the subscriptions to them, the grammar and the parsers' broadcasters are created for
+     * the first source and then reused for each one after. Example:
+     * <pre><code>
+     *     StyleWriter writer = StyleWriter.compressed();
+     *     Omakase.Session session = Omakase.session().use(new StandardValidation()).use(writer);
+     *
+     *     for (String input : inputs) {
+     *         session.process(input);
+     *         output(writer.write());
+     *     }
+     * </code></pre>
+     * The same plugin instances are used for every source, so plugins that hold information from processing (e.g., {@link
+     * SyntaxTree} or {@link StyleWriter}) only have the information for the most recent source. Retrieve what you need from
+     * them before processing the next source. Custom plugins used in a session should not carry state from one source to the
+     * next.
+     * <p>
+     * A session is not thread-safe. Use a separate session for each thread.
+     */
+    public static final class Session {
+        private final Context context = new Context();
+        private boolean compactAst;
+
+        Session() {}
+
+        /**
+         * Registers a plugin to process or utilize each parsed source.
+         *
+         * @param plugins
+         *     The plugin(s) to add.
+         *
+         * @return this, for chaining.
+         */
+        public Session use(Plugin... plugins) {
+            return use(Lists.newArrayList(plugins));
+        }
+
+        /**
+         * Registers a plugin to process or utilize each parsed source.
+         *
+         * @param plugins
+         *     The plugins to add.
+         *
+         * @return this, for chaining.
+         */
+        public Session use(Iterable<? extends Plugin> plugins) {
+            context.register(plugins);
+            return this;
+        }
+
+        /**
+         * Specifies whether the small leaf collections of the syntax tree (the parts of each selector and the members of each
+         * property value) should be compact, array-backed collections (default false). This reduces the memory used by large
+         * syntax trees that are held onto after processing. See {@link SyntaxCollections}.
+         *
+         * @param enabled
+         *     True to create compact collections.
+         *
+         * @return this, for chaining.
+         */
+        public Session compactAst(boolean enabled) {
+            this.compactAst = enabled;
+            return this;
+        }
+
+        /**
+         * Processes the CSS source code with a new {@link DefaultErrorManager}, invoking registered plugins as applicable.
+         *
+         * @param source
+         *     The CSS source code.
+         *
+         * @return The {@link PluginRegistry} containing all registered plugins.
+         */
+        public PluginRegistry process(CharSequence source) {
+            return process(source, new DefaultErrorManager());
+        }
 
-            return context;
+        /**
+         * Processes the CSS source code, invoking registered plugins as applicable.
+         *
+         * @param source
+         *     The CSS source code.
+         * @param em
+         *     The error manager for this source. Error managers collect the errors of one source, so usually this should be a
+         *     new instance for each call.
+         *
+         * @return The {@link PluginRegistry} containing all registered plugins.
+         */
+        public PluginRegistry process(CharSequence source, ErrorManager em) {
+            checkNotNull(source, "source cannot be null");
+            checkNotNull(em, "the error manager cannot be null");
+            return Omakase.process(context, new Source(source.toString()), em, compactAst);
         }
     }
 }
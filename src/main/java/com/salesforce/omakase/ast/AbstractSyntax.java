@@ -47,13 +47,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public abstract class AbstractSyntax implements Syntax {
     private static final AtomicInteger sequence = new AtomicInteger();
+    private static final long COMPUTED = 1L << 63; // see #annotationMask
     private final int id = sequence.incrementAndGet();
 
     private final int line;
     private final int column;
 
-    private List<Comment> comments;
-    private List<Comment> orphanedComments;
+    // immutable, so that copies can share them. Adding a comment replaces the list (comments are rarely added after parsing)
+    private ImmutableList<Comment> comments;
+    private ImmutableList<Comment> orphanedComments;
+
+    // a bit for each annotation name within the comments (see #annotationBit), so that most lookups don't check the comments.
+    // The top bit marks the mask as computed, keeping the whole state in one field for concurrent readers (e.g., frozen sheets)
+    private volatile long annotationMask;
 
     private Status status = Status.PARSED;
 
@@ -135,79 +141,75 @@ public abstract class AbstractSyntax implements Syntax {
     @Override
     public Syntax comment(Comment comment) {
         checkNotNull(comment, "comment cannot be null");
-        getOrCreateComments(4).add(comment);
+        addComments(ImmutableList.of(comment));
         return this;
     }
 
     @Override
     public Syntax comments(Collection<String> comments) {
         if (comments == null || comments.isEmpty()) return this;
+        addComments(toComments(comments));
+        return this;
+    }
 
-        getOrCreateComments(comments.size());
-
-        for (String comment : comments) {
-            this.comments.add(new Comment(comment));
-        }
-
+    @Override
+    public Syntax commentUnits(List<Comment> comments) {
+        if (comments == null || comments.isEmpty()) return this;
+        addComments(ImmutableList.copyOf(comments));
         return this;
     }
 
     @Override
     public Syntax comments(Syntax copyFrom) {
-        ImmutableList<Comment> toCopy = copyFrom.comments();
-        if (toCopy.isEmpty()) return this;
-
-        getOrCreateComments(toCopy.size()).addAll(toCopy);
+        addComments(copyFrom.comments());
         return this;
     }
 
     @Override
     public ImmutableList<Comment> comments() {
-        return comments == null ? ImmutableList.of() : ImmutableList.copyOf(comments);
+        return comments == null ? ImmutableList.of() : comments;
     }
 
     @Override
     public Syntax orphanedComments(Collection<String> comments) {
         if (comments == null || comments.isEmpty()) return this;
+        orphanedComments = append(orphanedComments, toComments(comments));
+        return this;
+    }
 
-        getOrCreateOrphanedComments(comments.size());
-
-        for (String comment : comments) {
-            this.orphanedComments.add(new Comment(comment));
-        }
-
+    @Override
+    public Syntax orphanedCommentUnits(List<Comment> comments) {
+        if (comments == null || comments.isEmpty()) return this;
+        orphanedComments = append(orphanedComments, ImmutableList.copyOf(comments));
         return this;
     }
 
     @Override
     public Syntax orphanedComments(Syntax copyFrom) {
-        ImmutableList<Comment> toCopy = copyFrom.orphanedComments();
-        if (toCopy.isEmpty()) return this;
-
-        getOrCreateOrphanedComments(toCopy.size()).addAll(toCopy);
+        orphanedComments = append(orphanedComments, copyFrom.orphanedComments());
         return this;
     }
 
     @Override
     public ImmutableList<Comment> orphanedComments() {
-        return orphanedComments == null ? ImmutableList.of() : ImmutableList.copyOf(orphanedComments);
+        return orphanedComments == null ? ImmutableList.of() : orphanedComments;
     }
 
     @Override
     public boolean hasAnnotation(String name) {
-        if (comments == null) return false;
+        if ((annotationMask() & annotationBit(name)) == 0) return false;
         return comments.stream().anyMatch(c -> c.hasAnnotation(name));
     }
 
     @Override
     public boolean hasAnnotation(CssAnnotation annotation) {
-        if (comments == null) return false;
+        if ((annotationMask() & annotationBit(annotation.name())) == 0) return false;
         return comments.stream().anyMatch(c -> c.hasAnnotation(annotation));
     }
 
     @Override
     public Optional<CssAnnotation> annotation(String name) {
-        if (comments == null) return Optional.empty();
+        if ((annotationMask() & annotationBit(name)) == 0) return Optional.empty();
 
         for (Comment comment : comments) {
             Optional<CssAnnotation> annotation = comment.annotation(name);
@@ -218,7 +220,7 @@ public abstract class AbstractSyntax implements Syntax {
 
     @Override
     public List<CssAnnotation> annotations() {
-        if (comments == null) return new ArrayList<>();
+        if (annotationMask() == 0) return new ArrayList<>();
 
         return comments.stream()
             .map(Comment::annotation)
@@ -229,7 +231,7 @@ public abstract class AbstractSyntax implements Syntax {
 
     @Override
     public void annotate(CssAnnotation annotation) {
-        getOrCreateComments(4).add(annotation.toComment(true));
+        addComments(ImmutableList.of(annotation.toComment(true)));
     }
 
     @Override
@@ -308,27 +310,63 @@ public abstract class AbstractSyntax implements Syntax {
         return As.simpleString(this, includeUnitType);
     }
 
+    /** adds the comments, after which the annotation mask has to be computed again */
+    private void addComments(ImmutableList<Comment> added) {
+        comments = append(comments, added);
+        annotationMask = 0;
+    }
+
     /**
-     * utility to ensure the comments list is created before using it
-     *
-     * @param initialSize
-     *     The initial array size.
-     * @return The comment list.
+     * Gets the mask of annotation names within the comments, computing it on the first query after comments were added. This
+     * way parsing doesn't check each comment for an annotation (which would need the comment's content).
      */
-    private List<Comment> getOrCreateComments(int initialSize) {
-        if (comments == null) comments = new ArrayList<>(initialSize);
-        return comments;
+    private long annotationMask() {
+        long mask = annotationMask;
+        if (mask == 0) {
+            mask = COMPUTED;
+            ImmutableList<Comment> current = comments;
+            if (current != null) {
+                for (Comment comment : current) {
+                    Optional<CssAnnotation> annotation = comment.annotation();
+                    if (annotation.isPresent()) {
+                        mask |= annotationBit(annotation.get().name());
+                    }
+                }
+            }
+            annotationMask = mask;
+        }
+        return mask & ~COMPUTED;
     }
 
     /**
-     * utility to ensure the orphaned comments list is created before using it
+     * Gets the bit for the annotation name in {@link #annotationMask()}. More than one name can share a bit, so a set bit only
+     * means that the comments must be checked, while an unset bit means the annotation definitely isn't present.
+     */
+    private static long annotationBit(String name) {
+        return 1L << ((name.hashCode() & 0x7fffffff) % 63);
+    }
+
+    /**
+     * utility to add comments to a list. When the list is empty the added list is shared as is (e.g., from the original unit when
+     * copying), otherwise a new list is created.
      *
-     * @param initialSize
-     *     The initial array size.
-     * @return The comment list.
+     * @param list
+     *     The current list, or null if there is none.
+     * @param added
+     *     The comments to add.
+     * @return The list to use.
      */
-    private List<Comment> getOrCreateOrphanedComments(int initialSize) {
-        if (orphanedComments == null) orphanedComments = new ArrayList<>(initialSize);
-        return orphanedComments;
+    private static ImmutableList<Comment> append(ImmutableList<Comment> list, ImmutableList<Comment> added) {
+        if (added.isEmpty()) return list;
+        if (list == null || list.isEmpty()) return added;
+        return ImmutableList.<Comment>builder().addAll(list).addAll(added).build();
+    }
+
+    private static ImmutableList<Comment> toComments(Collection<String> comments) {
+        ImmutableList.Builder<Comment> builder = ImmutableList.builder();
+        for (String comment : comments) {
+            builder.add(new Comment(comment));
+        }
+        return builder.build();
     }
 }
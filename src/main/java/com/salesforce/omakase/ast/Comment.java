@@ -32,20 +32,35 @@ import com.salesforce.omakase.writer.StyleWriter;
 import com.salesforce.omakase.writer.Writable;
 
 import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
 /**
  * Represents a CSS comment.
  * <p>
  * By default, comments are not written out. You can control this behavior with {@link StyleWriter#writeAllComments(boolean)}.
+ * <p>
+ * Comments found by the parser only record where their content is within the source. The content string isn't created until
+ * {@link #content()} is called, and checking for a {@link CssAnnotation} or writing out the comment doesn't need it at all,
+ * except for the annotation itself.
+ * <p>
+ * The trade-off is that such comments keep a reference to the characters of the whole source, so the source can't be garbage
+ * collected while any of its comments are still reachable, e.g., from a syntax tree that is kept around after parsing (including
+ * copies of its units, which share the same comments). For the usual case of parsing, processing and writing out a stylesheet
+ * this costs nothing, as the source is reachable for that whole time anyway.
  */
 
 public final class Comment implements Writable {
-    private final String content;
+    private final char[] chars;
+    private final int offset;
+    private final int length;
+    private String content;
 
-    private boolean checked;
+    // comments are shared between copies, so this may be checked from more than one thread at a time
+    private volatile boolean checked;
     private CssAnnotation annotation;
 
     /**
@@ -56,6 +71,27 @@ public final class Comment implements Writable {
      */
     public Comment(String content) {
         this.content = content;
+        this.chars = null;
+        this.offset = 0;
+        this.length = content.length();
+    }
+
+    /**
+     * Creates a new {@link Comment} with the given range of characters as the content. The characters are not copied until the
+     * content is requested.
+     *
+     * @param chars
+     *     The characters of the source. These must not be modified afterwards.
+     * @param offset
+     *     Index of the first character of the content.
+     * @param length
+     *     Number of characters in the content.
+     */
+    public Comment(char[] chars, int offset, int length) {
+        checkPositionIndexes(offset, offset + length, chars.length);
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
     }
 
     /**
@@ -67,6 +103,9 @@ public final class Comment implements Writable {
     public Comment(CssAnnotation annotation) {
         this.annotation = checkNotNull(annotation, "annotation cannot be null");
         this.content = annotation.toString();
+        this.chars = null;
+        this.offset = 0;
+        this.length = content.length();
         this.checked = true;
     }
 
@@ -76,7 +115,13 @@ public final class Comment implements Writable {
      * @return The content.
      */
     public String content() {
-        return content;
+        // racing threads may both create the string, but they are equal so it doesn't matter which one is kept
+        String result = content;
+        if (result == null) {
+            result = new String(chars, offset, length);
+            content = result;
+        }
+        return result;
     }
 
     /**
@@ -153,7 +198,7 @@ public final class Comment implements Writable {
      * @return True if the comment starts with '!'.
      */
     public boolean startsWithBang() {
-        return !content.isEmpty() && content.charAt(0) == '!';
+        return length > 0 && charAt(0) == '!';
     }
 
     @Override
@@ -163,9 +208,17 @@ public final class Comment implements Writable {
 
     @Override
     public void write(StyleWriter writer, StyleAppendable appendable) throws IOException {
-        appendable.append("/*").append(content).append("*/");
+        appendable.append("/*");
+        String result = content;
+        if (result != null) {
+            appendable.append(result);
+        } else {
+            appendable.append(CharBuffer.wrap(chars, offset, length));
+        }
+        appendable.append("*/");
+
         // if content contains new line then add a line break after it
-        appendable.newlineIf(writer.isVerbose() && content.contains("\n"));
+        appendable.newlineIf(writer.isVerbose() && hasNewline());
     }
 
     @Override
@@ -178,9 +231,18 @@ public final class Comment implements Writable {
      */
     private void checkForAnnotation() {
         if (checked) return;
-        checked = true;
 
-        String toCheck = content;
+        // skip the bang and leading whitespace to see if there's an annotation, without creating the content string
+        int start = startsWithBang() ? 1 : 0;
+        while (start < length && charAt(start) <= ' ') {
+            start++;
+        }
+        if (start == length || charAt(start) != '@') {
+            checked = true;
+            return;
+        }
+
+        String toCheck = content();
         if (startsWithBang()) {
             toCheck = toCheck.substring(1);
         }
@@ -192,5 +254,18 @@ public final class Comment implements Writable {
             String args = split.length > 1 ? split[1] : null;
             annotation = new CssAnnotation(name, args);
         }
+        checked = true;
+    }
+
+    private char charAt(int index) {
+        String result = content;
+        return result != null ? result.charAt(index) : chars[offset + index];
+    }
+
+    private boolean hasNewline() {
+        for (int i = 0; i < length; i++) {
+            if (charAt(i) == '\n') return true;
+        }
+        return false;
     }
 }
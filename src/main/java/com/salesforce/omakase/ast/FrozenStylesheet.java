@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast;
+
+import java.io.IOException;
+
+import com.google.common.io.CharStreams;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * An immutable, thread-safe form of a processed {@link Stylesheet}, obtained from {@link Stylesheet#freeze()}.
+ * <p>
+ * This holds its own copy of the stylesheet which is never given out, so it can't be modified. Any number of threads can write it
+ * at the same time, even using the same {@link StyleWriter} (as long as the writer isn't being reconfigured):
+ * <pre><code>
+ * SyntaxTree tree = new SyntaxTree();
+ * Omakase.source(input).use(tree).use(Prefixer.defaultBrowserSupport()).process();
+ * FrozenStylesheet frozen = tree.stylesheet().freeze();
+ * ...
+ * String css = frozen.write(StyleWriter.compressed());
+ * </code></pre>
+ * Any {@link com.salesforce.omakase.writer.CustomWriter}s on the writer must not modify the units they are given.
+ *
+ * @author nmcwilliams
+ */
+public final class FrozenStylesheet {
+    private final Stylesheet stylesheet;
+
+    /**
+     * Creates a new instance from a copy of the given stylesheet.
+     *
+     * @param original
+     *     The processed stylesheet. It should not be modified while this is being created.
+     */
+    FrozenStylesheet(Stylesheet original) {
+        this.stylesheet = original.copy();
+
+        // the property names are lazily created and shared with the original until first retrieved, and comments lazily check
+        // for annotations, so get all of that done now instead of during a write from multiple threads
+        StyleWriter primer = StyleWriter.verbose().writeAnnotatedComments(true).addCustomWriter(Declaration.class, (d, w, a) -> {
+            d.propertyName();
+            return false;
+        });
+
+        try {
+            primer.writeTo(stylesheet, CharStreams.nullWriter());
+        } catch (IOException e) {
+            throw new AssertionError("The null writer shouldn't cause an IOException.", e);
+        }
+    }
+
+    /**
+     * Writes the stylesheet to a string.
+     *
+     * @param writer
+     *     The {@link StyleWriter} to use.
+     *
+     * @return The CSS output.
+     */
+    public String write(StyleWriter writer) {
+        return writer.writeSingle(stylesheet);
+    }
+
+    /**
+     * Writes the stylesheet to the given {@link Appendable}.
+     *
+     * @param writer
+     *     The {@link StyleWriter} to use.
+     * @param appendable
+     *     Write the CSS output to this appendable.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(StyleWriter writer, Appendable appendable) throws IOException {
+        writer.writeTo(stylesheet, appendable);
+    }
+}
@@ -33,6 +33,9 @@ import java.io.IOException;
 
 /**
  * Represents raw, non-validated content. Usually used by {@link Refinable}s.
+ * <p>
+ * The content never changes, so copies of the {@link Refinable}s containing raw content share the same instance instead of
+ * copying it.
  *
  * @author nmcwilliams
  */
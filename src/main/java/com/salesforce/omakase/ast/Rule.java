@@ -27,8 +27,8 @@
 package com.salesforce.omakase.ast;
 
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.Selector;
 import com.salesforce.omakase.broadcast.Broadcaster;
@@ -92,8 +92,8 @@ public final class Rule extends AbstractGroupable<StatementIterable, Statement>
      */
     public Rule(int line, int column) {
         super(line, column);
-        selectors = new LinkedSyntaxCollection<>(this);
-        declarations = new LinkedSyntaxCollection<>(this);
+        selectors = SyntaxCollections.create(this);
+        declarations = SyntaxCollections.create(this);
     }
 
     /**
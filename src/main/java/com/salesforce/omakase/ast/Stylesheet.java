@@ -33,8 +33,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.annotation.Description;
 import com.salesforce.omakase.broadcast.annotation.Subscribable;
@@ -61,7 +61,7 @@ public final class Stylesheet extends AbstractSyntax implements StatementIterabl
      */
     public Stylesheet() {
         super(1, 1);
-        statements = new LinkedSyntaxCollection<>(this);
+        statements = SyntaxCollections.create(this);
     }
 
     @Override
@@ -91,6 +91,16 @@ public final class Stylesheet extends AbstractSyntax implements StatementIterabl
         return this;
     }
 
+    /**
+     * Creates an immutable, thread-safe copy of this stylesheet that can be written from multiple threads at once. This should
+     * be done after processing.
+     *
+     * @return The {@link FrozenStylesheet}.
+     */
+    public FrozenStylesheet freeze() {
+        return new FrozenStylesheet(this);
+    }
+
     @Override
     public Iterator<Statement> iterator() {
         return statements.iterator();
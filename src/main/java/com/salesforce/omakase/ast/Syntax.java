@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.ast;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -93,6 +94,9 @@ public interface Syntax extends Writable, Broadcastable {
      * This includes any inner syntax units, for example the selectors inside of a rule. This also carries over the comments and
      * orphaned comments.
      * <p>
+     * Parts that are not modified in place are shared between the copy and the original instead of being copied, namely the
+     * comments and any {@link RawSyntax}.
+     * <p>
      * Keep in mind that copying is generally not preferred. Particularly, it is generally better to parse the source again than
      * to copy a {@link Stylesheet}. Copying a specific syntax unit may be appropriate when duplicating the terms in a declaration
      * or the selector parts in a selector.
@@ -153,6 +157,24 @@ public interface Syntax extends Writable, Broadcastable {
      */
     Syntax comments(Collection<String> comments);
 
+    /**
+     * Adds the given {@link Comment}s to this unit.
+     * <p>
+     * This is used by the parsers with the comments from {@link com.salesforce.omakase.parser.Source#flushCommentUnits()}, so
+     * that the content of each comment isn't created unless it's needed.
+     *
+     * @param comments
+     *     The comments to add.
+     *
+     * @return this, for chaining.
+     */
+    default Syntax commentUnits(List<Comment> comments) {
+        for (Comment comment : comments) {
+            comment(comment);
+        }
+        return this;
+    }
+
     /**
      * Copies all comments from the given syntax unit.
      *
@@ -184,6 +206,25 @@ public interface Syntax extends Writable, Broadcastable {
      */
     Syntax orphanedComments(Collection<String> comments);
 
+    /**
+     * Adds orphaned {@link Comment}s (comments that appears after or at the end of the unit).
+     * <p>
+     * This is used by the parsers with the comments from {@link com.salesforce.omakase.parser.Source#flushCommentUnits()}, so
+     * that the content of each comment isn't created unless it's needed.
+     *
+     * @param comments
+     *     The comments to add.
+     *
+     * @return this, for chaining.
+     */
+    default Syntax orphanedCommentUnits(List<Comment> comments) {
+        List<String> content = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            content.add(comment.content());
+        }
+        return orphanedComments(content);
+    }
+
     /**
      * Copies all orphaned comments from the given syntax unit.
      *
@@ -395,9 +395,8 @@ public final class AtRule extends AbstractGroupable<StatementIterable, Statement
             AtRuleBlock blockCopy = block != null ? block.copy() : null;
             copy = new AtRule(name, expressionCopy, blockCopy).copiedFrom(this);
         } else {
-            RawSyntax expressionCopy = rawExpression != null ? rawExpression.copy() : null;
-            RawSyntax blockCopy = rawBlock != null ? rawBlock.copy() : null;
-            copy = new AtRule(-1, -1, name, expressionCopy, blockCopy).copiedFrom(this);
+            // the raw content is never modified, so it's shared with the copy
+            copy = new AtRule(-1, -1, name, rawExpression, rawBlock).copiedFrom(this);
         }
         copy.shouldWriteName(shouldWriteName);
         return copy;
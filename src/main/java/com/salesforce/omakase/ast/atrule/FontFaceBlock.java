@@ -32,8 +32,8 @@ import java.util.Iterator;
 import com.salesforce.omakase.ast.Statement;
 import com.salesforce.omakase.ast.StatementIterable;
 import com.salesforce.omakase.ast.Status;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.writer.StyleAppendable;
 import com.salesforce.omakase.writer.StyleWriter;
@@ -64,7 +64,7 @@ public final class FontFaceBlock extends AbstractAtRuleMember implements AtRuleB
      */
     public FontFaceBlock(int line, int column) {
         super(line, column);
-        this.fontDescriptors = new LinkedSyntaxCollection<>(this);
+        this.fontDescriptors = SyntaxCollections.create(this);
     }
 
     /**
@@ -33,8 +33,8 @@ import java.util.Optional;
 
 import com.salesforce.omakase.ast.Status;
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.writer.StyleAppendable;
 import com.salesforce.omakase.writer.StyleWriter;
@@ -77,7 +77,7 @@ public final class MediaQuery extends AbstractGroupable<MediaQueryList, MediaQue
      */
     public MediaQuery(int line, int column) {
         super(line, column);
-        this.expressions = new LinkedSyntaxCollection<>(this);
+        this.expressions = SyntaxCollections.create(this);
     }
 
     /**
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.salesforce.omakase.ast.Status;
+import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.util.As;
+
+/**
+ * Compact implementation of the {@link SyntaxCollection}, backed by a growable array.
+ * <p>
+ * This has the same semantics as {@link LinkedSyntaxCollection}: uniqueness is maintained like a set and prevents duplicates, and
+ * appending or prepending an existing unit will simply move its position. However instead of allocating a node and a lookup entry
+ * for every unit, the units are stored directly in a single array. This makes it a better fit for small, read-mostly collections
+ * such as the terms of a property value or the parts of a selector, at the cost of linear time lookups and insertions.
+ * <p>
+ * As with {@link LinkedSyntaxCollection}, units may be removed or inserted after the current unit while iterating.
+ * <p>
+ * See {@link SyntaxCollections} for enabling this implementation for the leaf collections in the syntax tree.
+ *
+ * @param <P>
+ *     Type of the (P)arent object containing this collection (e.g., {@link SelectorPart}s have {@link Selector}s as the parent).
+ * @param <T>
+ *     The (T)ype of units to be grouped with.
+ *
+ * @author nmcwilliams
+ */
+public final class ArraySyntaxCollection<P, T extends Groupable<P, T>> implements SyntaxCollection<P, T> {
+    private static final Object[] EMPTY = new Object[0];
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final P parent;
+
+    private Object[] units = EMPTY;
+    private int size;
+    private transient Broadcaster propagatingBroadcaster;
+
+    /**
+     * Creates a new {@link ArraySyntaxCollection} with no available {@link Broadcaster}.
+     *
+     * @param parent
+     *     The parent that owns this collection. Do not pass null.
+     */
+    public ArraySyntaxCollection(P parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private T current;
+            private int index = -1;
+
+            @Override
+            public boolean hasNext() {
+                return nextIndex() < size;
+            }
+
+            @Override
+            public T next() {
+                int next = nextIndex();
+                if (next >= size) throw new NoSuchElementException();
+                index = next;
+                current = get(next);
+                return current;
+            }
+
+            /** locates the position after the current unit, even if units were inserted or removed since the last call */
+            private int nextIndex() {
+                if (current == null) return 0;
+                if (index < size && units[index] == current) return index + 1;
+
+                int position = indexOf(current);
+                return position != -1 ? position + 1 : index; // if the current unit was removed, the next one shifted into its place
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(); // can be implemented when needed
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmptyOrNoneWritable() {
+        for (int i = 0; i < size; i++) {
+            if (get(i).isWritable()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T unit) {
+        return indexOf(unit.id()) != -1;
+    }
+
+    @Override
+    public Optional<T> first() {
+        return size == 0 ? Optional.empty() : Optional.of(get(0));
+    }
+
+    @Override
+    public Optional<T> last() {
+        return size == 0 ? Optional.empty() : Optional.of(get(size - 1));
+    }
+
+    @Override
+    public Optional<T> next(T unit) {
+        int index = indexOf(unit.id());
+        if (index == -1) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+        return index == size - 1 ? Optional.empty() : Optional.of(get(index + 1));
+    }
+
+    @Override
+    public Optional<T> previous(T unit) {
+        int index = indexOf(unit.id());
+        if (index == -1) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+        return index == 0 ? Optional.empty() : Optional.of(get(index - 1));
+    }
+
+    @Override
+    public <S extends T> Optional<S> find(Class<S> klass) {
+        for (int i = 0; i < size; i++) {
+            Object unit = units[i];
+            if (klass.isInstance(unit)) return Optional.of(klass.cast(unit));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prepend(T unit) {
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot prepend a destroyed unit!");
+
+        // disassociate with old group and associate with this group
+        unit.unlink().group(this);
+
+        insert(0, unit);
+
+        // broadcast if it hasn't been already
+        propagateNewUnit(unit);
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prependAll(Iterable<T> units) {
+        for (T unit : ImmutableList.copyOf(units).reverse()) prepend(unit);
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prependBefore(T index, T unit) throws IllegalArgumentException {
+        checkNotNull(index, "exiting cannot be null");
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot prepend a destroyed unit!");
+
+        int position = indexOf(index.id());
+        if (position == -1) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+
+        // disassociate with old group and associate with this group
+        unit.unlink().group(this);
+
+        // the index unit may have shifted, or been removed if it's the same as the given unit
+        position = index == unit ? position : indexOf(index.id());
+        insert(position, unit);
+
+        // broadcast if it hasn't been already
+        propagateNewUnit(unit);
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> append(T unit) {
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot append a destroyed unit!");
+
+        // disassociate with old group and associate with this group
+        unit.unlink().group(this);
+
+        insert(size, unit);
+
+        // broadcast if it hasn't been already
+        propagateNewUnit(unit);
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> appendAll(Iterable<T> units) {
+        for (T unit : units) append(unit);
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> appendAfter(T index, T unit) throws IllegalArgumentException {
+        checkNotNull(index, "exiting cannot be null");
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot append a destroyed unit!");
+
+        int position = indexOf(index.id());
+        if (position == -1) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+
+        // disassociate with old group and associate with this group
+        unit.unlink().group(this);
+
+        // the index unit may have shifted, or been removed if it's the same as the given unit
+        position = index == unit ? position : indexOf(index.id()) + 1;
+        insert(position, unit);
+
+        // broadcast if it hasn't been already
+        propagateNewUnit(unit);
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> remove(T unit) {
+        int index = indexOf(unit.id());
+
+        if (index != -1) {
+            int moved = size - index - 1;
+            if (moved > 0) System.arraycopy(units, index + 1, units, index, moved);
+            units[--size] = null;
+
+            // ensure the unit is not associated with this group any longer
+            unit.group(null);
+        }
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> clear() {
+        for (int i = 0; i < size; i++) {
+            get(i).group(null);
+            units[i] = null;
+        }
+        size = 0;
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> replaceExistingWith(T unit) {
+        return clear().append(unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> replaceExistingWith(Iterable<T> units) {
+        return clear().appendAll(units);
+    }
+
+    @Override
+    public void destroyAll() {
+        while (size > 0) {
+            get(0).destroy();
+        }
+    }
+
+    @Override
+    public P parent() {
+        return parent;
+    }
+
+    @Override
+    public void propagateBroadcast(Broadcaster broadcaster, Status status) {
+        // save a reference so that subsequent appended/prepended units will be broadcasted
+        this.propagatingBroadcaster = broadcaster;
+        for (T unit : this) {
+            unit.propagateBroadcast(broadcaster, status);
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("units", Lists.newArrayList(iterator())).toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int index) {
+        return (T)units[index];
+    }
+
+    private int indexOf(int id) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).id() == id) return i;
+        }
+        return -1;
+    }
+
+    private int indexOf(T unit) {
+        for (int i = 0; i < size; i++) {
+            if (units[i] == unit) return i;
+        }
+        return -1;
+    }
+
+    private void insert(int index, T unit) {
+        if (size == units.length) {
+            units = Arrays.copyOf(units, Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+        }
+        if (index < size) System.arraycopy(units, index, units, index + 1, size - index);
+        units[index] = unit;
+        size++;
+    }
+
+    private void propagateNewUnit(T unit) {
+        if (propagatingBroadcaster != null) {
+            unit.propagateBroadcast(propagatingBroadcaster, Status.PARSED);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates the {@link SyntaxCollection}s used by the syntax tree.
+ * <p>
+ * By default, {@link LinkedSyntaxCollection}s are created. When a request enables the "compact AST" mode (see {@link
+ * com.salesforce.omakase.Omakase.Request#compactAst(boolean)}), {@link ArraySyntaxCollection}s are created for the small leaf
+ * collections instead, namely the parts of a selector and the members of a property value. This reduces the per-unit memory
+ * overhead of large syntax trees, which is most useful when the trees are held onto (e.g., cached). Collections of statements
+ * and declarations are always linked, because they can be large and plugins often insert or remove units while iterating over
+ * them, which is linear for an array.
+ *
+ * @author nmcwilliams
+ */
+public final class SyntaxCollections {
+    private static final ThreadLocal<Boolean> compact = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private SyntaxCollections() {}
+
+    /**
+     * Creates a new {@link SyntaxCollection} for a collection that may be large or often modified, which is always a {@link
+     * LinkedSyntaxCollection}.
+     *
+     * @param parent
+     *     The parent that owns the collection. Do not pass null.
+     * @param <P>
+     *     Type of the parent object containing the collection.
+     * @param <T>
+     *     Type of units in the collection.
+     *
+     * @return The new collection.
+     */
+    public static <P, T extends Groupable<P, T>> SyntaxCollection<P, T> create(P parent) {
+        return new LinkedSyntaxCollection<>(parent);
+    }
+
+    /**
+     * Creates a new {@link SyntaxCollection} for a small leaf collection, using the implementation determined by the current
+     * {@link #isCompactAst()} mode.
+     *
+     * @param parent
+     *     The parent that owns the collection. Do not pass null.
+     * @param <P>
+     *     Type of the parent object containing the collection.
+     * @param <T>
+     *     Type of units in the collection.
+     *
+     * @return The new collection.
+     */
+    public static <P, T extends Groupable<P, T>> SyntaxCollection<P, T> createLeaf(P parent) {
+        return compact.get() ? new ArraySyntaxCollection<>(parent) : new LinkedSyntaxCollection<>(parent);
+    }
+
+    /**
+     * Performs the given work with the compact AST mode set as specified on the current thread, restoring the previous mode
+     * afterwards. This is used by {@link com.salesforce.omakase.Omakase} for each request.
+     *
+     * @param enabled
+     *     True to create {@link ArraySyntaxCollection}s for leaf collections during the work.
+     * @param work
+     *     The work to perform.
+     * @param <R>
+     *     Type of the result.
+     *
+     * @return The result of the work.
+     */
+    public static <R> R withCompactAst(boolean enabled, Supplier<R> work) {
+        Boolean previous = compact.get();
+        compact.set(enabled);
+        try {
+            return work.get();
+        } finally {
+            compact.set(previous);
+        }
+    }
+
+    /**
+     * Gets whether {@link #createLeaf(Object)} creates compact, array-backed collections on the current thread.
+     *
+     * @return True if compact mode is enabled.
+     */
+    public static boolean isCompactAst() {
+        return compact.get();
+    }
+}
@@ -174,6 +174,14 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
         propertyValue(propertyValue);
     }
 
+    /** used by {@link #copy()}, sharing the raw content with the original */
+    private Declaration(RawSyntax rawName, RawSyntax rawValue, PropertyValue propertyValue) {
+        this.rawName = rawName;
+        this.rawValue = rawValue;
+        if (rawValue != null) status(Status.RAW);
+        propertyValue(propertyValue);
+    }
+
     /**
      * Gets the original, raw, non-validated property name.
      *
@@ -203,8 +211,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
      * @return this, for chaining.
      */
     public Declaration propertyName(Property property) {
-        this.propertyName = PropertyName.of(checkNotNull(property, "property cannot be null"));
-        return this;
+        return propertyName(PropertyName.of(checkNotNull(property, "property cannot be null")));
     }
 
     /**
@@ -229,8 +236,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
      * @return this, for chaining.
      */
     public Declaration propertyName(String propertyName) {
-        this.propertyName = PropertyName.of(propertyName);
-        return this;
+        return propertyName(PropertyName.of(propertyName));
     }
 
     @Override
@@ -489,9 +495,11 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
     public Declaration copy() {
         if (isRefined()) {
             return new Declaration(propertyName().copy(), propertyValue.copy()).copiedFrom(this);
-        } else {
-            return new Declaration(rawName.copy(), rawValue.copy()).copiedFrom(this);
         }
+
+        Declaration copy = new Declaration(rawName, rawValue, new PropertyValue());
+        if (propertyName != null) copy.propertyName = propertyName.copy();
+        return copy.copiedFrom(this);
     }
 
     @Override
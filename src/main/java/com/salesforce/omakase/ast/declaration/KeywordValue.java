@@ -68,6 +68,24 @@ public final class KeywordValue extends AbstractTerm implements Named {
         this.keyword = keyword;
     }
 
+    /**
+     * Constructs a new {@link KeywordValue} instance with a known {@link Keyword}.
+     * <p>
+     * If dynamically creating a new instance then use {@link #KeywordValue(Keyword)} instead.
+     *
+     * @param line
+     *     The line number.
+     * @param column
+     *     The column number.
+     * @param keyword
+     *     The keyword.
+     */
+    public KeywordValue(int line, int column, Keyword keyword) {
+        super(line, column);
+        this.keyword = keyword.toString();
+        this.cached = keyword;
+    }
+
     /**
      * Constructs a new {@link KeywordValue} instance (used for dynamically created {@link Syntax} units). Prefer {@link
      * #KeywordValue(Keyword)} over this.
@@ -63,7 +63,27 @@ public final class NumericalValue extends AbstractTerm {
     private static final CharMatcher ZERO = CharMatcher.is('0');
     private static final Set<String> DISCARDABLE_UNITS = ImmutableSet.of("px", "em", "rem"); // can only contain distance units
 
-    private String raw;
+    /** maximum number of digits (integer and fraction combined) that can be stored as a primitive */
+    public static final int MAX_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+    private static final double MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // the number is stored as all of its digits without the decimal point, plus the number of digits written before and after the
+    // decimal point. This preserves the original text exactly (e.g., "007" or ".50") without keeping a string around. When the
+    // number has too many digits to fit, fractionDigits is -1 and only the raw string is used.
+    private long digits;
+    private int integerDigits;
+    private int fractionDigits;
+
+    private String raw; // lazily created from the digits
     private String unit;
     private Sign explicitSign;
 
@@ -91,7 +111,30 @@ public final class NumericalValue extends AbstractTerm {
      */
     public NumericalValue(int line, int column, String raw) {
         super(line, column);
-        this.raw = raw;
+        raw(raw);
+    }
+
+    /**
+     * Constructs a new {@link NumericalValue} instance from already parsed digits. For example, "10.50" has the digits 1050, 2
+     * integer digits and 2 fraction digits, while ".5" has the digits 5, 0 integer digits and 1 fraction digit.
+     *
+     * @param line
+     *     The line number.
+     * @param column
+     *     The column number.
+     * @param digits
+     *     All of the digits of the number, ignoring the decimal point.
+     * @param integerDigits
+     *     The number of digits before the decimal point, including any leading zeros.
+     * @param fractionDigits
+     *     The number of digits after the decimal point, including any trailing zeros.
+     */
+    public NumericalValue(int line, int column, long digits, int integerDigits, int fractionDigits) {
+        super(line, column);
+        checkArgument(digits >= 0, "digits must not be negative");
+        checkArgument(integerDigits >= 0 && fractionDigits >= 0, "number of digits must not be negative");
+        checkArgument(integerDigits + fractionDigits > 0 && integerDigits + fractionDigits <= MAX_DIGITS, "invalid number of digits");
+        digits(digits, integerDigits, fractionDigits);
     }
 
     /**
@@ -125,7 +168,8 @@ public final class NumericalValue extends AbstractTerm {
      * @return this, for chaining.
      */
     public NumericalValue value(int value) {
-        this.raw = Integer.toString(Math.abs(value));
+        long abs = Math.abs((long)value);
+        digits(abs, countDigits(abs), 0);
         if (value < 0) {
             explicitSign = Sign.NEGATIVE;
         } else {
@@ -145,11 +189,13 @@ public final class NumericalValue extends AbstractTerm {
      * @return this, for chaining.
      */
     public NumericalValue value(double value) {
-        DecimalFormat fmt = new DecimalFormat("#");
-        fmt.setMaximumIntegerDigits(309);
-        fmt.setMinimumIntegerDigits(1);
-        fmt.setMaximumFractionDigits(340);
-        this.raw = fmt.format(Math.abs(value));
+        if (!decimal(Math.abs(value))) {
+            DecimalFormat fmt = new DecimalFormat("#");
+            fmt.setMaximumIntegerDigits(309);
+            fmt.setMinimumIntegerDigits(1);
+            fmt.setMaximumFractionDigits(340);
+            raw(fmt.format(Math.abs(value)));
+        }
         if (value < 0) {
             explicitSign = Sign.NEGATIVE;
         } else {
@@ -169,30 +215,47 @@ public final class NumericalValue extends AbstractTerm {
      * @return The numerical value.
      */
     public String value() {
+        if (raw == null) {
+            char[] chars = new char[integerDigits + fractionDigits + (fractionDigits > 0 ? 1 : 0)];
+            int index = fill(chars, 0, digits / POWERS_OF_TEN[fractionDigits], integerDigits);
+            if (fractionDigits > 0) {
+                chars[index++] = '.';
+                fill(chars, index, digits % POWERS_OF_TEN[fractionDigits], fractionDigits);
+            }
+            raw = new String(chars);
+        }
         return raw;
     }
 
     /**
      * Gets the numerical value as a double.
      * <p>
-     * Note that this may result in an exception if the current string value is too large for a double. This performs a
-     * calculation so cache the result if using more than once.
+     * Note that this may result in an exception if the current string value is too large for a double.
      *
      * @return The double value.
      */
     public double doubleValue() {
-        double d = Double.parseDouble(raw);
+        double d;
+        if (fractionDigits != -1 && digits < MAX_EXACT_DOUBLE) {
+            // both operands are exact, so the division is correctly rounded just like Double#parseDouble
+            d = fractionDigits == 0 ? digits : digits / (double)POWERS_OF_TEN[fractionDigits];
+        } else {
+            d = Double.parseDouble(value());
+        }
         return isNegative() ? d * -1 : d;
     }
 
     /**
      * Gets the numerical value as an integer. Usually you should use {@link #doubleValue()} instead unless you are ok with
-     * discarding any present decimal value. This performs a calculation so cache the result if using more than once.
+     * discarding any present decimal value.
      *
      * @return The int value.
+     *
+     * @throws NumberFormatException
+     *     If the value has a decimal point or does not fit in an int.
      */
     public int intValue() {
-        int i = Integer.parseInt(raw);
+        int i = fractionDigits == 0 && digits <= Integer.MAX_VALUE ? (int)digits : Integer.parseInt(value());
         return isNegative() ? i * -1 : i;
     }
 
@@ -262,7 +325,7 @@ public final class NumericalValue extends AbstractTerm {
             builder.append(explicitSign.symbol);
         }
 
-        builder.append(raw);
+        builder.append(value());
 
         if (unit != null) {
             builder.append(unit);
@@ -277,8 +340,43 @@ public final class NumericalValue extends AbstractTerm {
             appendable.append(explicitSign.symbol);
         }
 
+        boolean potentiallyDiscardUnit = fractionDigits == -1 ? writeRaw(writer, appendable) : writeDigits(writer, appendable);
+
+        if (unit != null && (!potentiallyDiscardUnit || !DISCARDABLE_UNITS.contains(unit))) {
+            appendable.append(unit);
+        }
+    }
+
+    /** writes the number directly from the digits, returns true if the number was written as zero */
+    private boolean writeDigits(StyleWriter writer, StyleAppendable appendable) throws IOException {
+        long integer = digits / POWERS_OF_TEN[fractionDigits];
+
+        if (!writer.isVerbose()) {
+            // - after a zero length, the unit identifier is optional (for distance units only!) e.g., 0px => 0
+            if (digits == 0) {
+                appendable.append('0');
+                return true;
+            }
+            // - omit leading 0 integer values when there is only a decimal, e.g., "0.5" => ".5"
+            if (integerDigits == 1 && integer == 0 && fractionDigits > 0) {
+                appendable.append('.');
+                append(appendable, digits, fractionDigits);
+                return false;
+            }
+        }
+
+        append(appendable, integer, integerDigits);
+        if (fractionDigits > 0) {
+            appendable.append('.');
+            append(appendable, digits % POWERS_OF_TEN[fractionDigits], fractionDigits);
+        }
+        return false;
+    }
+
+    /** writes the number from the raw string, for numbers with too many digits, returns true if the number was written as zero */
+    private boolean writeRaw(StyleWriter writer, StyleAppendable appendable) throws IOException {
         String num = raw;
-        boolean potentiallyDiscardUnit = false;
+        boolean zero = false;
 
         if (!writer.isVerbose()) {
             // - omit leading 0 integer values when there is only a decimal, e.g., "0.5" => ".5"
@@ -288,25 +386,99 @@ public final class NumericalValue extends AbstractTerm {
             // - after a zero length, the unit identifier is optional (for distance units only!) e.g., 0px => 0
             if (ZERO.matchesAllOf(num.charAt(0) == '.' ? num.substring(1) : num)) {
                 num = "0";
-                potentiallyDiscardUnit = true;
+                zero = true;
             }
         }
 
         appendable.append(num);
-
-        if (unit != null && (!potentiallyDiscardUnit || !DISCARDABLE_UNITS.contains(unit))) {
-            appendable.append(unit);
-        }
+        return zero;
     }
 
     @Override
     public NumericalValue copy() {
-        NumericalValue copy = new NumericalValue(-1, -1, raw).copiedFrom(this);
+        NumericalValue copy = fractionDigits == -1
+            ? new NumericalValue(-1, -1, raw).copiedFrom(this)
+            : new NumericalValue(-1, -1, digits, integerDigits, fractionDigits).copiedFrom(this);
         if (unit != null) copy.unit(unit);
         if (explicitSign != null) copy.explicitSign(explicitSign);
         return copy;
     }
 
+    private void digits(long digits, int integerDigits, int fractionDigits) {
+        this.digits = digits;
+        this.integerDigits = integerDigits;
+        this.fractionDigits = fractionDigits;
+        this.raw = null;
+    }
+
+    /** stores the given string, also as digits if it only contains digits and an optional decimal point followed by a digit */
+    private void raw(String raw) {
+        this.raw = raw;
+        this.fractionDigits = -1;
+
+        long parsed = 0;
+        int integer = -1;
+        int length = raw.length();
+        if (length == 0) return;
+
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                parsed = parsed * 10 + (c - '0');
+            } else if (c == '.' && integer == -1 && i < length - 1) {
+                integer = i;
+            } else {
+                return;
+            }
+            if (i >= MAX_DIGITS + (integer == -1 ? 0 : 1)) return;
+        }
+
+        this.digits = parsed;
+        this.integerDigits = integer == -1 ? length : integer;
+        this.fractionDigits = integer == -1 ? 0 : length - integer - 1;
+    }
+
+    /** stores the given non-negative double as digits if it has a short enough decimal representation, returns false if not */
+    private boolean decimal(double value) {
+        // find the fewest fraction digits that produce the same double, which is the shortest decimal for the value
+        for (int scale = 0; scale <= MAX_DIGITS; scale++) {
+            double scaled = value * POWERS_OF_TEN[scale];
+            if (!(scaled < MAX_EXACT_DOUBLE)) return false;
+
+            long candidate = Math.round(scaled);
+            if (candidate / (double)POWERS_OF_TEN[scale] == value) {
+                int integerCount = Math.max(1, countDigits(candidate / POWERS_OF_TEN[scale]));
+                if (integerCount + scale > MAX_DIGITS) return false;
+                digits(candidate, integerCount, scale);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** writes the given number of digits of the value into the array, padded with leading zeros, returns the next index */
+    private static int fill(char[] chars, int index, long value, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            chars[index++] = (char)('0' + value / POWERS_OF_TEN[i] % 10);
+        }
+        return index;
+    }
+
+    /** appends the given number of digits of the value, padded with leading zeros */
+    private static void append(StyleAppendable appendable, long value, int count) throws IOException {
+        for (int i = count - 1; i >= 0; i--) {
+            appendable.append((char)('0' + value / POWERS_OF_TEN[i] % 10));
+        }
+    }
+
+    private static int countDigits(long value) {
+        int count = 1;
+        while (count <= MAX_DIGITS && value >= POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Creates a new {@link NumericalValue} instance with the given integer value.
      * <p>
@@ -81,20 +81,21 @@ public final class PropertyName extends AbstractSyntax implements Named {
         boolean isCustomProp = firstChar == PREFIX_OR_CUSTOM_PROP_START && secondChar == PREFIX_OR_CUSTOM_PROP_START;
         boolean isPrefixed = !isCustomProp && firstChar == PREFIX_OR_CUSTOM_PROP_START;
 
-        // custom properties are case-sensitive, so don't modify those
-        if (!isCustomProp) {
-            name = name.toLowerCase(); // for output consistency and Property enum lookup
-        }
-
         if (isPrefixed) {
-            PrefixPair pair = Prefixes.splitPrefix(name);
+            PrefixPair pair = Prefixes.splitPrefix(name.toLowerCase());
             this.prefix = pair.prefix().orElse(null);
             this.unprefixed = pair.unprefixed();
             this.cached = Property.lookup(pair.unprefixed());
-        } else {
+        } else if (isCustomProp) {
+            // custom properties are case-sensitive, so don't modify those
             this.prefix = null;
             this.unprefixed = name;
-            this.cached = Property.lookup(name);
+            this.cached = null;
+        } else {
+            // reuse the name from the Property enum when recognized, otherwise lower-case for output consistency
+            this.prefix = null;
+            this.cached = Property.lookupIgnoreCase(name);
+            this.unprefixed = cached != null ? cached.toString() : name.toLowerCase();
         }
     }
 
@@ -107,6 +108,16 @@ public final class PropertyName extends AbstractSyntax implements Named {
         this.unprefixed = property.toString();
     }
 
+    /** private -- use {@link #copy()} */
+    private PropertyName(int line, int column, PropertyName original) {
+        super(line, column);
+
+        this.prefix = original.prefix;
+        this.starHack = original.starHack;
+        this.cached = original.cached;
+        this.unprefixed = original.unprefixed;
+    }
+
     /**
      * Gets whether this {@link PropertyName} includes an IE7 star hack (http://en.wikipedia.org/wiki/CSS_filter#Star_hack).
      *
@@ -302,10 +313,7 @@ public final class PropertyName extends AbstractSyntax implements Named {
 
     @Override
     public PropertyName copy() {
-        if (cached != null) {
-            return PropertyName.of(cached).prefix(prefix).starHack(starHack).copiedFrom(this);
-        }
-        return PropertyName.of(name()).starHack(starHack).copiedFrom(this);
+        return new PropertyName(-1, -1, this).copiedFrom(this);
     }
 
     /**
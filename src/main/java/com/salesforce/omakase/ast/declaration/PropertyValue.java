@@ -35,8 +35,8 @@ import java.util.Optional;
 import com.google.common.collect.ImmutableList;
 import com.salesforce.omakase.ast.AbstractSyntax;
 import com.salesforce.omakase.ast.Status;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.annotation.Description;
 import com.salesforce.omakase.broadcast.annotation.Subscribable;
@@ -80,7 +80,7 @@ public final class PropertyValue extends AbstractSyntax {
      */
     public PropertyValue(int line, int column) {
         super(line, column);
-        members = new LinkedSyntaxCollection<>(this);
+        members = SyntaxCollections.createLeaf(this);
     }
 
     /**
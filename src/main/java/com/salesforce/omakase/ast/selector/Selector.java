@@ -39,8 +39,8 @@ import com.salesforce.omakase.ast.Refinable;
 import com.salesforce.omakase.ast.Rule;
 import com.salesforce.omakase.ast.Status;
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.annotation.Description;
 import com.salesforce.omakase.broadcast.annotation.Subscribable;
@@ -86,9 +86,14 @@ public final class Selector extends AbstractGroupable<Rule, Selector> implements
      *
      */
     public Selector(RawSyntax raw) {
-        super(raw.line(), raw.column());
+        this(raw.line(), raw.column(), raw);
+    }
+
+    /** used by {@link #copy()} to share the raw content with the original */
+    private Selector(int line, int column, RawSyntax raw) {
+        super(line, column);
         this.raw = raw;
-        this.parts = new LinkedSyntaxCollection<>(this);
+        this.parts = SyntaxCollections.createLeaf(this);
         status(Status.RAW);
     }
 
@@ -143,7 +148,7 @@ public final class Selector extends AbstractGroupable<Rule, Selector> implements
     public Selector(int line, int column, Iterable<SelectorPart> parts) {
         super(line, column);
         this.raw = null;
-        this.parts = new LinkedSyntaxCollection<Selector, SelectorPart>(this).appendAll(parts);
+        this.parts = SyntaxCollections.<Selector, SelectorPart>createLeaf(this).appendAll(parts);
     }
 
     /**
@@ -265,7 +270,11 @@ public final class Selector extends AbstractGroupable<Rule, Selector> implements
 
     @Override
     public Selector copy() {
-        List<SelectorPart> copiedParts = new ArrayList<>();
+        if (!isRefined()) {
+            return new Selector(-1, -1, raw).copiedFrom(this);
+        }
+
+        List<SelectorPart> copiedParts = new ArrayList<>(parts.size());
 
         for (SelectorPart part : parts) {
             copiedParts.add(part.copy());
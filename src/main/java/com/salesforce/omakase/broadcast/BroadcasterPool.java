@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.broadcast;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Recycles the {@link CollectingBroadcaster}s and {@link QueuingBroadcaster}s that parsers use for gathering the units of each
+ * rule, selector, property value, etc..., instead of creating new ones each time.
+ * <p>
+ * A pool is not thread-safe. Each {@link com.salesforce.omakase.parser.Grammar} created for processing a stylesheet has its own
+ * pool, see {@link com.salesforce.omakase.parser.Grammar#broadcasters()}. Other grammars use {@link #unpooled()}, which always
+ * creates new instances.
+ * <p>
+ * Example:
+ * <pre><code>
+ * CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, Selector.class, Declaration.class);
+ * ... (parse using the collector)
+ * grammar.broadcasters().release(collector);
+ * </code></pre>
+ * Once released, the broadcaster must not be used (or referenced) any further. Broadcasters that aren't released, e.g., due to an
+ * exception, are simply not reused.
+ *
+ * @author nmcwilliams
+ */
+public final class BroadcasterPool {
+    private static final BroadcasterPool UNPOOLED = new BroadcasterPool(false);
+
+    private final boolean recycle;
+    private final List<CollectingBroadcaster> collectors = new ArrayList<>();
+    private final Deque<QueuingBroadcaster> queues = new ArrayDeque<>();
+
+    /**
+     * Creates a new {@link BroadcasterPool}.
+     */
+    public BroadcasterPool() {
+        this(true);
+    }
+
+    private BroadcasterPool(boolean recycle) {
+        this.recycle = recycle;
+    }
+
+    /**
+     * Gets a {@link CollectingBroadcaster} for the given types with the given {@link Broadcaster} chained to it.
+     * <p>
+     * Parsers should pass the types in a constant array, as each distinct combination of types is pooled separately.
+     *
+     * @param broadcaster
+     *     Add this broadcaster to the end of the chain, or null to leave the chain empty.
+     * @param types
+     *     The types of broadcasts to collect.
+     *
+     * @return The {@link CollectingBroadcaster}.
+     */
+    public CollectingBroadcaster collecting(Broadcaster broadcaster, Class<?>... types) {
+        CollectingBroadcaster collector = null;
+        if (recycle) {
+            for (int i = collectors.size() - 1; i >= 0; i--) {
+                if (collectors.get(i).collects(types)) {
+                    collector = collectors.remove(i);
+                    break;
+                }
+            }
+        }
+        if (collector == null) collector = new CollectingBroadcaster(types);
+        if (broadcaster != null) collector.chain(broadcaster);
+        return collector;
+    }
+
+    /**
+     * Gets a {@link QueuingBroadcaster} with the given {@link Broadcaster} chained to it.
+     *
+     * @param broadcaster
+     *     Add this broadcaster to the end of the chain.
+     *
+     * @return The {@link QueuingBroadcaster}.
+     */
+    public QueuingBroadcaster queuing(Broadcaster broadcaster) {
+        QueuingBroadcaster queue = recycle ? queues.pollFirst() : null;
+        if (queue == null) queue = new QueuingBroadcaster();
+        queue.chain(broadcaster);
+        return queue;
+    }
+
+    /**
+     * Returns the given {@link CollectingBroadcaster} to this pool, clearing out its collected units and chain.
+     *
+     * @param collector
+     *     The broadcaster to release.
+     */
+    public void release(CollectingBroadcaster collector) {
+        if (recycle) {
+            collector.reset();
+            collectors.add(collector);
+        }
+    }
+
+    /**
+     * Returns the given {@link QueuingBroadcaster} to this pool, clearing out its queue and chain.
+     *
+     * @param queue
+     *     The broadcaster to release.
+     */
+    public void release(QueuingBroadcaster queue) {
+        if (recycle) {
+            queue.reset();
+            queues.addFirst(queue);
+        }
+    }
+
+    /**
+     * Gets the shared {@link BroadcasterPool} that doesn't recycle anything, always creating new broadcasters. This is safe to
+     * use from multiple threads.
+     *
+     * @return The unpooled instance.
+     */
+    public static BroadcasterPool unpooled() {
+        return UNPOOLED;
+    }
+}
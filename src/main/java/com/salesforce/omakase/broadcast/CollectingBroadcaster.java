@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.broadcast;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A broadcaster that collects the received broadcasts of each of the given types into its own list.
+ * <p>
+ * This is similar to {@link QueryableBroadcaster}, except that the types are given upfront, so each broadcast is added to the
+ * list for its type as it arrives instead of filtering through every broadcast afterwards. Parsers use this to gather the
+ * units of each rule, block, etc... (see {@link BroadcasterPool#collecting(Broadcaster, Class[])}), usually adding the
+ * collected lists directly to the parent unit:
+ * <pre><code>
+ * rule.selectors().appendAll(collector.get(Selector.class));
+ * rule.declarations().appendAll(collector.get(Declaration.class));
+ * </code></pre>
+ * A broadcast that is an instance of more than one of the types is added to the list for each one. The order of the
+ * broadcasts is maintained within each list.
+ *
+ * @author nmcwilliams
+ */
+public final class CollectingBroadcaster extends AbstractBroadcaster {
+    private final Class<?>[] types;
+    private final List<Object>[] collected;
+
+    /**
+     * Creates a new {@link CollectingBroadcaster}.
+     *
+     * @param types
+     *     The types of broadcasts to collect.
+     */
+    @SuppressWarnings("unchecked")
+    public CollectingBroadcaster(Class<?>... types) {
+        checkArgument(types.length > 0, "at least one type must be specified");
+        this.types = types.clone();
+        this.collected = new List[types.length];
+        for (int i = 0; i < types.length; i++) {
+            checkNotNull(types[i], "types cannot contain null");
+            collected[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Creates a new {@link CollectingBroadcaster} and calls {@link #chain(Broadcaster)} on this instance, passing in the
+     * given {@link Broadcaster}.
+     *
+     * @param broadcaster
+     *     Add this broadcaster to the end of the chain.
+     * @param types
+     *     The types of broadcasts to collect.
+     */
+    public CollectingBroadcaster(Broadcaster broadcaster, Class<?>... types) {
+        this(types);
+        chain(broadcaster);
+    }
+
+    @Override
+    public void broadcast(Broadcastable broadcastable) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isInstance(broadcastable)) {
+                collected[i].add(broadcastable);
+            }
+        }
+        relay(broadcastable);
+    }
+
+    /**
+     * Gets the collected broadcasts of the given type.
+     * <p>
+     * The returned list is a read-only view, so it reflects any subsequent broadcasts.
+     *
+     * @param <T>
+     *     The type of the broadcasts.
+     * @param klass
+     *     The type of the broadcasts. This must be one of the types given to the constructor.
+     *
+     * @return The collected broadcasts of the type, in the order received.
+     *
+     * @throws IllegalArgumentException
+     *     If the type is not one of the collected types.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Class<T> klass) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == klass) {
+                return Collections.unmodifiableList((List<T>)collected[i]);
+            }
+        }
+        throw new IllegalArgumentException("not a collected type: " + klass);
+    }
+
+    /**
+     * Returns true if any broadcasts of the given type were received.
+     *
+     * @param klass
+     *     The type of the broadcasts. This must be one of the types given to the constructor.
+     *
+     * @return true if any broadcasts of the type were received.
+     *
+     * @throws IllegalArgumentException
+     *     If the type is not one of the collected types.
+     */
+    public boolean hasAny(Class<?> klass) {
+        return !get(klass).isEmpty();
+    }
+
+    /** whether this collects exactly the given types, in the same order, for {@link BroadcasterPool} */
+    boolean collects(Class<?>[] types) {
+        return Arrays.equals(this.types, types);
+    }
+
+    /** clears the collected broadcasts and the chain, for reuse by {@link BroadcasterPool} */
+    void reset() {
+        for (List<Object> list : collected) {
+            list.clear();
+        }
+        next = null;
+    }
+}
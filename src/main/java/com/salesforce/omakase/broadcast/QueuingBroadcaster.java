@@ -65,6 +65,9 @@ public final class QueuingBroadcaster extends AbstractBroadcaster {
         chain(checkNotNull(broadcaster, "broadcaster cannot be null"));
     }
 
+    /** for {@link BroadcasterPool} */
+    QueuingBroadcaster() {}
+
     @Override
     public void broadcast(Broadcastable broadcastable) {
         // broadcast the unit unless the queue is paused
@@ -149,6 +152,14 @@ public final class QueuingBroadcaster extends AbstractBroadcaster {
         return this;
     }
 
+    /** clears the queue and the chain, for reuse by {@link BroadcasterPool} */
+    void reset() {
+        queue.clear();
+        rejected = null;
+        state = State.READY;
+        next = null;
+    }
+
     /** Broadcasts all events currently in the queue, until the queue is empty. */
     private void flush() {
         while (!queue.isEmpty()) {
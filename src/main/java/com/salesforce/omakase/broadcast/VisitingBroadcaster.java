@@ -63,6 +63,14 @@ public final class VisitingBroadcaster extends AbstractBroadcaster {
         relay(broadcastable);
     }
 
+    /**
+     * Clears the target unit and unlocks it, so that this broadcaster can be used again for another stylesheet.
+     */
+    public void reset() {
+        target = null;
+        locked = false;
+    }
+
     /**
      * Calls {@link Broadcastable#propagateBroadcast(Broadcaster, Status)} on the top unit using the given {@link Broadcaster}
      * and status.
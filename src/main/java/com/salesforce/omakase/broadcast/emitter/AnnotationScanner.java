@@ -32,9 +32,6 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.google.common.base.Strings;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -57,15 +54,16 @@ final class AnnotationScanner {
     private static final Set<String> SKIP = ImmutableSet.of(
         "wait", "equals", "hashCode", "getClass", "notify", "notifyAll", "toString", "dependencies");
 
-    /** cache of which methods on a {@link Plugin} are {@link Subscription} methods */
-    private static final LoadingCache<Class<?>, Set<SubscriptionMetadata>> subscriptionCache = CacheBuilder.newBuilder()
-        .weakKeys()
-        .build(new CacheLoader<Class<?>, Set<SubscriptionMetadata>>() {
-            @Override
-            public Set<SubscriptionMetadata> load(Class<?> klass) throws Exception {
-                return readSubscriptionAnnotations(klass);
-            }
-        });
+    /**
+     * cache of which methods on a {@link Plugin} are {@link Subscription} methods. A {@link ClassValue} is used (rather than a
+     * cache) since it doesn't hold onto the class and has nothing to set up before the first plugin is registered.
+     */
+    private static final ClassValue<Set<SubscriptionMetadata>> subscriptionCache = new ClassValue<Set<SubscriptionMetadata>>() {
+        @Override
+        protected Set<SubscriptionMetadata> computeValue(Class<?> klass) {
+            return readSubscriptionAnnotations(klass);
+        }
+    };
 
     private static Set<SubscriptionMetadata> readSubscriptionAnnotations(Class<?> klass) {
         Set<SubscriptionMetadata> set = new HashSet<>();
@@ -165,7 +163,7 @@ final class AnnotationScanner {
         // linked multimap because we need to maintain insertion order
         Multimap<Class<?>, Subscription> subscriptions = LinkedHashMultimap.create();
 
-        for (SubscriptionMetadata sm : subscriptionCache.getUnchecked(subscriber.getClass())) {
+        for (SubscriptionMetadata sm : subscriptionCache.get(subscriber.getClass())) {
             subscriptions.put(sm.event, new Subscription(sm.phase, subscriber, sm.method, sm.name));
         }
 
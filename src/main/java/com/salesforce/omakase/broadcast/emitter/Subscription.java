@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import com.salesforce.omakase.ast.Named;
 import com.salesforce.omakase.broadcast.Broadcastable;
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.error.ErrorLimitException;
 import com.salesforce.omakase.error.ErrorManager;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.ParserException;
@@ -127,6 +128,8 @@ final class Subscription implements Comparable<Subscription> {
             em.report((ParserException)t.getCause());
         } else if (t.getCause() instanceof SubscriptionException) {
             em.report((SubscriptionException)t.getCause());
+        } else if (t.getCause() instanceof ErrorLimitException) {
+            throw (ErrorLimitException)t.getCause();
         } else {
             throw new SubscriptionException(msg, t);
         }
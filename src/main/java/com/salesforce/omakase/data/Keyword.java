@@ -26,11 +26,8 @@
 
 package com.salesforce.omakase.data;
 
-import java.util.Map;
 import java.util.Optional;
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.KeywordValue;
 import com.salesforce.omakase.ast.declaration.PropertyValue;
@@ -550,15 +547,16 @@ public enum Keyword {
 
     ;
 
-    /** reverse lookup map */
-    private static final Map<String, Keyword> map;
-    static {
-        Builder<String, Keyword> builder = ImmutableMap.builder();
-        for (Keyword kw : Keyword.values()) {
-            builder.put(kw.toString(), kw);
-        }
-        map = builder.build();
-    }
+    /** perfect hash seeds for {@link #lookup(char[], int, int)}, computed by the generator */
+    private static final int[] SEEDS = {
+        2, 1, 1, 1, 1, 1, 2, 3, 2, 1, 1, 1, 1, 3, 1, 1,
+        0, 1, 2, 0, 0, 3, 2, 1, 1, 4, 1, 1, 1, 1, 1, 1,
+        0, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 3, 1, 2, 1,
+        3, 2, 3, 3, 1, 1, 1, 1, 1, 5, 3, 5, 1, 1, 4, 1
+    };
+
+    /** reverse lookup table */
+    private static final PerfectHashTable<Keyword> table = new PerfectHashTable<>(values(), Keyword::toString, SEEDS, 512);
 
     private final String keyword;
 
@@ -616,6 +614,36 @@ public enum Keyword {
     * @return The matching {@link Keyword}, or null if not found.
     */
     public static Keyword lookup(String name) {
-        return map.get(name);
+        Keyword keyword = table.get(name, 0, name.length());
+        return keyword != null && keyword.keyword.equals(name) ? keyword : null;
+    }
+
+    /**
+     * Gets the keyword associated with the given name, ignoring case. This does not allocate, so it is suitable for use while
+     * parsing.
+     *
+     * @param chars
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching {@link Keyword}, or null if not found.
+     */
+    public static Keyword lookup(char[] chars, int start, int length) {
+        return table.get(chars, start, length);
+    }
+
+    /**
+     * Gets the keyword associated with the given name, ignoring case. This does not allocate a lower-cased copy of the name.
+     *
+     * @param name
+     *     Name of the keyword.
+     *
+     * @return The matching {@link Keyword}, or null if not found.
+     */
+    public static Keyword lookupIgnoreCase(CharSequence name) {
+        return table.get(name, 0, name.length());
     }
 }
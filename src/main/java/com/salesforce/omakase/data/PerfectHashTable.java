@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A collision-free (perfect) hash table for looking up a constant, such as a {@link Property} or {@link Keyword}, from its name.
+ * <p>
+ * Lookups are case-insensitive for ASCII letters and can be done directly against a range of a {@code char[]} or {@link
+ * CharSequence}, so no lower-cased or substring copy of the name has to be created first. Each lookup computes two hashes of the
+ * range and then compares against a single candidate.
+ * <p>
+ * The table uses the "hash and displace" technique. Names are first distributed into buckets using a fixed hash. Each bucket is
+ * then given a seed (found ahead of time with {@link #seeds(List, int, int)}, usually by a code generator) which places all of its
+ * names into distinct slots of the table.
+ *
+ * @param <T>
+ *     Type of the constants in the table.
+ *
+ * @author nmcwilliams
+ */
+public final class PerfectHashTable<T> {
+    private static final int MAX_SEED = 1 << 20;
+
+    private final int[] seeds;
+    private final int bucketMask;
+    private final int slotMask;
+    private final Object[] values;
+    private final String[] names;
+
+    /**
+     * Creates a new {@link PerfectHashTable}.
+     *
+     * @param values
+     *     The constants to add to the table.
+     * @param nameFunction
+     *     Gets the name of a constant.
+     * @param seeds
+     *     The seed for each bucket, as computed by {@link #seeds(List, int, int)} for the same names. The length must be a power of
+     *     2.
+     * @param size
+     *     Number of slots in the table. Must be a power of 2 and at least the number of constants.
+     *
+     * @throws IllegalStateException
+     *     If the seeds don't produce a perfect hash for the given constants.
+     */
+    public PerfectHashTable(T[] values, Function<T, String> nameFunction, int[] seeds, int size) {
+        checkArgument(Integer.bitCount(seeds.length) == 1, "number of seeds must be a power of 2");
+        checkArgument(Integer.bitCount(size) == 1 && size >= values.length, "size must be a power of 2 >= number of values");
+
+        this.seeds = seeds.clone();
+        this.bucketMask = seeds.length - 1;
+        this.slotMask = size - 1;
+        this.values = new Object[size];
+        this.names = new String[size];
+
+        for (T value : values) {
+            String name = nameFunction.apply(value);
+            int slot = slot(name, 0, name.length());
+            checkState(names[slot] == null, "seeds don't produce a perfect hash for '%s' (the generated code needs to be updated)",
+                name);
+            this.values[slot] = value;
+            this.names[slot] = name;
+        }
+    }
+
+    /**
+     * Gets the constant with the given name, ignoring ASCII case.
+     *
+     * @param chars
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching constant, or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(char[] chars, int start, int length) {
+        int h = hash(chars, start, length, 0);
+        int slot = hash(chars, start, length, seeds[h & bucketMask]) & slotMask;
+        String name = names[slot];
+        if (name == null || name.length() != length) return null;
+
+        for (int i = 0; i < length; i++) {
+            if (lower(chars[start + i]) != lower(name.charAt(i))) return null;
+        }
+        return (T)values[slot];
+    }
+
+    /**
+     * Gets the constant with the given name, ignoring ASCII case.
+     *
+     * @param sequence
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching constant, or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(CharSequence sequence, int start, int length) {
+        int slot = slot(sequence, start, length);
+        String name = names[slot];
+        if (name == null || name.length() != length) return null;
+
+        for (int i = 0; i < length; i++) {
+            if (lower(sequence.charAt(start + i)) != lower(name.charAt(i))) return null;
+        }
+        return (T)values[slot];
+    }
+
+    private int slot(CharSequence sequence, int start, int length) {
+        int h = hash(sequence, start, length, 0);
+        return hash(sequence, start, length, seeds[h & bucketMask]) & slotMask;
+    }
+
+    /**
+     * Computes the bucket seeds for a {@link PerfectHashTable} containing the given names. This is intended to be run at code
+     * generation time.
+     *
+     * @param names
+     *     The names.
+     * @param buckets
+     *     Number of buckets. Must be a power of 2.
+     * @param size
+     *     Number of slots in the table. Must be a power of 2 and at least the number of names.
+     *
+     * @return The seed for each bucket.
+     *
+     * @throws IllegalStateException
+     *     If no perfect hash could be found, in which case the bucket count or size should be increased.
+     */
+    public static int[] seeds(List<String> names, int buckets, int size) {
+        checkArgument(Integer.bitCount(buckets) == 1, "number of buckets must be a power of 2");
+        checkArgument(Integer.bitCount(size) == 1 && size >= names.size(), "size must be a power of 2 >= number of names");
+
+        List<List<String>> grouped = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            grouped.add(new ArrayList<>(4));
+        }
+        for (String name : names) {
+            grouped.get(hash(name, 0, name.length(), 0) & (buckets - 1)).add(name);
+        }
+
+        // place the largest buckets first, while the table is emptiest
+        List<Integer> order = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Integer.compare(grouped.get(b).size(), grouped.get(a).size()));
+
+        int[] seeds = new int[buckets];
+        boolean[] taken = new boolean[size];
+        int[] slots = new int[names.size()];
+
+        for (int bucket : order) {
+            List<String> members = grouped.get(bucket);
+            if (members.isEmpty()) break;
+
+            boolean placed = false;
+            for (int seed = 1; seed < MAX_SEED && !placed; seed++) {
+                placed = true;
+                for (int i = 0; i < members.size(); i++) {
+                    String name = members.get(i);
+                    int slot = hash(name, 0, name.length(), seed) & (size - 1);
+                    boolean duplicate = false;
+                    for (int j = 0; j < i; j++) {
+                        duplicate |= slots[j] == slot;
+                    }
+                    if (taken[slot] || duplicate) {
+                        placed = false;
+                        break;
+                    }
+                    slots[i] = slot;
+                }
+                if (placed) {
+                    seeds[bucket] = seed;
+                    for (int i = 0; i < members.size(); i++) {
+                        taken[slots[i]] = true;
+                    }
+                }
+            }
+            checkState(placed, "unable to find a perfect hash, try increasing the size or number of buckets");
+        }
+
+        return seeds;
+    }
+
+    private static int hash(char[] chars, int start, int length, int seed) {
+        int h = 0x811c9dc5 ^ seed;
+        for (int i = start, end = start + length; i < end; i++) {
+            h = (h ^ lower(chars[i])) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    private static int hash(CharSequence sequence, int start, int length, int seed) {
+        int h = 0x811c9dc5 ^ seed;
+        for (int i = start, end = start + length; i < end; i++) {
+            h = (h ^ lower(sequence.charAt(i))) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char)(c + 32) : c;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
+
+/**
+ * The data in {@link PrefixTables}, loaded into flat arrays from the compact binary resource generated alongside it.
+ * <p>
+ * Each category (properties, keywords, at-rules, selectors and functions) is loaded separately the first time it is used, so the
+ * cost of building the Guava tables in {@link PrefixTables} is never paid at startup. A lookup is a single array read, indexed by
+ * the row and the {@link Browser} ordinal.
+ * <p>
+ * The resource format is:
+ * <pre>
+ * int     magic number
+ * byte    format version
+ * int[5]  offset of each category section from the start of the resource
+ * byte    number of browsers, followed by the name of each browser (UTF)
+ * ...     the category sections
+ * </pre>
+ * Each section is an unsigned short row count, followed by each row: the name of the row (UTF), an unsigned byte entry count and
+ * each entry as a browser index (into the header list) and a double version. Browsers, properties and keywords are recorded by
+ * name rather than ordinal, so that regenerating an enum doesn't invalidate the resource. Unknown names are ignored.
+ *
+ * @author nmcwilliams
+ */
+final class PrefixTableData {
+    /** name of the resource, relative to this class */
+    static final String RESOURCE = "prefix-tables.dat";
+
+    /** magic number at the start of the resource */
+    static final int MAGIC = 0x4F4D4B50;
+
+    /** version of the resource format */
+    static final int FORMAT = 1;
+
+    static final int PROPERTIES = 0;
+    static final int KEYWORDS = 1;
+    static final int AT_RULES = 2;
+    static final int SELECTORS = 3;
+    static final int FUNCTIONS = 4;
+    static final int CATEGORIES = 5;
+
+    private static final int BROWSERS = Browser.values().length;
+    private static final double NOT_PREFIXED = -1d;
+
+    private final double[] versions;
+    private final boolean[] present;
+    private final Map<String, Integer> names;
+
+    private PrefixTableData(double[] versions, boolean[] present, Map<String, Integer> names) {
+        this.versions = versions;
+        this.present = present;
+        this.names = names;
+    }
+
+    /** gets the data for properties, keyed by {@link Property} ordinal */
+    static PrefixTableData properties() {
+        return PropertiesHolder.DATA;
+    }
+
+    /** gets the data for keywords, keyed by {@link Keyword} ordinal */
+    static PrefixTableData keywords() {
+        return KeywordsHolder.DATA;
+    }
+
+    /** gets the data for at-rules, keyed by name */
+    static PrefixTableData atRules() {
+        return AtRulesHolder.DATA;
+    }
+
+    /** gets the data for selectors, keyed by name */
+    static PrefixTableData selectors() {
+        return SelectorsHolder.DATA;
+    }
+
+    /** gets the data for functions, keyed by name */
+    static PrefixTableData functions() {
+        return FunctionsHolder.DATA;
+    }
+
+    /** whether there is any prefix data for the given row */
+    boolean contains(int row) {
+        return present[row];
+    }
+
+    /** whether there is any prefix data for the given name */
+    boolean contains(String name) {
+        return names.containsKey(name);
+    }
+
+    /** the last version of the browser that requires a prefix for the given row, or -1 if none */
+    double version(int row, Browser browser) {
+        return versions[row * BROWSERS + browser.ordinal()];
+    }
+
+    /** the last version of the browser that requires a prefix for the given name, or -1 if none */
+    double version(String name, Browser browser) {
+        Integer row = names.get(name);
+        return row != null ? version(row, browser) : NOT_PREFIXED;
+    }
+
+    /** loads a category keyed by enum constant */
+    private static <E extends Enum<E>> PrefixTableData load(int category, Class<E> klass) {
+        Section section = read(category);
+        E[] constants = klass.getEnumConstants();
+        double[] versions = new double[constants.length * BROWSERS];
+        boolean[] present = new boolean[constants.length];
+        Arrays.fill(versions, NOT_PREFIXED);
+
+        for (int row = 0; row < section.names.length; row++) {
+            E constant;
+            try {
+                constant = Enum.valueOf(klass, section.names[row]);
+            } catch (IllegalArgumentException e) {
+                continue; // no longer in the enum
+            }
+            present[constant.ordinal()] = true;
+            System.arraycopy(section.versions, row * BROWSERS, versions, constant.ordinal() * BROWSERS, BROWSERS);
+        }
+
+        return new PrefixTableData(versions, present, null);
+    }
+
+    /** loads a category keyed by name */
+    private static PrefixTableData load(int category) {
+        Section section = read(category);
+        Map<String, Integer> names = new HashMap<>(section.names.length * 2);
+        for (int row = 0; row < section.names.length; row++) {
+            names.put(section.names[row], row);
+        }
+        return new PrefixTableData(section.versions, null, names);
+    }
+
+    /** reads the given category section of the resource */
+    private static Section read(int category) {
+        InputStream resource = PrefixTableData.class.getResourceAsStream(RESOURCE);
+        if (resource == null) throw new IllegalStateException("unable to find prefix data resource '" + RESOURCE + "'");
+
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(resource))) {
+            DataInputStream in = new DataInputStream(counting);
+
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT) {
+                throw new IllegalStateException("unrecognized prefix data resource '" + RESOURCE + "'");
+            }
+
+            int[] offsets = new int[CATEGORIES];
+            for (int i = 0; i < CATEGORIES; i++) {
+                offsets[i] = in.readInt();
+            }
+
+            // the browsers known when the resource was generated
+            Browser[] browsers = new Browser[in.readUnsignedByte()];
+            for (int i = 0; i < browsers.length; i++) {
+                browsers[i] = lookupBrowser(in.readUTF());
+            }
+
+            ByteStreams.skipFully(counting, offsets[category] - counting.getCount());
+
+            Section section = new Section(in.readUnsignedShort());
+            for (int row = 0; row < section.names.length; row++) {
+                section.names[row] = in.readUTF();
+                for (int entries = in.readUnsignedByte(); entries > 0; entries--) {
+                    Browser browser = browsers[in.readUnsignedByte()];
+                    double version = in.readDouble();
+                    if (browser != null) section.versions[row * BROWSERS + browser.ordinal()] = version;
+                }
+            }
+            return section;
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to read prefix data resource '" + RESOURCE + "'", e);
+        }
+    }
+
+    private static Browser lookupBrowser(String name) {
+        try {
+            return Browser.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null; // no longer in the enum, entries for this browser are ignored
+        }
+    }
+
+    /** the rows read from a section, with the versions indexed by row and {@link Browser} ordinal */
+    private static final class Section {
+        final String[] names;
+        final double[] versions;
+
+        Section(int rows) {
+            names = new String[rows];
+            versions = new double[rows * BROWSERS];
+            Arrays.fill(versions, NOT_PREFIXED);
+        }
+    }
+
+    private static final class PropertiesHolder {
+        static final PrefixTableData DATA = load(PROPERTIES, Property.class);
+    }
+
+    private static final class KeywordsHolder {
+        static final PrefixTableData DATA = load(KEYWORDS, Keyword.class);
+    }
+
+    private static final class AtRulesHolder {
+        static final PrefixTableData DATA = load(AT_RULES);
+    }
+
+    private static final class SelectorsHolder {
+        static final PrefixTableData DATA = load(SELECTORS);
+    }
+
+    private static final class FunctionsHolder {
+        static final PrefixTableData DATA = load(FUNCTIONS);
+    }
+}
@@ -28,6 +28,9 @@ package com.salesforce.omakase.data;
 
 /**
  * Utilities for working with the generated data in {@link PrefixTables}.
+ * <p>
+ * Lookups are served from the flat arrays of {@link PrefixTableData}, which loads each category of the data lazily from a
+ * binary resource instead of building the tables in {@link PrefixTables}.
  *
  * @author nmcwilliams
  */
@@ -44,7 +47,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given property.
      */
     public static boolean isPrefixableProperty(Property property) {
-        return PrefixTables.PROPERTIES.containsRow(property);
+        return PrefixTableData.properties().contains(property.ordinal());
     }
 
     /**
@@ -56,7 +59,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given keyword.
      */
     public static boolean isPrefixableKeyword(Keyword keyword) {
-        return PrefixTables.KEYWORDS.containsRow(keyword);
+        return PrefixTableData.keywords().contains(keyword.ordinal());
     }
 
     /**
@@ -68,7 +71,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given at-rule.
      */
     public static boolean isPrefixableAtRule(String name) {
-        return PrefixTables.AT_RULES.containsRow(name);
+        return PrefixTableData.atRules().contains(name);
     }
 
     /**
@@ -80,7 +83,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given selector name.
      */
     public static boolean isPrefixableSelector(String name) {
-        return PrefixTables.SELECTORS.containsRow(name);
+        return PrefixTableData.selectors().contains(name);
     }
 
     /**
@@ -92,7 +95,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given function name.
      */
     public static boolean isPrefixableFunction(String function) {
-        return PrefixTables.FUNCTIONS.containsRow(function);
+        return PrefixTableData.functions().contains(function);
     }
 
     /**
@@ -106,8 +109,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the property unprefixed.
      */
     public static Double lastVersionPropertyIsPrefixed(Property property, Browser browser) {
-        final Double val = PrefixTables.PROPERTIES.get(property, browser);
-        return val != null ? val : -1d;
+        return PrefixTableData.properties().version(property.ordinal(), browser);
     }
 
     /**
@@ -121,8 +123,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the keyword unprefixed.
      */
     public static Double lastVersionKeywordIsPrefixed(Keyword keyword, Browser browser) {
-        final Double val = PrefixTables.KEYWORDS.get(keyword, browser);
-        return val != null ? val : -1d;
+        return PrefixTableData.keywords().version(keyword.ordinal(), browser);
     }
 
     /**
@@ -136,8 +137,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the at-rule unprefixed.
      */
     public static Double lastVersionAtRuleIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.AT_RULES.get(name, browser);
-        return val != null ? val : -1d;
+        return PrefixTableData.atRules().version(name, browser);
     }
 
     /**
@@ -151,8 +151,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the selector unprefixed.
      */
     public static Double lastVersionSelectorIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.SELECTORS.get(name, browser);
-        return val != null ? val : -1d;
+        return PrefixTableData.selectors().version(name, browser);
     }
 
     /**
@@ -166,7 +165,6 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the function name unprefixed.
      */
     public static Double lastVersionFunctionIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.FUNCTIONS.get(name, browser);
-        return val != null ? val : -1d;
+        return PrefixTableData.functions().version(name, browser);
     }
 }
@@ -26,11 +26,6 @@
 
 package com.salesforce.omakase.data;
 
-import java.util.Map;
-
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
-
 /**
  * Enum of all recognized CSS properties. Use {@link #toString()} to get the CSS-output representation.
  * <p>
@@ -959,15 +954,20 @@ public enum Property {
 
     ;
 
-    /** reverse lookup map */
-    private static final Map<String, Property> map;
-    static {
-        Builder<String, Property> builder = ImmutableMap.builder();
-        for (Property pn : Property.values()) {
-            builder.put(pn.toString(), pn);
-        }
-        map = builder.build();
-    }
+    /** perfect hash seeds for {@link #lookup(char[], int, int)}, computed by the generator */
+    private static final int[] SEEDS = {
+        1, 0, 2, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2,
+        1, 1, 1, 2, 2, 1, 0, 1, 1, 2, 2, 1, 1, 1, 2, 1,
+        5, 1, 1, 0, 1, 2, 4, 1, 1, 1, 2, 1, 4, 1, 2, 3,
+        1, 1, 1, 2, 1, 2, 1, 5, 1, 2, 1, 1, 1, 1, 1, 0,
+        1, 2, 0, 1, 2, 1, 1, 1, 1, 1, 2, 2, 0, 1, 2, 0,
+        1, 2, 1, 1, 2, 3, 1, 0, 1, 2, 1, 2, 1, 2, 1, 1,
+        5, 2, 1, 1, 1, 2, 1, 2, 5, 3, 1, 1, 1, 1, 2, 1,
+        1, 1, 3, 1, 1, 2, 2, 1, 4, 2, 2, 1, 1, 1, 1, 0
+    };
+
+    /** reverse lookup table */
+    private static final PerfectHashTable<Property> table = new PerfectHashTable<>(values(), Property::toString, SEEDS, 1024);
 
     private final String name;
 
@@ -989,6 +989,36 @@ public enum Property {
      * @return The matching {@link Property}, or null if not found.
      */
     public static Property lookup(String name) {
-        return map.get(name);
+        Property property = table.get(name, 0, name.length());
+        return property != null && property.name.equals(name) ? property : null;
+    }
+
+    /**
+     * Gets the property associated with the given name, ignoring case. This does not allocate, so it is suitable for use while
+     * parsing.
+     *
+     * @param chars
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching {@link Property}, or null if not found.
+     */
+    public static Property lookup(char[] chars, int start, int length) {
+        return table.get(chars, start, length);
+    }
+
+    /**
+     * Gets the property associated with the given name, ignoring case. This does not allocate a lower-cased copy of the name.
+     *
+     * @param name
+     *     Name of the property.
+     *
+     * @return The matching {@link Property}, or null if not found.
+     */
+    public static Property lookupIgnoreCase(CharSequence name) {
+        return table.get(name, 0, name.length());
     }
 }
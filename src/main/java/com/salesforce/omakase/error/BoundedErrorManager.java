@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.error;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.broadcast.emitter.SubscriptionException;
+import com.salesforce.omakase.parser.ParserException;
+
+/**
+ * An {@link ErrorManager} for processing large numbers of stylesheets with potentially many problems, e.g., when linting.
+ * <p>
+ * Unlike {@link DefaultErrorManager}, this doesn't format each message as it's reported. Instead the level, line, column and
+ * message of each problem are recorded in primitive arrays (each distinct message is only stored once, and referred to by a
+ * code), and the full message is only formatted if requested with {@link #message(int)} or {@link #summarize()}. Counts are
+ * available without formatting anything, see {@link #errorCount()} and {@link #counts()}.
+ * <p>
+ * To format the message later, only the small pieces it needs are kept, not the exception or the syntax tree: for parser errors
+ * the characters of the source and the position of the error (see {@link ParserException#deferredMessage()}), and for problems
+ * with a syntax unit a weak reference to the unit. If the unit is no longer reachable when the message is formatted, the message
+ * only includes the line and column. Also keep in mind that the message reflects any changes made to the unit since the problem
+ * was reported.
+ * <p>
+ * At most {@link #limit(int)} errors are recorded, after which processing is stopped early by throwing an {@link
+ * ErrorLimitException}. At most the same number of warnings are recorded, though all of them are counted.
+ * <p>
+ * Exceptions are never rethrown, and this doesn't automatically summarize (see {@link #autoSummarize()}), so check {@link
+ * #hasErrors()} after processing.
+ *
+ * @author nmcwilliams
+ */
+public final class BoundedErrorManager implements ErrorManager {
+    /** default maximum number of errors */
+    public static final int DEFAULT_LIMIT = 100;
+
+    private static final byte WARNING = 0;
+    private static final byte ERROR = 1;
+    private static final byte PLUGIN = 2;
+
+    private final String sourceName;
+    private int limit = DEFAULT_LIMIT;
+    private boolean showWarnings = true;
+    private boolean autoSummarize;
+
+    // the recorded problems
+    private int size;
+    private byte[] kinds = new byte[8];
+    private int[] codes = new int[8];
+    private int[] lines = new int[8];
+    private int[] columns = new int[8];
+    private Supplier<?>[] details = new Supplier<?>[8];
+
+    // distinct messages, indexed by code
+    private final List<String> messages = new ArrayList<>();
+    private final Map<String, Integer> messageCodes = new HashMap<>();
+
+    private int errors;
+    private int warnings;
+    private boolean aborted;
+    private String summary;
+
+    /**
+     * Creates a new {@link BoundedErrorManager} instance with no given name.
+     */
+    public BoundedErrorManager() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@link BoundedErrorManager} instance with the given name.
+     *
+     * @param sourceName
+     *     Name of the CSS file, to be used for error reporting.
+     */
+    public BoundedErrorManager(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Specifies the maximum number of errors (default {@link #DEFAULT_LIMIT}). Once reached, processing is stopped.
+     *
+     * @param limit
+     *     The maximum number of errors.
+     *
+     * @return this, for chaining.
+     */
+    public BoundedErrorManager limit(int limit) {
+        checkArgument(limit > 0, "limit must be greater than 0");
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Specifies whether warnings count as problems for {@link #hasErrors()} and are included in the summary (default true).
+     *
+     * @param showWarnings
+     *     Specify true to include warnings.
+     *
+     * @return this, for chaining.
+     */
+    public BoundedErrorManager warnings(boolean showWarnings) {
+        this.showWarnings = showWarnings;
+        return this;
+    }
+
+    /**
+     * Specifies whether a {@link ProblemSummaryException} should be thrown at the end of processing if there are errors (default
+     * false).
+     *
+     * @param autoSummarize
+     *     Specify true to automatically summarize.
+     *
+     * @return this, for chaining.
+     */
+    public BoundedErrorManager autoSummarize(boolean autoSummarize) {
+        this.autoSummarize = autoSummarize;
+        return this;
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    @Override
+    public void report(ErrorLevel level, Syntax cause, String message) {
+        if (level == ErrorLevel.WARNING) {
+            if (warnings++ < limit) {
+                record(WARNING, message, cause.line(), cause.column(), deferred(cause, message));
+            }
+        } else if (!aborted) {
+            error(ERROR, message, cause.line(), cause.column(), deferred(cause, message));
+        }
+    }
+
+    @Override
+    public void report(ParserException exception) {
+        if (aborted) return; // the abort exception being reported on its way out
+        Supplier<String> message = exception.deferredMessage();
+        error(ERROR, exception.reason(), exception.line(), exception.column(),
+            () -> ErrorUtils.format(sourceName, message.get()));
+    }
+
+    @Override
+    public void report(SubscriptionException exception) {
+        if (aborted) return;
+
+        StringBuilder builder = new StringBuilder(exception.getMessage());
+        Throwable t = exception.getCause();
+        while (t != null) {
+            builder.append("\n").append(t);
+            t = t.getCause();
+        }
+        // the exception may reference anything, so its causes are formatted now (plugin errors are rare anyway)
+        String detail = builder.toString();
+        error(PLUGIN, exception.getMessage(), -1, -1, () -> detail);
+    }
+
+    /** formats the message from the unit when requested, or from the line and column only if the unit is gone by then */
+    private Supplier<String> deferred(Syntax cause, String message) {
+        WeakReference<Syntax> unit = new WeakReference<>(cause);
+        int line = cause.line();
+        int column = cause.column();
+        return () -> {
+            Syntax syntax = unit.get();
+            if (syntax == null) return ErrorUtils.format(sourceName, line, column, message);
+            return ErrorUtils.format(sourceName, syntax, message);
+        };
+    }
+
+    /** records an error, stopping processing if the limit has been reached */
+    private void error(byte kind, String message, int line, int column, Supplier<?> detail) {
+        record(kind, message, line, column, detail);
+        if (++errors >= limit) {
+            aborted = true;
+            throw new ErrorLimitException("stopped after " + errors + " errors");
+        }
+    }
+
+    private void record(byte kind, String message, int line, int column, Supplier<?> detail) {
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            details = Arrays.copyOf(details, capacity);
+        }
+
+        Integer code = messageCodes.get(message);
+        if (code == null) {
+            code = messages.size();
+            messages.add(message);
+            messageCodes.put(message, code);
+        }
+
+        kinds[size] = kind;
+        codes[size] = code;
+        lines[size] = line;
+        columns[size] = column;
+        details[size] = detail;
+        size++;
+        summary = null;
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return errors > 0 || (showWarnings && warnings > 0);
+    }
+
+    @Override
+    public boolean autoSummarize() {
+        return autoSummarize;
+    }
+
+    /**
+     * Gets the number of errors, including parser and plugin errors.
+     *
+     * @return The number of errors.
+     */
+    public int errorCount() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of warnings, including any that weren't recorded because the limit was reached.
+     *
+     * @return The number of warnings.
+     */
+    public int warningCount() {
+        return warnings;
+    }
+
+    /**
+     * Gets whether processing was stopped because the error limit was reached.
+     *
+     * @return True if processing was stopped early.
+     */
+    public boolean aborted() {
+        return aborted;
+    }
+
+    /**
+     * Gets the number of recorded problems (errors and warnings). Use the index of each with {@link #level(int)}, {@link
+     * #line(int)}, etc...
+     *
+     * @return The number of recorded problems.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the level of a recorded problem.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The {@link ErrorLevel}.
+     */
+    public ErrorLevel level(int index) {
+        return kinds[checkIndex(index)] == WARNING ? ErrorLevel.WARNING : ErrorLevel.FATAL;
+    }
+
+    /**
+     * Gets the code of a recorded problem. Problems with the same message have the same code, see {@link #reason(int)}.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The code.
+     */
+    public int code(int index) {
+        return codes[checkIndex(index)];
+    }
+
+    /**
+     * Gets the line of a recorded problem.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The line number, or -1 if unknown.
+     */
+    public int line(int index) {
+        return lines[checkIndex(index)];
+    }
+
+    /**
+     * Gets the column of a recorded problem.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The column number, or -1 if unknown.
+     */
+    public int column(int index) {
+        return columns[checkIndex(index)];
+    }
+
+    /**
+     * Gets the message of a recorded problem, without any location or source details.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The unformatted message.
+     */
+    public String reason(int index) {
+        return messages.get(codes[checkIndex(index)]);
+    }
+
+    /**
+     * Gets the fully formatted message of a recorded problem, the same as it would appear in the summary from {@link
+     * DefaultErrorManager}.
+     *
+     * @param index
+     *     Index of the problem.
+     *
+     * @return The formatted message.
+     */
+    public String message(int index) {
+        return (String)details[checkIndex(index)].get();
+    }
+
+    /**
+     * Gets the number of times each distinct message was recorded, in order of first occurrence. This doesn't format anything.
+     *
+     * @return The number of occurrences of each message.
+     */
+    public Map<String, Integer> counts() {
+        int[] counts = new int[messages.size()];
+        for (int i = 0; i < size; i++) {
+            counts[codes[i]]++;
+        }
+
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            map.put(messages.get(code), counts[code]);
+        }
+        return map;
+    }
+
+    @Override
+    public String summarize() {
+        if (summary == null) {
+            StringBuilder builder = new StringBuilder(256);
+            section(builder, PLUGIN, "Omakase CSS Parser - Plugin Errors\n-----------------------------------");
+            section(builder, ERROR, "Omakase CSS Parser - Errors\n----------------------------");
+            if (showWarnings) {
+                section(builder, WARNING, "Omakase CSS Parser - Warnings\n------------------------------");
+            }
+
+            if (aborted) {
+                builder.append("\n(stopped at the limit of ").append(limit).append(" errors)\n");
+            }
+            if (showWarnings && warnings > limit) {
+                builder.append("\n(").append(warnings - limit).append(" more warnings not shown)\n");
+            }
+            summary = builder.toString();
+        }
+        return summary;
+    }
+
+    private void section(StringBuilder builder, byte kind, String header) {
+        boolean first = true;
+        for (int i = 0; i < size; i++) {
+            if (kinds[i] != kind) continue;
+            if (first) {
+                if (builder.length() > 0) builder.append("\n");
+                builder.append(header);
+                first = false;
+            }
+            builder.append("\n").append(message(i)).append("\n");
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        return index;
+    }
+}
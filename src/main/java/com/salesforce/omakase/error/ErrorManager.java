@@ -50,7 +50,8 @@ public interface ErrorManager {
     /**
      * Reports an error message. This is usually called from {@link Validate} subscription methods.
      * <p>
-     * Implementations should <b>not</b> throw or rethrow an exception from this method.
+     * Implementations should <b>not</b> throw or rethrow an exception from this method, except for an {@link
+     * ErrorLimitException} to stop processing early.
      * <p>
      * You can use {@link ErrorUtils#format(Syntax, String)} as a helper.
      *
@@ -52,6 +52,20 @@ public final class ErrorUtils {
         return sourceName != null ? String.format("%s:\n%s", sourceName, message) : message;
     }
 
+    /**
+     * Formats an error message with only the location, e.g., when the details of the cause are no longer available.
+     *
+     * @param sourceName Name of the resource (e.g., file name) that has the problem.
+     * @param line       The line of the error.
+     * @param column     The column of the error.
+     * @param message    The error message.
+     * @return The formatted message.
+     */
+    public static String format(String sourceName, int line, int column, String message) {
+        String fmt = "%s:\nat line %s, column %s%s";
+        return String.format(fmt, message, line, column, sourceName != null ? " (" + sourceName + ")" : "");
+    }
+
     /**
      * Formats a parsing error message.
      *
@@ -72,14 +86,30 @@ public final class ErrorUtils {
      * @return The formatted message.
      */
     public static String format(String sourceName, Source source, String message) {
+        return format(sourceName, source.originalLine(), source.originalColumn(), source.isSubSource(),
+            source.toStringContextual(), message);
+    }
+
+    /**
+     * Formats a parsing error message from the details of the source at the time of the error.
+     *
+     * @param sourceName Name of the resource (e.g., file name) that has the problem.
+     * @param line       The original line of the error.
+     * @param column     The original column of the error.
+     * @param subSource  Whether the source was a sub-source.
+     * @param context    The contextual snippet of the source (see {@link Source#toStringContextual()}).
+     * @param message    The error message.
+     * @return The formatted message.
+     */
+    public static String format(String sourceName, int line, int column, boolean subSource, String context, String message) {
         String fmt = "%s:\nat line %s, column %s%s %s\n'%s'";
         return String.format(fmt,
             message,
-            source.originalLine(),
-            source.originalColumn(),
+            line,
+            column,
             sourceName != null ? " (" + sourceName + ") " : "",
-            source.isSubSource() ? "near" : "in",
-            source.toStringContextual()
+            subSource ? "near" : "in",
+            context
         );
     }
 
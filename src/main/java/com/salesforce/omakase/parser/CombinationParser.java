@@ -26,16 +26,31 @@
 
 package com.salesforce.omakase.parser;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
 
 /**
  * Combines two or more {@link Parser}s together. If the first parser does not succeed (i.e., returns false) then subsequent
  * parsers will be tried (until/if one does).
+ * <p>
+ * When the parsers declare their {@link Parser#firstCharacters()}, this predicts which parsers can succeed based on the current
+ * character of the source and only tries those, still in the given order. For example a hex color parser will not be tried unless
+ * the current character is '#'. Parsers that don't declare their first characters are always tried. When the current character
+ * could be the start of whitespace or a comment, which the parsers themselves handle, all parsers are tried.
  *
  * @author nmcwilliams
  */
 public final class CombinationParser implements Parser {
+    private static final int TABLE_SIZE = 128;
+
     private final Parser[] parsers;
+    private final Parser[][] table;
 
     /**
      * Creates a new instance using the given {@link Parser}s, in order.
@@ -45,11 +60,12 @@ public final class CombinationParser implements Parser {
      */
     public CombinationParser(Parser... parsers) {
         this.parsers = parsers;
+        this.table = predictive(parsers) ? buildTable(parsers) : null;
     }
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
-        for (Parser parser : parsers) {
+        for (Parser parser : candidates(source)) {
             if (parser.parse(source, grammar, broadcaster)) {
                 return true;
             }
@@ -59,11 +75,63 @@ public final class CombinationParser implements Parser {
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster, boolean parentIsConditional) {
-        for (Parser parser : parsers) {
+        for (Parser parser : candidates(source)) {
             if (parser.parse(source, grammar, broadcaster, parentIsConditional)) {
                 return true;
             }
         }
         return false;
     }
+
+    @Override
+    public Optional<Token> firstCharacters() {
+        Token combined = null;
+        for (Parser parser : parsers) {
+            Optional<Token> token = parser.firstCharacters();
+            if (!token.isPresent()) return Optional.empty();
+            combined = combined == null ? token.get() : combined.or(token.get());
+        }
+        return Optional.ofNullable(combined);
+    }
+
+    private Parser[] candidates(Source source) {
+        if (table == null) return parsers;
+
+        char c = source.current();
+        if (c >= TABLE_SIZE || c == Source.NULL_CHAR || Tokens.WHITESPACE.matches(c) || Tokens.FORWARD_SLASH.matches(c)) {
+            return parsers;
+        }
+        return table[c];
+    }
+
+    private static boolean predictive(Parser[] parsers) {
+        for (Parser parser : parsers) {
+            if (parser.firstCharacters().isPresent()) return true;
+        }
+        return false;
+    }
+
+    private static Parser[][] buildTable(Parser[] parsers) {
+        Parser[][] table = new Parser[TABLE_SIZE][];
+        List<Parser> candidates = new ArrayList<>(parsers.length);
+
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            candidates.clear();
+            for (Parser parser : parsers) {
+                Optional<Token> first = parser.firstCharacters();
+                if (!first.isPresent() || first.get().matches(c)) candidates.add(parser);
+            }
+
+            // share the array with an earlier character when the candidates are the same
+            Parser[] array = candidates.toArray(new Parser[0]);
+            for (int i = 0; i < c; i++) {
+                if (Arrays.equals(table[i], array)) {
+                    array = table[i];
+                    break;
+                }
+            }
+            table[c] = array;
+        }
+        return table;
+    }
 }
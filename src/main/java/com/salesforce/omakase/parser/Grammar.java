@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.parser;
 
+import com.salesforce.omakase.broadcast.BroadcasterPool;
 import com.salesforce.omakase.parser.factory.ParserFactory;
 import com.salesforce.omakase.parser.factory.StandardParserFactory;
 import com.salesforce.omakase.parser.factory.StandardTokenFactory;
@@ -43,6 +44,7 @@ import com.salesforce.omakase.parser.factory.TokenFactory;
 public final class Grammar {
     private final TokenFactory tokenFactory;
     private final ParserFactory parserFactory;
+    private final BroadcasterPool broadcasters;
 
     /**
      * Creates a new instance using standard grammar constructs.
@@ -60,8 +62,25 @@ public final class Grammar {
      *     The parser factory, or null to use the standard.
      */
     public Grammar(TokenFactory tokenFactory, ParserFactory parserFactory) {
+        this(tokenFactory, parserFactory, null);
+    }
+
+    /**
+     * Creates a new instance using standard or custom grammar constructs, and the given {@link BroadcasterPool}.
+     * <p>
+     * Pools are not thread-safe, so a grammar with a pool must only be used for processing one stylesheet at a time.
+     *
+     * @param tokenFactory
+     *     The token factory, or null to use the standard.
+     * @param parserFactory
+     *     The parser factory, or null to use the standard.
+     * @param broadcasters
+     *     The pool of broadcasters for parsers to use, or null to not recycle broadcasters.
+     */
+    public Grammar(TokenFactory tokenFactory, ParserFactory parserFactory, BroadcasterPool broadcasters) {
         this.tokenFactory = tokenFactory != null ? tokenFactory : StandardTokenFactory.instance();
         this.parserFactory = parserFactory != null ? parserFactory : StandardParserFactory.instance();
+        this.broadcasters = broadcasters != null ? broadcasters : BroadcasterPool.unpooled();
     }
 
     /**
@@ -81,4 +100,14 @@ public final class Grammar {
     public ParserFactory parser() {
         return parserFactory;
     }
+
+    /**
+     * Gets the {@link BroadcasterPool} that parsers get their {@link com.salesforce.omakase.broadcast.CollectingBroadcaster}s
+     * and {@link com.salesforce.omakase.broadcast.QueuingBroadcaster}s from.
+     *
+     * @return The {@link BroadcasterPool}.
+     */
+    public BroadcasterPool broadcasters() {
+        return broadcasters;
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded cache of identifier strings, used to deduplicate the names of selectors, properties, keywords and units.
+ * <p>
+ * Stylesheets tend to repeat the same small set of identifiers many times over. Instead of creating a new {@link String} for each
+ * occurrence, {@link #intern(char[], int, int)} hashes the given char range and probes the table for an equal string, only
+ * allocating when there isn't one already. This reduces both the retained memory of large syntax trees and garbage collection
+ * churn during parsing.
+ * <p>
+ * The table has a fixed number of slots, and a new entry will simply evict an older one on collision. Strings longer than {@link
+ * #MAX_LENGTH} are never cached, as they are unlikely to repeat.
+ * <p>
+ * This class is safe to share across threads. Slots are read and written without locking, however {@link String} is immutable
+ * and safely published, so the worst that can happen from a race is a missed cache hit.
+ *
+ * @author nmcwilliams
+ */
+public final class IdentInterner {
+    /** strings longer than this are not cached */
+    public static final int MAX_LENGTH = 32;
+
+    private static final IdentInterner SHARED = new IdentInterner(4096);
+
+    private final String[] table;
+    private final int mask;
+
+    /**
+     * Creates a new {@link IdentInterner} with the given number of slots.
+     *
+     * @param capacity
+     *     The number of slots. Must be a power of 2.
+     */
+    public IdentInterner(int capacity) {
+        checkArgument(capacity >= 2 && Integer.bitCount(capacity) == 1, "capacity must be a power of 2");
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets the string for the given range of characters, reusing an existing instance if one is cached.
+     *
+     * @param chars
+     *     The characters.
+     * @param start
+     *     The start index (inclusive).
+     * @param length
+     *     The number of characters.
+     *
+     * @return The string.
+     */
+    public String intern(char[] chars, int start, int length) {
+        if (length == 0) return "";
+        if (length > MAX_LENGTH) return new String(chars, start, length);
+
+        // same hash as String#hashCode
+        int hash = 0;
+        for (int i = start, end = start + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        // two-way probe, the second slot is the neighbor of the first
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String existing = table[slot];
+        if (existing != null && matches(existing, hash, chars, start, length)) return existing;
+
+        int other = slot ^ 1;
+        String alternate = table[other];
+        if (alternate != null && matches(alternate, hash, chars, start, length)) return alternate;
+
+        String string = new String(chars, start, length);
+        table[existing == null || alternate != null ? slot : other] = string;
+        return string;
+    }
+
+    /** checks the length and cached hash code first, which rules out almost all mismatches */
+    private static boolean matches(String existing, int hash, char[] chars, int start, int length) {
+        if (existing.length() != length || existing.hashCode() != hash) return false;
+        for (int i = 0; i < length; i++) {
+            if (existing.charAt(i) != chars[start + i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the {@link IdentInterner} shared by all {@link Source}s.
+     *
+     * @return The shared instance.
+     */
+    public static IdentInterner shared() {
+        return SHARED;
+    }
+}
@@ -25,7 +25,10 @@
  */
 package com.salesforce.omakase.parser;
 
+import java.util.Optional;
+
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.parser.token.Token;
 
 /**
  * Parses a segment of CSS source code.
@@ -82,4 +85,18 @@ public interface Parser {
     default boolean parse(Source source, Grammar grammar, Broadcaster broadcaster, boolean parentIsConditional) {
         return parse(source, grammar, broadcaster);
     }
+
+    /**
+     * Gets a {@link Token} matching every character that this parser can successfully start parsing from (after any comments or
+     * whitespace). This allows a {@link CombinationParser} to skip over parsers that can't possibly succeed at the current
+     * position, instead of trying each one in turn.
+     * <p>
+     * The default implementation returns an empty {@link Optional}, meaning that the parser may start with any character. When
+     * overriding, make sure the token doesn't exclude anything the parser accepts, otherwise valid content will not be parsed.
+     *
+     * @return The token matching all possible first characters, or an empty {@link Optional} if unknown.
+     */
+    default Optional<Token> firstCharacters() {
+        return Optional.empty();
+    }
 }
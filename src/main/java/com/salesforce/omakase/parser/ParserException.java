@@ -26,6 +26,11 @@
 
 package com.salesforce.omakase.parser;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+
 import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.error.ErrorUtils;
@@ -33,12 +38,26 @@ import com.salesforce.omakase.error.OmakaseException;
 
 /**
  * An error encountered while parsing.
+ * <p>
+ * The full message (which includes a snippet of the source or the offending syntax unit) is only formatted when {@link
+ * #getMessage()} is first called. Error managers that don't need the message can use {@link #reason()}, {@link #line()} and
+ * {@link #column()} instead.
  *
  * @author nmcwilliams
  */
 public final class ParserException extends OmakaseException {
     private static final long serialVersionUID = -8952238331167900360L;
 
+    private final String reason;
+    private final int line;
+    private final int column;
+
+    // details used to format the message, when requested
+    private final transient Source source;
+    private final transient int index;
+    private final transient Syntax cause;
+    private String message;
+
     /**
      * Constructs a new instance of a {@link ParserException} with the given message and message parameters.
      *
@@ -64,7 +83,13 @@ public final class ParserException extends OmakaseException {
      *     The error message.
      */
     public ParserException(Syntax cause, String message) {
-        super(ErrorUtils.format(cause, message));
+        super(message);
+        this.reason = message;
+        this.line = cause.line();
+        this.column = cause.column();
+        this.cause = cause;
+        this.source = null;
+        this.index = -1;
     }
 
     /**
@@ -90,7 +115,13 @@ public final class ParserException extends OmakaseException {
      *     The error message.
      */
     public ParserException(Source source, String message) {
-        super(ErrorUtils.format(source, message));
+        super(message);
+        this.reason = message;
+        this.line = source.originalLine();
+        this.column = source.originalColumn();
+        this.source = source;
+        this.index = source.index();
+        this.cause = null;
     }
 
     /**
@@ -102,5 +133,93 @@ public final class ParserException extends OmakaseException {
      */
     public ParserException(Throwable cause) {
         super(cause);
+        this.reason = super.getMessage();
+        this.line = -1;
+        this.column = -1;
+        this.source = null;
+        this.index = -1;
+        this.cause = null;
+    }
+
+    /**
+     * Gets the error message without any location or source details.
+     *
+     * @return The unformatted error message.
+     */
+    public String reason() {
+        return reason;
+    }
+
+    /**
+     * Gets the line in the original source where the error occurred.
+     *
+     * @return The line number, or -1 if unknown.
+     */
+    public int line() {
+        return line;
+    }
+
+    /**
+     * Gets the column in the original source where the error occurred.
+     *
+     * @return The column number, or -1 if unknown.
+     */
+    public int column() {
+        return column;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            if (source != null) {
+                message = ErrorUtils.format(null, line, column, source.isSubSource(), source.toStringContextual(index), reason);
+            } else if (cause != null) {
+                message = ErrorUtils.format(cause, reason);
+            } else {
+                message = super.getMessage();
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Gets a supplier of the same message as {@link #getMessage()}, for formatting the message later without keeping this
+     * exception. The supplier only holds what the message needs, i.e., the reason, line and column along with the characters of
+     * the source and the position of the error.
+     * <p>
+     * When the error was caused by a {@link Syntax} unit, the unit is only weakly referenced. If it's no longer reachable when
+     * the message is formatted then the message only includes the line and column.
+     *
+     * @return The supplier of the formatted message.
+     */
+    public Supplier<String> deferredMessage() {
+        String formatted = message;
+        if (formatted != null) return () -> formatted;
+
+        String reason = this.reason;
+        int line = this.line;
+        int column = this.column;
+
+        if (source != null) {
+            char[] chars = source.chars();
+            int index = this.index;
+            boolean subSource = source.isSubSource();
+            return () -> ErrorUtils.format(null, line, column, subSource, Source.toStringContextual(chars, index), reason);
+        }
+        if (cause != null) {
+            WeakReference<Syntax> unit = new WeakReference<>(cause);
+            return () -> {
+                Syntax syntax = unit.get();
+                return syntax != null ? ErrorUtils.format(syntax, reason) : ErrorUtils.format(null, line, column, reason);
+            };
+        }
+
+        String plain = super.getMessage();
+        return () -> plain;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
     }
 }
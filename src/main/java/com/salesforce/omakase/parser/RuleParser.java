@@ -30,7 +30,7 @@ import com.salesforce.omakase.ast.Rule;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.Selector;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 
 /**
  * Parses a {@link Rule}.
@@ -39,6 +39,7 @@ import com.salesforce.omakase.broadcast.QueryableBroadcaster;
  * @see Rule
  */
 public final class RuleParser implements Parser {
+    private static final Class<?>[] COLLECTED = {Selector.class, Declaration.class};
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
@@ -48,11 +49,12 @@ public final class RuleParser implements Parser {
         int line = source.originalLine();
         int column = source.originalColumn();
 
-        // wrap the broadcaster inside a queryable so we can gather the selectors and declarations
-        QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+        // wrap the broadcaster inside a collector so we can gather the selectors and declarations
+        CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
         // if there isn't a selector then we aren't a rule
-        if (!grammar.parser().rawSelectorSequenceParser().parse(source, grammar, queryable)) {
+        if (!grammar.parser().rawSelectorSequenceParser().parse(source, grammar, collector)) {
+            grammar.broadcasters().release(collector);
             return false;
         }
 
@@ -60,15 +62,16 @@ public final class RuleParser implements Parser {
         source.skipWhitepace().expect(grammar.token().declarationBlockBegin());
 
         // parse all declarations
-        grammar.parser().rawDeclarationSequenceParser().parse(source, grammar, queryable);
+        grammar.parser().rawDeclarationSequenceParser().parse(source, grammar, collector);
 
         // create the rule and add selectors and declarations
         Rule rule = new Rule(line, column);
-        rule.selectors().appendAll(queryable.filter(Selector.class));
-        rule.declarations().appendAll(queryable.filter(Declaration.class));
+        rule.selectors().appendAll(collector.get(Selector.class));
+        rule.declarations().appendAll(collector.get(Declaration.class));
+        grammar.broadcasters().release(collector);
 
         // add orphaned comments e.g., ".class{color:red; /*orphaned*/}"
-        rule.orphanedComments(source.collectComments().flushComments());
+        rule.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
         // parse the end of the block (must be after orphaned comments parsing)
         source.expect(grammar.token().declarationBlockEnd());
@@ -39,12 +39,17 @@ import static com.salesforce.omakase.parser.token.Tokens.OPEN_PAREN;
 import static com.salesforce.omakase.parser.token.Tokens.SINGLE_QUOTE;
 import static com.salesforce.omakase.parser.token.Tokens.STAR;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 import com.salesforce.omakase.Message;
+import com.salesforce.omakase.ast.Comment;
 import com.salesforce.omakase.ast.RawSyntax;
 import com.salesforce.omakase.parser.token.ConstantEnum;
 import com.salesforce.omakase.parser.token.Token;
@@ -62,6 +67,24 @@ public final class Source {
     /** the "null" character, this is used to represent the absence of a char value */
     public static final char NULL_CHAR = '\u0000';
 
+    /** minimum source length before a {@link StructureIndex} is created */
+    static final int STRUCTURE_INDEX_MIN_LENGTH = 256;
+
+    /** structure indexes shared with raw content extracted from a source (see #shareStructure), by identity of the raw syntax */
+    private static final Map<RawSyntax, SharedStructure> sharedStructures = new MapMaker().weakKeys().makeMap();
+
+    /** bits of a mark holding the column (the index uses the same number of bits above the in-string flag) */
+    private static final long MARK_COLUMN = 0x7FFFFFFFL;
+
+    /** bit of a mark set when in a string */
+    private static final long MARK_IN_STRING = 1L << 31;
+
+    /** bit of a mark set when the string was opened by a single quote */
+    private static final long MARK_SINGLE_QUOTE = 1L << 63;
+
+    /** placeholder for a comment that was read while discarding comments */
+    private static final Comment DISCARDED = new Comment("");
+
     /** the source to process */
     private final char[] chars;
 
@@ -102,11 +125,20 @@ public final class Source {
     private Token stringToken = null;
 
     /** collection of parsed CSS comments */
-    private List<String> comments;
+    private List<Comment> comments;
+
+    /** whether comments should be skipped without being collected */
+    private boolean discardComments;
 
     /** the last snapshot created */
     private Snapshot lastSnapshot;
 
+    /** index of enclosing characters, created on demand or shared from the source this sub-source was derived from */
+    private StructureIndex structure;
+
+    /** the position of this source within the source the structure index was built from */
+    private int structureOffset;
+
     /**
      * Creates a new instance of a {@link Source}, to be used for reading one character at a time from the given source.
      *
@@ -125,7 +157,7 @@ public final class Source {
      *     The {@link RawSyntax} containing the source.
      */
     public Source(RawSyntax raw) {
-        this(raw.content(), raw.line(), raw.column(), true);
+        this(raw, true);
     }
 
     /**
@@ -140,6 +172,14 @@ public final class Source {
      */
     public Source(RawSyntax raw, boolean checkInString) {
         this(raw.content(), raw.line(), raw.column(), checkInString);
+
+        // reuse the structure index of the original source if it's still around
+        SharedStructure shared = sharedStructures.get(raw);
+        StructureIndex index = shared == null ? null : shared.get();
+        if (index != null && index.checkInString() == checkInString) {
+            this.structure = index;
+            this.structureOffset = shared.offset;
+        }
     }
 
     /**
@@ -184,6 +224,19 @@ public final class Source {
         }
     }
 
+    /** used for building the {@link StructureIndex}, shares the given array */
+    private Source(char[] chars, boolean checkInString) {
+        this.chars = chars;
+        this.length = chars.length;
+        this.anchorLine = 1;
+        this.anchorColumn = 1;
+        this.checkInString = checkInString;
+
+        if (checkInString) {
+            updateInString();
+        }
+    }
+
     /**
      * Gets the current index position within the original source. Not to be confused with the current column position, which is
      * found with {@link #column()} instead. Note that unlike the line and column number, index is 0-based.
@@ -276,6 +329,11 @@ public final class Source {
         return anchorLine != 1 || anchorColumn != 1;
     }
 
+    /** the characters of this source (not a copy), for formatting the message of a {@link ParserException} later */
+    char[] chars() {
+        return chars;
+    }
+
     /**
      * Gets the original source.
      *
@@ -573,7 +631,18 @@ public final class Source {
     public String until(Token token) {
         // save the current index so we can return the matched substring
         final int start = index;
+        skipUntil(token);
+        return new String(chars, start, index - start);
+    }
 
+    /**
+     * Same as {@link #until(Token)}, except that the skipped content isn't returned.
+     *
+     * @param token
+     *     The token to match.
+     * @return this, for chaining.
+     */
+    public Source skipUntil(Token token) {
         // keep track whether we are inside parenthesis
         boolean insideParens = false;
 
@@ -589,17 +658,16 @@ public final class Source {
                     insideParens = false;
                 } else if (!insideParens && token.matches(current) && !isEscaped()) {
                     // if unescaped then this is the matching token
-                    return new String(chars, start, index - start);
+                    return this;
                 }
             }
 
             // continue to the next character
             next();
-
         }
 
-        // closing token wasn't found, so return the substring from the start to the end of the source
-        return new String(chars, start, length - start);
+        // closing token wasn't found, so we are at the end of the source
+        return this;
     }
 
     /**
@@ -623,6 +691,27 @@ public final class Source {
         return new String(chars, start, index - start);
     }
 
+    /**
+     * Same as {@link #chomp(Token)}, except the result is deduplicated with the {@link IdentInterner#shared()} interner. Use this
+     * for short values likely to be repeated throughout the source, such as identifiers and units.
+     *
+     * @param token
+     *     The token to match.
+     * @return A string containing all characters that were matched. If nothing matched then an empty string is returned.
+     */
+    public String chompInterned(Token token) {
+        if (eof()) return "";
+
+        final int start = index;
+
+        // advance past all characters that match the token
+        while (token.matches(current())) {
+            next();
+        }
+
+        return IdentInterner.shared().intern(chars, start, index - start);
+    }
+
     /**
      * Similar to {@link #chomp(Token)}, except this expects the value to be enclosed with an opening and closing delimiter {@link
      * Token}.
@@ -640,12 +729,36 @@ public final class Source {
      * @return All content in between the opening and closing tokens (excluding the tokens themselves).
      */
     public String chompEnclosedValue(Token openingToken, Token closingToken) {
+        // the opening token is at the current position (or an error will be thrown)
+        final int open = index;
+        skipEnclosedValue(openingToken, closingToken);
+
+        // + 1 and - 1 so that we don't include the opening and closing tokens
+        return new String(chars, open + 1, index - open - 2);
+    }
+
+    /**
+     * Same as {@link #chompEnclosedValue(Token, Token)}, except that the enclosed content isn't returned.
+     *
+     * @param openingToken
+     *     The opening token.
+     * @param closingToken
+     *     The closing token.
+     * @return this, for chaining.
+     */
+    public Source skipEnclosedValue(Token openingToken, Token closingToken) {
+        // for braces, parenthesis and brackets, jump straight to the closing token when possible
+        if (!inString && StructureIndex.indexes(openingToken, closingToken) && openingToken.matches(current())) {
+            StructureIndex.Match match = structureMatch();
+            if (match != null) {
+                jump(match);
+                return this;
+            }
+        }
+
         // the opening token is required
         expect(openingToken);
 
-        // save the current position
-        final int start = index;
-
         // set initial nesting level
         int level = 1;
 
@@ -675,7 +788,7 @@ public final class Source {
                     // once the nesting level reaches 0 then we have found the correct closing token
                     if (level == 0) {
                         next(); // move past the closing token
-                        return new String(chars, start, index - start - 1); // - 1 so that we don't include the closing token
+                        return this;
                     }
                 }
 
@@ -687,6 +800,153 @@ public final class Source {
         throw new ParserException(this, Message.EXPECTED_CLOSING, closingToken.description());
     }
 
+    /**
+     * Allows a {@link Source} later created from the given {@link RawSyntax} to reuse the {@link StructureIndex} of this source
+     * (if it has one), instead of scanning the content again. This should be used when the raw content was extracted from this
+     * source, e.g., with {@link #chompEnclosedValue(Token, Token)}.
+     * <p>
+     * The link is kept here rather than on the {@link RawSyntax}, and only for content long enough to otherwise get its own
+     * index. The index is only weakly referenced, so that it doesn't stay in memory along with the syntax tree after parsing.
+     *
+     * @param raw
+     *     The raw content extracted from this source.
+     * @param start
+     *     The index within this source where the raw content begins.
+     *
+     * @return The given {@link RawSyntax}, for chaining.
+     */
+    public RawSyntax shareStructure(RawSyntax raw, int start) {
+        if (structure != null && raw.content().length() >= STRUCTURE_INDEX_MIN_LENGTH) {
+            sharedStructures.put(raw, new SharedStructure(structure, start + structureOffset));
+        }
+        return raw;
+    }
+
+    /** gets whether a {@link Source} created from the given {@link RawSyntax} would reuse a structure index */
+    static boolean sharesStructure(RawSyntax raw) {
+        SharedStructure shared = sharedStructures.get(raw);
+        return shared != null && shared.get() != null;
+    }
+
+    /**
+     * Gets the structure index for this source, creating it if necessary. The index is only created for larger sources, as for small
+     * ones a direct scan is cheaper.
+     *
+     * @return The structure index, or null if there isn't one.
+     */
+    private StructureIndex structure() {
+        if (structure == null && length >= STRUCTURE_INDEX_MIN_LENGTH) {
+            structure = buildStructure(chars, checkInString);
+            structureOffset = 0;
+        }
+        return structure;
+    }
+
+    /** gets the match for the enclosing character at the current position, or null if not found */
+    private StructureIndex.Match structureMatch() {
+        StructureIndex index = structure();
+        return index == null ? null : index.match(this.index + structureOffset, length + structureOffset);
+    }
+
+    /** moves past the enclosed value to the given match, with the same end state as a full scan */
+    private void jump(StructureIndex.Match match) {
+        final int open = index;
+        final int close = match.close - structureOffset;
+
+        if (match.lineDelta == 0) {
+            column += match.column;
+        } else {
+            line += match.lineDelta;
+            column = match.column;
+        }
+
+        index = close + 1;
+        stringToken = match.stringToken;
+        inString = stringToken != null;
+        lastCheckedCommentIndex = close;
+        lastCheckedWhitespaceIndex = close;
+
+        // add any comments that would have been collected along the way
+        List<Comment> found = discardComments ? null
+            : structure.comments(open + structureOffset, match.close, chars, structureOffset);
+        if (found != null) {
+            if (comments == null) {
+                comments = found;
+            } else {
+                comments.addAll(found);
+            }
+        }
+    }
+
+    /**
+     * Builds a {@link StructureIndex} by scanning through all of the given characters, using the same logic as {@link
+     * #chompEnclosedValue(Token, Token)}.
+     */
+    private static StructureIndex buildStructure(char[] chars, boolean checkInString) {
+        StructureIndex index = new StructureIndex(checkInString);
+        Source scan = new Source(chars, checkInString);
+        scan.discardComments = true;
+
+        // the index slot, line and column of each unclosed opening character, by type
+        int[][] stacks = new int[3][16];
+        int[] sizes = new int[3];
+
+        try {
+            while (!scan.eof()) {
+                // only record where the comments are, the comments are created if and when they are jumped over
+                while (FORWARD_SLASH.matches(scan.current()) && STAR.matches(scan.peek())) {
+                    int start = scan.index;
+                    scan.readComment();
+                    index.comment(start + 2, scan.index - start - 4);
+                }
+
+                if (!scan.inString && !scan.isEscaped()) {
+                    char current = scan.current();
+                    int opening = StructureIndex.openingType(current);
+                    int closing = StructureIndex.closingType(current);
+
+                    if (opening != -1) {
+                        int[] stack = stacks[opening];
+                        if (sizes[opening] + 3 > stack.length) {
+                            stack = stacks[opening] = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        stack[sizes[opening]++] = index.open(scan.index);
+                        stack[sizes[opening]++] = scan.line;
+                        stack[sizes[opening]++] = scan.column;
+                    } else if (closing != -1 && sizes[closing] > 0) {
+                        int[] stack = stacks[closing];
+                        int column = stack[--sizes[closing]];
+                        int line = stack[--sizes[closing]];
+                        int slot = stack[--sizes[closing]];
+                        int close = scan.index;
+
+                        scan.next();
+                        int lineDelta = scan.line - line;
+                        index.record(slot, new StructureIndex.Match(close, lineDelta,
+                            lineDelta == 0 ? scan.column - column : scan.column, scan.inString ? scan.stringToken : null));
+                        continue;
+                    }
+                }
+                scan.next();
+            }
+        } catch (ParserException e) {
+            // an unclosed comment, anything still open will be handled (and reported) by a direct scan
+        }
+
+        return index;
+    }
+
+    /**
+     * Specifies that comments should be skipped over without being collected, e.g., when checking syntax only. Unclosed comments
+     * are still an error, but {@link #flushComments()} will always return an empty list.
+     *
+     * @return this, for chaining.
+     */
+    public Source discardComments() {
+        this.discardComments = true;
+        return this;
+    }
+
     /**
      * Parses all comments and whitespace at the current position in the source.
      * <p>
@@ -731,10 +991,12 @@ public final class Source {
             }
 
             // try to read a comment
-            String comment = readComment();
+            Comment comment = readComment();
 
             // add the comment to the buffer if a comment was found
             if (comment != null) {
+                if (comment == DISCARDED) continue;
+
                 // delayed (re)creation of the comment buffer
                 if (comments == null) {
                     comments = new ArrayList<>(2);
@@ -775,8 +1037,8 @@ public final class Source {
      *
      * @return The comment, or null.
      */
-    private String readComment() {
-        String comment = null;
+    private Comment readComment() {
+        Comment comment = null;
 
         // check for the opening comment
         if (FORWARD_SLASH.matches(current()) && STAR.matches(peek())) {
@@ -793,8 +1055,8 @@ public final class Source {
                 if (FORWARD_SLASH.matches(current()) && STAR.matches(peekPrevious())) {
                     inComment = false;
 
-                    // grab the comment contents (+2 to skip the opening /*, -1 to skip the previous *)
-                    comment = new String(chars, start + 2, index - (start + 2) - 1);
+                    // record where the comment contents are (+2 to skip the opening /*, -1 to skip the previous *)
+                    comment = discardComments ? DISCARDED : new Comment(chars, start + 2, index - (start + 2) - 1);
                 } else {
                     if (eof()) throw new ParserException(this, Message.MISSING_COMMENT_CLOSE);
                     next();
@@ -809,17 +1071,41 @@ public final class Source {
     }
 
     /**
-     * Returns all CSS comments currently in the buffer.
+     * Returns the content of all CSS comments currently in the buffer.
      * <p>
      * CSS comments are placed into the buffer when {@link #collectComments()} is called. After calling this method the buffer
      * will be emptied.
+     * <p>
+     * This creates the content string of each comment. Parsers should generally use {@link #flushCommentUnits()} instead, which
+     * doesn't.
      *
      * @return The current list of CSS comments.
      */
 
     public List<String> flushComments() {
+        List<Comment> flushed = flushCommentUnits();
+        if (flushed.isEmpty()) return ImmutableList.of();
+
+        List<String> content = new ArrayList<>(flushed.size());
+        for (Comment comment : flushed) {
+            content.add(comment.content());
+        }
+        return content;
+    }
+
+    /**
+     * Returns all CSS comments currently in the buffer, as {@link Comment}s that can be added directly to a syntax unit with
+     * {@link com.salesforce.omakase.ast.Syntax#commentUnits(List)}.
+     * <p>
+     * CSS comments are placed into the buffer when {@link #collectComments()} is called. After calling this method the buffer
+     * will be emptied. The content of each comment is only created from the source characters when it is requested, which
+     * means that each comment keeps a reference to the characters of this source (see {@link Comment}).
+     *
+     * @return The current list of CSS comments.
+     */
+    public List<Comment> flushCommentUnits() {
         // gather the comments from the queue
-        List<String> flushed = (comments == null) ? ImmutableList.of() : comments;
+        List<Comment> flushed = (comments == null) ? ImmutableList.of() : comments;
 
         // reset the queue
         comments = null;
@@ -833,6 +1119,8 @@ public final class Source {
      * Creating a snapshot allows you to parse content but then return to a previous state once it becomes clear that the content
      * doesn't fully match as expected. To revert to the latest snapshot call {@link Snapshot#rollback()} on the snapshot returned
      * from this method.
+     * <p>
+     * Prefer {@link #mark()} in frequently called parsers, which doesn't allocate anything.
      *
      * @return The created snapshot.
      */
@@ -842,6 +1130,86 @@ public final class Source {
         return lastSnapshot = new Snapshot(this, index, line, column, inString);
     }
 
+    /**
+     * Marks the current index, column and string state, packed into a single value.
+     * <p>
+     * This is the allocation-free equivalent of {@link #snapshot()}, for parsers that backtrack often. To return to the marked
+     * position call {@link #reset(long)} with the returned value. The line isn't part of the mark, instead it's worked out on
+     * reset from the number of newlines between the marked and current positions.
+     * <p>
+     * The mark is only valid for this source. The {@link #originalLine()} and {@link #originalColumn()} aren't included, so
+     * retrieve those first if needed.
+     *
+     * @return The mark.
+     */
+    public long mark() {
+        long mark = ((long)index << 32) | column;
+        if (inString) {
+            mark |= MARK_IN_STRING;
+            if (stringToken == SINGLE_QUOTE) mark |= MARK_SINGLE_QUOTE;
+        }
+        return mark;
+    }
+
+    /**
+     * Reverts to the state captured by {@link #mark()}.
+     *
+     * @param mark
+     *     The value returned from {@link #mark()}.
+     *
+     * @return always returns <b>false</b> (convenience for inlining return statements in parse methods).
+     */
+    public boolean reset(long mark) {
+        int target = markIndex(mark);
+
+        // adjust the line by the number of newlines passed over since the mark (or before it, if moving forward)
+        if (target < index) {
+            for (int i = target; i < index; i++) {
+                if (NEWLINE.matches(chars[i])) line--;
+            }
+        } else {
+            for (int i = index; i < target; i++) {
+                if (NEWLINE.matches(chars[i])) line++;
+            }
+        }
+
+        index = target;
+        column = (int)(mark & MARK_COLUMN);
+        inString = (mark & MARK_IN_STRING) != 0;
+        stringToken = inString ? ((mark & MARK_SINGLE_QUOTE) != 0 ? SINGLE_QUOTE : DOUBLE_QUOTE) : null;
+        return false;
+    }
+
+    /**
+     * Similar to {@link #reset(long)}, but this will also throw a {@link ParserException} with the given message and optional
+     * message args, so that the error indicates the marked location.
+     *
+     * @param mark
+     *     The value returned from {@link #mark()}.
+     * @param message
+     *     The error message.
+     * @param args
+     *     Optional args for the error message.
+     * @throws ParserException
+     *     An exception with the given message.
+     */
+    public void reset(long mark, String message, Object... args) {
+        reset(mark);
+        throw new ParserException(this, message, args);
+    }
+
+    /**
+     * Gets the index stored in a mark.
+     *
+     * @param mark
+     *     The value returned from {@link #mark()}.
+     *
+     * @return The marked index.
+     */
+    public static int markIndex(long mark) {
+        return (int)((mark >>> 32) & MARK_COLUMN);
+    }
+
     /**
      * Reads a constant string at the current position.
      * <p>
@@ -889,6 +1257,8 @@ public final class Source {
     /**
      * Reads an ident token. If a match is found the current position is advanced to the end of the token.
      * <p>
+     * The returned string is deduplicated with the {@link IdentInterner#shared()} interner.
+     * <p>
      * future: the spec allows for non ascii and escaped characters here as well.
      *
      * @return The matched token, or an empty {@link Optional} if not matched.
@@ -897,15 +1267,58 @@ public final class Source {
         final char current = current();
 
         if (NMSTART.matches(current)) {
-            return Optional.of(chomp(NMCHAR));
+            return Optional.of(chompInterned(NMCHAR));
         } else if (HYPHEN.matches(current) && NMSTART.matches(peek())) {
             // spec says idents can't start with -- or -[0-9] (www.w3.org/TR/CSS21/syndata.html#value-def-identifier)
-            return Optional.of(chomp(NMCHAR));
+            return Optional.of(chompInterned(NMCHAR));
         } else {
             return Optional.empty();
         }
     }
 
+    /**
+     * Reads an ident token that names a known constant, such as a {@link com.salesforce.omakase.data.Keyword} or {@link
+     * com.salesforce.omakase.data.Property}, without creating a string for it. The characters of the ident are given to the
+     * lookup (e.g., {@link com.salesforce.omakase.data.Keyword#lookup(char[], int, int)}), and the found constant must have
+     * exactly the same characters as its {@code toString()}, including case.
+     * <p>
+     * If a match is found the current position is advanced to the end of the token. Otherwise the current position is left
+     * unchanged, and {@link #readIdent()} can be used to read the ident instead.
+     *
+     * @param <T>
+     *     The type of the constant.
+     * @param lookup
+     *     Finds the constant for the ident characters, or returns null if there isn't one.
+     *
+     * @return The matched constant, or an empty {@link Optional} if not matched.
+     */
+    public <T> Optional<T> readKnownIdent(IdentLookup<T> lookup) {
+        final char current = current();
+        if (!NMSTART.matches(current) && !(HYPHEN.matches(current) && NMSTART.matches(peek()))) return Optional.empty();
+
+        final long mark = mark();
+        final int start = index;
+        while (NMCHAR.matches(current())) {
+            next();
+        }
+
+        int length = index - start;
+        T found = lookup.lookup(chars, start, length);
+        if (found != null && matches(found.toString(), start, length)) return Optional.of(found);
+
+        reset(mark);
+        return Optional.empty();
+    }
+
+    /** whether the characters at the given position are exactly the same as the given string */
+    private boolean matches(String string, int start, int length) {
+        if (string.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != string.charAt(i)) return false;
+        }
+        return true;
+    }
+
     /**
      * Same as {@link #readIdent()}, but this also supports `--` as the first two characters, as specified in the Level 3 spec.
      * <p>
@@ -930,7 +1343,7 @@ public final class Source {
             // the spec does not indicate or state that NMSTART is required as the third code point, so `--` is a valid ident
             // (fun note, `--`, `---`, etc... in Chrome appear to be valid custom properties).
             if (HYPHEN.matches(current()) && HYPHEN.matches(peek())) {
-                return Optional.of(chomp(NMCHAR));
+                return Optional.of(chompInterned(NMCHAR));
             }
         }
 
@@ -961,8 +1374,17 @@ public final class Source {
 
     @Override
     public String toString() {
+        return toString(index);
+    }
+
+    /** the full source with a marker at the given index */
+    private String toString(int at) {
+        return toString(chars, at);
+    }
+
+    private static String toString(char[] chars, int at) {
         String source = new String(chars);
-        return String.format("%s\u00BB%s", source.substring(0, index), source.substring(index));
+        return String.format("%s\u00BB%s", source.substring(0, at), source.substring(at));
     }
 
     /**
@@ -972,14 +1394,31 @@ public final class Source {
      * @return The contextualized string.
      */
     public String toStringContextual() {
-        if (length < 255) return toString();
+        return toStringContextual(index);
+    }
+
+    /**
+     * Same as {@link #toStringContextual()}, but for the given index instead of the current position. This allows {@link
+     * ParserException} to format its message only when needed.
+     */
+    String toStringContextual(int at) {
+        return toStringContextual(chars, at);
+    }
+
+    /**
+     * Same as {@link #toStringContextual(int)}, for the given characters of a source. This allows the message of a {@link
+     * ParserException} to be formatted later without keeping the {@link Source}.
+     */
+    static String toStringContextual(char[] chars, int at) {
+        int length = chars.length;
+        if (length < 255) return toString(chars, at);
 
         // ensure we stay within the index bounds
-        int start = Math.max(0, index - 75);
-        int end = Math.min(length, index + 75);
+        int start = Math.max(0, at - 75);
+        int end = Math.min(length, at + 75);
 
         // take a substring of the whole source
-        String contextual = toString().substring(start, end);
+        String contextual = toString(chars, at).substring(start, end);
 
         StringBuilder builder = new StringBuilder(256);
         if (start > 0) {
@@ -1027,6 +1466,29 @@ public final class Source {
         }
     }
 
+    /**
+     * Finds a constant from a range of characters, for {@link #readKnownIdent(IdentLookup)}.
+     *
+     * @param <T>
+     *     The type of the constant.
+     */
+    @FunctionalInterface
+    public interface IdentLookup<T> {
+        /**
+         * Gets the constant for the given characters.
+         *
+         * @param chars
+         *     The characters of the source.
+         * @param start
+         *     Index of the first character of the ident.
+         * @param length
+         *     Number of characters in the ident.
+         *
+         * @return The constant, or null if there isn't one.
+         */
+        T lookup(char[] chars, int start, int length);
+    }
+
     public static final class Snapshot {
         private final Source source;
 
@@ -1091,4 +1553,14 @@ public final class Source {
             throw new ParserException(source, message, args);
         }
     }
+
+    /** a weakly referenced structure index, along with the position of the raw content within the indexed source */
+    private static final class SharedStructure extends WeakReference<StructureIndex> {
+        private final int offset;
+
+        SharedStructure(StructureIndex index, int offset) {
+            super(index);
+            this.offset = offset;
+        }
+    }
 }
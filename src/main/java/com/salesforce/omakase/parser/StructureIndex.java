@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.salesforce.omakase.ast.Comment;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
+
+/**
+ * A structural index of a source, recording the position of the matching closing character for each brace, parenthesis and
+ * bracket, along with the comments in between.
+ * <p>
+ * The index is built by {@link Source} in a single pass over the whole source, the first time {@link
+ * Source#chompEnclosedValue(Token, Token)} is used with one of these enclosing characters. After that, finding the end of any block
+ * or function is a lookup instead of a rescan. The scan uses the same rules for strings, comments and escaping as {@link
+ * Source#chompEnclosedValue(Token, Token)}, so the results are identical.
+ * <p>
+ * The index can also be shared with sub-sources created for the content of a block, e.g., the block of an at-rule that is later
+ * parsed by a refiner (see {@link Source#shareStructure(com.salesforce.omakase.ast.RawSyntax, int)}). This way the content of
+ * nested blocks isn't scanned again at each level of nesting.
+ * <p>
+ * Only the positions of the opening characters are stored (in order, as they are found by the scan), so the size of the index
+ * depends on the number of enclosing characters rather than the length of the source. Likewise only the positions of comments are
+ * stored, the {@link Comment}s are created when a block containing them is jumped over.
+ *
+ * @author nmcwilliams
+ */
+public final class StructureIndex {
+    private final boolean checkInString;
+
+    private int[] openPositions = new int[16];
+    private Match[] matches = new Match[16];
+    private int openCount;
+
+    private int[] commentOffsets = new int[8];
+    private int[] commentLengths = new int[8];
+    private int commentCount;
+
+    StructureIndex(boolean checkInString) {
+        this.checkInString = checkInString;
+    }
+
+    /**
+     * Gets whether the given tokens are indexed, i.e., they are a matching pair of braces, parenthesis or brackets.
+     *
+     * @param openingToken
+     *     The opening token.
+     * @param closingToken
+     *     The closing token.
+     *
+     * @return True if matches for the tokens are recorded in the index.
+     */
+    static boolean indexes(Token openingToken, Token closingToken) {
+        return (openingToken == Tokens.OPEN_BRACE && closingToken == Tokens.CLOSE_BRACE)
+            || (openingToken == Tokens.OPEN_PAREN && closingToken == Tokens.CLOSE_PAREN)
+            || (openingToken == Tokens.OPEN_BRACKET && closingToken == Tokens.CLOSE_BRACKET);
+    }
+
+    /** gets the type (index) of the opening character, or -1 if not an opening character */
+    static int openingType(char c) {
+        return c == '{' ? 0 : c == '(' ? 1 : c == '[' ? 2 : -1;
+    }
+
+    /** gets the type (index) of the closing character, or -1 if not a closing character */
+    static int closingType(char c) {
+        return c == '}' ? 0 : c == ')' ? 1 : c == ']' ? 2 : -1;
+    }
+
+    /** whether the index was built with string detection turned on */
+    boolean checkInString() {
+        return checkInString;
+    }
+
+    /**
+     * Gets the match for the opening character at the given position, but only if the closing character is before the given
+     * limit.
+     */
+    Match match(int position, int limit) {
+        int slot = Arrays.binarySearch(openPositions, 0, openCount, position);
+        if (slot < 0) return null;
+        Match match = matches[slot];
+        return match != null && match.close < limit ? match : null;
+    }
+
+    /**
+     * Adds an opening character at the given position, which must be after all previously added positions. The returned slot is
+     * used to {@link #record(int, Match)} the match once the closing character is found.
+     */
+    int open(int position) {
+        if (openCount == openPositions.length) {
+            openPositions = Arrays.copyOf(openPositions, openCount * 2);
+            matches = Arrays.copyOf(matches, openCount * 2);
+        }
+        openPositions[openCount] = position;
+        return openCount++;
+    }
+
+    void record(int slot, Match match) {
+        matches[slot] = match;
+    }
+
+    /** adds the position of a comment's content, which must be after all previously added comments */
+    void comment(int offset, int length) {
+        if (commentCount == commentOffsets.length) {
+            commentOffsets = Arrays.copyOf(commentOffsets, commentCount * 2);
+            commentLengths = Arrays.copyOf(commentLengths, commentCount * 2);
+        }
+        commentOffsets[commentCount] = offset;
+        commentLengths[commentCount++] = length;
+    }
+
+    /**
+     * Creates the comments found after the start position and before the end position (both exclusive), in order, or returns null
+     * if there aren't any. The comments use the given characters, which start at the given position within the indexed source.
+     */
+    List<Comment> comments(int start, int end, char[] chars, int shift) {
+        // binary search for the first comment after the start position
+        int i = 0;
+        int high = commentCount;
+        while (i < high) {
+            int mid = (i + high) >>> 1;
+            if (commentOffsets[mid] <= start) {
+                i = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<Comment> found = null;
+        for (; i < commentCount && commentOffsets[i] < end; i++) {
+            if (found == null) found = new ArrayList<>(2);
+            found.add(new Comment(chars, commentOffsets[i] - shift, commentLengths[i]));
+        }
+        return found;
+    }
+
+    /** the position of a closing character and the state of the source after moving past it */
+    static final class Match {
+        /** position of the closing character */
+        final int close;
+
+        /** number of lines between the opening and closing characters */
+        final int lineDelta;
+
+        /** if lineDelta is 0, the number of columns moved, otherwise the column after the closing character */
+        final int column;
+
+        /** the string token after moving past the closing character, or null if not in a string */
+        final Token stringToken;
+
+        Match(int close, int lineDelta, int column, Token stringToken) {
+            this.close = close;
+            this.lineDelta = lineDelta;
+            this.column = column;
+            this.stringToken = stringToken;
+        }
+    }
+}
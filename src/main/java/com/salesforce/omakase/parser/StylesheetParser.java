@@ -70,7 +70,7 @@ public final class StylesheetParser implements Parser {
         stylesheet.statements().appendAll(interest.gather());
 
         // orphaned at end of the stylesheet comments, e.g., ".class{color:red} /*orphaned*/"
-        stylesheet.orphanedComments(source.collectComments().flushComments());
+        stylesheet.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
         broadcaster.broadcast(stylesheet);
         return true;
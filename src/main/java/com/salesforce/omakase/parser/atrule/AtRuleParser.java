@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.salesforce.omakase.Message;
+import com.salesforce.omakase.ast.Comment;
 import com.salesforce.omakase.ast.RawSyntax;
 import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.atrule.AtRuleBlock;
@@ -42,6 +43,7 @@ import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
 import com.salesforce.omakase.parser.factory.TokenFactory;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -89,7 +91,7 @@ public final class AtRuleParser implements Parser {
 
         // skip whitespace after the expression
         source.skipWhitepace();
-        List<String> comments = source.flushComments();
+        List<Comment> comments = source.flushCommentUnits();
 
         RawSyntax block = null;
 
@@ -97,8 +99,16 @@ public final class AtRuleParser implements Parser {
         if (!source.optionallyPresent(tf.atRuleTermination()) && tf.atRuleBlockBegin().matches(source.current())) {
             line = source.originalLine();
             column = source.originalColumn();
-            content = source.chompEnclosedValue(tf.atRuleBlockBegin(), tf.atRuleBlockEnd()).trim();
-            block = content.isEmpty() ? null : new RawSyntax(line, column, content);
+            int start = source.index() + 1;
+            String enclosed = source.chompEnclosedValue(tf.atRuleBlockBegin(), tf.atRuleBlockEnd());
+            content = enclosed.trim();
+
+            if (!content.isEmpty()) {
+                // let the block's refiner reuse the bracket positions already found in this source
+                int leading = 0;
+                while (enclosed.charAt(leading) <= ' ') leading++;
+                block = source.shareStructure(new RawSyntax(line, column, content), start + leading);
+            }
         }
 
         // expression content must be present
@@ -106,11 +116,11 @@ public final class AtRuleParser implements Parser {
             throw new ParserException(source, Message.MISSING_AT_RULE_VALUE);
         }
 
-        source.flushComments(); // ignore any comments that were in the block, the block itself will handle them
+        source.flushCommentUnits(); // ignore any comments that were in the block, the block itself will handle them
 
         // create and broadcast the new rule
         AtRule atRule = new AtRule(startLine, startColumn, name.get(), expression, block);
-        atRule.comments(comments);
+        atRule.commentUnits(comments);
 
         broadcaster.chainBroadcast(atRule,
             new ConsumingBroadcaster<>(AtRuleExpression.class, atRule::expression, t -> !atRule.isConditional()),
@@ -124,4 +134,8 @@ public final class AtRuleParser implements Parser {
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.AT_RULE);
+    }
 }
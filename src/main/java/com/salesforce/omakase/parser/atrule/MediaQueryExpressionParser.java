@@ -28,12 +28,11 @@ package com.salesforce.omakase.parser.atrule;
 
 import java.util.Optional;
 
-import com.google.common.collect.Iterables;
 import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.atrule.MediaQueryExpression;
 import com.salesforce.omakase.ast.declaration.PropertyValueMember;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
@@ -52,6 +51,7 @@ import com.salesforce.omakase.parser.token.Tokens;
  * @see MediaQueryExpression
  */
 public final class MediaQueryExpressionParser implements Parser {
+    private static final Class<?>[] COLLECTED = {PropertyValueMember.class};
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
@@ -78,13 +78,14 @@ public final class MediaQueryExpressionParser implements Parser {
         if (source.optionallyPresent(Tokens.COLON)) {
             source.skipWhitepace();
 
-            QueryableBroadcaster queryable = new QueryableBroadcaster(); // no need to broadcast the terms
-            grammar.parser().termSequenceParser().parse(source, grammar, queryable);
+            // no need to broadcast the terms
+            CollectingBroadcaster collector = grammar.broadcasters().collecting(null, COLLECTED);
+            grammar.parser().termSequenceParser().parse(source, grammar, collector);
 
-            Iterable<PropertyValueMember> terms = queryable.filter(PropertyValueMember.class);
-            if (Iterables.isEmpty(terms)) throw new ParserException(source, Message.MISSING_MEDIA_TERMS);
+            if (!collector.hasAny(PropertyValueMember.class)) throw new ParserException(source, Message.MISSING_MEDIA_TERMS);
 
-            expression.terms(terms);
+            expression.terms(collector.get(PropertyValueMember.class));
+            grammar.broadcasters().release(collector);
         }
 
         source.skipWhitepace();
@@ -30,7 +30,7 @@ import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.atrule.MediaQuery;
 import com.salesforce.omakase.ast.atrule.MediaQueryList;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
@@ -48,6 +48,7 @@ import com.salesforce.omakase.parser.token.Tokens;
  * @author nmcwilliams
  */
 public final class MediaQueryListParser implements Parser {
+    private static final Class<?>[] COLLECTED = {MediaQuery.class};
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
@@ -56,23 +57,27 @@ public final class MediaQueryListParser implements Parser {
         int line = source.originalLine();
         int column = source.originalColumn();
 
-        QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+        CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
         // try parsing a media query
         Parser mediaQueryParser = grammar.parser().mediaQueryParser();
-        if (!mediaQueryParser.parse(source, grammar, queryable)) return false;
+        if (!mediaQueryParser.parse(source, grammar, collector)) {
+            grammar.broadcasters().release(collector);
+            return false;
+        }
 
         // parse the remaining media queries
         while (source.skipWhitepace().optionallyPresent(Tokens.COMMA)) {
             source.skipWhitepace();
-            if (!mediaQueryParser.parse(source, grammar, queryable)) {
+            if (!mediaQueryParser.parse(source, grammar, collector)) {
                 throw new ParserException(source, Message.TRAILING, Tokens.COMMA.description());
             }
         }
 
         // create the list and broadcast it
         MediaQueryList list = new MediaQueryList(line, column);
-        list.queries().appendAll(queryable.filter(MediaQuery.class));
+        list.queries().appendAll(collector.get(MediaQuery.class));
+        grammar.broadcasters().release(collector);
         broadcaster.broadcast(list);
 
         return true;
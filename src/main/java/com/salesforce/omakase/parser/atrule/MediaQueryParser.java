@@ -28,13 +28,12 @@ package com.salesforce.omakase.parser.atrule;
 
 import java.util.Optional;
 
-import com.google.common.collect.Iterables;
 import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.atrule.MediaQuery;
 import com.salesforce.omakase.ast.atrule.MediaQueryExpression;
 import com.salesforce.omakase.ast.atrule.MediaRestriction;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
@@ -58,6 +57,7 @@ import com.salesforce.omakase.parser.token.Tokens;
  */
 public final class MediaQueryParser implements Parser {
     private static final String AND = "and";
+    private static final Class<?>[] COLLECTED = {MediaQueryExpression.class};
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
@@ -69,12 +69,12 @@ public final class MediaQueryParser implements Parser {
 
         // read the optional restriction and type
         Optional<MediaRestriction> restriction = source.optionalFromConstantEnum(MediaRestriction.class);
-        Source.Snapshot snapshot = source.skipWhitepace().snapshot();
+        long mark = source.skipWhitepace().mark();
         Optional<String> type = source.readIdent();
 
         // if restriction is present then there must be a type ('and' is not a type)
         if (restriction.isPresent() && (!type.isPresent() || type.get().equalsIgnoreCase(AND))) {
-            snapshot.rollback(Message.MISSING_MEDIA_TYPE);
+            source.reset(mark, Message.MISSING_MEDIA_TYPE);
         }
 
         source.skipWhitepace();
@@ -85,37 +85,40 @@ public final class MediaQueryParser implements Parser {
             source.expect(Tokens.WHITESPACE);// space required after and
         }
 
-        snapshot = source.snapshot();
-        QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+        mark = source.mark();
+        CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
         // try reading one expression. if there was a type then we must have parsed an 'and' beforehand
         Parser expressionParser = grammar.parser().mediaExpressionParser();
-        if (expressionParser.parse(source, grammar, queryable) && type.isPresent() && !hasAndAfterType) {
-            snapshot.rollback(Message.MISSING_AND);
+        if (expressionParser.parse(source, grammar, collector) && type.isPresent() && !hasAndAfterType) {
+            source.reset(mark, Message.MISSING_AND);
         }
 
         // read the rest of the expressions
         while (source.skipWhitepace().readConstantCaseInsensitive(AND)) {
             source.expect(Tokens.WHITESPACE).skipWhitepace();
-            if (!expressionParser.parse(source, grammar, queryable)) {
+            if (!expressionParser.parse(source, grammar, collector)) {
                 throw new ParserException(source, Message.TRAILING_AND);
             }
         }
 
-        Iterable<MediaQueryExpression> expressions = queryable.filter(MediaQueryExpression.class);
-        boolean hasExpressions = !Iterables.isEmpty(expressions);
+        boolean hasExpressions = collector.hasAny(MediaQueryExpression.class);
 
         // check for a trailing 'and'
         if (!hasExpressions && hasAndAfterType) throw new ParserException(source, Message.TRAILING_AND);
 
         // if we haven't parsed a type (and thus no restriction either) and no expressions, return false
-        if (!type.isPresent() && !hasExpressions) return false;
+        if (!type.isPresent() && !hasExpressions) {
+            grammar.broadcasters().release(collector);
+            return false;
+        }
 
         // create and broadcast the media query
         MediaQuery query = new MediaQuery(line, column);
         type.ifPresent(query::type);
         restriction.ifPresent(query::restriction);
-        query.expressions().appendAll(expressions);
+        query.expressions().appendAll(collector.get(MediaQueryExpression.class));
+        grammar.broadcasters().release(collector);
         broadcaster.broadcast(query);
         return true;
     }
@@ -34,6 +34,7 @@ import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.PropertyValue;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.ConsumingBroadcaster;
+import com.salesforce.omakase.data.Property;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
@@ -59,11 +60,16 @@ public final class DeclarationParser implements Parser {
         Optional<Token> specialToken = grammar.token().specialDeclarationBegin();
         Optional<Character> special = specialToken.flatMap(source::optional);
 
-        // read the property name
-        Optional<String> ident = source.readIdentLevel3();
-        if (!ident.isPresent()) return false;
-
-        String content = special.isPresent() ? special.get() + ident.get() : ident.get();
+        // read the property name, reusing the name of a known property instead of creating a string for it
+        String content;
+        Optional<Property> known = special.isPresent() ? Optional.empty() : source.readKnownIdent(Property::lookup);
+        if (known.isPresent()) {
+            content = known.get().toString();
+        } else {
+            Optional<String> ident = source.readIdentLevel3();
+            if (!ident.isPresent()) return false;
+            content = special.isPresent() ? special.get() + ident.get() : ident.get();
+        }
         RawSyntax property = new RawSyntax(line, column, content.trim());
 
         // read colon
@@ -79,7 +85,7 @@ public final class DeclarationParser implements Parser {
 
         // create the new declaration and associate comments
         Declaration declaration = new Declaration(property, value);
-        declaration.comments(source.flushComments());
+        declaration.commentUnits(source.flushCommentUnits());
 
         // notifier listeners of the new declaration
         broadcaster.chainBroadcast(declaration,
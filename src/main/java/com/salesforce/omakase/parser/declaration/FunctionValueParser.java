@@ -37,7 +37,7 @@ import com.salesforce.omakase.broadcast.SingleInterestBroadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
-import com.salesforce.omakase.parser.Source.Snapshot;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -56,23 +56,25 @@ public final class FunctionValueParser implements Parser {
         // move past comments and whitespace
         source.collectComments();
 
-        // snapshot the current state before parsing
-        Snapshot snapshot = source.snapshot();
+        // mark the current state before parsing
+        int line = source.originalLine();
+        int column = source.originalColumn();
+        long mark = source.mark();
 
         // read the function name
         Optional<String> name = source.readIdent();
         if (!name.isPresent()) return false;
 
         // must be an open parenthesis
-        if (!Tokens.OPEN_PAREN.matches(source.current())) return snapshot.rollback();
+        if (!Tokens.OPEN_PAREN.matches(source.current())) return source.reset(mark);
 
         // read the arguments. We aren't validating what's inside the arguments. The more specifically typed function values
         // will be responsible for validating their own args.
         String args = source.chompEnclosedValue(Tokens.OPEN_PAREN, Tokens.CLOSE_PAREN);
 
         // create the intermediary raw function
-        RawFunction raw = new RawFunction(snapshot.originalLine, snapshot.originalColumn, name.get(), args);
-        raw.comments(source.flushComments());
+        RawFunction raw = new RawFunction(line, column, name.get(), args);
+        raw.commentUnits(source.flushCommentUnits());
 
         // broadcast it
         SingleInterestBroadcaster<PropertyValueMember> interest = SingleInterestBroadcaster.of(PropertyValueMember.class);
@@ -91,4 +93,8 @@ public final class FunctionValueParser implements Parser {
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.IDENT_START);
+    }
 }
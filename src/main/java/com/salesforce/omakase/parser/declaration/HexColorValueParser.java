@@ -26,6 +26,8 @@
 
 package com.salesforce.omakase.parser.declaration;
 
+import java.util.Optional;
+
 import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.declaration.HexColorValue;
 import com.salesforce.omakase.broadcast.Broadcaster;
@@ -33,6 +35,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -64,7 +67,7 @@ public final class HexColorValueParser implements Parser {
             if (color.length() != 6 && color.length() != 3) throw new ParserException(source, Message.INVALID_HEX, color);
 
             HexColorValue value = new HexColorValue(line, column, color);
-            value.comments(source.flushComments());
+            value.commentUnits(source.flushCommentUnits());
 
             broadcaster.broadcast(value);
             return true;
@@ -73,4 +76,8 @@ public final class HexColorValueParser implements Parser {
         return false;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.HASH);
+    }
 }
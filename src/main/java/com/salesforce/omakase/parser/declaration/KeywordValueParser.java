@@ -30,9 +30,12 @@ import java.util.Optional;
 
 import com.salesforce.omakase.ast.declaration.KeywordValue;
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
 
 /**
  * Parses a {@link KeywordValue}.
@@ -51,15 +54,25 @@ public final class KeywordValueParser implements Parser {
         int line = source.originalLine();
         int column = source.originalColumn();
 
-        // read the keyword
-        Optional<String> keyword = source.readIdent();
-        if (!keyword.isPresent()) return false;
+        // read the keyword, without creating a string for it when it's a known one
+        KeywordValue value;
+        Optional<Keyword> known = source.readKnownIdent(Keyword::lookup);
+        if (known.isPresent()) {
+            value = new KeywordValue(line, column, known.get());
+        } else {
+            Optional<String> keyword = source.readIdent();
+            if (!keyword.isPresent()) return false;
+            value = new KeywordValue(line, column, keyword.get());
+        }
 
-        KeywordValue value = new KeywordValue(line, column, keyword.get());
-        value.comments(source.flushComments());
+        value.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(value);
 
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.IDENT_START);
+    }
 }
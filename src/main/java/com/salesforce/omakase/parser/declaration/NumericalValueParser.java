@@ -36,6 +36,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -51,35 +52,52 @@ public final class NumericalValueParser implements Parser {
         // move past comments and whitespace
         source.collectComments();
 
-        // snapshot the current state before parsing
-        Source.Snapshot snapshot = source.snapshot();
+        // mark the current state before parsing
+        int line = source.originalLine();
+        int column = source.originalColumn();
+        long mark = source.mark();
 
         // parse the optional sign
         Optional<Character> sign = source.optional(Tokens.SIGN);
 
-        // begin parsing the number
-        StringBuilder value = null;
+        // parse the digits directly from the source, without creating an intermediate string
+        long number = source.mark();
+        long digits = 0;
+        int integerDigits = 0;
+        int fractionDigits = 0;
 
         // integer value
-        String integerValue = source.chomp(Tokens.DIGIT);
-        if (!integerValue.isEmpty()) value = new StringBuilder(integerValue);
+        while (Tokens.DIGIT.matches(source.current())) {
+            digits = digits * 10 + (source.current() - '0');
+            integerDigits++;
+            source.next();
+        }
 
         // decimal
-        if (source.optionallyPresent(Tokens.DOT)) {
-            if (value == null) value = new StringBuilder();
-            value.append('.');
+        boolean decimal = source.optionallyPresent(Tokens.DOT);
+        if (decimal) {
+            while (Tokens.DIGIT.matches(source.current())) {
+                digits = digits * 10 + (source.current() - '0');
+                fractionDigits++;
+                source.next();
+            }
 
             // there must be a number after a decimal point
-            String decimalValue = source.chomp(Tokens.DIGIT);
-            if (decimalValue.isEmpty()) throw new ParserException(source, Message.EXPECTED_DECIMAL);
-            value.append(decimalValue);
+            if (fractionDigits == 0) throw new ParserException(source, Message.EXPECTED_DECIMAL);
         }
 
         // integer value or decimal must be present
-        if (value == null) return snapshot.rollback();
+        if (integerDigits == 0 && !decimal) return source.reset(mark);
 
         // create the numerical value instance
-        NumericalValue numerical = new NumericalValue(snapshot.originalLine, snapshot.originalColumn, value.toString());
+        NumericalValue numerical;
+        if (integerDigits + fractionDigits <= NumericalValue.MAX_DIGITS) {
+            numerical = new NumericalValue(line, column, digits, integerDigits, fractionDigits);
+        } else {
+            // too many digits to store as a primitive, so reparse as a string
+            source.reset(number);
+            numerical = new NumericalValue(line, column, readRaw(source));
+        }
 
         // add the sign if applicable
         if (sign.isPresent()) {
@@ -93,7 +111,7 @@ public final class NumericalValueParser implements Parser {
         if (source.optionallyPresent(Tokens.PERCENTAGE)) {
             unit = Optional.of("%");
         } else {
-            String string = source.chomp(Tokens.ALPHA);
+            String string = source.chompInterned(Tokens.ALPHA);
             unit = string.isEmpty() ? Optional.empty() : Optional.of(string);
         }
 
@@ -102,8 +120,20 @@ public final class NumericalValueParser implements Parser {
         }
 
         broadcaster.broadcast(numerical);
-        numerical.comments(source.flushComments());
+        numerical.commentUnits(source.flushCommentUnits());
         return true;
     }
 
+    private static String readRaw(Source source) {
+        StringBuilder value = new StringBuilder(source.chomp(Tokens.DIGIT));
+        if (source.optionallyPresent(Tokens.DOT)) {
+            value.append('.').append(source.chomp(Tokens.DIGIT));
+        }
+        return value.toString();
+    }
+
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.SIGN.or(Tokens.DIGIT).or(Tokens.DOT));
+    }
 }
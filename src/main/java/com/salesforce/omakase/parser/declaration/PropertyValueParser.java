@@ -29,7 +29,7 @@ package com.salesforce.omakase.parser.declaration;
 import com.salesforce.omakase.ast.declaration.PropertyValue;
 import com.salesforce.omakase.ast.declaration.PropertyValueMember;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
@@ -41,6 +41,7 @@ import com.salesforce.omakase.parser.Source;
  * @see PropertyValue
  */
 public final class PropertyValueParser implements Parser {
+    private static final Class<?>[] COLLECTED = {PropertyValueMember.class};
 
     @Override
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
@@ -51,16 +52,20 @@ public final class PropertyValueParser implements Parser {
         int column = source.originalColumn();
 
         // parse terms and operators
-        QueryableBroadcaster queryable = broadcaster.chain(new QueryableBroadcaster());
+        CollectingBroadcaster collector = broadcaster.chain(grammar.broadcasters().collecting(null, COLLECTED));
         grammar.parser().termSequenceParser().parse(source, grammar, broadcaster);
-        broadcaster.cut(queryable);
+        broadcaster.cut(collector);
 
         // if no terms were parsed then return false
-        if (!queryable.hasAny()) return false;
+        if (!collector.hasAny(PropertyValueMember.class)) {
+            grammar.broadcasters().release(collector);
+            return false;
+        }
 
         // create the term list and add the members
         PropertyValue value = new PropertyValue(line, column);
-        value.members().appendAll(queryable.filter(PropertyValueMember.class));
+        value.members().appendAll(collector.get(PropertyValueMember.class));
+        grammar.broadcasters().release(collector);
 
         // check for !important
         value.important(grammar.parser().importantParser().parse(source, grammar, broadcaster));
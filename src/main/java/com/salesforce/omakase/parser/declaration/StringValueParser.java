@@ -26,12 +26,15 @@
 
 package com.salesforce.omakase.parser.declaration;
 
+import java.util.Optional;
+
 import com.salesforce.omakase.ast.declaration.QuotationMode;
 import com.salesforce.omakase.ast.declaration.StringValue;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -65,10 +68,14 @@ public final class StringValueParser implements Parser {
         }
 
         StringValue string = new StringValue(line, column, mode, value);
-        string.comments(source.flushComments());
+        string.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(string);
 
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.SINGLE_QUOTE.or(Tokens.DOUBLE_QUOTE));
+    }
 }
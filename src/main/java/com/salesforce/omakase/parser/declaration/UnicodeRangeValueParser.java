@@ -26,6 +26,8 @@
 
 package com.salesforce.omakase.parser.declaration;
 
+import java.util.Optional;
+
 import com.salesforce.omakase.Message;
 import com.salesforce.omakase.ast.declaration.UnicodeRangeValue;
 import com.salesforce.omakase.broadcast.Broadcaster;
@@ -33,7 +35,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
-import com.salesforce.omakase.parser.Source.Snapshot;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -85,7 +87,7 @@ public final class UnicodeRangeValueParser implements Parser {
             builder.append(hexidecimals);
 
             // check for wildcards
-            Snapshot wildcardSnapshot = source.snapshot();
+            long wildcardMark = source.mark();
             String wildcards = source.chomp(Tokens.QUESTION);
             int wlen = wildcards.length();
             builder.append(wildcards);
@@ -109,7 +111,7 @@ public final class UnicodeRangeValueParser implements Parser {
 
                 // if there's a range and wildcard, throw an error
                 if (wlen > 0) {
-                    wildcardSnapshot.rollback(Message.WILDCARD_NOT_ALLOWED);
+                    source.reset(wildcardMark, Message.WILDCARD_NOT_ALLOWED);
                 }
 
                 // check for hexidecimal chars
@@ -132,7 +134,7 @@ public final class UnicodeRangeValueParser implements Parser {
 
             // create and broadcast the AST object
             UnicodeRangeValue range = new UnicodeRangeValue(line, column, builder.toString());
-            range.comments(source.flushComments());
+            range.commentUnits(source.flushCommentUnits());
 
             broadcaster.broadcast(range);
             return true;
@@ -141,4 +143,8 @@ public final class UnicodeRangeValueParser implements Parser {
         return false;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.U);
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser.scan;
+
+import java.util.Optional;
+
+import com.salesforce.omakase.Message;
+import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.parser.Grammar;
+import com.salesforce.omakase.parser.Parser;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.atrule.AtRuleParser;
+import com.salesforce.omakase.parser.factory.TokenFactory;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
+
+/**
+ * Checks the syntax of an at-rule in the same way as {@link AtRuleParser}, but without creating a {@link
+ * com.salesforce.omakase.ast.atrule.AtRule}.
+ * <p>
+ * As with a full parse, the contents of the block are only checked for matching braces. Checking them further requires
+ * refinement, e.g., by the {@link com.salesforce.omakase.plugin.syntax.MediaPlugin}.
+ *
+ * @author nmcwilliams
+ */
+public final class AtRuleScanner implements Parser {
+
+    @Override
+    public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
+        return parse(source, grammar, broadcaster, false);
+    }
+
+    @Override
+    public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster, boolean parentIsConditional) {
+        TokenFactory tf = grammar.token();
+
+        source.skipWhitepace();
+        source.collectComments();
+
+        // must begin with '@'
+        if (!source.optionallyPresent(Tokens.AT_RULE)) {
+            return false;
+        }
+
+        // the name
+        Optional<String> name = source.readIdent();
+        if (!name.isPresent()) {
+            throw new ParserException(source, Message.MISSING_AT_RULE_NAME);
+        } else if (name.get().equalsIgnoreCase("if") && parentIsConditional) {
+            throw new ParserException(source, Message.UNEXPECTED_NESTED_CONDITIONAL_AT_RULE);
+        }
+
+        // the expression (usually up to a semicolon or open bracket), usually short enough to not bother avoiding the string
+        boolean expression = !isBlank(source.until(tf.atRuleExpressionEnd()));
+        source.skipWhitepace();
+
+        // the termination or the block. The block's content only matters when there's no expression.
+        boolean block = false;
+        if (!source.optionallyPresent(tf.atRuleTermination()) && tf.atRuleBlockBegin().matches(source.current())) {
+            if (expression) {
+                source.skipEnclosedValue(tf.atRuleBlockBegin(), tf.atRuleBlockEnd());
+            } else {
+                block = !isBlank(source.chompEnclosedValue(tf.atRuleBlockBegin(), tf.atRuleBlockEnd()));
+            }
+        }
+
+        // expression content must be present
+        if (!expression && !block) {
+            throw new ParserException(source, Message.MISSING_AT_RULE_VALUE);
+        }
+
+        return true;
+    }
+
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.AT_RULE);
+    }
+
+    private static boolean isBlank(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+}
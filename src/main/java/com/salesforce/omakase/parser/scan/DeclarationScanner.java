@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser.scan;
+
+import java.util.Optional;
+
+import com.salesforce.omakase.Message;
+import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.parser.Grammar;
+import com.salesforce.omakase.parser.Parser;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.declaration.DeclarationParser;
+import com.salesforce.omakase.parser.token.Token;
+
+/**
+ * Checks the syntax of a raw declaration in the same way as {@link DeclarationParser}, but without creating a {@link
+ * com.salesforce.omakase.ast.declaration.Declaration}.
+ *
+ * @author nmcwilliams
+ */
+public final class DeclarationScanner implements Parser {
+
+    @Override
+    public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
+        source.collectComments();
+
+        // optional 'special' character (e.g., * from a star hack)
+        Optional<Token> special = grammar.token().specialDeclarationBegin();
+        if (special.isPresent()) source.optionallyPresent(special.get());
+
+        // the property name
+        if (!source.readIdentLevel3().isPresent()) return false;
+
+        // colon
+        source.skipWhitepace();
+        source.expect(grammar.token().propertyNameEnd(), Message.MISSING_COLON);
+        source.skipWhitepace();
+
+        // the property value
+        source.skipUntil(grammar.token().declarationEnd());
+        return true;
+    }
+
+}
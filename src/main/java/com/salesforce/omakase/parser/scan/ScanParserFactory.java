@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser.scan;
+
+import com.salesforce.omakase.parser.CombinationParser;
+import com.salesforce.omakase.parser.Parser;
+import com.salesforce.omakase.parser.factory.BaseParserFactory;
+import com.salesforce.omakase.parser.factory.ParserFactory;
+
+/**
+ * A {@link ParserFactory} that replaces the parsers for rules, at-rules, raw selectors and raw declarations with ones that only
+ * check the syntax, without creating any AST objects.
+ * <p>
+ * The sequence parsers are the standard ones (they don't create anything themselves). The stylesheet parser isn't used, see
+ * {@link SyntaxCheck}. Refined selector and value parsers are also the standard ones, as nothing is refined when checking syntax.
+ *
+ * @author nmcwilliams
+ */
+public final class ScanParserFactory extends BaseParserFactory {
+    private static final ParserFactory INSTANCE = new ScanParserFactory();
+
+    private final Parser rule = new RuleScanner();
+    private final Parser atRule = new AtRuleScanner();
+    private final Parser statement = new CombinationParser(rule, atRule);
+    private final Parser selector = new SelectorScanner();
+    private final Parser declaration = new DeclarationScanner();
+
+    private ScanParserFactory() {}
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return The instance.
+     */
+    public static ParserFactory instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Parser atRuleParser() {
+        return atRule;
+    }
+
+    @Override
+    public Parser ruleParser() {
+        return rule;
+    }
+
+    @Override
+    public Parser statementParser() {
+        return statement;
+    }
+
+    @Override
+    public Parser rawSelectorParser() {
+        return selector;
+    }
+
+    @Override
+    public Parser rawDeclarationParser() {
+        return declaration;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser.scan;
+
+import com.salesforce.omakase.Message;
+import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.broadcast.NoopBroadcaster;
+import com.salesforce.omakase.error.BoundedErrorManager;
+import com.salesforce.omakase.error.ErrorLimitException;
+import com.salesforce.omakase.error.ErrorManager;
+import com.salesforce.omakase.parser.Grammar;
+import com.salesforce.omakase.parser.Parser;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
+
+/**
+ * Checks whether CSS source code is syntactically valid, without building the AST.
+ * <p>
+ * This finds the same problems as processing the source with no plugins (i.e., at the raw level, without refining selectors or
+ * declaration values), but is several times faster and allocates very little, as no {@link com.salesforce.omakase.ast.Rule}s,
+ * {@link com.salesforce.omakase.ast.declaration.Declaration}s, {@link com.salesforce.omakase.ast.RawSyntax} or comments are
+ * created. This is useful for validating uploaded stylesheets, for example.
+ * <p>
+ * Unlike processing, checking continues after an error by skipping to the end of the statement that contains it, so more than
+ * one error can be found. Use a {@link BoundedErrorManager} to stop after a certain number of errors.
+ * <p>
+ * Example:
+ * <pre><code>
+ * BoundedErrorManager em = SyntaxCheck.check(input);
+ * if (em.hasErrors()) {...}
+ * </code></pre>
+ *
+ * @author nmcwilliams
+ */
+public final class SyntaxCheck {
+    private static final Grammar GRAMMAR = new Grammar(null, ScanParserFactory.instance());
+    private static final Token RECOVER = Tokens.OPEN_BRACE.or(Tokens.CLOSE_BRACE).or(Tokens.SEMICOLON);
+
+    private SyntaxCheck() {}
+
+    /**
+     * Checks the syntax of the given source, stopping after {@link BoundedErrorManager#DEFAULT_LIMIT} errors.
+     *
+     * @param source
+     *     The CSS source code.
+     *
+     * @return The {@link BoundedErrorManager} containing any errors.
+     */
+    public static BoundedErrorManager check(CharSequence source) {
+        BoundedErrorManager em = new BoundedErrorManager();
+        check(source, em);
+        return em;
+    }
+
+    /**
+     * Checks the syntax of the given source, reporting each error to the given {@link ErrorManager}.
+     *
+     * @param source
+     *     The CSS source code.
+     * @param em
+     *     Report errors to this error manager. It may throw an {@link ErrorLimitException} to stop checking.
+     *
+     * @return True if the source is valid (no errors were reported).
+     */
+    public static boolean check(CharSequence source, ErrorManager em) {
+        Source src = new Source(source).discardComments();
+        Parser statement = GRAMMAR.parser().statementParser();
+        Broadcaster sink = new NoopBroadcaster(); // nothing is broadcasted by the scanners
+        int errors = 0;
+
+        try {
+            while (true) {
+                long start = src.mark();
+                try {
+                    if (!statement.parse(src, GRAMMAR, sink)) {
+                        // after all statements there should be nothing left in the source
+                        src.collectComments();
+                        if (src.eof()) break;
+                        throw new ParserException(src, Message.EXTRANEOUS, src.remaining());
+                    }
+                } catch (ParserException e) {
+                    errors++;
+                    em.report(e);
+                    if (!recover(src, start, e)) break;
+                }
+            }
+        } catch (ErrorLimitException e) {
+            // the error manager has seen enough
+        }
+
+        return errors == 0;
+    }
+
+    /** skips past the statement in which an error occurred, returning false if the rest of the source can't be checked */
+    private static boolean recover(Source source, long start, ParserException e) {
+        // everything after an unclosed comment is part of the comment
+        if (Message.MISSING_COMMENT_CLOSE.equals(e.reason())) return false;
+
+        // skip to the end of the statement, either the end of its block or a semicolon (or a stray closing brace)
+        source.reset(start);
+        source.skipUntil(RECOVER);
+        if (source.eof()) return false;
+
+        if (Tokens.OPEN_BRACE.matches(source.current())) {
+            try {
+                source.skipEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+            } catch (ParserException unclosed) {
+                return false; // the rest of the source is inside the unclosed block
+            }
+        } else {
+            source.skip();
+        }
+        return true;
+    }
+}
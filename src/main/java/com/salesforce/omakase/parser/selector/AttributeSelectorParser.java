@@ -36,6 +36,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -98,10 +99,14 @@ public final class AttributeSelectorParser implements Parser {
         if (type.isPresent()) {
             selector.match(type.get(), value.get().trim());
         }
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
 
         broadcaster.broadcast(selector);
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.OPEN_BRACKET);
+    }
 }
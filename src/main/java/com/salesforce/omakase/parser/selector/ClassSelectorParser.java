@@ -35,6 +35,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -50,22 +51,27 @@ public final class ClassSelectorParser implements Parser {
         // note: important not to skip whitespace anywhere in here, as it could skip over a descendant combinator
         source.collectComments(false);
 
-        // snapshot the current state before parsing
-        Source.Snapshot snapshot = source.snapshot();
+        // grab current position before parsing
+        int line = source.originalLine();
+        int column = source.originalColumn();
 
         // first character must be a dot
-        if (!source.optionallyPresent(Tokens.DOT)) return snapshot.rollback();
+        if (!source.optionallyPresent(Tokens.DOT)) return false;
 
         // parse the class name
         Optional<String> name = source.readIdent();
         if (!name.isPresent()) throw new ParserException(source, Message.EXPECTED_VALID_CLASS);
 
         // broadcast the new class selector
-        ClassSelector selector = new ClassSelector(snapshot.originalLine, snapshot.originalColumn, name.get());
-        selector.comments(source.flushComments());
+        ClassSelector selector = new ClassSelector(line, column, name.get());
+        selector.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(selector);
 
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.DOT);
+    }
 }
@@ -48,8 +48,10 @@ public final class CombinatorParser implements Parser {
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
         source.collectComments(false);
 
-        // snapshot the current state before parsing
-        Source.Snapshot snapshot = source.snapshot();
+        // mark the current state before parsing
+        int line = source.originalLine();
+        int column = source.originalColumn();
+        long mark = source.mark();
 
         // the presence of a space *could* be a descendant selector. Or it could just be whitespace around other
         // combinators. We won't know until later.
@@ -73,12 +75,12 @@ public final class CombinatorParser implements Parser {
             source.skipWhitepace();
 
             // create and broadcast the combinator
-            Combinator combinator = new Combinator(snapshot.originalLine, snapshot.originalColumn, type.get());
+            Combinator combinator = new Combinator(line, column, type.get());
             broadcaster.broadcast(combinator);
             return true;
         }
 
-        return snapshot.rollback();
+        return source.reset(mark);
     }
 
 }
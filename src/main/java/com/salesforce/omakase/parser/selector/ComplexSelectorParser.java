@@ -55,8 +55,8 @@ public final class ComplexSelectorParser implements Parser {
     public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
         source.skipWhitepace();
 
-        // snapshot the current state before parsing
-        Source.Snapshot snapshot = source.snapshot();
+        // mark the current state before parsing
+        long mark = source.mark();
 
         // setup inner parsers
         Parser combinator = grammar.parser().combinatorParser();
@@ -65,7 +65,7 @@ public final class ComplexSelectorParser implements Parser {
 
         // we queue the broadcasts because we don't want the last unit to be a trailing descendant combinator.
         InterestBroadcaster<Combinator> interest = SingleInterestBroadcaster.of(Combinator.class);
-        QueuingBroadcaster queue = interest.chain(new QueuingBroadcaster(broadcaster).pause());
+        QueuingBroadcaster queue = interest.chain(grammar.broadcasters().queuing(broadcaster).pause());
 
         boolean matchedAnything = false;
         boolean matchedThisTime;
@@ -93,25 +93,26 @@ public final class ComplexSelectorParser implements Parser {
                     if (lastCombinator.get().type() == DESCENDANT_COMBINATOR) {
                         queue.reject(lastCombinator.get());
                     } else {
-                        snapshot.rollback(Message.TRAILING_COMBINATOR, lastCombinator.get().type());
+                        source.reset(mark, Message.TRAILING_COMBINATOR, lastCombinator.get().type());
                     }
                 }
             } else {
                 // so that if there is a trailing combinator error the source points to the right location
-                snapshot = source.snapshot();
+                mark = source.mark();
             }
         } while (combinator.parse(source, grammar, interest.reset()));
 
         // check for known possible errors
         if (!source.eof()) {
-            snapshot = source.snapshot();
+            mark = source.mark();
             if (typeOrUniversal.parse(source, grammar, queue)) {
-                snapshot.rollback(Message.NAME_SELECTORS_NOT_ALLOWED);
+                source.reset(mark, Message.NAME_SELECTORS_NOT_ALLOWED);
             }
         }
 
         // we're good, send out all queued broadcasts
         queue.resume();
+        grammar.broadcasters().release(queue);
 
         return matchedAnything;
     }
@@ -35,6 +35,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -67,9 +68,13 @@ public final class IdSelectorParser implements Parser {
 
         // broadcast the new id selector
         IdSelector selector = new IdSelector(line, column, name.get());
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(selector);
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.HASH);
+    }
 }
@@ -41,6 +41,7 @@ import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -90,9 +91,13 @@ public final class PseudoSelectorParser implements Parser {
             selector = new PseudoClassSelector(line, column, name.get(), args);
         }
 
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(selector);
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.COLON);
+    }
 }
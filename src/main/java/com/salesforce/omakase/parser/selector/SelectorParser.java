@@ -59,7 +59,7 @@ public final class SelectorParser implements Parser {
 
         // create selector and associate comments
         Selector selector = new Selector(raw);
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
 
         // broadcast selector and auto-associate parts
         broadcaster.chainBroadcast(selector,
@@ -33,6 +33,8 @@ import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
 
 /**
  * Parses {@link TypeSelector}s.
@@ -57,9 +59,13 @@ public final class TypeSelectorParser implements Parser {
 
         // create and broadcast the new selector
         TypeSelector selector = new TypeSelector(line, column, name.get());
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(selector);
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.IDENT_START);
+    }
 }
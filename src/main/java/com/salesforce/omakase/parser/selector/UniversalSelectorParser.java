@@ -26,11 +26,14 @@
 
 package com.salesforce.omakase.parser.selector;
 
+import java.util.Optional;
+
 import com.salesforce.omakase.ast.selector.UniversalSelector;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
 import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.Tokens;
 
 /**
@@ -54,9 +57,13 @@ public final class UniversalSelectorParser implements Parser {
 
         // broadcast the new selector
         UniversalSelector selector = new UniversalSelector(line, column);
-        selector.comments(source.flushComments());
+        selector.commentUnits(source.flushCommentUnits());
         broadcaster.broadcast(selector);
         return true;
     }
 
+    @Override
+    public Optional<Token> firstCharacters() {
+        return Optional.of(Tokens.STAR);
+    }
 }
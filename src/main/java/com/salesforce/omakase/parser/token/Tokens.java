@@ -146,6 +146,9 @@ public enum Tokens implements Token {
     NMCHAR(inRange('a', 'z').or(is('-')).or(inRange('A', 'Z')).or(is('_')).or(inRange('0', '9')),
         "valid identifier character"),
 
+    /** first character of an ident read by {@link Source#readIdent()}, including a leading hyphen */
+    IDENT_START(inRange('a', 'z').or(inRange('A', 'Z')).or(anyOf("_-")), "valid first identifier character or hyphen"),
+
     /** hyphen or digit */
     HYPHEN_OR_DIGIT(is('-').or(inRange('0', '9')), "hyphen or digit"),
 
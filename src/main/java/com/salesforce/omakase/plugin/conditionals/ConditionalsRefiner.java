@@ -37,7 +37,7 @@ import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.extended.Conditional;
 import com.salesforce.omakase.ast.extended.ConditionalAtRuleBlock;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.broadcast.annotation.Refine;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
@@ -54,6 +54,8 @@ import com.salesforce.omakase.plugin.Plugin;
  * @see Conditionals
  */
 public final class ConditionalsRefiner implements Plugin {
+    private static final Class<?>[] COLLECTED = {Statement.class};
+
     private final ConditionalsConfig config;
 
     /**
@@ -135,12 +137,12 @@ public final class ConditionalsRefiner implements Plugin {
 
         // setup stuff for parsing inner statements
         source = new Source(atRule.rawBlock().get());
-        QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+        CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
         // parse the inner statements
         Parser rule = grammar.parser().statementParser();
         while (!source.eof()) {
-            boolean matched = rule.parse(source, grammar, queryable, true);
+            boolean matched = rule.parse(source, grammar, collector, true);
             source.skipWhitepace();
 
             // after parsing there should be nothing left in the source
@@ -151,7 +153,8 @@ public final class ConditionalsRefiner implements Plugin {
 
         // create the new conditional node and broadcast it
         ConditionalAtRuleBlock block = new ConditionalAtRuleBlock(atRule.line(), atRule.column(), conditionals,
-            queryable.filter(Statement.class), config);
+            collector.get(Statement.class), config);
+        grammar.broadcasters().release(collector);
         broadcaster.broadcast(block);
 
         // don't print out the name of the at-rule (the '@if' part. the block will print it out when it's
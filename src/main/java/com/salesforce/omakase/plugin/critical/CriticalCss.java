@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.critical;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.ast.RawSyntax;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.StatementIterable;
+import com.salesforce.omakase.ast.Stylesheet;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.atrule.AtRuleExpression;
+import com.salesforce.omakase.ast.atrule.GenericAtRuleBlock;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.DependentPlugin;
+import com.salesforce.omakase.plugin.PostProcessingPlugin;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.plugin.syntax.MediaPlugin;
+import com.salesforce.omakase.plugin.syntax.SelectorPlugin;
+import com.salesforce.omakase.plugin.syntax.SupportsPlugin;
+import com.salesforce.omakase.util.As;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Splits a stylesheet into a critical subset, containing only what is needed to render a given {@link Dom}, and a deferred
+ * remainder.
+ * <p>
+ * The critical stylesheet contains:
+ * <ul>
+ * <li>Each {@link Rule} with at least one {@link Selector} matching an element in the {@link Dom} (only the matching selectors
+ * are kept).</li>
+ * <li>Conditional at-rules such as {@code @media} and {@code @supports}, reduced to just the inner rules that match.</li>
+ * <li>{@code @keyframes} referenced by an animation in a critical rule.</li>
+ * <li>{@code @font-face} rules for font families referenced in a critical rule.</li>
+ * <li>At-rules without a block, such as {@code @charset} (these are also kept in the deferred stylesheet).</li>
+ * </ul>
+ * Everything else is placed in the deferred stylesheet, in the original order. Selectors that can't be statically evaluated
+ * (e.g., {@code :hover}) are considered to match. Nothing in the original stylesheet is modified.
+ * <p>
+ * This can be used as a plugin during parsing:
+ * <pre><code>
+ * CriticalCss critical = new CriticalCss(Dom.fromMap(json));
+ * Omakase.source(input).use(critical).process();
+ * String first = StyleWriter.compressed().writeSingle(critical.critical());
+ * String rest = StyleWriter.compressed().writeSingle(critical.deferred());
+ * </code></pre>
+ * <p>
+ * Or to avoid reparsing the same source for every page, the {@link Stylesheet} from a previous parse (with {@link SyntaxTree} and
+ * this plugin's dependencies) can be cached and given to {@link #extract(Stylesheet)} directly. {@link Dom} instances can likewise
+ * be cached and reused.
+ *
+ * @author nmcwilliams
+ */
+public final class CriticalCss implements DependentPlugin, PostProcessingPlugin {
+    private static final Pattern FONT_FAMILY = Pattern.compile("font-family\\s*:\\s*([^;}]+)", Pattern.CASE_INSENSITIVE);
+    private static final Splitter NAMES = Splitter.onPattern("[\\s,]+").omitEmptyStrings();
+    private static final Splitter FAMILIES = Splitter.on(',').trimResults().omitEmptyStrings();
+    private static final Splitter WORDS = Splitter.onPattern("\\s+").omitEmptyStrings();
+
+    private final SelectorMatcher matcher;
+    private final StyleWriter writer = StyleWriter.compressed();
+
+    private SyntaxTree tree;
+    private Map<Selector, Boolean> matches;
+    private Set<String> animations;
+    private Set<String> fonts;
+    private Stylesheet critical;
+    private Stylesheet deferred;
+
+    /**
+     * Creates a new {@link CriticalCss} instance.
+     *
+     * @param dom
+     *     The elements to extract critical rules for.
+     */
+    public CriticalCss(Dom dom) {
+        this.matcher = new SelectorMatcher(checkNotNull(dom, "dom cannot be null"));
+    }
+
+    @Override
+    public void dependencies(PluginRegistry registry) {
+        tree = registry.require(SyntaxTree.class);
+        registry.require(SelectorPlugin.class);
+        registry.require(MediaPlugin.class);
+        registry.require(SupportsPlugin.class);
+    }
+
+    @Override
+    public void postProcess(PluginRegistry registry) {
+        extract(tree.stylesheet());
+    }
+
+    /**
+     * Splits the given {@link Stylesheet} into the critical and deferred stylesheets, available afterwards from {@link
+     * #critical()} and {@link #deferred()}. This is automatically called after processing when this is registered as a plugin.
+     * <p>
+     * The given stylesheet is not modified. For accurate results the selectors, {@code @media} and {@code @supports} at-rules
+     * should already be refined.
+     *
+     * @param stylesheet
+     *     The stylesheet.
+     *
+     * @return this, for chaining.
+     */
+    public CriticalCss extract(Stylesheet stylesheet) {
+        checkNotNull(stylesheet, "stylesheet cannot be null");
+
+        matches = new IdentityHashMap<>();
+        animations = new HashSet<>();
+        fonts = new HashSet<>();
+
+        // first pass determines which selectors match and what the critical rules reference
+        scan(stylesheet);
+
+        critical = new Stylesheet();
+        deferred = new Stylesheet();
+        split(stylesheet, critical::append, deferred::append);
+
+        matches = null;
+        animations = null;
+        fonts = null;
+        return this;
+    }
+
+    /**
+     * Gets the critical stylesheet, containing only what is needed to render the {@link Dom}.
+     *
+     * @return The critical stylesheet.
+     */
+    public Stylesheet critical() {
+        checkState(critical != null, "nothing extracted yet (was this plugin registered, or extract called?)");
+        return critical;
+    }
+
+    /**
+     * Gets the deferred stylesheet, containing everything not in the {@link #critical()} stylesheet.
+     *
+     * @return The deferred stylesheet.
+     */
+    public Stylesheet deferred() {
+        checkState(deferred != null, "nothing extracted yet (was this plugin registered, or extract called?)");
+        return deferred;
+    }
+
+    private void scan(StatementIterable statements) {
+        for (Statement statement : statements) {
+            if (statement instanceof Rule) {
+                Rule rule = (Rule)statement;
+                boolean anyMatch = false;
+                for (Selector selector : rule.selectors()) {
+                    boolean matched = matcher.matches(selector);
+                    matches.put(selector, matched);
+                    anyMatch |= matched;
+                }
+                if (anyMatch) {
+                    references(rule);
+                }
+            } else {
+                AtRule atRule = (AtRule)statement;
+                if (!isKeyframes(atRule) && atRule.block().orElse(null) instanceof GenericAtRuleBlock) {
+                    scan(atRule.block().get());
+                }
+            }
+        }
+    }
+
+    private void references(Rule rule) {
+        for (Declaration declaration : rule.declarations()) {
+            if (declaration.isPropertyIgnorePrefix(Property.ANIMATION)
+                || declaration.isPropertyIgnorePrefix(Property.ANIMATION_NAME)) {
+                for (String name : NAMES.split(valueOf(declaration))) {
+                    animations.add(unquote(name));
+                }
+            } else if (declaration.isProperty(Property.FONT_FAMILY)) {
+                addFamilies(valueOf(declaration), false);
+            } else if (declaration.isProperty(Property.FONT)) {
+                addFamilies(valueOf(declaration), true);
+            }
+        }
+    }
+
+    private void split(StatementIterable statements, Destination toCritical, Destination toDeferred) {
+        for (Statement statement : statements) {
+            if (statement instanceof Rule) {
+                splitRule((Rule)statement, toCritical, toDeferred);
+            } else {
+                splitAtRule((AtRule)statement, toCritical, toDeferred);
+            }
+        }
+    }
+
+    private void splitRule(Rule rule, Destination toCritical, Destination toDeferred) {
+        List<Selector> matched = new ArrayList<>(2);
+        List<Selector> unmatched = new ArrayList<>(2);
+        for (Selector selector : rule.selectors()) {
+            (matches.getOrDefault(selector, true) ? matched : unmatched).add(selector);
+        }
+
+        if (unmatched.isEmpty()) {
+            toCritical.add(rule.copy());
+        } else if (matched.isEmpty()) {
+            toDeferred.add(rule.copy());
+        } else {
+            toCritical.add(copyWith(rule, matched));
+            toDeferred.add(copyWith(rule, unmatched));
+        }
+    }
+
+    private void splitAtRule(AtRule atRule, Destination toCritical, Destination toDeferred) {
+        if (!atRule.block().isPresent() && !atRule.rawBlock().isPresent()) {
+            // e.g., @charset or @import
+            toCritical.add(atRule.copy());
+            toDeferred.add(atRule.copy());
+        } else if (isKeyframes(atRule)) {
+            (animations.contains(unquote(expressionOf(atRule))) ? toCritical : toDeferred).add(atRule.copy());
+        } else if (atRule.name().equalsIgnoreCase("font-face")) {
+            (isFontReferenced(atRule) ? toCritical : toDeferred).add(atRule.copy());
+        } else if (atRule.block().orElse(null) instanceof GenericAtRuleBlock) {
+            GenericAtRuleBlock criticalBlock = new GenericAtRuleBlock();
+            GenericAtRuleBlock deferredBlock = new GenericAtRuleBlock();
+            split(atRule.block().get(), criticalBlock.statements()::append, deferredBlock.statements()::append);
+
+            if (!criticalBlock.statements().isEmpty()) {
+                toCritical.add(copyWith(atRule, criticalBlock));
+            }
+            if (!deferredBlock.statements().isEmpty()) {
+                toDeferred.add(copyWith(atRule, deferredBlock));
+            }
+        } else {
+            toDeferred.add(atRule.copy());
+        }
+    }
+
+    private boolean isFontReferenced(AtRule fontFace) {
+        Matcher m = FONT_FAMILY.matcher(blockOf(fontFace));
+        if (!m.find()) return false;
+
+        return fonts.contains(normalizeFamily(m.group(1)));
+    }
+
+    /** adds the family names in the value of a font-family or font declaration */
+    private void addFamilies(String value, boolean shorthand) {
+        boolean first = true;
+        for (String family : FAMILIES.split(value)) {
+            if (first && shorthand) {
+                family = shorthandFamily(family);
+            }
+            fonts.add(normalizeFamily(family));
+            first = false;
+        }
+    }
+
+    /** gets the first family from the part of a font shorthand before the first comma, e.g., "bold 12px/1.5 Arial Black" */
+    private static String shorthandFamily(String value) {
+        int quote = CharMatcher.anyOf("\"'").indexIn(value);
+        if (quote >= 0) return value.substring(quote);
+
+        // the family is after the size, which is the last part with a digit
+        List<String> words = WORDS.splitToList(value);
+        int start = 0;
+        for (int i = 0; i < words.size(); i++) {
+            if (CharMatcher.inRange('0', '9').matchesAnyOf(words.get(i))) {
+                start = i + 1;
+            }
+        }
+        return String.join(" ", words.subList(start, words.size()));
+    }
+
+    /** unquotes the family name, collapses whitespace and lower-cases it, so that names can be compared exactly */
+    private static String normalizeFamily(String family) {
+        return String.join(" ", WORDS.split(unquote(family.trim()))).toLowerCase();
+    }
+
+    private String valueOf(Declaration declaration) {
+        Optional<RawSyntax> raw = declaration.rawPropertyValue();
+        return raw.isPresent() ? raw.get().content() : writer.writeSingle(declaration.propertyValue());
+    }
+
+    private String expressionOf(AtRule atRule) {
+        Optional<AtRuleExpression> expression = atRule.expression();
+        if (expression.isPresent()) return writer.writeSingle(expression.get()).trim();
+        return atRule.rawExpression().map(RawSyntax::content).orElse("").trim();
+    }
+
+    private String blockOf(AtRule atRule) {
+        Optional<RawSyntax> raw = atRule.rawBlock();
+        return raw.isPresent() ? raw.get().content() : writer.writeSingle(atRule.block().get());
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).fields().toString();
+    }
+
+    private static boolean isKeyframes(AtRule atRule) {
+        return atRule.name().toLowerCase().endsWith("keyframes");
+    }
+
+    private static String unquote(String string) {
+        int length = string.length();
+        if (length >= 2) {
+            char first = string.charAt(0);
+            if ((first == '"' || first == '\'') && string.charAt(length - 1) == first) {
+                return string.substring(1, length - 1);
+            }
+        }
+        return string;
+    }
+
+    private static Rule copyWith(Rule rule, List<Selector> selectors) {
+        Rule copy = rule.copy();
+
+        // the copy has the same selectors in the same order, so remove the copies of the ones not in the given list
+        List<Selector> remove = new ArrayList<>();
+        Iterator<Selector> originals = rule.selectors().iterator();
+        for (Selector selector : copy.selectors()) {
+            if (!selectors.contains(originals.next())) {
+                remove.add(selector);
+            }
+        }
+        remove.forEach(Selector::destroy);
+        return copy;
+    }
+
+    private static AtRule copyWith(AtRule atRule, GenericAtRuleBlock block) {
+        AtRuleExpression expression = atRule.expression().map(AtRuleExpression::copy).orElse(null);
+        AtRule copy = new AtRule(atRule.name(), expression, block);
+        copy.shouldWriteName(atRule.shouldWriteName());
+        return copy;
+    }
+
+    /** where split statements are sent */
+    @FunctionalInterface
+    private interface Destination {
+        void add(Statement statement);
+    }
+}
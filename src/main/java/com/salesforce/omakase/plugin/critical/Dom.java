@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.critical;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.salesforce.omakase.util.As;
+
+/**
+ * An indexed set of {@link DomElement} trees describing the (above-the-fold) content of a document.
+ * <p>
+ * Elements are indexed by id, class and tag name so that selectors can be matched starting from only the candidate elements.
+ * Building the index is linear in the number of elements. A {@link Dom} is never modified after creation, so the same instance can
+ * be cached and shared by many {@link CriticalCss} instances, including concurrently.
+ *
+ * @author nmcwilliams
+ */
+public final class Dom {
+    private final List<DomElement> roots;
+    private final List<DomElement> all = new ArrayList<>();
+    private final ListMultimap<String, DomElement> byId = ArrayListMultimap.create();
+    private final ListMultimap<String, DomElement> byClass = ArrayListMultimap.create();
+    private final ListMultimap<String, DomElement> byTag = ArrayListMultimap.create();
+
+    private Dom(Iterable<DomElement> roots) {
+        this.roots = ImmutableList.copyOf(roots);
+        for (DomElement root : this.roots) {
+            index(root);
+        }
+    }
+
+    private void index(DomElement element) {
+        all.add(element);
+        byTag.put(element.tag(), element);
+        element.id().ifPresent(id -> byId.put(id, element));
+        for (String name : element.classes()) {
+            byClass.put(name, element);
+        }
+        for (DomElement child : element.children()) {
+            index(child);
+        }
+    }
+
+    /**
+     * Gets the root elements.
+     *
+     * @return The root elements.
+     */
+    public List<DomElement> roots() {
+        return roots;
+    }
+
+    /**
+     * Gets all elements, in document order.
+     *
+     * @return All elements.
+     */
+    public List<DomElement> all() {
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Gets the elements with the given id.
+     *
+     * @param id
+     *     The id.
+     *
+     * @return The matching elements, or an empty list if there are none.
+     */
+    public List<DomElement> withId(String id) {
+        return Collections.unmodifiableList(byId.get(id));
+    }
+
+    /**
+     * Gets the elements with the given class.
+     *
+     * @param name
+     *     The class name.
+     *
+     * @return The matching elements, or an empty list if there are none.
+     */
+    public List<DomElement> withClass(String name) {
+        return Collections.unmodifiableList(byClass.get(name));
+    }
+
+    /**
+     * Gets the elements with the given tag name.
+     *
+     * @param tag
+     *     The lower-cased tag name.
+     *
+     * @return The matching elements, or an empty list if there are none.
+     */
+    public List<DomElement> withTag(String tag) {
+        return Collections.unmodifiableList(byTag.get(tag));
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("roots", roots.size()).add("elements", all.size()).toString();
+    }
+
+    /**
+     * Creates a new {@link Dom} from the given root elements.
+     *
+     * @param root
+     *     The first root element, usually the html or body element.
+     * @param more
+     *     Additional root elements.
+     *
+     * @return The new {@link Dom}.
+     */
+    public static Dom of(DomElement root, DomElement... more) {
+        checkNotNull(root, "root cannot be null");
+        return new Dom(ImmutableList.<DomElement>builder().add(root).add(more).build());
+    }
+
+    /**
+     * Creates a new {@link Dom} from the given root elements.
+     *
+     * @param roots
+     *     The root elements.
+     *
+     * @return The new {@link Dom}.
+     */
+    public static Dom of(Iterable<DomElement> roots) {
+        return new Dom(checkNotNull(roots, "roots cannot be null"));
+    }
+
+    /**
+     * Creates a new {@link Dom} from a generic map structure, such as one created by deserializing JSON. See {@link
+     * DomElement#fromMap(Map)} for the expected format.
+     *
+     * @param root
+     *     The map describing the root element.
+     *
+     * @return The new {@link Dom}.
+     */
+    public static Dom fromMap(Map<String, ?> root) {
+        return of(DomElement.fromMap(root));
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.critical;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.base.Splitter;
+import com.salesforce.omakase.util.As;
+
+/**
+ * A lightweight description of an element within a document, used by {@link CriticalCss} to determine which rules are needed to
+ * render it.
+ * <p>
+ * Only the information needed for selector matching is kept: the tag name, id, classes, attributes and child elements. Elements
+ * can be built up programmatically, or from a generic map structure such as one deserialized from JSON (see {@link
+ * #fromMap(Map)}).
+ * <p>
+ * Example:
+ * <pre><code>
+ * DomElement body = DomElement.of("body")
+ *     .child(DomElement.of("div").id("header").classes("nav", "dark"))
+ *     .child(DomElement.of("input").attribute("type", "text"));
+ * </code></pre>
+ * <p>
+ * Elements may be modified until they are added to a {@link Dom}, after which they should be treated as read-only.
+ *
+ * @author nmcwilliams
+ */
+public final class DomElement {
+    private static final Splitter WHITESPACE = Splitter.on(' ').omitEmptyStrings().trimResults();
+
+    private final String tag;
+    private String id;
+    private final Set<String> classes = new LinkedHashSet<>(4);
+    private final Map<String, String> attributes = new LinkedHashMap<>(4);
+    private final List<DomElement> children = new ArrayList<>(4);
+    private DomElement parent;
+    private int index;
+
+    private DomElement(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Gets the lower-cased tag name.
+     *
+     * @return The tag name.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Sets the id of this element.
+     *
+     * @param id
+     *     The id.
+     *
+     * @return this, for chaining.
+     */
+    public DomElement id(String id) {
+        this.id = checkNotNull(id, "id cannot be null");
+        return this;
+    }
+
+    /**
+     * Gets the id of this element, if present.
+     *
+     * @return The id.
+     */
+    public Optional<String> id() {
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Adds one or more classes to this element.
+     *
+     * @param classes
+     *     The class names.
+     *
+     * @return this, for chaining.
+     */
+    public DomElement classes(String... classes) {
+        Collections.addAll(this.classes, classes);
+        return this;
+    }
+
+    /**
+     * Gets whether this element has the given class.
+     *
+     * @param name
+     *     The class name.
+     *
+     * @return True if this element has the class.
+     */
+    public boolean hasClass(String name) {
+        return classes.contains(name);
+    }
+
+    /**
+     * Gets the classes on this element.
+     *
+     * @return The classes.
+     */
+    public Set<String> classes() {
+        return Collections.unmodifiableSet(classes);
+    }
+
+    /**
+     * Sets an attribute on this element. Setting the "id" or "class" attributes is equivalent to calling {@link #id(String)} or
+     * {@link #classes(String...)}.
+     *
+     * @param name
+     *     Name of the attribute.
+     * @param value
+     *     Value of the attribute, or an empty string for attributes without a value.
+     *
+     * @return this, for chaining.
+     */
+    public DomElement attribute(String name, String value) {
+        checkNotNull(name, "name cannot be null");
+        checkNotNull(value, "value cannot be null");
+
+        String lower = name.toLowerCase();
+        if (lower.equals("id")) {
+            return id(value);
+        }
+        if (lower.equals("class")) {
+            WHITESPACE.split(value).forEach(classes::add);
+            return this;
+        }
+
+        attributes.put(lower, value);
+        return this;
+    }
+
+    /**
+     * Gets the value of the given attribute. The "id" and "class" attributes are also supported.
+     *
+     * @param name
+     *     Lower-cased name of the attribute.
+     *
+     * @return The attribute value, or an empty {@link Optional} if the attribute is not set.
+     */
+    public Optional<String> attribute(String name) {
+        if (name.equals("id")) {
+            return id();
+        }
+        if (name.equals("class")) {
+            return classes.isEmpty() ? Optional.empty() : Optional.of(String.join(" ", classes));
+        }
+        return Optional.ofNullable(attributes.get(name));
+    }
+
+    /**
+     * Appends a child element.
+     *
+     * @param child
+     *     The child element. This must not already have a parent.
+     *
+     * @return this, for chaining.
+     */
+    public DomElement child(DomElement child) {
+        checkNotNull(child, "child cannot be null");
+        checkState(child.parent == null, "child already belongs to another element");
+
+        child.parent = this;
+        child.index = children.size();
+        children.add(child);
+        return this;
+    }
+
+    /**
+     * Gets the child elements.
+     *
+     * @return The children.
+     */
+    public List<DomElement> children() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Gets the parent element.
+     *
+     * @return The parent, or an empty {@link Optional} if this is a root element.
+     */
+    public Optional<DomElement> parent() {
+        return Optional.ofNullable(parent);
+    }
+
+    /**
+     * Gets the previous sibling element.
+     *
+     * @return The previous sibling, or an empty {@link Optional} if this is the first child or a root element.
+     */
+    public Optional<DomElement> previousSibling() {
+        return parent != null && index > 0 ? Optional.of(parent.children.get(index - 1)) : Optional.empty();
+    }
+
+    /**
+     * Gets whether this is the first child of its parent. Root elements are always considered first.
+     *
+     * @return True if this is the first child.
+     */
+    public boolean isFirstChild() {
+        return index == 0;
+    }
+
+    /**
+     * Gets whether this is the last child of its parent. Root elements are always considered last.
+     *
+     * @return True if this is the last child.
+     */
+    public boolean isLastChild() {
+        return parent == null || index == parent.children.size() - 1;
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this)
+            .add("tag", tag)
+            .add("id", id)
+            .add("classes", classes)
+            .add("attributes", attributes)
+            .add("children", children.size())
+            .toString();
+    }
+
+    /**
+     * Creates a new {@link DomElement} with the given tag name.
+     *
+     * @param tag
+     *     The tag name, e.g., "div".
+     *
+     * @return The new element.
+     */
+    public static DomElement of(String tag) {
+        checkNotNull(tag, "tag cannot be null");
+        return new DomElement(tag.toLowerCase());
+    }
+
+    /**
+     * Creates a {@link DomElement} tree from a generic map, such as one created by deserializing JSON.
+     * <p>
+     * The following keys are recognized:
+     * <ul>
+     * <li><b>tag</b>: the tag name (required)</li>
+     * <li><b>id</b>: the element id</li>
+     * <li><b>class</b>: a space-delimited string or a list of class names</li>
+     * <li><b>attributes</b>: a map of attribute names to values</li>
+     * <li><b>children</b>: a list of maps in this same format</li>
+     * </ul>
+     *
+     * @param map
+     *     The map describing the element.
+     *
+     * @return The new element.
+     */
+    public static DomElement fromMap(Map<String, ?> map) {
+        checkNotNull(map, "map cannot be null");
+        Object tag = map.get("tag");
+        checkArgument(tag instanceof String, "element is missing the 'tag' key: %s", map);
+
+        DomElement element = of((String)tag);
+
+        Object id = map.get("id");
+        if (id != null) {
+            element.id(id.toString());
+        }
+
+        Object classes = map.get("class");
+        if (classes instanceof Iterable) {
+            for (Object name : (Iterable<?>)classes) {
+                element.classes(name.toString());
+            }
+        } else if (classes != null) {
+            element.attribute("class", classes.toString());
+        }
+
+        Object attributes = map.get("attributes");
+        if (attributes instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)attributes).entrySet()) {
+                Object value = entry.getValue();
+                element.attribute(entry.getKey().toString(), value == null ? "" : value.toString());
+            }
+        }
+
+        Object children = map.get("children");
+        if (children instanceof Iterable) {
+            for (Object child : (Iterable<?>)children) {
+                checkArgument(child instanceof Map, "children must be maps: %s", child);
+                @SuppressWarnings("unchecked")
+                Map<String, ?> childMap = (Map<String, ?>)child;
+                element.child(fromMap(childMap));
+            }
+        }
+
+        return element;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.critical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.Splitter;
+import com.salesforce.omakase.ast.selector.AttributeMatchType;
+import com.salesforce.omakase.ast.selector.AttributeSelector;
+import com.salesforce.omakase.ast.selector.ClassSelector;
+import com.salesforce.omakase.ast.selector.IdSelector;
+import com.salesforce.omakase.ast.selector.PseudoClassSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.ast.selector.SelectorPart;
+import com.salesforce.omakase.ast.selector.SelectorPartType;
+import com.salesforce.omakase.ast.selector.TypeSelector;
+
+/**
+ * Matches refined {@link Selector}s against the elements of a {@link Dom}.
+ * <p>
+ * Matching is done right-to-left, starting only from the candidate elements for the rightmost compound selector (found using the
+ * id, class or tag indexes of the {@link Dom}).
+ * <p>
+ * Pseudo elements and pseudo classes that depend on user interaction or otherwise can't be determined statically (e.g.,
+ * {@code :hover} or {@code :not(...)}) are treated as matching. This errs on the side of including a rule in the critical output
+ * rather than risking an unstyled first render.
+ *
+ * @author nmcwilliams
+ */
+final class SelectorMatcher {
+    private static final Splitter WHITESPACE = Splitter.on(' ').omitEmptyStrings();
+
+    private final Dom dom;
+
+    SelectorMatcher(Dom dom) {
+        this.dom = dom;
+    }
+
+    /**
+     * Gets whether the given selector matches at least one element in the {@link Dom}. Unrefined selectors always match.
+     */
+    boolean matches(Selector selector) {
+        if (!selector.isRefined()) return true;
+
+        // split into compound selectors and the combinators between them
+        List<List<SelectorPart>> compounds = new ArrayList<>(4);
+        List<SelectorPartType> combinators = new ArrayList<>(3);
+
+        List<SelectorPart> current = new ArrayList<>(4);
+        for (SelectorPart part : selector.parts()) {
+            if (part.type().isCombinator()) {
+                compounds.add(current);
+                combinators.add(part.type());
+                current = new ArrayList<>(4);
+            } else {
+                current.add(part);
+            }
+        }
+        compounds.add(current);
+
+        int last = compounds.size() - 1;
+        for (DomElement candidate : candidates(compounds.get(last))) {
+            if (matches(candidate, last, compounds, combinators)) return true;
+        }
+        return false;
+    }
+
+    /** narrows the elements to check using the most selective part available */
+    private Iterable<DomElement> candidates(List<SelectorPart> compound) {
+        List<DomElement> byClass = null;
+        List<DomElement> byTag = null;
+
+        for (SelectorPart part : compound) {
+            switch (part.type()) {
+            case ID_SELECTOR:
+                return dom.withId(((IdSelector)part).name());
+            case CLASS_SELECTOR:
+                if (byClass == null) {
+                    byClass = dom.withClass(((ClassSelector)part).name());
+                }
+                break;
+            case TYPE_SELECTOR:
+                byTag = dom.withTag(((TypeSelector)part).name().toLowerCase());
+                break;
+            default:
+                break;
+            }
+        }
+
+        if (byClass != null) return byClass;
+        if (byTag != null) return byTag;
+        return dom.all();
+    }
+
+    private boolean matches(DomElement element, int index, List<List<SelectorPart>> compounds, List<SelectorPartType> combinators) {
+        if (!matchesCompound(element, compounds.get(index))) return false;
+        if (index == 0) return true;
+
+        switch (combinators.get(index - 1)) {
+        case DESCENDANT_COMBINATOR:
+            for (Optional<DomElement> a = element.parent(); a.isPresent(); a = a.get().parent()) {
+                if (matches(a.get(), index - 1, compounds, combinators)) return true;
+            }
+            return false;
+        case CHILD_COMBINATOR:
+            Optional<DomElement> parent = element.parent();
+            return parent.isPresent() && matches(parent.get(), index - 1, compounds, combinators);
+        case ADJACENT_SIBLING_COMBINATOR:
+            Optional<DomElement> previous = element.previousSibling();
+            return previous.isPresent() && matches(previous.get(), index - 1, compounds, combinators);
+        case GENERAL_SIBLING_COMBINATOR:
+            for (Optional<DomElement> s = element.previousSibling(); s.isPresent(); s = s.get().previousSibling()) {
+                if (matches(s.get(), index - 1, compounds, combinators)) return true;
+            }
+            return false;
+        default:
+            throw new AssertionError("unexpected combinator type");
+        }
+    }
+
+    private static boolean matchesCompound(DomElement element, List<SelectorPart> compound) {
+        for (SelectorPart part : compound) {
+            if (!matchesPart(element, part)) return false;
+        }
+        return true;
+    }
+
+    private static boolean matchesPart(DomElement element, SelectorPart part) {
+        switch (part.type()) {
+        case TYPE_SELECTOR:
+            String name = ((TypeSelector)part).name();
+            return name.equals("*") || name.equalsIgnoreCase(element.tag());
+        case ID_SELECTOR:
+            return element.id().filter(((IdSelector)part).name()::equals).isPresent();
+        case CLASS_SELECTOR:
+            return element.hasClass(((ClassSelector)part).name());
+        case ATTRIBUTE_SELECTOR:
+            return matchesAttribute(element, (AttributeSelector)part);
+        case PSEUDO_CLASS_SELECTOR:
+            return matchesPseudoClass(element, (PseudoClassSelector)part);
+        default:
+            // universal, pseudo elements and custom parts
+            return true;
+        }
+    }
+
+    private static boolean matchesAttribute(DomElement element, AttributeSelector selector) {
+        Optional<String> actual = element.attribute(selector.attribute().toLowerCase());
+        if (!actual.isPresent()) return false;
+
+        Optional<AttributeMatchType> matchType = selector.matchType();
+        if (!matchType.isPresent()) return true;
+
+        String value = actual.get();
+        String expected = selector.value().get();
+
+        switch (matchType.get()) {
+        case EQUALS:
+            return value.equals(expected);
+        case INCLUDES:
+            for (String s : WHITESPACE.split(value)) {
+                if (s.equals(expected)) return true;
+            }
+            return false;
+        case DASHMATCH:
+            return value.equals(expected) || value.startsWith(expected + "-");
+        case PREFIXMATCH:
+            return !expected.isEmpty() && value.startsWith(expected);
+        case SUFFIXMATCH:
+            return !expected.isEmpty() && value.endsWith(expected);
+        case SUBSTRINGMATCH:
+            return !expected.isEmpty() && value.contains(expected);
+        }
+        throw new AssertionError("unknown attribute match type");
+    }
+
+    private static boolean matchesPseudoClass(DomElement element, PseudoClassSelector selector) {
+        switch (selector.name().toLowerCase()) {
+        case "root":
+            return !element.parent().isPresent();
+        case "first-child":
+            return element.isFirstChild();
+        case "last-child":
+            return element.isLastChild();
+        case "only-child":
+            return element.isFirstChild() && element.isLastChild();
+        case "empty":
+            return element.children().isEmpty();
+        default:
+            // dynamic (:hover, :focus), functional (:not, :nth-child) or unknown. assume a match
+            return true;
+        }
+    }
+}
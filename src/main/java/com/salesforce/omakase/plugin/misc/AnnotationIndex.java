@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.ast.CssAnnotation;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.collection.Groupable;
+import com.salesforce.omakase.broadcast.annotation.Observe;
+import com.salesforce.omakase.plugin.PostProcessingPlugin;
+
+/**
+ * Indexes the syntax units in a stylesheet by the {@link CssAnnotation}s in their comments, so that all units with a particular
+ * annotation can be found without walking the whole tree.
+ * <p>
+ * Example:
+ * <pre><code>
+ * AnnotationIndex index = new AnnotationIndex();
+ * Omakase.source(input).use(index).process();
+ * for (Declaration declaration : index.annotated(CssAnnotations.NOFLIP, Declaration.class)) {...}
+ * </code></pre>
+ * The units are gathered as they are broadcast, and the index is built once processing is complete. Only units that have an
+ * annotation when they are broadcast are included, and units that were destroyed by then are excluded. Keep in mind that an
+ * annotation at the start of a rule is associated with the first {@link com.salesforce.omakase.ast.selector.Selector}, so that
+ * is the indexed unit instead of the rule. The same instance can be used for more than one stylesheet, e.g., in a {@link
+ * com.salesforce.omakase.Omakase.Session}, in which case the index is for the most recent one.
+ *
+ * @author nmcwilliams
+ */
+public final class AnnotationIndex implements PostProcessingPlugin {
+    private final List<Syntax> annotated = new ArrayList<>();
+    private ImmutableListMultimap<String, Syntax> index = ImmutableListMultimap.of();
+
+    /**
+     * Gathers units with annotations.
+     *
+     * @param unit
+     *     The unit.
+     */
+    @Observe
+    public void observe(Syntax unit) {
+        // checking the comments first avoids creating a list for the vast majority of units
+        if (!unit.comments().isEmpty() && !unit.annotations().isEmpty()) {
+            annotated.add(unit);
+        }
+    }
+
+    @Override
+    public void postProcess(PluginRegistry registry) {
+        ImmutableListMultimap.Builder<String, Syntax> builder = ImmutableListMultimap.builder();
+        for (Syntax unit : annotated) {
+            if (unit instanceof Groupable && ((Groupable<?, ?>)unit).isDestroyed()) continue;
+            for (CssAnnotation annotation : unit.annotations()) {
+                builder.put(annotation.name(), unit);
+            }
+        }
+        index = builder.build();
+
+        // ready for the next stylesheet (e.g., in a session)
+        annotated.clear();
+    }
+
+    /**
+     * Gets all units with an annotation of the given name, in the order they were broadcast.
+     *
+     * @param name
+     *     The annotation name.
+     *
+     * @return The annotated units, or an empty list if there are none.
+     */
+    public ImmutableList<Syntax> annotated(String name) {
+        return index.get(name);
+    }
+
+    /**
+     * Gets all units of the given type with an annotation of the given name, in the order they were broadcast.
+     *
+     * @param <T>
+     *     The type of the units.
+     * @param name
+     *     The annotation name.
+     * @param klass
+     *     Only include units of this type.
+     *
+     * @return The annotated units, or an empty list if there are none.
+     */
+    public <T extends Syntax> List<T> annotated(String name, Class<T> klass) {
+        List<T> found = new ArrayList<>();
+        for (Syntax unit : index.get(name)) {
+            if (klass.isInstance(unit)) {
+                found.add(klass.cast(unit));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets the names of all annotations found in the most recently processed stylesheet.
+     *
+     * @return The annotation names.
+     */
+    public List<String> names() {
+        return index.keySet().asList();
+    }
+}
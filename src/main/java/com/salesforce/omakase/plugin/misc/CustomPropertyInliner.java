@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.misc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Stylesheet;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.GenericFunctionValue;
+import com.salesforce.omakase.ast.declaration.LinearGradientFunctionValue;
+import com.salesforce.omakase.ast.declaration.PropertyValue;
+import com.salesforce.omakase.ast.declaration.PropertyValueMember;
+import com.salesforce.omakase.ast.selector.PseudoClassSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.ast.selector.SelectorPart;
+import com.salesforce.omakase.broadcast.SingleInterestBroadcaster;
+import com.salesforce.omakase.broadcast.annotation.Observe;
+import com.salesforce.omakase.broadcast.annotation.Rework;
+import com.salesforce.omakase.parser.Grammar;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.plugin.DependentPlugin;
+import com.salesforce.omakase.plugin.syntax.DeclarationPlugin;
+import com.salesforce.omakase.plugin.syntax.MediaPlugin;
+import com.salesforce.omakase.plugin.syntax.SelectorPlugin;
+import com.salesforce.omakase.plugin.syntax.SupportsPlugin;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Replaces {@code var()} references to custom properties with their values, when the values are known at compile time.
+ * <p>
+ * A custom property's value is known when it's only defined in top-level rules with the single selector {@code :root} (and not
+ * with {@code !important}). A property that is also defined anywhere else (e.g., in a {@code .panel} rule or inside of an
+ * {@code @media} block) has a value that depends on the element or the environment, so references to it are left alone, as are
+ * references to properties that aren't defined at all (they may be set by inline styles or scripts). References in the values of
+ * other custom properties are resolved too, so a chain of {@code var()}s is flattened to the final value.
+ * <p>
+ * For example:
+ * <pre><code>
+ * :root { --brand: #0070d2; --link: var(--brand); }
+ * a { color: var(--link, blue); }
+ * </code></pre>
+ * becomes:
+ * <pre><code>
+ * :root { --brand: #0070d2; --link: #0070d2; }
+ * a { color: #0070d2; }
+ * </code></pre>
+ * <p>
+ * With {@link #removeUnused(boolean)}, the {@code :root} definitions that are no longer referenced after inlining are removed
+ * as well (only do this if scripts don't read them).
+ * <p>
+ * The definitions and references are collected while parsing, and inlined once the whole stylesheet has been seen. Each
+ * definition is resolved at most once, so this is linear in the size of the stylesheet. Names are case-sensitive, as preserved
+ * by {@link com.salesforce.omakase.ast.declaration.PropertyName}. The same instance can be used for more than one stylesheet,
+ * e.g., in a {@link com.salesforce.omakase.Omakase.Session}, in which case {@link #inlined()} is for the most recent one.
+ *
+ * @author nmcwilliams
+ */
+public final class CustomPropertyInliner implements DependentPlugin {
+    private static final String VAR = "var(";
+    private static final String URL = "url(";
+    private static final String ROOT = "root";
+
+    private boolean removeUnused;
+
+    // collected while parsing
+    private final List<Declaration> customProperties = new ArrayList<>();
+    private final List<PropertyValueMember> references = new ArrayList<>();
+    private final List<AtRule> atRules = new ArrayList<>();
+
+    // symbol table of the definitions at :root, keyed by name
+    private final Map<String, Definition> definitions = new HashMap<>();
+    private final Set<String> dynamic = new HashSet<>();
+    private final Set<String> referenced = new HashSet<>();
+
+    private Grammar grammar;
+    private StyleWriter writer;
+    private int inlined;
+
+    /**
+     * Specifies whether {@code :root} definitions should be removed when nothing references them anymore (default false).
+     *
+     * @param removeUnused
+     *     Specify true to remove unused definitions.
+     *
+     * @return this, for chaining.
+     */
+    public CustomPropertyInliner removeUnused(boolean removeUnused) {
+        this.removeUnused = removeUnused;
+        return this;
+    }
+
+    /**
+     * Gets the number of {@code var()} references that were replaced.
+     *
+     * @return The number of inlined references.
+     */
+    public int inlined() {
+        return inlined;
+    }
+
+    @Override
+    public void dependencies(PluginRegistry registry) {
+        registry.require(SelectorPlugin.class);
+        registry.require(DeclarationPlugin.class);
+        registry.require(MediaPlugin.class);
+        registry.require(SupportsPlugin.class);
+    }
+
+    /**
+     * Collects custom property definitions.
+     *
+     * @param declaration
+     *     The declaration.
+     */
+    @Observe
+    public void declaration(Declaration declaration) {
+        if (isCustomProperty(declaration.propertyName().name())) {
+            customProperties.add(declaration);
+        }
+    }
+
+    /**
+     * Collects {@code var()} references, including those nested within the arguments of other functions (except for {@code
+     * url()}).
+     *
+     * @param function
+     *     The function.
+     */
+    @Observe
+    public void function(GenericFunctionValue function) {
+        if (function.name().equalsIgnoreCase("var")
+            || (!function.name().equalsIgnoreCase("url") && indexOfVar(function.args(), 0) != -1)) {
+            references.add(function);
+        }
+    }
+
+    /**
+     * Collects {@code var()} references within the arguments of linear gradients.
+     *
+     * @param function
+     *     The function.
+     */
+    @Observe
+    public void function(LinearGradientFunctionValue function) {
+        if (indexOfVar(function.args(), 0) != -1) {
+            references.add(function);
+        }
+    }
+
+    /**
+     * Collects at-rules, in case they have unrefined blocks.
+     *
+     * @param atRule
+     *     The at-rule.
+     */
+    @Observe
+    public void atRule(AtRule atRule) {
+        atRules.add(atRule);
+    }
+
+    /**
+     * Inlines the references, now that all definitions have been seen.
+     *
+     * @param stylesheet
+     *     The stylesheet.
+     */
+    @Rework
+    public void stylesheet(Stylesheet stylesheet) {
+        inlined = 0;
+        collectDefinitions();
+
+        for (PropertyValueMember reference : references) {
+            if (reference.isDestroyed()) continue;
+
+            if (reference instanceof GenericFunctionValue) {
+                GenericFunctionValue function = (GenericFunctionValue)reference;
+                if (function.name().equalsIgnoreCase("var")) {
+                    inline(function);
+                } else {
+                    String args = substitute(function.args(), false);
+                    if (!args.equals(function.args())) function.args(args);
+                }
+            } else {
+                LinearGradientFunctionValue function = (LinearGradientFunctionValue)reference;
+                String args = substitute(function.args(), false);
+                if (!args.equals(function.args())) function.args(args);
+            }
+        }
+
+        if (removeUnused) {
+            removeUnusedDefinitions();
+        }
+
+        // ready for the next stylesheet (e.g., in a session)
+        customProperties.clear();
+        references.clear();
+        atRules.clear();
+        definitions.clear();
+        dynamic.clear();
+        referenced.clear();
+    }
+
+    /** builds the symbol table from the collected custom properties */
+    private void collectDefinitions() {
+        for (Declaration declaration : customProperties) {
+            if (declaration.isDestroyed()) continue;
+
+            String name = declaration.propertyName().name();
+            if (isRootLevel(declaration) && !declaration.propertyValue().isImportant()) {
+                // the last definition wins
+                definitions.put(name, new Definition(declaration));
+            } else {
+                dynamic.add(name);
+            }
+        }
+
+        // anything that looks like a custom property inside of an unrefined block could be a definition or a reference
+        for (AtRule atRule : atRules) {
+            if (!atRule.isDestroyed() && !atRule.block().isPresent() && atRule.rawBlock().isPresent()) {
+                String raw = atRule.rawBlock().get().content();
+                for (int i = raw.indexOf("--"); i != -1; i = raw.indexOf("--", i + 2)) {
+                    String name = readName(raw, i);
+                    dynamic.add(name);
+                    referenced.add(name);
+                }
+            }
+        }
+
+        definitions.keySet().removeAll(dynamic);
+    }
+
+    /** replaces a var() function with the value of the custom property, if known */
+    private void inline(GenericFunctionValue function) {
+        String resolved = resolveReference(function.args());
+        if (resolved == null) {
+            markReferenced(function.args());
+            return;
+        }
+
+        PropertyValue value = parse(resolved);
+        if (value == null) {
+            markReferenced(function.args());
+            return;
+        }
+
+        for (PropertyValueMember member : ImmutableList.copyOf(value.members())) {
+            function.prepend(member);
+        }
+        function.destroy();
+        inlined++;
+    }
+
+    /**
+     * Replaces all var() functions in the given text with their values. If a value isn't known then the function is left as is,
+     * or if {@code strict} is true then null is returned instead.
+     */
+    private String substitute(String text, boolean strict) {
+        int start = indexOfVar(text, 0);
+        if (start == -1) return text;
+
+        StringBuilder builder = new StringBuilder(text.length());
+        int copied = 0;
+
+        while (start != -1) {
+            int end = closingParen(text, start + VAR.length());
+            if (end == -1) break; // unbalanced, leave the rest alone
+
+            String args = text.substring(start + VAR.length(), end);
+            String resolved = resolveReference(args);
+            if (resolved == null) {
+                if (strict) return null;
+                markReferenced(args);
+                resolved = text.substring(start, end + 1);
+            } else if (!strict) {
+                inlined++;
+            }
+
+            builder.append(text, copied, start).append(resolved);
+            copied = end + 1;
+            start = indexOfVar(text, copied);
+        }
+
+        return builder.append(text, copied, text.length()).toString();
+    }
+
+    /** resolves the arguments of a var() function, e.g., "--name, fallback", returning null if the value isn't known */
+    private String resolveReference(String args) {
+        int comma = args.indexOf(',');
+        String name = (comma == -1 ? args : args.substring(0, comma)).trim();
+
+        // the fallback is never used, as a known definition always has a value
+        Definition definition = definitions.get(name);
+        return definition == null ? null : definition.resolve();
+    }
+
+    /** records every custom property mentioned in a var() function that is left in the output */
+    private void markReferenced(String text) {
+        for (int i = text.indexOf("--"); i != -1; i = text.indexOf("--", i + 2)) {
+            referenced.add(readName(text, i));
+        }
+    }
+
+    /** parses the given text as a property value, or returns null if it's not a valid property value */
+    private PropertyValue parse(String text) {
+        if (grammar == null) grammar = new Grammar();
+        Source source = new Source(text);
+        SingleInterestBroadcaster<PropertyValue> broadcaster = SingleInterestBroadcaster.of(PropertyValue.class);
+
+        try {
+            grammar.parser().propertyValueParser().parse(source, grammar, broadcaster);
+        } catch (ParserException e) {
+            return null;
+        }
+
+        return source.skipWhitepace().eof() ? broadcaster.one().orElse(null) : null;
+    }
+
+    private void removeUnusedDefinitions() {
+        for (Definition definition : definitions.values()) {
+            String name = definition.declaration.propertyName().name();
+            if (definition.resolved != null && !referenced.contains(name)) {
+                Rule rule = definition.declaration.parent();
+                definition.declaration.destroy();
+                if (rule != null && rule.declarations().isEmpty()) rule.destroy();
+            }
+        }
+
+        // earlier definitions that were overridden by the last one
+        for (Declaration declaration : customProperties) {
+            if (declaration.isDestroyed()) continue;
+            Definition definition = definitions.get(declaration.propertyName().name());
+            if (definition != null && definition.declaration.isDestroyed()) {
+                Rule rule = declaration.parent();
+                declaration.destroy();
+                if (rule != null && rule.declarations().isEmpty()) rule.destroy();
+            }
+        }
+    }
+
+    /** whether the declaration is in a top-level rule with only the :root selector */
+    private static boolean isRootLevel(Declaration declaration) {
+        Rule rule = declaration.parent();
+        if (rule == null || !(rule.parent() instanceof Stylesheet) || rule.selectors().size() != 1) return false;
+
+        Selector selector = rule.selectors().first().get();
+        if (selector.parts().size() != 1) return false;
+
+        SelectorPart part = selector.parts().first().get();
+        return part instanceof PseudoClassSelector && ((PseudoClassSelector)part).name().equals(ROOT);
+    }
+
+    private static boolean isCustomProperty(String name) {
+        return name.length() > 2 && name.startsWith("--");
+    }
+
+    /**
+     * Finds the next "var(" that isn't part of a longer identifier, or -1. Strings and the contents of url() are skipped, as a
+     * var() there is literal text rather than a reference.
+     */
+    private static int indexOfVar(String text, int from) {
+        for (int i = from; i <= text.length() - VAR.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = closingQuote(text, i);
+                if (i == -1) return -1;
+            } else if (isFunction(text, i, URL)) {
+                i = closingParen(text, i + URL.length());
+                if (i == -1) return -1;
+            } else if (isFunction(text, i, VAR)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** whether the function name (including the opening parenthesis) is at the index, and not part of a longer identifier */
+    private static boolean isFunction(String text, int index, String function) {
+        if (!text.regionMatches(true, index, function, 0, function.length())) return false;
+        char previous = index == 0 ? ' ' : text.charAt(index - 1);
+        return !Character.isLetterOrDigit(previous) && previous != '-' && previous != '_';
+    }
+
+    /** finds the quote that closes the string starting at the given index, or -1 */
+    private static int closingQuote(String text, int start) {
+        char quote = text.charAt(start);
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** finds the parenthesis that closes the one just before the given index, or -1 */
+    private static int closingParen(String text, int from) {
+        int depth = 1;
+        char quote = 0;
+
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** reads the custom property name starting at the given index */
+    private static String readName(String text, int start) {
+        int end = start + 2;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c < 0x80) break;
+            end++;
+        }
+        return text.substring(start, end);
+    }
+
+    /** a custom property defined at :root */
+    private final class Definition {
+        private final Declaration declaration;
+        private String resolved;
+        private boolean resolving;
+        private boolean failed;
+
+        private Definition(Declaration declaration) {
+            this.declaration = declaration;
+        }
+
+        /** the value with all references inlined, or null if it depends on something that isn't known */
+        private String resolve() {
+            if (resolved != null || failed) return resolved;
+
+            if (resolving) {
+                // a cycle, which makes the value invalid at runtime
+                failed = true;
+                return null;
+            }
+
+            resolving = true;
+            if (writer == null) writer = StyleWriter.inline();
+            String value = writer.writeSingle(declaration.propertyValue()).trim();
+            String substituted = value.isEmpty() ? null : substitute(value, true);
+            resolving = false;
+
+            if (substituted == null || failed) {
+                failed = true;
+                return null;
+            }
+            resolved = substituted;
+            return resolved;
+        }
+    }
+}
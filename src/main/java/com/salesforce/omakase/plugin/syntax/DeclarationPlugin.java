@@ -71,7 +71,7 @@ public final class DeclarationPlugin implements Plugin {
         grammar.parser().propertyValueParser().parse(source, grammar, broadcaster);
 
         // grab orphaned comments
-        declaration.orphanedComments(source.collectComments().flushComments());
+        declaration.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
         // there should be nothing left
         if (!source.eof()) throw new ParserException(source, Message.UNPARSABLE_DECLARATION_VALUE, source.remaining());
@@ -33,8 +33,8 @@ import com.salesforce.omakase.ast.atrule.FontDescriptor;
 import com.salesforce.omakase.ast.atrule.FontFaceBlock;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.broadcast.ConsumingBroadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
 import com.salesforce.omakase.broadcast.annotation.Refine;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.ParserException;
@@ -63,6 +63,8 @@ import com.salesforce.omakase.plugin.Plugin;
  * @see FontFaceBlock
  */
 public final class FontFacePlugin implements Plugin {
+    private static final Class<?>[] COLLECTED = {Declaration.class};
+
     /**
      * Refines the font-face at-rule.
      * <p>
@@ -94,18 +96,20 @@ public final class FontFacePlugin implements Plugin {
 
         // however we don't want to broadcast declarations to subscription methods, so make a new broadcaster to go at the end
         // of the chain. we also need to refine the declarations because our FontDescriptors will need the property values.
-        QueryableBroadcaster queryable = broadcaster.chain(new QueryableBroadcaster());
-        queryable.chain(new ConsumingBroadcaster<>(Declaration.class, d -> refiner.refine(d, grammar, broadcaster)));
+        CollectingBroadcaster collector = broadcaster.chain(grammar.broadcasters().collecting(null, COLLECTED));
+        collector.chain(new ConsumingBroadcaster<>(Declaration.class, d -> refiner.refine(d, grammar, broadcaster)));
 
-        grammar.parser().rawDeclarationSequenceParser().parse(source, grammar, queryable); // parse using the queryable
+        grammar.parser().rawDeclarationSequenceParser().parse(source, grammar, collector); // parse using the collector
+        broadcaster.cut(collector);
 
         // pull the property name and property values into font descriptors and add them to the block
-        for (Declaration declaration : queryable.filter(Declaration.class)) {
+        for (Declaration declaration : collector.get(Declaration.class)) {
             block.fontDescriptors().append(new FontDescriptor(declaration));
         }
+        grammar.broadcasters().release(collector);
 
         // add orphaned comments
-        block.orphanedComments(source.collectComments().flushComments());
+        block.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
         // nothing should be left in the source
         if (!source.eof()) {
@@ -34,7 +34,7 @@ import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.atrule.GenericAtRuleBlock;
 import com.salesforce.omakase.ast.atrule.GenericAtRuleExpression;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.broadcast.annotation.Refine;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
@@ -52,6 +52,7 @@ import com.salesforce.omakase.util.Prefixes;
  * @see KeyframeSelectorSequenceParser
  */
 public final class KeyframesPlugin implements Plugin {
+    private static final Class<?>[] COLLECTED = {Statement.class};
 
     /**
      * Refines the keyframes at-rule.
@@ -103,12 +104,12 @@ public final class KeyframesPlugin implements Plugin {
         // parse the block
         source = new Source(atRule.rawBlock().get());
 
-        QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+        CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
         // parse the inner statements
         Parser keyframeRuleParser = grammar.parser().keyframeRuleParser();
         while (!source.eof()) {
-            boolean matched = keyframeRuleParser.parse(source, grammar, queryable);
+            boolean matched = keyframeRuleParser.parse(source, grammar, collector);
             source.skipWhitepace();
 
             // after parsing there should be nothing left in the source
@@ -116,7 +117,8 @@ public final class KeyframesPlugin implements Plugin {
         }
 
         // create and broadcast the block
-        GenericAtRuleBlock block = new GenericAtRuleBlock(queryable.filter(Statement.class));
+        GenericAtRuleBlock block = new GenericAtRuleBlock(collector.get(Statement.class));
+        grammar.broadcasters().release(collector);
         broadcaster.broadcast(block);
     }
 }
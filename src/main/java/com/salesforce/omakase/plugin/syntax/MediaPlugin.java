@@ -34,8 +34,8 @@ import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.atrule.GenericAtRuleBlock;
 import com.salesforce.omakase.ast.atrule.MediaQueryList;
 import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.broadcast.InterestBroadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
 import com.salesforce.omakase.broadcast.SingleInterestBroadcaster;
 import com.salesforce.omakase.broadcast.annotation.Refine;
 import com.salesforce.omakase.parser.Grammar;
@@ -56,6 +56,7 @@ import com.salesforce.omakase.plugin.Plugin;
  */
 public final class MediaPlugin implements Plugin {
     private static final MediaPlugin DELEGATE = new MediaPlugin();
+    private static final Class<?>[] COLLECTED = {Statement.class};
 
     /**
      * Refines {@link MediaQuery}s.
@@ -111,12 +112,12 @@ public final class MediaPlugin implements Plugin {
 
             Source source = new Source(rule.rawBlock().get());
 
-            QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+            CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
             // parse the inner statements
             Parser ruleParser = grammar.parser().ruleParser();
             while (!source.eof()) {
-                boolean matched = ruleParser.parse(source, grammar, queryable);
+                boolean matched = ruleParser.parse(source, grammar, collector);
                 source.skipWhitepace();
 
                 // after parsing there should be nothing left in the source
@@ -126,10 +127,11 @@ public final class MediaPlugin implements Plugin {
             }
 
             // create and add the block
-            GenericAtRuleBlock genericBlock = new GenericAtRuleBlock(queryable.filter(Statement.class));
+            GenericAtRuleBlock genericBlock = new GenericAtRuleBlock(collector.get(Statement.class));
+            grammar.broadcasters().release(collector);
 
             // add orphaned comments
-            genericBlock.orphanedComments(source.collectComments().flushComments());
+            genericBlock.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
             // broadcast the block
             broadcaster.broadcast(genericBlock);
@@ -71,7 +71,7 @@ public final class SelectorPlugin implements Plugin {
         grammar.parser().complexSelectorParser().parse(source, grammar, broadcaster);
 
         // grab orphaned comments
-        selector.orphanedComments(source.collectComments().flushComments());
+        selector.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
         // there should be nothing left
         if (!source.eof()) throw new ParserException(source, Message.UNPARSABLE_SELECTOR);
@@ -32,7 +32,7 @@ import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.atrule.GenericAtRuleBlock;
 import com.salesforce.omakase.ast.atrule.GenericAtRuleExpression;
 import com.salesforce.omakase.broadcast.Broadcaster;
-import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.broadcast.CollectingBroadcaster;
 import com.salesforce.omakase.broadcast.annotation.Refine;
 import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.Parser;
@@ -46,6 +46,8 @@ import com.salesforce.omakase.plugin.Plugin;
  * @author nmcwilliams
  */
 public final class SupportsPlugin implements Plugin {
+    private static final Class<?>[] COLLECTED = {Statement.class};
+
     /**
      * Refines the supports at-rule.
      * <p>
@@ -79,12 +81,12 @@ public final class SupportsPlugin implements Plugin {
             }
 
             Source source = new Source(atRule.rawBlock().get());
-            QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
+            CollectingBroadcaster collector = grammar.broadcasters().collecting(broadcaster, COLLECTED);
 
             // parse the inner statements
             Parser rule = grammar.parser().ruleParser();
             while (!source.eof()) {
-                boolean matched = rule.parse(source, grammar, queryable);
+                boolean matched = rule.parse(source, grammar, collector);
                 source.skipWhitepace();
 
                 // after parsing there should be nothing left in the source
@@ -94,10 +96,11 @@ public final class SupportsPlugin implements Plugin {
             }
 
             // create and add the block
-            GenericAtRuleBlock block = new GenericAtRuleBlock(queryable.filter(Statement.class));
+            GenericAtRuleBlock block = new GenericAtRuleBlock(collector.get(Statement.class));
+            grammar.broadcasters().release(collector);
 
             // add orphaned comments
-            block.orphanedComments(source.collectComments().flushComments());
+            block.orphanedCommentUnits(source.collectComments().flushCommentUnits());
 
             // broadcast it
             broadcaster.broadcast(block);
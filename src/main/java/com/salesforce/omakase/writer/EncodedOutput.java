@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import java.io.OutputStream;
+
+import com.salesforce.omakase.util.As;
+
+/**
+ * The sizes of the output written by {@link StyleWriter#writeTo(OutputStream, OutputCodec)}, before and after encoding.
+ *
+ * @author nmcwilliams
+ */
+public final class EncodedOutput {
+    private final long rawBytes;
+    private final long encodedBytes;
+
+    EncodedOutput(long rawBytes, long encodedBytes) {
+        this.rawBytes = rawBytes;
+        this.encodedBytes = encodedBytes;
+    }
+
+    /**
+     * Gets the number of bytes of CSS written, in UTF-8, before encoding.
+     *
+     * @return The raw size.
+     */
+    public long rawBytes() {
+        return rawBytes;
+    }
+
+    /**
+     * Gets the number of bytes written to the stream, after encoding.
+     *
+     * @return The encoded size.
+     */
+    public long encodedBytes() {
+        return encodedBytes;
+    }
+
+    /**
+     * Gets the encoded size as a fraction of the raw size, e.g., 0.2 if the encoding reduced the size by 80%.
+     *
+     * @return The encoded size divided by the raw size, or 1 if nothing was written.
+     */
+    public double ratio() {
+        return rawBytes == 0 ? 1 : (double)encodedBytes / rawBytes;
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("rawBytes", rawBytes).add("encodedBytes", encodedBytes).toString();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the output of a {@link StyleWriter} as it is written, e.g., to compress it with gzip. See {@link
+ * StyleWriter#writeTo(OutputStream, OutputCodec)}.
+ * <p>
+ * Other encodings (e.g., brotli) can be plugged in by wrapping the stream from the corresponding library:
+ * <pre><code>
+ * EncodedOutput output = writer.writeTo(stream, BrotliOutputStream::new);
+ * </code></pre>
+ *
+ * @author nmcwilliams
+ */
+@FunctionalInterface
+public interface OutputCodec {
+    /** The bytes are written unchanged. */
+    OutputCodec IDENTITY = stream -> stream;
+
+    /** gzip, as used for Content-Encoding: gzip. */
+    OutputCodec GZIP = stream -> new GZIPOutputStream(stream, 8192);
+
+    /** zlib wrapped deflate with the best compression, as used for Content-Encoding: deflate. */
+    OutputCodec DEFLATE = deflate(Deflater.BEST_COMPRESSION);
+
+    /**
+     * Wraps the given stream in an encoding stream. Closing the returned stream must finish the encoding and then close the
+     * given stream.
+     *
+     * @param stream
+     *     The stream to write the encoded bytes to.
+     *
+     * @return The stream to write the unencoded bytes to.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    OutputStream encode(OutputStream stream) throws IOException;
+
+    /**
+     * Gets an {@link OutputCodec} for zlib wrapped deflate with the given compression level.
+     *
+     * @param level
+     *     The compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     *
+     * @return The codec.
+     */
+    static OutputCodec deflate(int level) {
+        return stream -> new DeflaterOutputStream(stream, new Deflater(level), 8192) {
+            @Override
+            public void close() throws IOException {
+                // the deflater given to the constructor isn't released by the stream
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+    }
+}
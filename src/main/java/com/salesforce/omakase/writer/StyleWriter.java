@@ -29,16 +29,34 @@ package com.salesforce.omakase.writer;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.io.CountingOutputStream;
 import com.salesforce.omakase.PluginRegistry;
 import com.salesforce.omakase.ast.Comment;
+import com.salesforce.omakase.ast.FrozenStylesheet;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.Stylesheet;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.plugin.DependentPlugin;
 import com.salesforce.omakase.plugin.core.SyntaxTree;
@@ -72,10 +90,20 @@ import com.salesforce.omakase.util.As;
  * Unless otherwise specified, {@link WriterMode#INLINE} will be used.
  * <p>
  * By default this will not write out CSS comments, however you can change that behavior with {@link #writeAllComments(boolean)}.
+ * <p>
+ * Each call to {@link #write()}, {@link #writeTo(Appendable)}, {@link #writeTo(Writable, Appendable)} or {@link
+ * #writeSingle(Writable)} keeps track of its progress separately, so as long as it isn't being reconfigured the same instance
+ * can be used to write from multiple threads at once, e.g., to write a {@link FrozenStylesheet}.
  *
  * @author nmcwilliams
  */
 public final class StyleWriter implements DependentPlugin {
+    /** the fewest statements in a chunk when writing in parallel, smaller stylesheets are written on the calling thread */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    /** the number of chunks per thread in the pool, so that threads given faster chunks can take on more */
+    private static final int CHUNKS_PER_THREAD = 4;
+
     private WriterMode mode;
     private SyntaxTree tree;
     private Multimap<Class<? extends Writable>, CustomWriter<?>> overrides;
@@ -83,6 +111,7 @@ public final class StyleWriter implements DependentPlugin {
     private boolean writeAllComments;
     private boolean writeAnnotatedComments;
     private boolean writeBangComments;
+    private ForkJoinPool pool;
 
     private final Deque<StackEntry> stack = new ArrayDeque<>();
 
@@ -101,6 +130,17 @@ public final class StyleWriter implements DependentPlugin {
         this.mode = mode;
     }
 
+    /** used for each call to write, with the same configuration as the given writer but its own stack */
+    private StyleWriter(StyleWriter config) {
+        this.mode = config.mode;
+        this.tree = config.tree;
+        this.overrides = config.overrides;
+        this.writeAllComments = config.writeAllComments;
+        this.writeAnnotatedComments = config.writeAnnotatedComments;
+        this.writeBangComments = config.writeBangComments;
+        this.pool = config.pool;
+    }
+
     @Override
     public void dependencies(PluginRegistry registry) {
         tree = registry.require(SyntaxTree.class);
@@ -225,6 +265,51 @@ public final class StyleWriter implements DependentPlugin {
         return writeAllComments || writeBangComments;
     }
 
+    /**
+     * Sets whether large stylesheets should be written in parallel, using the common {@link ForkJoinPool} (default false).
+     * <p>
+     * See {@link #parallel(ForkJoinPool)} for more details.
+     *
+     * @param parallel
+     *     Whether to write large stylesheets in parallel.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter parallel(boolean parallel) {
+        return parallel(parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Sets the {@link ForkJoinPool} to use for writing large stylesheets in parallel, or null to always write on the calling
+     * thread (the default).
+     * <p>
+     * When writing a whole {@link Stylesheet}, its top-level statements are split into chunks, each chunk is written into its own
+     * buffer on the pool, and the buffers are then written out in order. The output is exactly the same as when writing
+     * sequentially. Stylesheets are still written on the calling thread when the pool only has one thread, when there are fewer
+     * than a few hundred statements, or when there is a {@link CustomWriter} for the stylesheet or any of its top-level statement
+     * types (as whether the custom writer handles a unit affects {@link #countAtCurrentDepth()} for the units after it).
+     * <p>
+     * Any other {@link CustomWriter}s will be called from multiple threads at once, so they must be thread-safe.
+     *
+     * @param pool
+     *     The pool to write on, or null to disable parallel writing.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Gets whether large stylesheets are written in parallel. See {@link #parallel(ForkJoinPool)}.
+     *
+     * @return True if large stylesheets are written in parallel.
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
     /**
      * Overrides the writing of a unit with the given {@link CustomWriter} instance. See {@link CustomWriter} for more details on
      * overriding.
@@ -256,7 +341,7 @@ public final class StyleWriter implements DependentPlugin {
 
         StyleAppendable appendable = new StyleAppendable();
         try {
-            writeInner(tree.stylesheet(), appendable);
+            new StyleWriter(this).writeRoot(tree.stylesheet(), appendable);
         } catch (IOException e) {
             throw new AssertionError("Using a StringBuilder shouldn't cause an IOException.", e);
         }
@@ -275,7 +360,170 @@ public final class StyleWriter implements DependentPlugin {
     public void writeTo(Appendable appendable) throws IOException {
         checkNotNull(appendable, "appendable cannot be null");
         checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
-        writeInner(tree.stylesheet(), new StyleAppendable(appendable));
+        new StyleWriter(this).writeRoot(tree.stylesheet(), new StyleAppendable(appendable));
+    }
+
+    /**
+     * Writes the entire processed stylesheet to the given {@link OutputStream} in UTF-8, encoding it with the given {@link
+     * OutputCodec} along the way.
+     * <p>
+     * This avoids holding the whole output in memory, e.g., to compress a large stylesheet before uploading it:
+     * <pre><code>
+     * EncodedOutput output = writer.writeTo(stream, OutputCodec.GZIP);
+     * </code></pre>
+     * The encoding is finished before returning, but the stream is not closed.
+     *
+     * @param stream
+     *     Write the encoded CSS to this stream.
+     * @param codec
+     *     The encoding, e.g., {@link OutputCodec#GZIP}.
+     *
+     * @return The sizes of the output before and after encoding.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public EncodedOutput writeTo(OutputStream stream, OutputCodec codec) throws IOException {
+        checkNotNull(stream, "stream cannot be null");
+        checkNotNull(codec, "codec cannot be null");
+        checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
+
+        // the codec closes the stream it was given when finishing, so don't let that close the one given to us
+        CountingOutputStream encoded = new CountingOutputStream(new FilterOutputStream(stream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+
+        CountingOutputStream raw = new CountingOutputStream(checkNotNull(codec.encode(encoded), "codec returned null"));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(raw, StandardCharsets.UTF_8), 8192)) {
+            new StyleWriter(this).writeRoot(tree.stylesheet(), new StyleAppendable(writer));
+        }
+
+        return new EncodedOutput(raw.getCount(), encoded.getCount());
+    }
+
+    /**
+     * Writes the given {@link Writable} instance to the given {@link Appendable}.
+     * <p>
+     * Like {@link #writeSingle(Writable)}, this is for writing disjoint units, such as a {@link FrozenStylesheet}, or a {@link
+     * Stylesheet} that wasn't processed with this writer.
+     *
+     * @param writable
+     *     The {@link Writable} instance, e.g., a {@link Syntax} unit.
+     * @param appendable
+     *     Write the CSS code for the unit to this appendable.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(Writable writable, Appendable appendable) throws IOException {
+        checkNotNull(writable, "writable cannot be null");
+        checkNotNull(appendable, "appendable cannot be null");
+        new StyleWriter(this).writeRoot(writable, new StyleAppendable(appendable));
+    }
+
+    /** writes the unit given to one of the public write methods, in parallel if applicable */
+    private void writeRoot(Writable writable, StyleAppendable appendable) throws IOException {
+        if (pool != null && writable instanceof Stylesheet) {
+            writeParallel((Stylesheet)writable, appendable);
+        } else {
+            writeInner(writable, appendable, true);
+        }
+    }
+
+    /**
+     * Same as {@link #writeInner(Writable, StyleAppendable)} for the stylesheet, except that the statements are written in chunks
+     * on the pool. Each chunk is written by its own writer, starting with the number of statements that will be written before
+     * it as the count of peers at the statement depth. That number is known upfront because without a custom writer each
+     * statement is counted exactly when it is writable.
+     */
+    private void writeParallel(Stylesheet stylesheet, StyleAppendable appendable) throws IOException {
+        List<Statement> statements = Lists.newArrayList(stylesheet.statements());
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, statements.size() / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+
+        if (pool.getParallelism() < 2 || statements.size() < chunkSize * 2 || !stylesheet.isWritable()
+            || hasStatementOverrides(statements)) {
+            writeInner(stylesheet, appendable, true);
+            return;
+        }
+
+        incrementDepth();
+        StackEntry entry = stack.peek();
+
+        if (!stylesheet.writesOwnComments()) {
+            appendComments(stylesheet.comments(), appendable);
+        }
+
+        // count the peers before each chunk first, so that nothing is read while the chunks are being written
+        int[] previousPeers = new int[(statements.size() + chunkSize - 1) / chunkSize];
+        int peers = entry.totalChildren();
+        for (int i = 0; i < statements.size(); i++) {
+            if (i % chunkSize == 0) previousPeers[i / chunkSize] = peers;
+            if (statements.get(i).isWritable()) peers++;
+        }
+
+        List<ForkJoinTask<String>> chunks = new ArrayList<>(previousPeers.length);
+        for (int i = 0; i < previousPeers.length; i++) {
+            List<Statement> chunk = statements.subList(i * chunkSize, Math.min((i + 1) * chunkSize, statements.size()));
+            int chunkPeers = previousPeers[i];
+            chunks.add(pool.submit(() -> writeChunk(chunk, chunkPeers)));
+        }
+
+        try {
+            for (ForkJoinTask<String> chunk : chunks) {
+                appendable.append(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while writing in parallel");
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (ForkJoinTask<String> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+        entry.addChildren(peers - entry.totalChildren());
+
+        if (!stylesheet.writesOwnOrphanedComments()) {
+            appendComments(stylesheet.orphanedComments(), appendable);
+        }
+
+        entry.incrementPeerCountAtDepth();
+        decrementDepth();
+    }
+
+    /** whether a custom writer might handle the stylesheet or any of the statements, making the count of peers unpredictable */
+    private boolean hasStatementOverrides(List<Statement> statements) {
+        if (overrides == null) return false;
+        if (overrides.containsKey(Stylesheet.class)) return true;
+        for (Statement statement : statements) {
+            if (overrides.containsKey(statement.getClass())) return true;
+        }
+        return false;
+    }
+
+    /** writes the statements with a new writer, after the given number of peers have been written */
+    private String writeChunk(List<Statement> chunk, int previousPeers) throws IOException {
+        StyleWriter writer = new StyleWriter(this);
+        StackEntry entry = new StackEntry(null);
+        entry.addChildren(previousPeers);
+        writer.stack.push(entry);
+
+        StyleAppendable appendable = new StyleAppendable();
+        for (Statement statement : chunk) {
+            writer.writeInner(statement, appendable, true);
+        }
+        return appendable.toString();
     }
 
     /**
@@ -391,7 +639,7 @@ public final class StyleWriter implements DependentPlugin {
         StyleAppendable appendable = new StyleAppendable();
 
         try {
-            writeInner(writable, appendable, true);
+            new StyleWriter(this).writeRoot(writable, appendable);
         } catch (IOException e) {
             // we don't expect an IO error because we know our appendable is using a string builder.
             throw new AssertionError("Using a StringBuilder shouldn't cause an IOException.", e);
@@ -523,6 +771,11 @@ public final class StyleWriter implements DependentPlugin {
             numChildren++;
         }
 
+        /** add to the count of children directly below this depth */
+        public void addChildren(int count) {
+            numChildren += count;
+        }
+
         /** gets the number of children directly below this depth */
         public int totalChildren() {
             return numChildren;
@@ -34,6 +34,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import com.google.common.collect.Lists;
+import com.salesforce.omakase.ast.Stylesheet;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.ast.selector.ClassSelector;
 import com.salesforce.omakase.broadcast.annotation.Observe;
@@ -42,6 +43,7 @@ import com.salesforce.omakase.broadcast.annotation.Validate;
 import com.salesforce.omakase.broadcast.emitter.SubscriptionException;
 import com.salesforce.omakase.error.ErrorLevel;
 import com.salesforce.omakase.error.ErrorManager;
+import com.salesforce.omakase.parser.Grammar;
 import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.factory.StandardParserFactory;
 import com.salesforce.omakase.parser.factory.StandardTokenFactory;
@@ -161,6 +163,37 @@ public class ContextTest {
         assertThat(rework.order < validate.order).isTrue();
     }
 
+    @Test
+    public void reusesGrammar() {
+        Grammar grammar = c.beforeParsing(new TestErrorManager());
+        c.afterParsing();
+        assertThat(c.beforeParsing(new TestErrorManager())).isSameAs(grammar);
+    }
+
+    @Test
+    public void newGrammarAfterGrammarPlugin() {
+        Grammar grammar = c.beforeParsing(new TestErrorManager());
+        c.afterParsing();
+        c.register((ParserPlugin)StandardParserFactory::instance);
+        assertThat(c.beforeParsing(new TestErrorManager())).isNotSameAs(grammar);
+    }
+
+    @Test
+    public void forgetsPreviousStylesheet() {
+        SyntaxTree tree = new SyntaxTree();
+        c.register(tree);
+
+        c.beforeParsing(new TestErrorManager());
+        c.broadcaster().broadcast(new Stylesheet());
+        c.afterParsing();
+        Stylesheet first = tree.stylesheet();
+
+        c.beforeParsing(new TestErrorManager());
+        c.broadcaster().broadcast(new Stylesheet());
+        c.afterParsing();
+        assertThat(tree.stylesheet()).isNotSameAs(first);
+    }
+
     @Test
     public void afterMethodNotifyPostProcessor() {
         TestPostProcessingPlugin tpp = new TestPostProcessingPlugin();
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.salesforce.omakase.ast.collection.ArraySyntaxCollection;
+import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
+import com.salesforce.omakase.ast.collection.SyntaxCollections;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.StandardValidation;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Unit tests for {@link Omakase}.
+ *
+ * @author nmcwilliams
+ */
+public class OmakaseTest {
+    @SuppressWarnings("deprecation")
+    @Rule public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void request() {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".a { color: red }").use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a{color:red}");
+    }
+
+    @Test
+    public void compactAstOnlyForRequest() {
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a > .b { color: red }").use(AutoRefine.everything()).use(tree).compactAst(true).process();
+
+        com.salesforce.omakase.ast.Rule rule = tree.stylesheet().rules().iterator().next();
+        assertThat(rule.selectors().first().get().parts()).isInstanceOf(ArraySyntaxCollection.class);
+        assertThat(rule.declarations().first().get().propertyValue().members()).isInstanceOf(ArraySyntaxCollection.class);
+        assertThat(rule.declarations()).isInstanceOf(LinkedSyntaxCollection.class);
+        assertThat(tree.stylesheet().statements()).isInstanceOf(LinkedSyntaxCollection.class);
+
+        // not enabled outside of the request
+        assertThat(SyntaxCollections.isCompactAst()).isFalse();
+        Omakase.source(".a > .b { color: red }").use(AutoRefine.everything()).use(tree).process();
+        rule = tree.stylesheet().rules().iterator().next();
+        assertThat(rule.selectors().first().get().parts()).isInstanceOf(LinkedSyntaxCollection.class);
+    }
+
+    @Test
+    public void sessionProcessesEachSource() {
+        StyleWriter writer = StyleWriter.compressed();
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.Session session = Omakase.session().use(AutoRefine.everything()).use(tree).use(writer);
+
+        session.process(".a > .b { color: red }");
+        assertThat(writer.write()).isEqualTo(".a>.b{color:red}");
+        assertThat(tree.stylesheet().rules().size()).isEqualTo(1);
+
+        session.process(".c .d { margin: 1px 2px } .e { color: red }");
+        assertThat(writer.write()).isEqualTo(".c .d{margin:1px 2px}.e{color:red}");
+        assertThat(tree.stylesheet().rules().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void sessionMatchesRequest() {
+        String[] sources = {
+            "@media (min-width: 800px) { .a, .b:hover { color: red; border: 1px solid rgba(0, 0, 0, 0.5) } }",
+            ".x .y > .z ~ .w + p::before { content: 'x'; margin: 0 auto }",
+            "/* comment */ .a { background: url(a.png) no-repeat } @font-face { font-family: x; src: url(x.woff) }",
+        };
+
+        StyleWriter sessionWriter = StyleWriter.compressed();
+        Omakase.Session session = Omakase.session().use(AutoRefine.everything()).use(sessionWriter);
+
+        for (String source : sources) {
+            StyleWriter writer = StyleWriter.compressed();
+            Omakase.source(source).use(AutoRefine.everything()).use(writer).process();
+            session.process(source);
+            assertThat(sessionWriter.write()).isEqualTo(writer.write());
+        }
+    }
+
+    @Test
+    public void sessionErrorsArePerSource() {
+        Omakase.Session session = Omakase.session().use(new StandardValidation());
+
+        ContextTest.TestErrorManager em = new ContextTest.TestErrorManager();
+        session.process(".a{color:red", em);
+        assertThat(em.reported).isTrue();
+
+        em = new ContextTest.TestErrorManager();
+        session.process(".a{color:red}", em);
+        assertThat(em.reported).isFalse();
+    }
+
+    @Test
+    public void sessionUsesDefaultErrorManager() {
+        Omakase.Session session = Omakase.session().use(new StandardValidation());
+        session.process(".a{color:red}");
+        exception.expect(ParserException.class);
+        session.process(".a{color:red");
+    }
+}
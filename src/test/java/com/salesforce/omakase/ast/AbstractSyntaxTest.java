@@ -32,6 +32,7 @@ import java.io.IOException;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.salesforce.omakase.broadcast.QueryableBroadcaster;
@@ -92,6 +93,22 @@ public class AbstractSyntaxTest {
         assertThat(copy.orphanedComments().get(0).content()).isEqualTo("orphaned comment");
     }
 
+    @Test
+    public void testCopySharesComments() {
+        TestSyntax t = new TestSyntax("name");
+        t.comments(Lists.newArrayList("comment"));
+        TestSyntax copy = t.copy();
+        assertThat(copy.comments()).isSameAs(t.comments());
+
+        copy.comment("another");
+        assertThat(copy.comments()).hasSize(2);
+        assertThat(t.comments()).hasSize(1);
+
+        t.annotate(new CssAnnotation("test"));
+        assertThat(t.comments()).hasSize(2);
+        assertThat(copy.comments().get(1).content()).isEqualTo("another");
+    }
+
     @Test
     public void testAddCommentString() {
         TestSyntax t = new TestSyntax(10, 15);
@@ -226,6 +243,43 @@ public class AbstractSyntaxTest {
         assertThat(t.hasAnnotation("test")).isFalse();
     }
 
+    @Test
+    public void hasAnnotationFalseSameBit() {
+        // "Aa" and "BB" have the same hash code
+        TestSyntax t = new TestSyntax(1, 1);
+        t.comments(Lists.newArrayList("@Aa"));
+        assertThat(t.hasAnnotation("BB")).isFalse();
+        assertThat(t.annotation("BB").isPresent()).isFalse();
+        assertThat(t.hasAnnotation("Aa")).isTrue();
+    }
+
+    @Test
+    public void hasAnnotationFromCommentUnits() {
+        TestSyntax t = new TestSyntax(1, 1);
+        t.commentUnits(ImmutableList.of(new Comment("/*@test 1*/".toCharArray(), 2, 7), new Comment("other")));
+        assertThat(t.hasAnnotation("test")).isTrue();
+        assertThat(t.annotation("test").get().rawArgs().get()).isEqualTo("1");
+    }
+
+    @Test
+    public void hasAnnotationAddedAfterQuery() {
+        TestSyntax t = new TestSyntax(1, 1);
+        t.comments(Lists.newArrayList("other"));
+        assertThat(t.hasAnnotation("test")).isFalse();
+
+        t.comment("@test");
+        assertThat(t.hasAnnotation("test")).isTrue();
+    }
+
+    @Test
+    public void hasAnnotationFromCopiedComments() {
+        TestSyntax t = new TestSyntax(1, 1);
+        t.comments(Lists.newArrayList("@test"));
+        TestSyntax copy = new TestSyntax(1, 1);
+        copy.comments(t);
+        assertThat(copy.hasAnnotation("test")).isTrue();
+    }
+
     @Test
     public void hasAnnotationObjectTrueFromNormal() {
         TestSyntax t = new TestSyntax(1, 1);
@@ -46,6 +46,40 @@ public class CommentTest {
         assertThat(c.content()).isEqualTo("test");
     }
 
+    @Test
+    public void contentFromRange() {
+        Comment c = new Comment("a{}/*test*/".toCharArray(), 5, 4);
+        assertThat(c.content()).isEqualTo("test");
+        assertThat(c.content()).isSameAs(c.content());
+    }
+
+    @Test
+    public void invalidRange() {
+        exception.expect(IndexOutOfBoundsException.class);
+        new Comment("test".toCharArray(), 2, 4);
+    }
+
+    @Test
+    public void writeFromRange() throws IOException {
+        Comment c = new Comment("/* test\n */".toCharArray(), 2, 7);
+        assertThat(StyleWriter.inline().writeSingle(c)).isEqualTo("/* test\n */");
+        assertThat(StyleWriter.verbose().writeSingle(c)).isEqualTo(StyleWriter.verbose().writeSingle(new Comment(" test\n ")));
+    }
+
+    @Test
+    public void annotationFromRange() {
+        Comment c = new Comment("/*! @browser ie7*/".toCharArray(), 2, 14);
+        assertThat(c.startsWithBang()).isTrue();
+        assertThat(c.annotation().get()).isEqualTo(new CssAnnotation("browser", "ie7"));
+    }
+
+    @Test
+    public void noAnnotationFromRange() {
+        Comment c = new Comment("/* browser */".toCharArray(), 2, 9);
+        assertThat(c.startsWithBang()).isFalse();
+        assertThat(c.annotation().isPresent()).isFalse();
+    }
+
     @Test
     public void isWritable() {
         assertThat(new Comment("test").isWritable()).isTrue();
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Unit tests for {@link FrozenStylesheet}.
+ *
+ * @author nmcwilliams
+ */
+public class FrozenStylesheetTest {
+    private static final String SOURCE = "/*@test*/.a{user-select:none;color:red}\n@media print{.b{margin:0 1px}}\n.c{width:1px}";
+
+    private static Stylesheet parse(String source) {
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(source).use(tree).use(AutoRefine.everything()).use(Prefixer.defaultBrowserSupport()).process();
+        return tree.stylesheet();
+    }
+
+    @Test
+    public void writesSameAsOriginal() {
+        Stylesheet stylesheet = parse(SOURCE);
+        FrozenStylesheet frozen = stylesheet.freeze();
+
+        for (StyleWriter writer : new StyleWriter[]{StyleWriter.verbose(), StyleWriter.inline(), StyleWriter.compressed()}) {
+            assertThat(frozen.write(writer)).isEqualTo(writer.writeSingle(stylesheet));
+        }
+    }
+
+    @Test
+    public void writeTo() throws Exception {
+        FrozenStylesheet frozen = parse(".a{color:red}").freeze();
+        StringBuilder builder = new StringBuilder();
+        frozen.writeTo(StyleWriter.compressed(), builder);
+        assertThat(builder.toString()).isEqualTo(".a{color:red}");
+    }
+
+    @Test
+    public void notAffectedByChangesToOriginal() {
+        Stylesheet stylesheet = parse(".a{margin:0}.b{color:red}");
+        FrozenStylesheet frozen = stylesheet.freeze();
+
+        Rule rule = stylesheet.rules().get(0);
+        Declaration declaration = rule.declarations().first().get();
+        declaration.propertyName().prefix(Prefix.WEBKIT);
+        declaration.comment("/*@changed*/");
+        rule.selectors().first().get().destroy();
+        stylesheet.rules().get(1).destroy();
+
+        assertThat(frozen.write(StyleWriter.compressed().writeAllComments(true))).isEqualTo(".a{margin:0}.b{color:red}");
+    }
+
+    @Test
+    public void annotationsFromMultipleThreads() throws Exception {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            source.append(i % 2 == 0 ? "/*@test*/" : "/*@other*/").append(".a").append(i).append("{margin:0}\n");
+        }
+
+        Stylesheet stylesheet = parse(source.toString());
+        FrozenStylesheet frozen = stylesheet.freeze();
+
+        // the mask of the copied rules is computed during the writes
+        StyleWriter writer = StyleWriter.compressed().addCustomWriter(Rule.class, (rule, w, appendable) -> {
+            appendable.append(rule.hasAnnotation("test") ? 't' : '-');
+            appendable.append(rule.hasAnnotation("other") ? 'o' : '-');
+            appendable.append(rule.annotation("missing").isPresent() ? 'm' : '-');
+            return true;
+        });
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            expected.append(i % 2 == 0 ? "t--" : "-o-");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> frozen.write(writer)));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo(expected.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void copiedRuleHasAnnotation() {
+        Stylesheet stylesheet = parse("/*@test*/.a{color:red}");
+        Rule rule = stylesheet.rules().get(0);
+        assertThat(rule.hasAnnotation("test")).isTrue();
+
+        Rule copy = rule.copy();
+        assertThat(copy.hasAnnotation("test")).isTrue();
+        assertThat(copy.hasAnnotation("other")).isFalse();
+
+        copy.comment("@other");
+        assertThat(copy.hasAnnotation("other")).isTrue();
+        assertThat(rule.hasAnnotation("other")).isFalse();
+    }
+
+    @Test
+    public void writeFromMultipleThreads() throws Exception {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            source.append("/*@test*/.a").append(i).append(" > p{user-select:none;margin:").append(i).append("px}\n");
+        }
+
+        Stylesheet stylesheet = parse(source.toString());
+        StyleWriter writer = StyleWriter.compressed().writeAnnotatedComments(true);
+        String expected = writer.writeSingle(stylesheet);
+        FrozenStylesheet frozen = stylesheet.freeze();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> frozen.write(writer)));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
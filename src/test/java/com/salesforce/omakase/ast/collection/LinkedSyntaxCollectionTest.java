@@ -34,6 +34,10 @@ import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 import com.google.common.collect.Lists;
 import com.salesforce.omakase.ast.Status;
@@ -45,8 +49,16 @@ import com.salesforce.omakase.broadcast.QueryableBroadcaster;
 import com.salesforce.omakase.writer.StyleAppendable;
 import com.salesforce.omakase.writer.StyleWriter;
 
-/** Unit tests for {@link LinkedSyntaxCollection}. */
+/** Unit tests for {@link LinkedSyntaxCollection} and {@link ArraySyntaxCollection}. */
+@RunWith(Parameterized.class)
 public class LinkedSyntaxCollectionTest {
+    @Parameters(name = "{0}")
+    public static Object[] implementations() {
+        return new Object[] {LinkedSyntaxCollection.class, ArraySyntaxCollection.class};
+    }
+
+    @Parameter
+    public Class<?> implementation;
 
     private SyntaxCollection<Parent, Child> collection;
     private Child child1;
@@ -103,7 +115,7 @@ public class LinkedSyntaxCollectionTest {
 
     @Test
     public void isEmptyOrNoneWritableTrue() {
-        SyntaxCollection<Parent, ChildNotWritable> c = new LinkedSyntaxCollection<>(new Parent());
+        SyntaxCollection<Parent, ChildNotWritable> c = create(new Parent());
         c.append(new ChildNotWritable());
         assertThat(collection.isEmptyOrNoneWritable()).isTrue();
     }
@@ -614,8 +626,49 @@ public class LinkedSyntaxCollectionTest {
         assertThat(child3.next().get()).isSameAs(child2);
     }
 
-    private static final class Parent {
-        private final SyntaxCollection<Parent, Child> collection = new LinkedSyntaxCollection<>(this);
+    @Test
+    public void iterateWhileDestroyingCurrent() {
+        collection.append(child1).append(child2).append(child3);
+        int count = 0;
+        for (Child child : collection) {
+            count++;
+            if (child == child2) child.destroy();
+        }
+        assertThat(count).isEqualTo(3);
+        assertThat(Lists.newArrayList(collection)).containsExactly(child1, child3);
+    }
+
+    @Test
+    public void iterateWhileAppendingAfterCurrent() {
+        collection.append(child1).append(child3);
+        int count = 0;
+        for (Child child : collection) {
+            count++;
+            if (child == child1) child.append(child2);
+        }
+        assertThat(count).isEqualTo(3);
+        assertThat(Lists.newArrayList(collection)).containsExactly(child1, child2, child3);
+    }
+
+    @Test
+    public void iterateWhilePrependingBeforeCurrent() {
+        collection.append(child2).append(child3);
+        int count = 0;
+        for (Child child : collection) {
+            count++;
+            if (child == child2) child.prepend(child1);
+        }
+        assertThat(count).isEqualTo(2);
+        assertThat(Lists.newArrayList(collection)).containsExactly(child1, child2, child3);
+    }
+
+    private <T extends Groupable<Parent, T>> SyntaxCollection<Parent, T> create(Parent parent) {
+        if (implementation == ArraySyntaxCollection.class) return new ArraySyntaxCollection<>(parent);
+        return new LinkedSyntaxCollection<>(parent);
+    }
+
+    private final class Parent {
+        private final SyntaxCollection<Parent, Child> collection = create(this);
     }
 
     private static final class Child extends AbstractGroupable<Parent, Child> {
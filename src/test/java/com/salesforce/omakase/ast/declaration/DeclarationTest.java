@@ -460,6 +460,72 @@ public class DeclarationTest {
         assertThat(copy.comments()).hasSameSizeAs(fromRaw.comments());
     }
 
+    @Test
+    public void copyUnrefinedSharesRawContent() {
+        Declaration copy = fromRaw.copy();
+        assertThat(copy.rawPropertyName().get()).isSameAs(rawName);
+        assertThat(copy.rawPropertyValue().get()).isSameAs(rawValue);
+        assertThat(copy.status()).isSameAs(Status.RAW);
+        assertThat(copy.line()).isEqualTo(-1);
+    }
+
+    @Test
+    public void copyModifyCopyPropertyName() {
+        Declaration d = new Declaration(Property.BORDER_RADIUS, NumericalValue.of(5, "px"));
+        Declaration copy = d.copy();
+        copy.propertyName().prefix(Prefix.WEBKIT);
+
+        assertThat(copy.propertyName().name()).isEqualTo("-webkit-border-radius");
+        assertThat(d.propertyName().name()).isEqualTo("border-radius");
+    }
+
+    @Test
+    public void copyModifyOriginalPropertyName() {
+        Declaration d = new Declaration(Property.BORDER_RADIUS, NumericalValue.of(5, "px"));
+        Declaration copy = d.copy();
+        d.propertyName().prefix(Prefix.MOZ);
+
+        assertThat(d.propertyName().name()).isEqualTo("-moz-border-radius");
+        assertThat(copy.propertyName().name()).isEqualTo("border-radius");
+    }
+
+    @Test
+    public void copyMultiplePropertyName() {
+        Declaration d = new Declaration(Property.BORDER_RADIUS, NumericalValue.of(5, "px"));
+        Declaration copy1 = d.copy();
+        Declaration copy2 = d.copy();
+        copy1.propertyName().prefix(Prefix.WEBKIT);
+        copy2.propertyName().prefix(Prefix.MOZ);
+
+        assertThat(d.propertyName().name()).isEqualTo("border-radius");
+        assertThat(copy1.propertyName().name()).isEqualTo("-webkit-border-radius");
+        assertThat(copy2.propertyName().name()).isEqualTo("-moz-border-radius");
+    }
+
+    @Test
+    public void copyPropertyNameObtainedBeforeCopying() {
+        Declaration d = new Declaration(Property.BORDER_RADIUS, NumericalValue.of(5, "px"));
+        PropertyName name = d.propertyName();
+        Declaration copy = d.copy();
+        name.prefix(Prefix.WEBKIT);
+
+        assertThat(copy.propertyName()).isNotSameAs(name);
+        assertThat(d.propertyName().name()).isEqualTo("-webkit-border-radius");
+        assertThat(copy.propertyName().name()).isEqualTo("border-radius");
+    }
+
+    @Test
+    public void copyThenReplacePropertyName() {
+        Declaration d = new Declaration(Property.BORDER_RADIUS, NumericalValue.of(5, "px"));
+        PropertyName original = d.propertyName();
+        Declaration copy = d.copy();
+        copy.propertyName(Property.MARGIN);
+
+        // no longer shared, so the original keeps its instance
+        assertThat(d.propertyName()).isSameAs(original);
+        assertThat(copy.isProperty(Property.MARGIN)).isTrue();
+    }
+
     @Test
     public void copyUnrefinedPropertyNameRefined() {
         fromRaw.comment("test");
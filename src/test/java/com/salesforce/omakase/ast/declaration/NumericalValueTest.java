@@ -27,6 +27,7 @@
 package com.salesforce.omakase.ast.declaration;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import java.io.IOException;
 
@@ -451,6 +452,62 @@ public class NumericalValueTest {
         assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo("1.083");
     }
 
+    @Test
+    public void fromDigits() {
+        numerical = new NumericalValue(1, 1, 50, 1, 2);
+        assertThat(numerical.value()).isEqualTo("0.50");
+        assertThat(numerical.doubleValue()).isEqualTo(0.5);
+        assertThat(StyleWriter.verbose().writeSingle(numerical)).isEqualTo("0.50");
+        assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo(".50");
+    }
+
+    @Test
+    public void fromDigitsNoIntegerPart() {
+        numerical = new NumericalValue(1, 1, 5, 0, 1);
+        assertThat(numerical.value()).isEqualTo(".5");
+        assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo(".5");
+    }
+
+    @Test
+    public void fromDigitsTooMany() {
+        assertThrows(IllegalArgumentException.class, () -> new NumericalValue(1, 1, 1, 10, NumericalValue.MAX_DIGITS));
+    }
+
+    @Test
+    public void writeZeroDiscardsUnit() {
+        numerical = NumericalValue.of("0.00", "px");
+        assertThat(StyleWriter.verbose().writeSingle(numerical)).isEqualTo("0.00px");
+        assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo("0");
+    }
+
+    @Test
+    public void writeLeadingZeros() {
+        numerical = NumericalValue.of("007.5");
+        assertThat(StyleWriter.verbose().writeSingle(numerical)).isEqualTo("007.5");
+        assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo("007.5");
+    }
+
+    @Test
+    public void tooManyDigitsForPrimitive() {
+        numerical = NumericalValue.of("1000000000.0000000009");
+        assertThat(numerical.value()).isEqualTo("1000000000.0000000009");
+        assertThat(numerical.doubleValue()).isEqualTo(1000000000.0000000009);
+        assertThat(StyleWriter.compressed().writeSingle(numerical)).isEqualTo("1000000000.0000000009");
+    }
+
+    @Test
+    public void intValueWithDecimalThrows() {
+        assertThrows(NumberFormatException.class, () -> NumericalValue.of("1.5").intValue());
+    }
+
+    @Test
+    public void setValueFromDoubleShortest() {
+        assertThat(NumericalValue.of(100 - 33.3).value()).isEqualTo("66.7");
+        assertThat(NumericalValue.of(0.1 + 0.2).value()).isEqualTo("0.30000000000000004");
+        assertThat(NumericalValue.of(1e20).value()).isEqualTo("100000000000000000000");
+        assertThat(NumericalValue.of(Integer.MIN_VALUE).value()).isEqualTo("2147483648");
+    }
+
     @Test
     public void copyTest() {
         numerical = new NumericalValue(5, 5, "100");
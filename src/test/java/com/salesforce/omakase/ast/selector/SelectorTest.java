@@ -227,6 +227,19 @@ public class SelectorTest {
         assertThat(Iterables.get(copy.parts(), 2)).isInstanceOf(IdSelector.class);
     }
 
+    @Test
+    public void copyUnrefined() {
+        RawSyntax raw = new RawSyntax(2, 3, ".class > #id");
+        selector = new Selector(raw);
+        selector.comment("test");
+
+        Selector copy = selector.copy();
+        assertThat(copy.isRefined()).isFalse();
+        assertThat(copy.raw().get()).isSameAs(raw);
+        assertThat(copy.comments()).hasSize(1);
+        assertThat(copy.line()).isEqualTo(-1);
+    }
+
     @Test
     public void keyframeSelectorTrue() {
         selector = new Selector(new KeyframeSelector("from"));
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.broadcast;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.selector.ClassSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+
+/**
+ * Unit tests for {@link BroadcasterPool}.
+ *
+ * @author nmcwilliams
+ */
+public class BroadcasterPoolTest {
+    private static final Class<?>[] TYPES = {Selector.class, Declaration.class};
+
+    @Test
+    public void recyclesCollecting() {
+        BroadcasterPool pool = new BroadcasterPool();
+        CollectingBroadcaster collector = pool.collecting(null, TYPES);
+        pool.release(collector);
+        assertThat(pool.collecting(null, TYPES)).isSameAs(collector);
+    }
+
+    @Test
+    public void recyclesCollectingByTypes() {
+        BroadcasterPool pool = new BroadcasterPool();
+        CollectingBroadcaster collector = pool.collecting(null, TYPES);
+        pool.release(collector);
+        assertThat(pool.collecting(null, Selector.class)).isNotSameAs(collector);
+        assertThat(pool.collecting(null, Selector.class, Declaration.class)).isSameAs(collector);
+    }
+
+    @Test
+    public void newCollectingWhenNoneReleased() {
+        BroadcasterPool pool = new BroadcasterPool();
+        CollectingBroadcaster collector = pool.collecting(null, TYPES);
+        assertThat(pool.collecting(null, TYPES)).isNotSameAs(collector);
+    }
+
+    @Test
+    public void releasedCollectingIsReset() {
+        BroadcasterPool pool = new BroadcasterPool();
+        QueryableBroadcaster first = new QueryableBroadcaster();
+        CollectingBroadcaster collector = pool.collecting(first, TYPES);
+        collector.broadcast(new Selector(new ClassSelector("a")));
+        pool.release(collector);
+
+        QueryableBroadcaster second = new QueryableBroadcaster();
+        collector = pool.collecting(second, TYPES);
+        assertThat(collector.hasAny(Selector.class)).isFalse();
+
+        collector.broadcast(new Selector(new ClassSelector("b")));
+        assertThat(first.count()).isEqualTo(1);
+        assertThat(second.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void recyclesQueuing() {
+        BroadcasterPool pool = new BroadcasterPool();
+        QueuingBroadcaster queue = pool.queuing(new QueryableBroadcaster());
+        pool.release(queue);
+        assertThat(pool.queuing(new QueryableBroadcaster())).isSameAs(queue);
+    }
+
+    @Test
+    public void releasedQueuingIsReset() {
+        BroadcasterPool pool = new BroadcasterPool();
+        QueryableBroadcaster first = new QueryableBroadcaster();
+        QueuingBroadcaster queue = pool.queuing(first).pause();
+        queue.broadcast(new ClassSelector("a"));
+        pool.release(queue);
+
+        QueryableBroadcaster second = new QueryableBroadcaster();
+        queue = pool.queuing(second);
+        queue.broadcast(new ClassSelector("b"));
+        assertThat(first.hasAny()).isFalse();
+        assertThat(second.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void unpooledDoesNotRecycle() {
+        BroadcasterPool pool = BroadcasterPool.unpooled();
+        CollectingBroadcaster collector = pool.collecting(null, TYPES);
+        pool.release(collector);
+        assertThat(pool.collecting(null, TYPES)).isNotSameAs(collector);
+
+        QueuingBroadcaster queue = pool.queuing(new QueryableBroadcaster());
+        pool.release(queue);
+        assertThat(pool.queuing(new QueryableBroadcaster())).isNotSameAs(queue);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.broadcast;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.ast.selector.ClassSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.Property;
+
+/**
+ * Unit tests for {@link CollectingBroadcaster}.
+ *
+ * @author nmcwilliams
+ */
+public class CollectingBroadcasterTest {
+    @SuppressWarnings("deprecation")
+    @org.junit.Rule public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void collectsByType() {
+        CollectingBroadcaster collector = new CollectingBroadcaster(Selector.class, Declaration.class);
+
+        Selector s1 = new Selector(new ClassSelector("a"));
+        Declaration d1 = new Declaration(Property.DISPLAY, KeywordValue.of(Keyword.NONE));
+        Selector s2 = new Selector(new ClassSelector("b"));
+        Declaration d2 = new Declaration(Property.COLOR, KeywordValue.of(Keyword.RED));
+
+        collector.broadcast(s1);
+        collector.broadcast(d1);
+        collector.broadcast(new ClassSelector("c"));
+        collector.broadcast(s2);
+        collector.broadcast(d2);
+
+        assertThat(collector.get(Selector.class)).containsExactly(s1, s2);
+        assertThat(collector.get(Declaration.class)).containsExactly(d1, d2);
+    }
+
+    @Test
+    public void collectsInEachMatchingType() {
+        CollectingBroadcaster collector = new CollectingBroadcaster(Statement.class, Rule.class);
+        Rule rule = new Rule();
+        collector.broadcast(rule);
+        assertThat(collector.get(Statement.class)).containsExactly(rule);
+        assertThat(collector.get(Rule.class)).containsExactly(rule);
+    }
+
+    @Test
+    public void relaysBroadcasts() {
+        QueryableBroadcaster qb = new QueryableBroadcaster();
+        CollectingBroadcaster collector = new CollectingBroadcaster(qb, Selector.class);
+
+        ClassSelector cs = new ClassSelector("a");
+        collector.broadcast(cs);
+
+        assertThat(qb.all()).containsExactly(cs);
+        assertThat(collector.hasAny(Selector.class)).isFalse();
+    }
+
+    @Test
+    public void hasAny() {
+        CollectingBroadcaster collector = new CollectingBroadcaster(Selector.class);
+        assertThat(collector.hasAny(Selector.class)).isFalse();
+        collector.broadcast(new Selector(new ClassSelector("a")));
+        assertThat(collector.hasAny(Selector.class)).isTrue();
+    }
+
+    @Test
+    public void errorsForTypeNotCollected() {
+        CollectingBroadcaster collector = new CollectingBroadcaster(Selector.class);
+        exception.expect(IllegalArgumentException.class);
+        collector.get(Declaration.class);
+    }
+
+    @Test
+    public void errorsForNoTypes() {
+        exception.expect(IllegalArgumentException.class);
+        new CollectingBroadcaster();
+    }
+
+    @Test
+    public void reset() {
+        CollectingBroadcaster collector = new CollectingBroadcaster(Selector.class);
+        collector.chain(new QueryableBroadcaster());
+        collector.broadcast(new Selector(new ClassSelector("a")));
+        collector.reset();
+        assertThat(collector.hasAny(Selector.class)).isFalse();
+        assertThat(collector.next).isNull();
+    }
+}
@@ -73,4 +73,19 @@ public class VisitingBroadcasterTest {
         assertThat(qb.all().get(0)).isSameAs(cs);
         assertThat(qb.all().get(1)).isSameAs(selector);
     }
+
+    @Test
+    public void reset() {
+        VisitingBroadcaster vb = new VisitingBroadcaster();
+        vb.broadcast(new ClassSelector("class"));
+        vb.visit(new QueryableBroadcaster(), Status.PARSED);
+
+        vb.reset();
+        Selector selector = new Selector(new ClassSelector("class"));
+        vb.broadcast(selector);
+
+        QueryableBroadcaster qb = new QueryableBroadcaster();
+        vb.visit(qb, Status.PARSED);
+        assertThat(qb.all().get(qb.count() - 1)).isSameAs(selector);
+    }
 }
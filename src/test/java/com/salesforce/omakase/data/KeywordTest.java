@@ -59,4 +59,27 @@ public class KeywordTest {
         PropertyValue pv = PropertyValue.of(KeywordValue.of(Keyword.BLOCK));
         assertThat(Keyword.NONE.isOnlyValueIn(pv)).isFalse();
     }
+
+    @Test
+    public void reverseLookup() {
+        assertThat(Keyword.lookup("none")).isSameAs(Keyword.NONE);
+        assertThat(Keyword.lookup("NONE")).isNull();
+        assertThat(Keyword.lookup("nonee")).isNull();
+    }
+
+    @Test
+    public void lookupCharRange() {
+        char[] chars = "solid Inherit".toCharArray();
+        assertThat(Keyword.lookup(chars, 0, 5)).isSameAs(Keyword.SOLID);
+        assertThat(Keyword.lookup(chars, 6, 7)).isSameAs(Keyword.INHERIT);
+        assertThat(Keyword.lookup(chars, 0, 4)).isNull();
+    }
+
+    @Test
+    public void lookupAllKeywords() {
+        for (Keyword keyword : Keyword.values()) {
+            assertThat(Keyword.lookup(keyword.toString())).isSameAs(keyword);
+            assertThat(Keyword.lookupIgnoreCase(keyword.toString().toUpperCase())).isSameAs(keyword);
+        }
+    }
 }
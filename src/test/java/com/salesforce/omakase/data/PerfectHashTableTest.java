@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link PerfectHashTable}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class PerfectHashTableTest {
+    private static final List<String> NAMES = ImmutableList.of("one", "two", "three", "four", "five", "six", "seven");
+
+    @Test
+    public void lookupWithComputedSeeds() {
+        PerfectHashTable<String> table = new PerfectHashTable<>(NAMES.toArray(new String[0]), s -> s,
+            PerfectHashTable.seeds(NAMES, 4, 16), 16);
+
+        for (String name : NAMES) {
+            assertThat(table.get(name, 0, name.length())).isSameAs(name);
+            assertThat(table.get(name.toUpperCase().toCharArray(), 0, name.length())).isSameAs(name);
+        }
+        assertThat(table.get("eight", 0, 5)).isNull();
+        assertThat(table.get("xonex".toCharArray(), 1, 3)).isEqualTo("one");
+    }
+
+    @Test
+    public void wrongSeedsDetected() {
+        assertThrows(IllegalStateException.class,
+            () -> new PerfectHashTable<>(NAMES.toArray(new String[0]), s -> s, new int[2], 8));
+    }
+
+    @Test
+    public void tooSmallForSeeds() {
+        assertThrows(IllegalArgumentException.class, () -> PerfectHashTable.seeds(NAMES, 4, 4));
+    }
+}
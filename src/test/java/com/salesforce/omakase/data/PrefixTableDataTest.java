@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.Table;
+
+/**
+ * Unit tests for {@link PrefixTableData}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class PrefixTableDataTest {
+    @Test
+    public void propertiesMatchGeneratedClass() {
+        for (Property property : Property.values()) {
+            assertThat(PrefixTableData.properties().contains(property.ordinal()))
+                .as(property.name())
+                .isEqualTo(PrefixTables.PROPERTIES.containsRow(property));
+
+            for (Browser browser : Browser.values()) {
+                assertThat(PrefixTableData.properties().version(property.ordinal(), browser))
+                    .as(property.name() + " " + browser)
+                    .isEqualTo(expected(PrefixTables.PROPERTIES, property, browser));
+            }
+        }
+    }
+
+    @Test
+    public void keywordsMatchGeneratedClass() {
+        for (Keyword keyword : Keyword.values()) {
+            assertThat(PrefixTableData.keywords().contains(keyword.ordinal()))
+                .as(keyword.name())
+                .isEqualTo(PrefixTables.KEYWORDS.containsRow(keyword));
+
+            for (Browser browser : Browser.values()) {
+                assertThat(PrefixTableData.keywords().version(keyword.ordinal(), browser))
+                    .as(keyword.name() + " " + browser)
+                    .isEqualTo(expected(PrefixTables.KEYWORDS, keyword, browser));
+            }
+        }
+    }
+
+    @Test
+    public void atRulesMatchGeneratedClass() {
+        assertNamesMatch(PrefixTableData.atRules(), PrefixTables.AT_RULES);
+    }
+
+    @Test
+    public void selectorsMatchGeneratedClass() {
+        assertNamesMatch(PrefixTableData.selectors(), PrefixTables.SELECTORS);
+    }
+
+    @Test
+    public void functionsMatchGeneratedClass() {
+        assertNamesMatch(PrefixTableData.functions(), PrefixTables.FUNCTIONS);
+    }
+
+    @Test
+    public void unknownName() {
+        assertThat(PrefixTableData.functions().contains("blah")).isFalse();
+        assertThat(PrefixTableData.functions().version("blah", Browser.CHROME)).isEqualTo(-1d);
+    }
+
+    private static void assertNamesMatch(PrefixTableData data, Table<String, Browser, Double> table) {
+        for (String name : table.rowKeySet()) {
+            assertThat(data.contains(name)).as(name).isTrue();
+            for (Browser browser : Browser.values()) {
+                assertThat(data.version(name, browser)).as(name + " " + browser).isEqualTo(expected(table, name, browser));
+            }
+        }
+    }
+
+    private static <K> double expected(Table<K, Browser, Double> table, K key, Browser browser) {
+        Double version = table.get(key, browser);
+        return version != null ? version : -1d;
+    }
+}
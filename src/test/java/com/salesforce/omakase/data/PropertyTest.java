@@ -36,4 +36,33 @@ public class PropertyTest {
     public void reverseLookup() {
         assertThat(Property.lookup("display")).isSameAs(Property.DISPLAY);
     }
+
+    @Test
+    public void reverseLookupIsCaseSensitive() {
+        assertThat(Property.lookup("DISPLAY")).isNull();
+        assertThat(Property.lookup("displa")).isNull();
+        assertThat(Property.lookup("")).isNull();
+    }
+
+    @Test
+    public void lookupIgnoreCase() {
+        assertThat(Property.lookupIgnoreCase("Border-Radius")).isSameAs(Property.BORDER_RADIUS);
+        assertThat(Property.lookupIgnoreCase("border-radiu")).isNull();
+    }
+
+    @Test
+    public void lookupCharRange() {
+        char[] chars = "color:red;MARGIN-TOP:0".toCharArray();
+        assertThat(Property.lookup(chars, 0, 5)).isSameAs(Property.COLOR);
+        assertThat(Property.lookup(chars, 10, 10)).isSameAs(Property.MARGIN_TOP);
+        assertThat(Property.lookup(chars, 6, 3)).isNull();
+    }
+
+    @Test
+    public void lookupAllProperties() {
+        for (Property property : Property.values()) {
+            assertThat(Property.lookup(property.toString())).isSameAs(property);
+            assertThat(Property.lookupIgnoreCase(property.toString().toUpperCase())).isSameAs(property);
+        }
+    }
 }
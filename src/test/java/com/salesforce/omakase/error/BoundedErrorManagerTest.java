@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.error;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.RawSyntax;
+import com.salesforce.omakase.ast.selector.ClassSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.broadcast.annotation.Validate;
+import com.salesforce.omakase.broadcast.emitter.SubscriptionException;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.plugin.Plugin;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+
+/**
+ * Unit tests for {@link BoundedErrorManager}.
+ *
+ * @author nmcwilliams
+ */
+public class BoundedErrorManagerTest {
+    @Test
+    public void recordsDetailsOfParserException() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        Source source = new Source("\n{ ...");
+        source.forward(6);
+        em.report(new ParserException(source, "Expected to find closing brace '{'"));
+
+        assertThat(em.size()).isEqualTo(1);
+        assertThat(em.errorCount()).isEqualTo(1);
+        assertThat(em.level(0)).isSameAs(ErrorLevel.FATAL);
+        assertThat(em.line(0)).isEqualTo(2);
+        assertThat(em.column(0)).isEqualTo(6);
+        assertThat(em.reason(0)).isEqualTo("Expected to find closing brace '{'");
+    }
+
+    @Test
+    public void recordsDetailsOfSyntax() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        em.report(ErrorLevel.WARNING, new Selector(new RawSyntax(5, 2, "#id")), "bad");
+
+        assertThat(em.size()).isEqualTo(1);
+        assertThat(em.errorCount()).isEqualTo(0);
+        assertThat(em.warningCount()).isEqualTo(1);
+        assertThat(em.level(0)).isSameAs(ErrorLevel.WARNING);
+        assertThat(em.line(0)).isEqualTo(5);
+        assertThat(em.column(0)).isEqualTo(2);
+        assertThat(em.reason(0)).isEqualTo("bad");
+    }
+
+    @Test
+    public void sameMessagesHaveSameCode() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        Selector selector = new Selector(new RawSyntax(1, 1, ".a"));
+        em.report(ErrorLevel.FATAL, selector, "one");
+        em.report(ErrorLevel.FATAL, selector, "two");
+        em.report(ErrorLevel.FATAL, selector, "one");
+
+        assertThat(em.code(0)).isEqualTo(em.code(2));
+        assertThat(em.code(0)).isNotEqualTo(em.code(1));
+        assertThat(em.counts()).containsKey("one").containsValue(2);
+        assertThat(em.counts().get("two")).isEqualTo(1);
+    }
+
+    @Test
+    public void messageMatchesDefaultErrorManager() {
+        BoundedErrorManager bounded = new BoundedErrorManager("styles.css");
+        DefaultErrorManager standard = new DefaultErrorManager("styles.css").rethrow(false);
+
+        Source source = new Source("{ ...");
+        source.forward(5);
+        ParserException exception = new ParserException(source, "Expected to find closing brace '{'");
+        bounded.report(exception);
+        standard.report(exception);
+
+        Selector selector = new Selector(new RawSyntax(5, 2, "#id"));
+        bounded.report(ErrorLevel.WARNING, selector, "bad");
+        standard.report(ErrorLevel.WARNING, selector, "bad");
+
+        assertThat(bounded.summarize()).isEqualTo(standard.summarize());
+    }
+
+    @Test
+    public void messageIsFormattedWhenRead() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        ClassSelector selector = new ClassSelector(1, 1, "before");
+        em.report(ErrorLevel.WARNING, selector, "bad");
+        selector.name("after");
+
+        assertThat(em.message(0)).contains("after").doesNotContain("before");
+    }
+
+    @Test
+    public void summaryIsReusedUntilAnotherReport() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        Selector selector = new Selector(new RawSyntax(1, 1, ".a"));
+        em.report(ErrorLevel.FATAL, selector, "one");
+
+        String summary = em.summarize();
+        assertThat(em.summarize()).isSameAs(summary);
+
+        em.report(ErrorLevel.FATAL, selector, "two");
+        assertThat(em.summarize()).isNotEqualTo(summary).contains("two");
+    }
+
+    @Test
+    public void stopsAtTheLimit() {
+        BoundedErrorManager em = new BoundedErrorManager().limit(2);
+        Selector selector = new Selector(new RawSyntax(1, 1, ".a"));
+        em.report(ErrorLevel.FATAL, selector, "one");
+
+        assertThrows(ErrorLimitException.class, () -> em.report(ErrorLevel.FATAL, selector, "two"));
+        assertThat(em.aborted()).isTrue();
+        assertThat(em.errorCount()).isEqualTo(2);
+        assertThat(em.summarize()).contains("(stopped at the limit of 2 errors)");
+    }
+
+    @Test
+    public void warningsAreCountedPastTheLimit() {
+        BoundedErrorManager em = new BoundedErrorManager().limit(2);
+        Selector selector = new Selector(new RawSyntax(1, 1, ".a"));
+        for (int i = 0; i < 5; i++) {
+            em.report(ErrorLevel.WARNING, selector, "warning");
+        }
+
+        assertThat(em.aborted()).isFalse();
+        assertThat(em.size()).isEqualTo(2);
+        assertThat(em.warningCount()).isEqualTo(5);
+        assertThat(em.summarize()).contains("(3 more warnings not shown)");
+    }
+
+    @Test
+    public void hasErrorsWithoutWarnings() {
+        BoundedErrorManager em = new BoundedErrorManager().warnings(false);
+        em.report(ErrorLevel.WARNING, new Selector(new RawSyntax(1, 1, ".a")), "warning");
+        assertThat(em.hasErrors()).isFalse();
+        assertThat(em.summarize()).isEmpty();
+    }
+
+    @Test
+    public void recordsSubscriptionException() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        em.report(new SubscriptionException("plugin failed", new IllegalStateException("cause")));
+
+        assertThat(em.errorCount()).isEqualTo(1);
+        assertThat(em.line(0)).isEqualTo(-1);
+        assertThat(em.summarize()).contains("Plugin Errors").contains("plugin failed").contains("cause");
+    }
+
+    @Test
+    public void processingStopsAtTheLimit() {
+        BoundedErrorManager em = new BoundedErrorManager().limit(3);
+        ErrorPlugin plugin = new ErrorPlugin();
+
+        Omakase.source(".a{color:red} .b{color:red} .c{color:red} .d{color:red} .e{color:red} .f{color:red}")
+            .use(AutoRefine.everything())
+            .use(plugin)
+            .use(em)
+            .process();
+
+        assertThat(plugin.count).isEqualTo(3);
+        assertThat(em.aborted()).isTrue();
+        assertThat(em.errorCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void processingDoesNotThrowByDefault() {
+        BoundedErrorManager em = new BoundedErrorManager();
+        Omakase.source(".a{color:red} .b{color:red}").use(AutoRefine.everything()).use(new ErrorPlugin()).use(em).process();
+        assertThat(em.errorCount()).isEqualTo(2);
+        assertThat(em.aborted()).isFalse();
+    }
+
+    @Test
+    public void parserErrorAtTheLimitDuringProcessing() {
+        BoundedErrorManager em = new BoundedErrorManager().limit(1);
+        Omakase.source(".a{color:red").use(em).process();
+        assertThat(em.errorCount()).isEqualTo(1);
+        assertThat(em.aborted()).isTrue();
+    }
+
+    @Test
+    public void autoSummarizes() {
+        BoundedErrorManager em = new BoundedErrorManager().autoSummarize(true);
+        Omakase.Request request = Omakase.source(".a{color:red}").use(AutoRefine.everything()).use(new ErrorPlugin()).use(em);
+        assertThrows(ProblemSummaryException.class, request::process);
+    }
+
+    public static final class ErrorPlugin implements Plugin {
+        int count;
+
+        @Validate
+        public void classSelector(ClassSelector cs, ErrorManager em) {
+            count++;
+            em.report(ErrorLevel.FATAL, cs, "class selector");
+        }
+    }
+}
@@ -28,11 +28,16 @@ package com.salesforce.omakase.parser;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.Optional;
+
 import org.junit.Test;
 
+import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.NoopBroadcaster;
 import com.salesforce.omakase.parser.declaration.KeywordValueParser;
 import com.salesforce.omakase.parser.declaration.NumericalValueParser;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
 
 /**
  * Unit tests for {@link CombinationParser}.
@@ -55,4 +60,60 @@ public class CombinationParserTest {
         assertThat(c.parse(new Source("3px"), new Grammar(), new NoopBroadcaster(), true)).isTrue();
         assertThat(c.parse(new Source("!"), new Grammar(), new NoopBroadcaster(), true)).isFalse();
     }
+
+    @Test
+    public void skipsParsersThatCannotStartWithCurrentCharacter() {
+        CountingParser hex = new CountingParser(Tokens.HASH);
+        CombinationParser c = new CombinationParser(hex, new NumericalValueParser());
+        assertThat(c.parse(new Source("3px"), new Grammar(), new NoopBroadcaster())).isTrue();
+        assertThat(hex.count).isEqualTo(0);
+        assertThat(c.parse(new Source("#fff"), new Grammar(), new NoopBroadcaster())).isFalse();
+        assertThat(hex.count).isEqualTo(1);
+    }
+
+    @Test
+    public void alwaysTriesUndeclaredParsers() {
+        CountingParser any = new CountingParser(null);
+        CombinationParser c = new CombinationParser(new NumericalValueParser(), any);
+        assertThat(c.parse(new Source("red"), new Grammar(), new NoopBroadcaster())).isFalse();
+        assertThat(any.count).isEqualTo(1);
+    }
+
+    @Test
+    public void triesAllWhenWhitespaceOrComment() {
+        CountingParser hex = new CountingParser(Tokens.HASH);
+        CombinationParser c = new CombinationParser(hex, new NumericalValueParser());
+        assertThat(c.parse(new Source(" 3px"), new Grammar(), new NoopBroadcaster())).isTrue();
+        assertThat(c.parse(new Source("/*x*/3px"), new Grammar(), new NoopBroadcaster())).isTrue();
+        assertThat(hex.count).isEqualTo(2);
+    }
+
+    @Test
+    public void combinedFirstCharacters() {
+        CombinationParser c = new CombinationParser(new KeywordValueParser(), new NumericalValueParser());
+        assertThat(c.firstCharacters().get().matches('a')).isTrue();
+        assertThat(c.firstCharacters().get().matches('5')).isTrue();
+        assertThat(c.firstCharacters().get().matches('#')).isFalse();
+        assertThat(new CombinationParser(new KeywordValueParser(), new CountingParser(null)).firstCharacters().isPresent()).isFalse();
+    }
+
+    private static final class CountingParser implements Parser {
+        private final Token first;
+        private int count;
+
+        CountingParser(Token first) {
+            this.first = first;
+        }
+
+        @Override
+        public boolean parse(Source source, Grammar grammar, Broadcaster broadcaster) {
+            count++;
+            return false;
+        }
+
+        @Override
+        public Optional<Token> firstCharacters() {
+            return Optional.ofNullable(first);
+        }
+    }
 }
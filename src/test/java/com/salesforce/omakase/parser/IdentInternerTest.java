@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.salesforce.omakase.parser.token.Tokens;
+
+/**
+ * Unit tests for {@link IdentInterner}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class IdentInternerTest {
+    @Test
+    public void returnsSameInstanceForSameRange() {
+        IdentInterner interner = new IdentInterner(16);
+        char[] chars = "color color".toCharArray();
+
+        String first = interner.intern(chars, 0, 5);
+        String second = interner.intern(chars, 6, 5);
+        assertThat(first).isEqualTo("color");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void differentRanges() {
+        IdentInterner interner = new IdentInterner(16);
+        char[] chars = "abcabd".toCharArray();
+
+        assertThat(interner.intern(chars, 0, 3)).isEqualTo("abc");
+        assertThat(interner.intern(chars, 3, 3)).isEqualTo("abd");
+        assertThat(interner.intern(chars, 0, 2)).isEqualTo("ab");
+        assertThat(interner.intern(chars, 0, 0)).isEqualTo("");
+    }
+
+    @Test
+    public void evictsWhenFull() {
+        IdentInterner interner = new IdentInterner(2);
+        char[] chars = "abcdefgh".toCharArray();
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(interner.intern(chars, i, 1)).isEqualTo(String.valueOf(chars[i]));
+        }
+        assertThat(interner.intern(chars, 7, 1)).isSameAs(interner.intern(chars, 7, 1));
+    }
+
+    @Test
+    public void longValuesNotCached() {
+        IdentInterner interner = new IdentInterner(16);
+        char[] chars = Strings.repeat("a", IdentInterner.MAX_LENGTH + 1).toCharArray();
+
+        String first = interner.intern(chars, 0, chars.length);
+        String second = interner.intern(chars, 0, chars.length);
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotSameAs(second);
+    }
+
+    @Test
+    public void capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new IdentInterner(10));
+    }
+
+    @Test
+    public void sourceIdentsAreShared() {
+        String first = new Source("border-radius").readIdent().get();
+        String second = new Source("  border-radius ", 1, 1).skipWhitepace().readIdent().get();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void sourceChompInterned() {
+        String first = new Source("px").chompInterned(Tokens.ALPHA);
+        String second = new Source("px").chompInterned(Tokens.ALPHA);
+        assertThat(second).isSameAs(first);
+    }
+}
@@ -138,6 +138,51 @@ public class ParserExceptionTest {
             "#id (selector)");
     }
 
+    @Test
+    public void messageIsForPositionWhenCreated() {
+        Source source = new Source("a { ...");
+        source.forward(2);
+        ParserException e = new ParserException(source, "test exception");
+        source.forward(3);
+
+        assertThat(e.getMessage()).isEqualTo("test exception:\n" +
+            "at line 1, column 3 in\n" +
+            "'a \u00BB{ ...'");
+    }
+
+    @Test
+    public void deferredMessageSameAsMessage() {
+        Source source = new Source(TemplatesHelper.longSource());
+        source.forward(4003);
+        ParserException e = new ParserException(source, "test exception");
+        String deferred = e.deferredMessage().get();
+        assertThat(deferred).isEqualTo(e.getMessage());
+
+        Syntax syntax = new Selector(new RawSyntax(5, 2, "#id"));
+        e = new ParserException(syntax, "test exception");
+        assertThat(e.deferredMessage().get()).isEqualTo(e.getMessage());
+    }
+
+    @Test
+    public void reasonAndPosition() {
+        Source source = new Source("a {\n  ...");
+        source.forward(6);
+        ParserException e = new ParserException(source, "test exception");
+
+        assertThat(e.reason()).isEqualTo("test exception");
+        assertThat(e.line()).isEqualTo(2);
+        assertThat(e.column()).isEqualTo(3);
+    }
+
+    @Test
+    public void reasonAndPositionForSyntax() {
+        ParserException e = new ParserException(new Selector(new RawSyntax(5, 2, "#id")), "test exception");
+
+        assertThat(e.reason()).isEqualTo("test exception");
+        assertThat(e.line()).isEqualTo(5);
+        assertThat(e.column()).isEqualTo(2);
+    }
+
     @Test
     public void exceptionForThrowable() {
         ParserException e = new ParserException(new RuntimeException("test"));
@@ -36,7 +36,10 @@ import java.util.Optional;
 import org.junit.Test;
 
 import com.salesforce.omakase.Message;
+import com.salesforce.omakase.ast.Comment;
 import com.salesforce.omakase.ast.RawSyntax;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.Property;
 import com.salesforce.omakase.parser.token.ConstantEnum;
 import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.TokenEnum;
@@ -462,6 +465,20 @@ public class SourceTest {
         assertThat(source.index()).isEqualTo(25);
     }
 
+    @Test
+    public void skipUntil() {
+        Source source = new Source("abc(abcd12349;ad\"adada\") ; 123");
+        source.skipUntil(Tokens.SEMICOLON);
+        assertThat(source.index()).isEqualTo(25);
+    }
+
+    @Test
+    public void skipUntilNotPresent() {
+        Source source = new Source("abc\n");
+        source.skipUntil(Tokens.DIGIT);
+        assertThat(source.eof()).isTrue();
+    }
+
     @Test
     public void chompMatches() {
         Source source = new Source("abcdefgABCDEFG1abc");
@@ -519,6 +536,20 @@ public class SourceTest {
         assertThat(source.index()).isEqualTo(11);
     }
 
+    @Test
+    public void skipEnclosedWithNesting() {
+        Source source = new Source("(abc(abc)ab\nc) 1");
+        source.skipEnclosedValue(Tokens.OPEN_PAREN, Tokens.CLOSE_PAREN);
+        assertThat(source.index()).isEqualTo(14);
+        assertThat(source.line()).isEqualTo(2);
+    }
+
+    @Test
+    public void skipEnclosedUnclosed() {
+        Source source = new Source("(abc(abc)");
+        assertThrows(ParserException.class, () -> source.skipEnclosedValue(Tokens.OPEN_PAREN, Tokens.CLOSE_PAREN));
+    }
+
     @Test
     public void chompEnclosedWithNesting() {
         Source source = new Source("(abc(abc)ab\nc)");
@@ -549,6 +580,19 @@ public class SourceTest {
         assertTrue(thrown.getMessage().contains("Expected to find closing"));
     }
 
+    @Test
+    public void discardComments() {
+        Source source = new Source("/*a*/ /*b*/ abc").discardComments();
+        assertThat(source.collectComments().flushComments()).isEmpty();
+        assertThat(source.current()).isEqualTo('a');
+    }
+
+    @Test
+    public void discardCommentsUnclosed() {
+        Source source = new Source("/*a").discardComments();
+        assertThrows(ParserException.class, source::collectComments);
+    }
+
     @Test
     public void collectComments() {
         Source source = new Source("/*abc*/ /____ abc");
@@ -558,6 +602,16 @@ public class SourceTest {
         assertThat(source.flushComments()).hasSize(0);
     }
 
+    @Test
+    public void flushCommentUnits() {
+        Source source = new Source("/*abc*/ /*!123*/ abc");
+        List<Comment> comments = source.collectComments().flushCommentUnits();
+        assertThat(comments).hasSize(2);
+        assertThat(comments.get(0).content()).isEqualTo("abc");
+        assertThat(comments.get(1).startsWithBang()).isTrue();
+        assertThat(source.flushCommentUnits()).isEmpty();
+    }
+
     @Test
     public void collectCommentsMultiple() {
         Source source = new Source("/*abc*//*123*/....");
@@ -700,6 +754,71 @@ public class SourceTest {
         assertThrows(ParserException.class, () -> snapshot.rollback(Message.EXPECTED_DECIMAL));
     }
 
+    @Test
+    public void markAndReset() {
+        Source source = new Source("ab\nc123");
+        source.next();
+        long mark = source.mark();
+        source.forward(4);
+
+        assertThat(source.line()).isEqualTo(2);
+        assertThat(source.column()).isEqualTo(2);
+
+        assertThat(source.reset(mark)).isFalse();
+        assertThat(source.index()).isEqualTo(1);
+        assertThat(source.line()).isEqualTo(1);
+        assertThat(source.column()).isEqualTo(2);
+        assertThat(Source.markIndex(mark)).isEqualTo(1);
+    }
+
+    @Test
+    public void resetForwardAcrossLines() {
+        Source source = new Source("a\nb\n\nc");
+        long start = source.mark();
+        source.forward(5);
+        long mark = source.mark();
+        source.reset(start);
+
+        assertThat(source.index()).isEqualTo(0);
+        assertThat(source.line()).isEqualTo(1);
+
+        source.reset(mark);
+        assertThat(source.index()).isEqualTo(5);
+        assertThat(source.line()).isEqualTo(4);
+        assertThat(source.column()).isEqualTo(1);
+    }
+
+    @Test
+    public void resetRestoresStringState() {
+        Source source = new Source("a'b\"c'd", 1, 1, true);
+        source.forward(2);
+        long mark = source.mark();
+        assertThat(source.inString()).isTrue();
+
+        source.forward(6);
+        assertThat(source.inString()).isFalse();
+
+        source.reset(mark);
+        assertThat(source.inString()).isTrue();
+
+        // the double quote inside the single quoted string doesn't close it
+        source.forward(4);
+        assertThat(source.inString()).isTrue();
+        source.forward(6);
+        assertThat(source.inString()).isFalse();
+    }
+
+    @Test
+    public void resetWithMessage() {
+        Source source = new Source("abc");
+        source.next();
+        long mark = source.mark();
+        source.next();
+        ParserException e = assertThrows(ParserException.class, () -> source.reset(mark, Message.EXPECTED_DECIMAL));
+        assertThat(e.column()).isEqualTo(2);
+        assertThat(source.index()).isEqualTo(1);
+    }
+
     @Test
     public void readConstantMatches() {
         Source source = new Source("abc def ghi");
@@ -781,6 +900,30 @@ public class SourceTest {
         assertThat(source.eof());
     }
 
+    @Test
+    public void readKnownIdentMatches() {
+        Source source = new Source("solid red");
+        assertThat(source.readKnownIdent(Keyword::lookup).get()).isSameAs(Keyword.SOLID);
+        assertThat(source.index()).isEqualTo(5);
+        assertThat(source.column()).isEqualTo(6);
+    }
+
+    @Test
+    public void readKnownIdentDifferentCase() {
+        Source source = new Source("SOLID red");
+        assertThat(source.readKnownIdent(Keyword::lookup).isPresent()).isFalse();
+        assertThat(source.index()).isEqualTo(0);
+        assertThat(source.readIdent().get()).isEqualTo("SOLID");
+    }
+
+    @Test
+    public void readKnownIdentUnknown() {
+        Source source = new Source("solidly");
+        assertThat(source.readKnownIdent(Keyword::lookup).isPresent()).isFalse();
+        assertThat(source.index()).isEqualTo(0);
+        assertThat(source.readKnownIdent(Property::lookup).isPresent()).isFalse();
+    }
+
     @Test
     public void readIdentMatchesUC() {
         Source source = new Source("KEYWORD-one");
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.salesforce.omakase.ast.RawSyntax;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.parser.atrule.AtRuleParser;
+import com.salesforce.omakase.parser.token.Token;
+import com.salesforce.omakase.parser.token.Tokens;
+
+/**
+ * Unit tests for {@link StructureIndex}, as used by {@link Source#chompEnclosedValue(Token, Token)}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class StructureIndexTest {
+    private static final String PADDING = Strings.repeat(" ", Source.STRUCTURE_INDEX_MIN_LENGTH);
+
+    /** compares the result of a direct scan (short source) with the result of using the index (long source) */
+    private static void assertSameAsDirectScan(String enclosed, Token open, Token close) {
+        Source direct = new Source(enclosed);
+        Source indexed = new Source(enclosed + PADDING);
+
+        assertThat(indexed.chompEnclosedValue(open, close)).isEqualTo(direct.chompEnclosedValue(open, close));
+        assertThat(indexed.index()).isEqualTo(direct.index());
+        assertThat(indexed.line()).isEqualTo(direct.line());
+        assertThat(indexed.column()).isEqualTo(direct.column());
+        assertThat(indexed.inString()).isEqualTo(direct.inString());
+        assertThat(indexed.flushComments()).isEqualTo(direct.flushComments());
+    }
+
+    @Test
+    public void nestedBraces() {
+        assertSameAsDirectScan("{a{b{c}d}e}f", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+    }
+
+    @Test
+    public void otherTypesIgnored() {
+        assertSameAsDirectScan("{a(b}c)d}e", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+        assertSameAsDirectScan("(a[b)c]d)e", Tokens.OPEN_PAREN, Tokens.CLOSE_PAREN);
+        assertSameAsDirectScan("[a{b]c}d]e", Tokens.OPEN_BRACKET, Tokens.CLOSE_BRACKET);
+    }
+
+    @Test
+    public void strings() {
+        assertSameAsDirectScan("{a:'}';b:\"}\"}c", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+        assertSameAsDirectScan("(a'b)'\"c\")'d'", Tokens.OPEN_PAREN, Tokens.CLOSE_PAREN);
+    }
+
+    @Test
+    public void comments() {
+        assertSameAsDirectScan("{a /* } */ b /*x*//*y*/ }c", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+    }
+
+    @Test
+    public void escaped() {
+        assertSameAsDirectScan("{a\\}b\\{c}d", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+    }
+
+    @Test
+    public void newlines() {
+        assertSameAsDirectScan("{\n  a {\n    b: c;\n  }\n  /* d\n */\n}  e", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+        assertSameAsDirectScan("{a:b}\ne", Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+    }
+
+    @Test
+    public void fromMiddleOfSource() {
+        String css = "a{b:c}\n@media print {\n  x { y: z; } /* q */\n}\ntail";
+        Source direct = new Source(css);
+        Source indexed = new Source(css + PADDING);
+        direct.forward(css.indexOf('@') + 13);
+        indexed.forward(css.indexOf('@') + 13);
+
+        assertThat(indexed.chompEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE))
+            .isEqualTo(direct.chompEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE));
+        assertThat(indexed.line()).isEqualTo(direct.line());
+        assertThat(indexed.column()).isEqualTo(direct.column());
+        assertThat(indexed.flushComments()).isEqualTo(direct.flushComments());
+    }
+
+    @Test
+    public void unclosedStillThrows() {
+        assertThrows(ParserException.class, () -> new Source("{a{b}" + PADDING).chompEnclosedValue(Tokens.OPEN_BRACE,
+            Tokens.CLOSE_BRACE));
+    }
+
+    @Test
+    public void unclosedCommentAfterBlock() {
+        Source source = new Source("{a}" + PADDING + "/* b");
+        assertThat(source.chompEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE)).isEqualTo("a");
+    }
+
+    @Test
+    public void notSharedWithShortBlock() {
+        String css = "@media print {\n  .a { color: red; }\n}" + PADDING;
+        QueryableBroadcaster broadcaster = new QueryableBroadcaster();
+        new AtRuleParser().parse(new Source(css), new Grammar(), broadcaster);
+
+        RawSyntax block = broadcaster.find(AtRule.class).get().rawBlock().get();
+        assertThat(Source.sharesStructure(block)).isFalse();
+    }
+
+    @Test
+    public void sharedWithBlockSubSource() {
+        String css = "@media print {\n  .a { color: red; }" + PADDING
+            + "@supports (display:flex) { .b { x: y; } /* c */ }\n}" + PADDING;
+        QueryableBroadcaster broadcaster = new QueryableBroadcaster();
+        new AtRuleParser().parse(new Source(css), new Grammar(), broadcaster);
+
+        RawSyntax block = broadcaster.find(AtRule.class).get().rawBlock().get();
+        assertThat(Source.sharesStructure(block)).isTrue();
+
+        // the sub-source should find the same nested block as a fresh scan of the content
+        Source shared = new Source(block);
+        Source fresh = new Source(new RawSyntax(block.line(), block.column(), block.content()));
+        int nested = block.content().indexOf("{ .b");
+        shared.forward(nested);
+        fresh.forward(nested);
+
+        assertThat(shared.chompEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE))
+            .isEqualTo(fresh.chompEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE))
+            .isEqualTo(" .b { x: y; } /* c */ ");
+        assertThat(shared.flushComments()).isEqualTo(fresh.flushComments()).containsExactly(" c ");
+        assertThat(shared.line()).isEqualTo(fresh.line());
+        assertThat(shared.column()).isEqualTo(fresh.column());
+        assertThat(shared.index()).isEqualTo(fresh.index());
+    }
+}
@@ -29,6 +29,7 @@ package com.salesforce.omakase.parser.declaration;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.parser.AbstractParserTest;
 import com.salesforce.omakase.test.util.TemplatesHelper.SourceWithExpectedResult;
 import org.junit.Test;
@@ -122,4 +123,12 @@ public class KeywordValueParserTest extends AbstractParserTest<KeywordValueParse
                 .isEqualTo(result.expected);
         }
     }
+
+    @Test
+    public void knownKeywordIsResolved() {
+        List<ParseResult<String>> results = parseWithExpected(withExpectedResult("inherit ", "inherit"));
+        KeywordValue value = expectOnly(results.get(0).broadcaster, KeywordValue.class);
+        assertThat(value.keyword()).isEqualTo("inherit");
+        assertThat(value.asKeyword().get()).isSameAs(Keyword.INHERIT);
+    }
 }
@@ -180,4 +180,22 @@ public class NumericalValueParserTest extends AbstractParserTest<NumericalValueP
         ParserException thrown = assertThrows(ParserException.class, () -> parse("1."));
         assertTrue(thrown.getMessage().contains(Message.EXPECTED_DECIMAL));
     }
+
+    @Test
+    public void preservesDigits() {
+        List<GenericParseResult> result = parse("007.50px");
+        NumericalValue n = expectOnly(result.get(0).broadcaster, NumericalValue.class);
+        assertThat(n.value()).isEqualTo("007.50");
+        assertThat(n.doubleValue()).isEqualTo(7.5);
+        assertThat(n.unit().get()).isEqualTo("px");
+    }
+
+    @Test
+    public void tooManyDigitsForPrimitive() {
+        List<GenericParseResult> result = parse("-12345678901234567890.5em");
+        NumericalValue n = expectOnly(result.get(0).broadcaster, NumericalValue.class);
+        assertThat(n.value()).isEqualTo("12345678901234567890.5");
+        assertThat(n.explicitSign().get()).isEqualTo(Sign.NEGATIVE);
+        assertThat(n.unit().get()).isEqualTo("em");
+    }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.parser.scan;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.broadcast.emitter.SubscriptionException;
+import com.salesforce.omakase.error.BoundedErrorManager;
+import com.salesforce.omakase.error.ErrorLevel;
+import com.salesforce.omakase.error.ErrorManager;
+import com.salesforce.omakase.parser.ParserException;
+import com.salesforce.omakase.test.util.TemplatesHelper;
+
+/**
+ * Unit tests for {@link SyntaxCheck}.
+ *
+ * @author nmcwilliams
+ */
+public class SyntaxCheckTest {
+    private static final String[] VALID = {
+        "",
+        "  /* comment */  ",
+        ".a{color:red}",
+        ".a, .b > p:hover {color:red; margin: 1px 2px !important;}",
+        "*zoom: 1; .a{*zoom:1}",
+        "@import url(foo.css);",
+        "@charset \"utf-8\";",
+        "@media screen and (max-width: 100px) {.a{color:red} .b{color:blue}}",
+        "@font-face {font-family: foo; src: url(foo.woff)}",
+        ".a{background:url(data:image/png;base64,abc==)}",
+        ".a{content:\"}\"} /* { */ .b{color:red}",
+        TemplatesHelper.GENERIC_CSS_SOURCE,
+        TemplatesHelper.longSource().toString(),
+    };
+
+    private static final String[] INVALID = {
+        ".a{color:red",
+        ".a{color red}",
+        ".a, {color:red}",
+        ".a{color:red}}",
+        ".a{color:red} /* unclosed",
+        "@ {color:red}",
+        "@media ;",
+        "@font-face {   }",
+        "$$$",
+        ".a{color:red} .b",
+        TemplatesHelper.longSource() + ".a{color:red",
+    };
+
+    @Test
+    public void validSources() {
+        for (String source : VALID) {
+            BoundedErrorManager em = SyntaxCheck.check(source);
+            assertThat(em.hasErrors()).as(source).isFalse();
+            Omakase.source(source).process();
+        }
+    }
+
+    @Test
+    public void sameFirstErrorAsProcessing() {
+        for (String source : INVALID) {
+            BoundedErrorManager em = SyntaxCheck.check(source);
+            assertThat(em.errorCount()).as(source).isGreaterThan(0);
+
+            ParserException expected = assertThrows(ParserException.class, () -> Omakase.source(source).process());
+            assertThat(em.message(0)).as(source).isEqualTo(expected.getMessage());
+        }
+    }
+
+    @Test
+    public void continuesAfterErrors() {
+        BoundedErrorManager em = SyntaxCheck.check(".a{color red}\n.b{color:red}\n.c{color blue}\n@media {}\n.d{}");
+        assertThat(em.errorCount()).isEqualTo(3);
+        assertThat(em.line(0)).isEqualTo(1);
+        assertThat(em.line(1)).isEqualTo(3);
+        assertThat(em.line(2)).isEqualTo(4);
+    }
+
+    @Test
+    public void continuesAfterStrayBrace() {
+        BoundedErrorManager em = SyntaxCheck.check(".a{color:red}} .b{color red}");
+        assertThat(em.errorCount()).isEqualTo(2);
+        assertThat(em.column(1)).isEqualTo(25);
+    }
+
+    @Test
+    public void stopsAtUnclosedBlock() {
+        BoundedErrorManager em = SyntaxCheck.check(".a{color red .b{color red} .c{color red}");
+        assertThat(em.errorCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void stopsAtUnclosedComment() {
+        BoundedErrorManager em = SyntaxCheck.check(".a{color:red} /* .b{color red}");
+        assertThat(em.errorCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void stopsAtLimit() {
+        BoundedErrorManager em = new BoundedErrorManager().limit(2);
+        boolean valid = SyntaxCheck.check(".a{color red} .b{color red} .c{color red} .d{color red}", em);
+        assertThat(valid).isFalse();
+        assertThat(em.errorCount()).isEqualTo(2);
+        assertThat(em.aborted()).isTrue();
+    }
+
+    @Test
+    public void messagesNotFormattedUntilQueried() throws Exception {
+        BoundedErrorManager bounded = new BoundedErrorManager();
+        List<ParserException> reported = new ArrayList<>();
+        ErrorManager em = new ErrorManager() {
+            @Override
+            public String getSourceName() {
+                return bounded.getSourceName();
+            }
+
+            @Override
+            public void report(ErrorLevel level, Syntax cause, String message) {
+                bounded.report(level, cause, message);
+            }
+
+            @Override
+            public void report(ParserException exception) {
+                reported.add(exception);
+                bounded.report(exception);
+            }
+
+            @Override
+            public void report(SubscriptionException exception) {
+                bounded.report(exception);
+            }
+
+            @Override
+            public boolean hasErrors() {
+                return bounded.hasErrors();
+            }
+
+            @Override
+            public boolean autoSummarize() {
+                return bounded.autoSummarize();
+            }
+
+            @Override
+            public String summarize() {
+                return bounded.summarize();
+            }
+        };
+
+        SyntaxCheck.check(TemplatesHelper.longSource() + ".a{color red} .b{color red}", em);
+        assertThat(reported).hasSize(2);
+
+        // the message of a ParserException is cached once getMessage() has been called
+        Field message = ParserException.class.getDeclaredField("message");
+        message.setAccessible(true);
+        for (ParserException e : reported) {
+            assertThat(message.get(e)).isNull();
+        }
+
+        assertThat(bounded.summarize()).contains("(...snipped...)");
+        assertThat(bounded.message(0)).isEqualTo(reported.get(0).getMessage());
+    }
+
+    @Test
+    public void returnsTrueWhenValid() {
+        assertThat(SyntaxCheck.check(".a{color:red}", new BoundedErrorManager())).isTrue();
+    }
+}
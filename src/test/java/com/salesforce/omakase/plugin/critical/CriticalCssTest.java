@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.critical;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Stylesheet;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Unit tests for {@link CriticalCss}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class CriticalCssTest {
+    private Dom dom;
+
+    @Before
+    public void setup() {
+        dom = Dom.of(DomElement.of("html").child(DomElement.of("body")
+            .child(DomElement.of("div").id("header").classes("nav", "dark")
+                .child(DomElement.of("a").classes("logo").attribute("href", "/home"))
+                .child(DomElement.of("span").classes("title")))
+            .child(DomElement.of("input").attribute("type", "text").attribute("data-role", "search box"))));
+    }
+
+    private CriticalCss extract(String css) {
+        CriticalCss critical = new CriticalCss(dom);
+        Omakase.source(css).use(critical).process();
+        return critical;
+    }
+
+    private static String write(Stylesheet stylesheet) {
+        return StyleWriter.compressed().writeSingle(stylesheet);
+    }
+
+    @Test
+    public void simpleSelectors() {
+        CriticalCss critical = extract("#header{color:red} .footer{color:blue} span{margin:0} p{margin:1px} *{border:0}");
+        assertThat(write(critical.critical())).isEqualTo("#header{color:red}span{margin:0}*{border:0}");
+        assertThat(write(critical.deferred())).isEqualTo(".footer{color:blue}p{margin:1px}");
+    }
+
+    @Test
+    public void compoundSelectors() {
+        CriticalCss critical = extract("div.nav.dark{color:red} div.nav.light{color:blue} a#header{color:green}");
+        assertThat(write(critical.critical())).isEqualTo("div.nav.dark{color:red}");
+        assertThat(write(critical.deferred())).isEqualTo("div.nav.light{color:blue}a#header{color:green}");
+    }
+
+    @Test
+    public void combinators() {
+        CriticalCss critical = extract("body .logo{z-index:1} .nav>.logo{z-index:2} body>.logo{z-index:3} .logo+.title{z-index:4} .logo~input{z-index:5}"
+            + " #header~input{z-index:6} .title+.logo{z-index:7}");
+        assertThat(write(critical.critical())).isEqualTo("body .logo{z-index:1}.nav>.logo{z-index:2}.logo+.title{z-index:4}#header~input{z-index:6}");
+        assertThat(write(critical.deferred())).isEqualTo("body>.logo{z-index:3}.logo~input{z-index:5}.title+.logo{z-index:7}");
+    }
+
+    @Test
+    public void attributeSelectors() {
+        CriticalCss critical = extract("[type]{z-index:1} [type=text]{z-index:2} [href^='/h']{z-index:3} [href$=me]{z-index:4} [data-role~=box]{z-index:5}"
+            + " [type=radio]{z-index:6} [href*=x]{z-index:7} [lang|=en]{z-index:8}");
+        assertThat(write(critical.critical())).isEqualTo("[type]{z-index:1}[type=text]{z-index:2}[href^=\"/h\"]{z-index:3}[href$=me]{z-index:4}"
+            + "[data-role~=box]{z-index:5}");
+        assertThat(write(critical.deferred())).isEqualTo("[type=radio]{z-index:6}[href*=x]{z-index:7}[lang|=en]{z-index:8}");
+    }
+
+    @Test
+    public void pseudoClasses() {
+        CriticalCss critical = extract(".logo:first-child{z-index:1} .title:first-child{z-index:2} .logo:hover{z-index:3} .title::before{z-index:4}"
+            + " html:root{z-index:5} body:root{z-index:6}");
+        assertThat(write(critical.critical())).isEqualTo(".logo:first-child{z-index:1}.logo:hover{z-index:3}.title:before{z-index:4}"
+            + "html:root{z-index:5}");
+        assertThat(write(critical.deferred())).isEqualTo(".title:first-child{z-index:2}body:root{z-index:6}");
+    }
+
+    @Test
+    public void splitsSelectorGroups() {
+        CriticalCss critical = extract(".footer, .title, .sidebar{color:red}");
+        assertThat(write(critical.critical())).isEqualTo(".title{color:red}");
+        assertThat(write(critical.deferred())).isEqualTo(".footer,.sidebar{color:red}");
+    }
+
+    @Test
+    public void media() {
+        CriticalCss critical = extract("@media (max-width:800px){.title{color:red}.footer{color:blue}}"
+            + "@media print{.footer{color:blue}}");
+        assertThat(write(critical.critical())).isEqualTo("@media (max-width:800px){.title{color:red}}");
+        assertThat(write(critical.deferred())).isEqualTo("@media (max-width:800px){.footer{color:blue}}"
+            + "@media print{.footer{color:blue}}");
+    }
+
+    @Test
+    public void referencedKeyframes() {
+        CriticalCss critical = extract("@keyframes spin{from{top:0}to{top:10px}}@keyframes fade{from{top:0}to{top:1px}}"
+            + ".logo{animation:spin 1s infinite}.footer{animation-name:fade}");
+        assertThat(write(critical.critical())).isEqualTo("@keyframes spin{from{top:0}to{top:10px}}"
+            + ".logo{animation:spin 1s infinite}");
+        assertThat(write(critical.deferred())).isEqualTo("@keyframes fade{from{top:0}to{top:1px}}.footer{animation-name:fade}");
+    }
+
+    @Test
+    public void referencedFontFace() {
+        CriticalCss critical = extract("@font-face{font-family:'Open Sans';src:url(a.woff)}"
+            + "@font-face{font-family:Other;src:url(b.woff)}"
+            + ".title{font:bold 12px \"Open Sans\",sans-serif}");
+        assertThat(write(critical.critical())).isEqualTo("@font-face {font-family:'Open Sans';src:url(a.woff)}"
+            + ".title{font:bold 12px \"Open Sans\",sans-serif}");
+        assertThat(write(critical.deferred())).isEqualTo("@font-face {font-family:Other;src:url(b.woff)}");
+    }
+
+    @Test
+    public void fontFaceMatchesWholeFamilyName() {
+        CriticalCss critical = extract("@font-face{font-family:Icons;src:url(a.woff)}"
+            + "@font-face{font-family:Arial;src:url(b.woff)}"
+            + "@font-face{font-family:\"arial  black\";src:url(c.woff)}"
+            + ".title{font-family:IconsExtended;font:bold 12px/1.5 Arial Black, serif}");
+        assertThat(write(critical.critical())).isEqualTo("@font-face {font-family:\"arial  black\";src:url(c.woff)}"
+            + ".title{font-family:IconsExtended;font:bold 12px/1.5 Arial Black, serif}");
+        assertThat(write(critical.deferred())).isEqualTo("@font-face {font-family:Icons;src:url(a.woff)}"
+            + "@font-face {font-family:Arial;src:url(b.woff)}");
+    }
+
+    @Test
+    public void blocklessAtRulesInBoth() {
+        CriticalCss critical = extract("@charset \"utf-8\";.title{color:red}.footer{color:blue}");
+        assertThat(write(critical.critical())).isEqualTo("@charset \"utf-8\";.title{color:red}");
+        assertThat(write(critical.deferred())).isEqualTo("@charset \"utf-8\";.footer{color:blue}");
+    }
+
+    @Test
+    public void originalNotModified() {
+        CriticalCss critical = new CriticalCss(dom);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".footer, .title{color:red}").use(tree).use(critical).process();
+        assertThat(write(tree.stylesheet())).isEqualTo(".footer,.title{color:red}");
+    }
+
+    @Test
+    public void extractFromCachedStylesheet() {
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".footer{color:red}.dark{color:blue}").use(tree).use(new CriticalCss(dom)).process();
+
+        CriticalCss other = new CriticalCss(Dom.of(DomElement.of("p").classes("footer")));
+        other.extract(tree.stylesheet());
+        assertThat(write(other.critical())).isEqualTo(".footer{color:red}");
+        assertThat(write(other.deferred())).isEqualTo(".dark{color:blue}");
+    }
+
+    @Test
+    public void domFromMap() {
+        Map<String, Object> map = ImmutableMap.of(
+            "tag", "BODY",
+            "children", ImmutableList.of(
+                ImmutableMap.of("tag", "div", "id", "main", "class", "a b"),
+                ImmutableMap.of("tag", "p", "class", ImmutableList.of("c"), "attributes", ImmutableMap.of("title", "x"))));
+
+        Dom fromMap = Dom.fromMap(map);
+        assertThat(fromMap.all()).hasSize(3);
+        assertThat(fromMap.withTag("body")).hasSize(1);
+        assertThat(fromMap.withId("main").get(0).classes()).containsOnly("a", "b");
+        assertThat(fromMap.withClass("c").get(0).attribute("title").get()).isEqualTo("x");
+        assertThat(fromMap.withClass("c").get(0).previousSibling().get().id().get()).isEqualTo("main");
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.misc;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.broadcast.annotation.Rework;
+import com.salesforce.omakase.plugin.Plugin;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.util.CssAnnotations;
+
+/**
+ * Unit tests for {@link AnnotationIndex}.
+ *
+ * @author nmcwilliams
+ */
+public class AnnotationIndexTest {
+    private static final String SOURCE = "/* @first */ .x{/* @noflip */ left:0; right:0; /* @noflip */ margin-left:0}" +
+        ".y{/* @second one two */ color:red}";
+
+    @Test
+    public void findsAnnotatedUnits() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SOURCE).use(index).use(AutoRefine.everything()).process();
+
+        assertThat(index.annotated(CssAnnotations.NOFLIP)).hasSize(2);
+        assertThat(index.annotated("first")).hasSize(1);
+        assertThat(index.annotated("first").get(0)).isInstanceOf(Selector.class);
+        assertThat(index.annotated("second").get(0).annotation("second").get().spaceSeparatedArgs())
+            .containsExactly("one", "two");
+        assertThat(index.annotated("third")).isEmpty();
+        assertThat(index.names()).containsOnly("first", "second", CssAnnotations.NOFLIP);
+    }
+
+    @Test
+    public void filtersByType() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SOURCE).use(index).use(AutoRefine.everything()).process();
+
+        assertThat(index.annotated(CssAnnotations.NOFLIP, Declaration.class)).hasSize(2);
+        assertThat(index.annotated(CssAnnotations.NOFLIP, Declaration.class).get(1).propertyName().name())
+            .isEqualTo("margin-left");
+        assertThat(index.annotated("first", Declaration.class)).isEmpty();
+        assertThat(index.annotated("first", Syntax.class)).hasSize(1);
+    }
+
+    @Test
+    public void excludesDestroyedUnits() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SOURCE).use(index).use(AutoRefine.everything()).use(new Plugin() {
+            @Rework
+            public void rework(Declaration declaration) {
+                if (declaration.isProperty("margin-left")) declaration.destroy();
+            }
+        }).process();
+
+        assertThat(index.annotated(CssAnnotations.NOFLIP)).hasSize(1);
+    }
+
+    @Test
+    public void reusableForMultipleStylesheets() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.Session session = Omakase.session().use(index).use(AutoRefine.everything());
+
+        session.process(SOURCE);
+        assertThat(index.annotated(CssAnnotations.NOFLIP)).hasSize(2);
+
+        session.process(".z{/* @third */ color:blue}");
+        assertThat(index.annotated(CssAnnotations.NOFLIP)).isEmpty();
+        assertThat(index.annotated("third")).hasSize(1);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.misc;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.plugin.conditionals.Conditionals;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Unit tests for {@link CustomPropertyInliner}.
+ *
+ * @author nmcwilliams
+ */
+public class CustomPropertyInlinerTest {
+    private static String inline(String source) {
+        return inline(source, new CustomPropertyInliner());
+    }
+
+    private static String inline(String source, CustomPropertyInliner inliner) {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(source).use(inliner).use(writer).process();
+        return writer.write();
+    }
+
+    @Test
+    public void inlinesRootDefinition() {
+        assertThat(inline(":root{--brand:#0070d2}.a{color:var(--brand)}"))
+            .isEqualTo(":root{--brand:#0070d2}.a{color:#0070d2}");
+    }
+
+    @Test
+    public void definitionAfterReference() {
+        assertThat(inline(".a{color:var(--brand)}:root{--brand:red}")).isEqualTo(".a{color:red}:root{--brand:red}");
+    }
+
+    @Test
+    public void ignoresFallbackWhenKnown() {
+        assertThat(inline(":root{--brand:red}.a{color:var(--brand, blue)}")).isEqualTo(":root{--brand:red}.a{color:red}");
+    }
+
+    @Test
+    public void inlinesMultipleTerms() {
+        assertThat(inline(":root{--fonts:Arial, sans-serif}.a{font-family:var(--fonts)}"))
+            .isEqualTo(":root{--fonts:Arial,sans-serif}.a{font-family:Arial,sans-serif}");
+    }
+
+    @Test
+    public void inlinesAmongOtherTerms() {
+        assertThat(inline(":root{--gap:4px}.a{margin:0 var(--gap) 2px}")).isEqualTo(":root{--gap:4px}.a{margin:0 4px 2px}");
+    }
+
+    @Test
+    public void inlinesWithinFunctionArgs() {
+        assertThat(inline(":root{--rgb:212, 108, 166}.a{color:rgba(var(--rgb), 1)}"))
+            .isEqualTo(":root{--rgb:212,108,166}.a{color:rgba(212,108,166, 1)}");
+    }
+
+    @Test
+    public void inlinesWithinLinearGradient() {
+        assertThat(inline(":root{--c:red}.a{background:linear-gradient(to bottom, var(--c), green)}"))
+            .isEqualTo(":root{--c:red}.a{background:linear-gradient(to bottom, red, green)}");
+    }
+
+    @Test
+    public void skipsUrlAndStringArgs() {
+        assertThat(inline(":root{--x:red}.a{background:image-set(url(var(--x)) 1x, \"var(--x)\" 2x, var(--x))}"))
+            .isEqualTo(":root{--x:red}.a{background:image-set(url(var(--x)) 1x, \"var(--x)\" 2x, red)}");
+        assertThat(inline(":root{--x:red;--y:url(var(--x))}.a{color:var(--x)}"))
+            .isEqualTo(":root{--x:red;--y:url(var(--x))}.a{color:red}");
+    }
+
+    @Test
+    public void flattensChains() {
+        assertThat(inline(":root{--a:red;--b:var(--a);--c:var(--b)}.x{color:var(--c)}"))
+            .isEqualTo(":root{--a:red;--b:red;--c:red}.x{color:red}");
+    }
+
+    @Test
+    public void lastDefinitionWins() {
+        assertThat(inline(":root{--a:red}:root{--a:blue}.x{color:var(--a)}"))
+            .isEqualTo(":root{--a:red}:root{--a:blue}.x{color:blue}");
+    }
+
+    @Test
+    public void namesAreCaseSensitive() {
+        assertThat(inline(":root{--Brand:red;--brand:blue}.x{color:var(--Brand)}"))
+            .isEqualTo(":root{--Brand:red;--brand:blue}.x{color:red}");
+    }
+
+    @Test
+    public void leavesUndefined() {
+        assertThat(inline(".x{color:var(--a, red)}")).isEqualTo(".x{color:var(--a, red)}");
+    }
+
+    @Test
+    public void leavesRedefinedInOtherRule() {
+        assertThat(inline(":root{--a:red}.panel{--a:blue}.x{color:var(--a)}"))
+            .isEqualTo(":root{--a:red}.panel{--a:blue}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesRedefinedInMedia() {
+        assertThat(inline(":root{--a:red}@media print{:root{--a:blue}}.x{color:var(--a)}"))
+            .isEqualTo(":root{--a:red}@media print{:root{--a:blue}}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesRootWithOtherSelectors() {
+        assertThat(inline(":root,.dark{--a:red}.x{color:var(--a)}")).isEqualTo(":root,.dark{--a:red}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesImportantDefinition() {
+        assertThat(inline(":root{--a:red !important}.x{color:var(--a)}")).isEqualTo(":root{--a:red!important}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesDependentOnUnknown() {
+        assertThat(inline(":root{--a:var(--b)}.x{color:var(--a)}")).isEqualTo(":root{--a:var(--b)}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesCycles() {
+        assertThat(inline(":root{--a:var(--b);--b:var(--a)}.x{color:var(--a)}"))
+            .isEqualTo(":root{--a:var(--b);--b:var(--a)}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesEmptyDefinition() {
+        assertThat(inline(":root{--a: ;}.x{color:var(--a)}")).isEqualTo(":root{--a:}.x{color:var(--a)}");
+    }
+
+    @Test
+    public void leavesDefinedInUnrefinedBlock() {
+        String source = ":root{--a:red}@if(ie){.x{--a:blue}}.y{color:var(--a)}";
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(source).use(new CustomPropertyInliner()).use(writer).process();
+        assertThat(writer.write()).endsWith(".y{color:var(--a)}");
+
+        // with conditionals the block is refined and the definition is seen
+        writer = StyleWriter.compressed();
+        Omakase.source(source).use(new CustomPropertyInliner()).use(new Conditionals(true)).use(writer).process();
+        assertThat(writer.write()).endsWith(".y{color:var(--a)}");
+    }
+
+    @Test
+    public void removesUnusedDefinitions() {
+        CustomPropertyInliner inliner = new CustomPropertyInliner().removeUnused(true);
+        assertThat(inline(":root{--a:red;--b:blue}:root{--c:green}.x{color:var(--a)}", inliner))
+            .isEqualTo(":root{--b:blue}:root{--c:green}.x{color:red}");
+    }
+
+    @Test
+    public void removesWholeRule() {
+        CustomPropertyInliner inliner = new CustomPropertyInliner().removeUnused(true);
+        assertThat(inline(":root{--a:red}.x{color:var(--a)}", inliner)).isEqualTo(".x{color:red}");
+    }
+
+    @Test
+    public void keepsDefinitionsStillReferenced() {
+        CustomPropertyInliner inliner = new CustomPropertyInliner().removeUnused(true);
+        assertThat(inline(":root{--a:red}.panel{--b:blue}.x{color:var(--b, var(--a))}", inliner))
+            .isEqualTo(":root{--a:red}.panel{--b:blue}.x{color:var(--b, var(--a))}");
+    }
+
+    @Test
+    public void countsInlined() {
+        CustomPropertyInliner inliner = new CustomPropertyInliner();
+        inline(":root{--a:red;--b:var(--a)}.x{color:var(--a);background:linear-gradient(var(--a), var(--c))}", inliner);
+        assertThat(inliner.inlined()).isEqualTo(3);
+    }
+
+    @Test
+    public void reusableForMultipleStylesheets() {
+        CustomPropertyInliner inliner = new CustomPropertyInliner();
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.Session session = Omakase.session().use(inliner).use(writer);
+
+        session.process(":root{--a:red}.x{color:var(--a);background:var(--a)}");
+        assertThat(writer.write()).isEqualTo(":root{--a:red}.x{color:red;background:red}");
+        assertThat(inliner.inlined()).isEqualTo(2);
+
+        session.process(":root{--b:blue}.y{color:var(--a);border-color:var(--b)}");
+        assertThat(writer.write()).isEqualTo(":root{--b:blue}.y{color:var(--a);border-color:blue}");
+        assertThat(inliner.inlined()).isEqualTo(1);
+    }
+}
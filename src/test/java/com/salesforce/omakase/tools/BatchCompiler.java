@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hashing;
+import com.salesforce.omakase.tools.daemon.CompileDaemon;
+import com.salesforce.omakase.tools.daemon.CompileRequest;
+import com.salesforce.omakase.tools.daemon.CompileResult;
+import com.salesforce.omakase.tools.daemon.Preset;
+import com.salesforce.omakase.writer.WriterMode;
+
+/**
+ * Compiles every .css file in a directory tree, writing the results to the same relative paths under an output directory.
+ * <p>
+ * Files are compiled in parallel on a worker pool sized to the available cores. The content hash of each compiled file (along
+ * with the preset and mode) is recorded in the output directory, so that files that haven't changed since the last run are
+ * skipped. The time taken for each file is printed, followed by a summary of the overall throughput.
+ * <p>
+ * Run the main method or use 'script/omakase.sh --batch input-dir output-dir [preset] [mode]'.
+ *
+ * @author nmcwilliams
+ */
+public final class BatchCompiler {
+    /** name of the file in the output directory recording the hash of each compiled file */
+    static final String HASHES = ".omakase-hashes";
+
+    private final Path input;
+    private final Path output;
+    private final Preset preset;
+    private final WriterMode mode;
+    private final int threads;
+
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final AtomicInteger compiled = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * Creates a new {@link BatchCompiler}.
+     *
+     * @param input
+     *     Compile the .css files in this directory (and subdirectories).
+     * @param output
+     *     Write the compiled files to this directory. This can't be the input directory or inside of it, otherwise the compiled
+     *     files would be picked up as sources on the next run.
+     * @param preset
+     *     The plugins to use.
+     * @param mode
+     *     The output mode.
+     * @param threads
+     *     Number of worker threads.
+     */
+    public BatchCompiler(Path input, Path output, Preset preset, WriterMode mode, int threads) {
+        checkArgument(Files.isDirectory(input), "input must be a directory: %s", input);
+        checkArgument(!output.toAbsolutePath().normalize().startsWith(input.toAbsolutePath().normalize()),
+            "output directory must not be inside the input directory: %s", output);
+        checkArgument(threads > 0, "threads must be > 0");
+        this.input = input;
+        this.output = output;
+        this.preset = preset;
+        this.mode = mode;
+        this.threads = threads;
+    }
+
+    /**
+     * Compiles the files in a directory.
+     *
+     * @param args
+     *     The input directory, the output directory and optionally the {@link Preset} and {@link WriterMode} names.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BatchCompiler compiler = fromArgs(args);
+        if (compiler != null && !compiler.run()) System.exit(1);
+    }
+
+    /** creates a compiler from the command line arguments, or prints the usage and returns null if there aren't enough */
+    static BatchCompiler fromArgs(String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: <input dir> <output dir> [plain|standard|prefix] [verbose|inline|compressed]");
+            return null;
+        }
+
+        Preset preset = args.length > 2 ? Preset.valueOf(args[2].toUpperCase(Locale.ROOT)) : Preset.STANDARD;
+        WriterMode mode = args.length > 3 ? WriterMode.valueOf(args[3].toUpperCase(Locale.ROOT)) : WriterMode.COMPRESSED;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        return new BatchCompiler(Paths.get(args[0]), Paths.get(args[1]), preset, mode, threads);
+    }
+
+    /** the directory containing the source files */
+    Path input() {
+        return input;
+    }
+
+    /** the number of worker threads */
+    int threads() {
+        return threads;
+    }
+
+    /**
+     * Compiles all of the files.
+     *
+     * @return True if all files compiled successfully.
+     *
+     * @throws IOException
+     *     If there is a problem reading the input directory or writing the hashes.
+     * @throws InterruptedException
+     *     If interrupted while waiting for the files to be compiled.
+     */
+    public boolean run() throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(input)) {
+            files = stream.filter(BatchCompiler::isCss).sorted().collect(Collectors.toList());
+        }
+
+        Files.createDirectories(output);
+        readHashes();
+
+        // forget about files that no longer exist
+        hashes.keySet().retainAll(files.stream().map(this::relative).collect(Collectors.toSet()));
+
+        System.out.printf("compiling %d files from %s to %s (%s, %s, %d threads)\n\n", files.size(), input, output,
+            preset.name().toLowerCase(Locale.ROOT), mode.name().toLowerCase(Locale.ROOT), threads);
+
+        // bounded queue, so that only a few compiles are waiting at a time (when full the submitting thread compiles instead)
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        long start = System.nanoTime();
+        for (Path file : files) {
+            workers.execute(() -> compile(file));
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long nanos = System.nanoTime() - start;
+
+        writeHashes();
+        printSummary(nanos);
+
+        return failed.get() == 0;
+    }
+
+    /**
+     * Compiles a single file, unless it hasn't changed since it was last compiled. This is called concurrently from the workers.
+     *
+     * @param file
+     *     The file to compile, somewhere under the input directory.
+     *
+     * @return True unless the file failed to compile.
+     */
+    boolean compile(Path file) {
+        String relative = relative(file);
+        Path destination = output.resolve(relative);
+
+        try {
+            byte[] content = Files.readAllBytes(file);
+            String hash = Hashing.sha256().newHasher()
+                .putBytes(content)
+                .putString(preset.name(), StandardCharsets.UTF_8)
+                .putString(mode.name(), StandardCharsets.UTF_8)
+                .hash()
+                .toString();
+
+            if (hash.equals(hashes.get(relative)) && Files.exists(destination)) {
+                skipped.incrementAndGet();
+                print(String.format("%10s  %s", "unchanged", relative));
+                return true;
+            }
+
+            String source = new String(content, StandardCharsets.UTF_8);
+            CompileResult result = CompileDaemon.compile(CompileRequest.of(source).name(relative).preset(preset).mode(mode));
+
+            if (result.successful()) {
+                Files.createDirectories(destination.getParent());
+                Files.write(destination, result.output().getBytes(StandardCharsets.UTF_8));
+                hashes.put(relative, hash);
+                compiled.incrementAndGet();
+                bytes.addAndGet(content.length);
+                print(String.format("%8.1fms  %s", result.nanos() / 1_000_000d, relative));
+                return true;
+            }
+
+            print(String.format("%10s  %s\n%s", "FAILED", relative, result.output()));
+        } catch (IOException | RuntimeException e) {
+            print(String.format("%10s  %s\n%s", "FAILED", relative, e));
+        }
+
+        hashes.remove(relative);
+        failed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Deletes the output of a source file that was removed.
+     *
+     * @param file
+     *     The deleted file, somewhere under the input directory.
+     *
+     * @throws IOException
+     *     If the output file can't be deleted.
+     */
+    void delete(Path file) throws IOException {
+        String relative = relative(file);
+        hashes.remove(relative);
+        if (Files.deleteIfExists(output.resolve(relative))) {
+            print(String.format("%10s  %s", "deleted", relative));
+        }
+    }
+
+    private void readHashes() throws IOException {
+        Path file = output.resolve(HASHES);
+        if (!Files.exists(file)) return;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            hashes.put(name, properties.getProperty(name));
+        }
+    }
+
+    /** records the hash of each compiled file in the output directory */
+    void writeHashes() throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(hashes);
+        try (Writer writer = Files.newBufferedWriter(output.resolve(HASHES), StandardCharsets.UTF_8)) {
+            properties.store(writer, "content hashes of compiled files, used to skip unchanged files");
+        }
+    }
+
+    private void printSummary(long nanos) {
+        double seconds = nanos / 1_000_000_000d;
+        double megabytes = bytes.get() / (1024d * 1024d);
+
+        System.out.println();
+        System.out.printf("%d compiled, %d unchanged, %d failed in %.2fs\n", compiled.get(), skipped.get(), failed.get(), seconds);
+        System.out.printf("%.2f MB/s, %.1f files/s\n", megabytes / seconds, compiled.get() / seconds);
+    }
+
+    private String relative(Path file) {
+        return input.relativize(file).toString();
+    }
+
+    /** whether the given path is a .css file */
+    static boolean isCss(Path path) {
+        return Files.isRegularFile(path) && path.toString().endsWith(".css");
+    }
+
+    static synchronized void print(String line) {
+        System.out.println(line);
+    }
+}
@@ -50,6 +50,7 @@ public class GenerateKeywordEnum {
               .generator(GenerateKeywordEnum.class)
               .classToWrite(Keyword.class)
               .source("keywords.yaml")
+              .perfectHash("keywords")
               .template("keyword-to-enum.ftl")
               .write();
     }
@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.tools;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -36,13 +37,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.yaml.snakeyaml.Yaml;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Table;
 import com.google.common.primitives.Doubles;
 import com.salesforce.omakase.data.Browser;
 import com.salesforce.omakase.data.Keyword;
@@ -52,7 +56,8 @@ import com.salesforce.omakase.data.Property;
 import freemarker.template.TemplateException;
 
 /**
- * Handles updating the {@link PrefixTables} class.
+ * Handles updating the {@link PrefixTables} class, along with the binary resource containing the same data (see {@link
+ * PrefixTablesDataWriter}).
  * <p>
  * Run the main method or use 'script/omakase.sh'.
  * <p>
@@ -106,6 +111,25 @@ public class GeneratePrefixTablesClass {
               .data("selectors", selectors)
               .data("functions", functions);
         writer.write();
+
+        // write out the binary resource with the same data, which is what is actually read at runtime
+        File resource = Tools.getResourceFile(PrefixTables.class, PrefixTablesDataWriter.RESOURCE);
+        System.out.println("writing " + resource);
+        new PrefixTablesDataWriter().write(resource,
+            table(properties, info -> info.property),
+            table(keywords, info -> info.keyword),
+            table(atRules, info -> info.name),
+            table(selectors, info -> info.name),
+            table(functions, info -> info.name));
+    }
+
+    /** converts the information to a table */
+    private static <I extends Info, K> Table<K, Browser, Double> table(List<I> info, Function<I, K> key) {
+        ImmutableTable.Builder<K, Browser, Double> builder = ImmutableTable.builder();
+        for (I i : info) {
+            builder.put(key.apply(i), i.browser, i.version);
+        }
+        return builder.build();
     }
 
     /** load information on all the prefixable properties */
@@ -259,8 +283,8 @@ public class GeneratePrefixTablesClass {
     }
 
     private static class Info {
-        private final Browser browser;
-        private final Double version;
+        final Browser browser;
+        final Double version;
 
         public Info(Browser browser, Double version) {
             this.browser = browser;
@@ -50,6 +50,7 @@ public class GeneratePropertyEnum {
               .generator(GeneratePropertyEnum.class)
               .classToWrite(Property.class)
               .source("properties.yaml")
+              .perfectHash("properties")
               .template("property-to-enum.ftl")
               .write();
     }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Table;
+import com.google.common.io.Files;
+import com.salesforce.omakase.data.Browser;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.PrefixTables;
+import com.salesforce.omakase.data.Property;
+
+/**
+ * Writes the binary resource containing the same data as the {@link PrefixTables} class, which is what is actually read at
+ * runtime. The format must match what is read by {@code com.salesforce.omakase.data.PrefixTableData}.
+ * <p>
+ * This is used by {@link GeneratePrefixTablesClass}.
+ *
+ * @author nmcwilliams
+ */
+public final class PrefixTablesDataWriter {
+    /** name of the resource, relative to the {@link PrefixTables} class */
+    public static final String RESOURCE = "prefix-tables.dat";
+
+    private static final int MAGIC = 0x4F4D4B50;
+    private static final int FORMAT = 1;
+
+    /**
+     * Writes the resource file.
+     *
+     * @param file
+     *     Write to this file.
+     * @param properties
+     *     The prefix data for properties.
+     * @param keywords
+     *     The prefix data for keywords.
+     * @param atRules
+     *     The prefix data for at-rules.
+     * @param selectors
+     *     The prefix data for selectors.
+     * @param functions
+     *     The prefix data for functions.
+     *
+     * @throws IOException
+     *     If there is a problem writing to the file.
+     */
+    public void write(File file,
+        Table<Property, Browser, Double> properties,
+        Table<Keyword, Browser, Double> keywords,
+        Table<String, Browser, Double> atRules,
+        Table<String, Browser, Double> selectors,
+        Table<String, Browser, Double> functions) throws IOException {
+
+        List<byte[]> sections = ImmutableList.of(
+            section(properties), section(keywords), section(atRules), section(selectors), section(functions));
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT);
+
+        // the browser list comes after the offsets, so compute its size first
+        ByteArrayOutputStream browsers = new ByteArrayOutputStream();
+        DataOutputStream browsersOut = new DataOutputStream(browsers);
+        browsersOut.writeByte(Browser.values().length);
+        for (Browser browser : Browser.values()) {
+            browsersOut.writeUTF(browser.name());
+        }
+
+        int offset = out.size() + sections.size() * 4 + browsers.size();
+        for (byte[] section : sections) {
+            out.writeInt(offset);
+            offset += section.length;
+        }
+        out.write(browsers.toByteArray());
+        for (byte[] section : sections) {
+            out.write(section);
+        }
+
+        Files.write(header.toByteArray(), file);
+    }
+
+    /** writes one category section */
+    private static byte[] section(Table<?, Browser, Double> table) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeShort(table.rowKeySet().size());
+        for (Map.Entry<?, Map<Browser, Double>> row : table.rowMap().entrySet()) {
+            Object key = row.getKey();
+            out.writeUTF(key instanceof Enum ? ((Enum<?>)key).name() : key.toString());
+            out.writeByte(row.getValue().size());
+            for (Map.Entry<Browser, Double> entry : row.getValue().entrySet()) {
+                out.writeByte(entry.getKey().ordinal());
+                out.writeDouble(entry.getValue());
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+}
@@ -27,6 +27,7 @@
 package com.salesforce.omakase.tools;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
@@ -38,7 +39,15 @@ import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.salesforce.omakase.tools.daemon.CompileClient;
+import com.salesforce.omakase.tools.daemon.CompileDaemon;
+import com.salesforce.omakase.tools.perf.CorpusGenerator;
+import com.salesforce.omakase.tools.perf.DaemonBenchmark;
 import com.salesforce.omakase.tools.perf.RunPerfTest;
+import com.salesforce.omakase.tools.perf.ScalingBenchmark;
+import com.salesforce.omakase.tools.perf.StartupBenchmark;
 
 /**
  * Omakase CLI. See script/omakase.sh.
@@ -48,12 +57,31 @@ import com.salesforce.omakase.tools.perf.RunPerfTest;
 public class Run {
     public static final String USAGE = "Usage: omakase [options]";
 
+    @Option(name = "-a", aliases = "--batch", usage = "compile all .css files in a directory tree in parallel",
+        metaVar = "<in> <out> [preset] [mode]")
+    private boolean batch;
+
     @Option(name = "-b", aliases = "--build", usage = "build the project")
     private boolean build;
 
     @Option(name = "-p", aliases = "--perf", usage = "performance test", metaVar = "<args>")
     private boolean perf;
 
+    @Option(name = "-c", aliases = "--compile", usage = "compile the given files with the standard plugins", metaVar = "<files>")
+    private boolean compile;
+
+    @Option(name = "-d", aliases = "--daemon", usage = "start the compile daemon", metaVar = "<port>")
+    private boolean daemon;
+
+    @Option(name = "-r", aliases = "--remote", usage = "compile the given files with a running daemon", metaVar = "<port> <files>")
+    private boolean remote;
+
+    @Option(name = "-e", aliases = "--daemon-perf", usage = "compare compile throughput of the daemon vs. a process per compile")
+    private boolean daemonPerf;
+
+    @Option(name = "-t", aliases = "--startup", usage = "measure startup time, with and without an AppCDS archive (see script/appcds.sh)")
+    private boolean startup;
+
     @Option(name = "-u", aliases = "--update", usage = "regenerate data enum, data class and prefixes source files")
     private boolean update;
 
@@ -72,6 +100,18 @@ public class Run {
     @Option(name = "-i", aliases = {"--interactive", "--shell"}, usage = "interactive shell")
     private boolean interactive;
 
+    @Option(name = "-f", aliases = "--watch", usage = "compile a directory tree, then recompile files as they change",
+        metaVar = "<in> <out> [preset] [mode]")
+    private boolean watch;
+
+    @Option(name = "-g", aliases = "--generate", usage = "generate a synthetic stylesheet for perf testing",
+        metaVar = "<size> [seed] [file]")
+    private boolean generate;
+
+    @Option(name = "-z", aliases = "--scaling",
+        usage = "measure how parse/refine/write time and allocation scale from 10KB to 100MB", metaVar = "[max size] [seed]")
+    private boolean scaling;
+
     @Option(name = "-h", aliases = "--help", usage = "print this help message")
     private boolean help;
 
@@ -102,6 +142,26 @@ public class Run {
                 } else {
                     RunPerfTest.run(arguments);
                 }
+            } else if (compile) {
+                for (String path : arguments) {
+                    System.out.println(StartupTraining.compile(Files.asCharSource(new File(path), Charsets.UTF_8).read()));
+                }
+            } else if (batch) {
+                BatchCompiler.main(arguments.toArray(new String[0]));
+            } else if (watch) {
+                WatchCompiler.main(arguments.toArray(new String[0]));
+            } else if (daemon) {
+                CompileDaemon.main(arguments.toArray(new String[0]));
+            } else if (remote) {
+                CompileClient.main(arguments.toArray(new String[0]));
+            } else if (daemonPerf) {
+                DaemonBenchmark.main(arguments.toArray(new String[0]));
+            } else if (startup) {
+                StartupBenchmark.main(arguments.toArray(new String[0]));
+            } else if (generate) {
+                CorpusGenerator.main(arguments.toArray(new String[0]));
+            } else if (scaling) {
+                ScalingBenchmark.main(arguments.toArray(new String[0]));
             } else if (update) {
                 GeneratePrefixEnum.run();
                 GenerateKeywordEnum.run();
@@ -40,6 +40,8 @@ import org.yaml.snakeyaml.Yaml;
 import com.google.common.base.Charsets;
 import com.google.common.collect.Maps;
 import com.google.common.io.Files;
+import com.google.common.primitives.Ints;
+import com.salesforce.omakase.data.PerfectHashTable;
 
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -62,6 +64,7 @@ final class SourceWriter {
     private Class<?> generator;
     private Class<?> klass;
     private String source;
+    private String perfectHashKey;
 
     /** specifies which class is responsible for generating the enum (for javadoc comment) */
     public SourceWriter generator(Class<?> generator) {
@@ -87,6 +90,15 @@ final class SourceWriter {
         return this;
     }
 
+    /**
+     * computes the seeds for a {@link PerfectHashTable} of the list under the given key in the data file. The seeds and table size
+     * will be available to the template as "hashSeeds" and "hashSize"
+     */
+    public SourceWriter perfectHash(String key) {
+        this.perfectHashKey = key;
+        return this;
+    }
+
     /** adds data for the template */
     public SourceWriter data(String key, Object data) {
         this.data.put(key, data);
@@ -129,6 +141,19 @@ final class SourceWriter {
             }
         }
 
+        // optionally compute the perfect hash seeds
+        if (perfectHashKey != null) {
+            System.out.println("computing perfect hash...");
+            List<String> names = (List<String>)data.get(perfectHashKey);
+            checkState(names != null, "no list found for key '%s'", perfectHashKey);
+
+            // a table twice the number of names, with roughly 4 names per bucket
+            int size = Integer.highestOneBit(names.size() * 2 - 1) << 1;
+            int buckets = Math.max(2, size / 8);
+            data.put("hashSeeds", Ints.asList(PerfectHashTable.seeds(names, buckets, size)));
+            data.put("hashSize", size);
+        }
+
         // load the template
         System.out.println("loading template...");
         Template template = Tools.getTemplate(templateName);
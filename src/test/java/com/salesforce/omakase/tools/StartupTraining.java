@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools;
+
+import java.io.IOException;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.error.DefaultErrorManager;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.StandardValidation;
+import com.salesforce.omakase.plugin.prefixer.PrefixCleaner;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Training run for an AppCDS (application class data sharing) archive.
+ * <p>
+ * This compiles the bundled perf test stylesheets with the standard set of plugins (see {@link #compile(String)}), which loads
+ * the classes used by a typical CLI compile. Run this with {@code -XX:ArchiveClassesAtExit=<file>} (JDK 13+) to dump those
+ * classes into an archive, then start later JVMs with {@code -XX:SharedArchiveFile=<file>} to skip most of the class loading and
+ * verification. See 'script/appcds.sh', and {@link com.salesforce.omakase.tools.perf.StartupBenchmark} to measure the
+ * difference.
+ *
+ * @author nmcwilliams
+ */
+public final class StartupTraining {
+    private static final String[] SHEETS = {"/perftest/light.css", "/perftest/heavy.css"};
+
+    private StartupTraining() {}
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        int chars = 0;
+
+        for (String sheet : SHEETS) {
+            String source = Tools.readFile(sheet);
+            chars += compile(source).length();
+            chars += compile(source, StyleWriter.verbose()).length();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("training run complete (" + chars + " chars written in " + millis + "ms)");
+    }
+
+    /**
+     * Compiles the given source with the standard set of plugins, using compressed output.
+     *
+     * @param source
+     *     The CSS source.
+     *
+     * @return The output.
+     */
+    public static String compile(String source) {
+        return compile(source, StyleWriter.compressed());
+    }
+
+    /**
+     * Compiles the given source with the standard set of plugins: auto refinement of everything, standard validation, prefixing
+     * for the default browser support and removal of mismatched prefixed units.
+     *
+     * @param source
+     *     The CSS source.
+     * @param writer
+     *     Writes the output.
+     *
+     * @return The output.
+     */
+    public static String compile(String source, StyleWriter writer) {
+        Omakase.source(source)
+            .use(AutoRefine.everything())
+            .use(new StandardValidation())
+            .use(Prefixer.defaultBrowserSupport())
+            .use(PrefixCleaner.mismatchedPrefixedUnits())
+            .use(new DefaultErrorManager().rethrow(false))
+            .use(writer)
+            .process();
+
+        return writer.write();
+    }
+}
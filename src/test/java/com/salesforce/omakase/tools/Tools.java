@@ -31,7 +31,7 @@ import java.io.IOException;
 import java.net.URL;
 
 import com.google.common.base.Charsets;
-import com.google.common.io.Files;
+import com.google.common.io.Resources;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -52,7 +52,7 @@ public final class Tools {
 
     /** reads a file from the classpath */
     public static String readFile(String path) throws IOException {
-        return Files.asCharSource(getFile(path), Charsets.UTF_8).read();
+        return Resources.toString(Tools.class.getResource(path), Charsets.UTF_8);
     }
 
     /** finds a file from the classpath */
@@ -66,6 +66,13 @@ public final class Tools {
         return new File(url.getFile().replace("target/classes", "src/main/java").replace(".class", ".java"));
     }
 
+    /** finds the source resource file with the given name, in the same package as the given class */
+    public static File getResourceFile(Class<?> klass, String name) {
+        URL url = klass.getResource(klass.getSimpleName() + ".class");
+        File dir = new File(url.getFile().replace("target/classes", "src/main/resources")).getParentFile();
+        return new File(dir, name);
+    }
+
     /** finds a template on the classpath */
     public static Template getTemplate(String name) throws IOException {
         if (!name.endsWith(".ftl")) name += ".ftl";
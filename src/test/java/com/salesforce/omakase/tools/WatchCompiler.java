@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches a directory tree and recompiles .css files as they change, using a {@link BatchCompiler}.
+ * <p>
+ * The whole tree is compiled first (skipping files that haven't changed since the last run). After that, file system events are
+ * collected until no more arrive within the debounce interval (editors often write a file in several steps), then only the
+ * changed files are recompiled on a worker pool. Files whose content is the same as when last compiled are skipped. The time
+ * from the first event of each change to the output being written is printed.
+ * <p>
+ * Omakase doesn't inline {@code @import}s, so the output of each file only depends on that file's content, and a change never
+ * requires recompiling other files.
+ * <p>
+ * Run the main method or use 'script/omakase.sh --watch input-dir output-dir [preset] [mode]'.
+ *
+ * @author nmcwilliams
+ */
+public final class WatchCompiler implements AutoCloseable {
+    /** default milliseconds to wait for more events before compiling */
+    public static final int DEFAULT_DEBOUNCE = 5;
+
+    private final BatchCompiler compiler;
+    private final long debounce;
+    private final WatchService watcher;
+    private final ExecutorService workers;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * Creates a new {@link WatchCompiler}.
+     *
+     * @param compiler
+     *     Compiles the files. Its input directory is watched.
+     * @param debounce
+     *     Milliseconds to wait for more events before compiling.
+     *
+     * @throws IOException
+     *     If the watch service can't be created.
+     */
+    public WatchCompiler(BatchCompiler compiler, long debounce) throws IOException {
+        this.compiler = compiler;
+        this.debounce = debounce;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        this.workers = Executors.newFixedThreadPool(compiler.threads());
+    }
+
+    /**
+     * Compiles and then watches a directory, until interrupted.
+     *
+     * @param args
+     *     The input directory, the output directory and optionally the preset and writer mode names.
+     */
+    public static void main(String[] args) throws Exception {
+        BatchCompiler compiler = BatchCompiler.fromArgs(args);
+        if (compiler == null) return;
+
+        try (WatchCompiler watch = new WatchCompiler(compiler, DEFAULT_DEBOUNCE)) {
+            watch.run();
+        }
+    }
+
+    /**
+     * Compiles all files, then watches for changes until this is closed or the thread is interrupted.
+     *
+     * @throws IOException
+     *     If there is a problem registering the directories or writing the output.
+     * @throws InterruptedException
+     *     If interrupted while compiling.
+     */
+    public void run() throws IOException, InterruptedException {
+        register(compiler.input());
+        compiler.run();
+        System.out.println("\nwatching " + compiler.input() + " for changes...\n");
+
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                long start = System.nanoTime();
+
+                // keep collecting events until it has been quiet for the debounce interval
+                Set<Path> changed = new LinkedHashSet<>();
+                Set<Path> deleted = new LinkedHashSet<>();
+                boolean rescan = false;
+                while (key != null) {
+                    rescan |= collect(key, changed, deleted);
+                    key = watcher.poll(debounce, TimeUnit.MILLISECONDS);
+                }
+
+                if (rescan) {
+                    try (Stream<Path> stream = Files.walk(compiler.input())) {
+                        stream.filter(BatchCompiler::isCss).forEach(changed::add);
+                    }
+                }
+
+                compile(changed, deleted, start);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed, so stop watching
+        }
+    }
+
+    /** adds the paths from the events of the key, returning true if events were lost and everything should be checked */
+    private boolean collect(WatchKey key, Set<Path> changed, Set<Path> deleted) throws IOException {
+        Path directory = directories.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+
+            Path path = directory.resolve((Path)event.context());
+            if (event.kind() == ENTRY_DELETE) {
+                changed.remove(path);
+                if (path.toString().endsWith(".css")) deleted.add(path);
+            } else if (Files.isDirectory(path)) {
+                if (event.kind() == ENTRY_CREATE) {
+                    // files can be created in a new directory before it's registered, so check for them now
+                    register(path);
+                    try (Stream<Path> stream = Files.walk(path)) {
+                        stream.filter(BatchCompiler::isCss).forEach(changed::add);
+                    }
+                }
+            } else if (BatchCompiler.isCss(path)) {
+                deleted.remove(path);
+                changed.add(path);
+            }
+        }
+
+        if (!key.reset()) directories.remove(key);
+        return overflow;
+    }
+
+    /** compiles the changed files in parallel and deletes the output of deleted files */
+    private void compile(Set<Path> changed, Set<Path> deleted, long start) throws IOException, InterruptedException {
+        if (changed.isEmpty() && deleted.isEmpty()) return;
+
+        List<Future<Boolean>> results = new ArrayList<>(changed.size());
+        for (Path file : changed) {
+            results.add(workers.submit(() -> compiler.compile(file)));
+        }
+
+        for (Path file : deleted) {
+            compiler.delete(file);
+        }
+
+        int failed = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (!result.get()) failed++;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        compiler.writeHashes();
+
+        double millis = (System.nanoTime() - start) / 1_000_000d;
+        BatchCompiler.print(String.format("%d changed, %d deleted, %d failed: %.1fms from change to output\n",
+            changed.size(), deleted.size(), failed, millis));
+    }
+
+    /** registers the directory and all of its subdirectories with the watch service */
+    private void register(Path root) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>)stream.filter(Files::isDirectory)::iterator) {
+                directories.put(directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * A thin client for the {@link CompileDaemon}.
+ * <p>
+ * A client holds a single connection, and can send any number of requests over it. Clients are not thread-safe; use one client
+ * per thread to compile in parallel.
+ * <p>
+ * Run the main method or use 'script/omakase.sh --remote [port] files...'.
+ *
+ * @author nmcwilliams
+ */
+public final class CompileClient implements Closeable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    private CompileClient(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.writeInt(Protocol.MAGIC);
+        out.writeInt(Protocol.VERSION);
+    }
+
+    /**
+     * Connects to a daemon on the local machine.
+     *
+     * @param port
+     *     The port of the daemon.
+     *
+     * @return The connected client.
+     *
+     * @throws IOException
+     *     If unable to connect.
+     */
+    public static CompileClient connect(int port) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        return new CompileClient(socket);
+    }
+
+    /**
+     * Compiles the given file with the default settings, printing out the result.
+     *
+     * @param args
+     *     The port of the daemon, followed by the files to compile.
+     */
+    public static void main(String[] args) throws IOException {
+        try (CompileClient client = connect(Integer.parseInt(args[0]))) {
+            for (int i = 1; i < args.length; i++) {
+                File file = new File(args[i]);
+                String source = Files.asCharSource(file, Charsets.UTF_8).read();
+                CompileResult result = client.compile(CompileRequest.of(source).name(file.getName()));
+                (result.successful() ? System.out : System.err).println(result.output());
+            }
+        }
+    }
+
+    /**
+     * Sends the request to the daemon and waits for the result.
+     *
+     * @param request
+     *     The request.
+     *
+     * @return The result.
+     *
+     * @throws IOException
+     *     If there is a problem communicating with the daemon.
+     */
+    public CompileResult compile(CompileRequest request) throws IOException {
+        request.write(out);
+        out.flush();
+        return CompileResult.read(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
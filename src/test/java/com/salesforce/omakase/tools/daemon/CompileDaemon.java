@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.common.base.Splitter;
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.data.Browser;
+import com.salesforce.omakase.error.DefaultErrorManager;
+import com.salesforce.omakase.error.ProblemSummaryException;
+import com.salesforce.omakase.plugin.conditionals.Conditionals;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+import com.salesforce.omakase.tools.Tools;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * A long-lived compile server, so that build tools don't have to start a new JVM (and wait for the JIT to warm up again) for
+ * every stylesheet.
+ * <p>
+ * The daemon listens on a loopback port. Each connection is handled on its own thread, while the compiles themselves are run on
+ * a fixed size worker pool. Use {@link CompileClient} to connect. See {@link Protocol} for the wire format.
+ * <p>
+ * Run the main method or use 'script/omakase.sh --daemon [port]'.
+ *
+ * @author nmcwilliams
+ */
+public final class CompileDaemon implements Closeable {
+    /** the default port */
+    public static final int DEFAULT_PORT = 4774;
+
+    private static final int WARM_UP_ITERATIONS = 100;
+
+    private final ServerSocket server;
+    private final ExecutorService connections = Executors.newCachedThreadPool(daemonThreads("omakase-connection"));
+    private final ExecutorService workers;
+
+    private CompileDaemon(ServerSocket server, int threads) {
+        this.server = server;
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("omakase-worker"));
+    }
+
+    /**
+     * Starts a new daemon.
+     *
+     * @param port
+     *     Listen on this port. Use 0 for any free port.
+     * @param threads
+     *     Number of worker threads.
+     *
+     * @return The running daemon.
+     *
+     * @throws IOException
+     *     If the port can't be bound.
+     */
+    public static CompileDaemon start(int port, int threads) throws IOException {
+        CompileDaemon daemon = new CompileDaemon(new ServerSocket(port, 50, InetAddress.getLoopbackAddress()), threads);
+        Thread acceptor = new Thread(daemon::accept, "omakase-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return daemon;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        CompileDaemon daemon = start(port, Runtime.getRuntime().availableProcessors());
+
+        System.out.println("warming up...");
+        daemon.warmUp();
+
+        System.out.println("omakase daemon listening on port " + daemon.port() + " (ctrl+c to exit)");
+        Thread.currentThread().join();
+    }
+
+    /** the port the daemon is listening on */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Compiles the heavy perf test stylesheet a number of times on the worker pool, so that the first requests don't pay for
+     * interpreting and JIT compiling the parser.
+     *
+     * @throws InterruptedException
+     *     If interrupted while waiting for the warm up to finish.
+     */
+    public void warmUp() throws InterruptedException {
+        String source;
+        try {
+            source = Tools.readFile("/perftest/heavy.css");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        CompileRequest request = CompileRequest.of(source).preset(Preset.PREFIX);
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            try {
+                workers.submit(() -> compile(request)).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        connections.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Compiles the stylesheet in the given request, on the current thread. Any error, including an unexpected exception (e.g., an
+     * unknown browser target), results in an unsuccessful result instead of being thrown.
+     *
+     * @param request
+     *     The request.
+     *
+     * @return The result.
+     */
+    public static CompileResult compile(CompileRequest request) {
+        long start = System.nanoTime();
+        try {
+            return compile(request, start);
+        } catch (RuntimeException e) {
+            return new CompileResult(false, String.valueOf(e), System.nanoTime() - start);
+        }
+    }
+
+    private static CompileResult compile(CompileRequest request, long start) {
+        StyleWriter writer = new StyleWriter(request.mode());
+        Omakase.Request omakase = Omakase.source(request.source())
+            .use(writer)
+            .use(new DefaultErrorManager(request.name()).rethrow(false));
+
+        request.preset().apply(omakase, request.browsers().isEmpty() ? null : prefixer(request.browsers()));
+
+        if (request.conditions() != null) {
+            omakase.use(new Conditionals(request.conditions()));
+        }
+
+        try {
+            omakase.process();
+            return new CompileResult(true, writer.write(), System.nanoTime() - start);
+        } catch (ProblemSummaryException e) {
+            return new CompileResult(false, e.getMessage(), System.nanoTime() - start);
+        }
+    }
+
+    /** creates a prefixer supporting the given browser targets */
+    private static Prefixer prefixer(List<String> browsers) {
+        Prefixer prefixer = Prefixer.customBrowserSupport();
+        for (String target : browsers) {
+            List<String> parts = Splitter.on(':').trimResults().limit(2).splitToList(target);
+            Browser browser = Browser.valueOf(parts.get(0).toUpperCase(Locale.ROOT));
+            String version = parts.size() > 1 ? parts.get(1) : "latest";
+
+            if (version.equals("latest")) {
+                prefixer.support().latest(browser);
+            } else if (version.equals("all")) {
+                prefixer.support().all(browser);
+            } else if (version.startsWith("last-")) {
+                prefixer.support().last(browser, Integer.parseInt(version.substring(5)));
+            } else {
+                prefixer.support().browser(browser, Double.parseDouble(version));
+            }
+        }
+        return prefixer;
+    }
+
+    /** accepts connections until closed */
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) e.printStackTrace();
+            }
+        }
+    }
+
+    /** reads requests from the connection, compiles them on the worker pool and writes back each result */
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+
+            if (in.readInt() != Protocol.MAGIC || in.readInt() != Protocol.VERSION) return;
+
+            while (true) {
+                CompileRequest request;
+                try {
+                    request = CompileRequest.read(in);
+                } catch (EOFException e) {
+                    return; // client is done
+                } catch (Protocol.ProtocolException e) {
+                    // the rest of the request can't be read reliably, so report the error and end the connection
+                    new CompileResult(false, e.getMessage(), 0).write(out);
+                    out.flush();
+                    return;
+                }
+
+                CompileResult result;
+                try {
+                    result = workers.submit(() -> compile(request)).get();
+                } catch (ExecutionException e) {
+                    result = new CompileResult(false, String.valueOf(e.getCause()), 0);
+                }
+
+                result.write(out);
+                out.flush();
+            }
+        } catch (SocketException | EOFException e) {
+            // client went away
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.salesforce.omakase.util.As;
+import com.salesforce.omakase.writer.WriterMode;
+
+/**
+ * A request to compile a stylesheet, sent to the {@link CompileDaemon}.
+ * <p>
+ * Example:
+ * <pre><code>
+ * CompileRequest.of(source).preset(Preset.PREFIX).mode(WriterMode.VERBOSE).browsers("chrome:last-2", "firefox:latest");
+ * </code></pre>
+ * <p>
+ * Browser targets take the form {@code <browser>:<version>}, where the version is a number, {@code latest}, {@code all} or {@code
+ * last-<n>}. Just the browser name means the latest version. Giving any browser targets enables prefixing for exactly those
+ * browsers, regardless of the preset.
+ *
+ * @author nmcwilliams
+ */
+public final class CompileRequest {
+    private final String source;
+    private String name = "";
+    private Preset preset = Preset.STANDARD;
+    private WriterMode mode = WriterMode.COMPRESSED;
+    private Set<String> conditions;
+    private List<String> browsers = ImmutableList.of();
+
+    private CompileRequest(String source) {
+        this.source = checkNotNull(source, "source cannot be null");
+    }
+
+    /**
+     * Creates a new request to compile the given source.
+     *
+     * @param source
+     *     The CSS source.
+     *
+     * @return The new request.
+     */
+    public static CompileRequest of(String source) {
+        return new CompileRequest(source);
+    }
+
+    /**
+     * Sets the name of the source, used in error messages.
+     *
+     * @param name
+     *     The source name.
+     *
+     * @return this, for chaining.
+     */
+    public CompileRequest name(String name) {
+        this.name = checkNotNull(name, "name cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the plugins to use. The default is {@link Preset#STANDARD}.
+     *
+     * @param preset
+     *     The plugin preset.
+     *
+     * @return this, for chaining.
+     */
+    public CompileRequest preset(Preset preset) {
+        this.preset = checkNotNull(preset, "preset cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the output mode. The default is {@link WriterMode#COMPRESSED}.
+     *
+     * @param mode
+     *     The output mode.
+     *
+     * @return this, for chaining.
+     */
+    public CompileRequest mode(WriterMode mode) {
+        this.mode = checkNotNull(mode, "mode cannot be null");
+        return this;
+    }
+
+    /**
+     * Enables conditionals with the given true conditions. By default conditionals are not processed.
+     *
+     * @param conditions
+     *     The true conditions.
+     *
+     * @return this, for chaining.
+     */
+    public CompileRequest conditions(String... conditions) {
+        this.conditions = ImmutableSet.copyOf(conditions);
+        return this;
+    }
+
+    /**
+     * Enables prefixing for the given browser targets. See the class docs for the format.
+     *
+     * @param browsers
+     *     The browser targets.
+     *
+     * @return this, for chaining.
+     */
+    public CompileRequest browsers(String... browsers) {
+        this.browsers = ImmutableList.copyOf(browsers);
+        return this;
+    }
+
+    /** the CSS source */
+    public String source() {
+        return source;
+    }
+
+    /** the name of the source */
+    public String name() {
+        return name;
+    }
+
+    /** the plugin preset */
+    public Preset preset() {
+        return preset;
+    }
+
+    /** the output mode */
+    public WriterMode mode() {
+        return mode;
+    }
+
+    /** the true conditions, or null if conditionals are not enabled */
+    public Set<String> conditions() {
+        return conditions;
+    }
+
+    /** the browser targets for prefixing */
+    public List<String> browsers() {
+        return browsers;
+    }
+
+    void write(DataOutput out) throws IOException {
+        Protocol.writeString(out, source);
+        out.writeUTF(name);
+        out.writeByte(preset.ordinal());
+        out.writeByte(mode.ordinal());
+
+        out.writeInt(conditions == null ? -1 : conditions.size());
+        if (conditions != null) {
+            for (String condition : conditions) {
+                out.writeUTF(condition);
+            }
+        }
+
+        out.writeInt(browsers.size());
+        for (String browser : browsers) {
+            out.writeUTF(browser);
+        }
+    }
+
+    static CompileRequest read(DataInput in) throws IOException {
+        CompileRequest request = new CompileRequest(Protocol.readString(in));
+        request.name = in.readUTF();
+        request.preset = Protocol.readEnum(in, Preset.class);
+        request.mode = Protocol.readEnum(in, WriterMode.class);
+
+        int conditions = Protocol.readListSize(in, true);
+        if (conditions >= 0) {
+            request.conditions = new LinkedHashSet<>();
+            for (int i = 0; i < conditions; i++) {
+                request.conditions.add(in.readUTF());
+            }
+        }
+
+        int browsers = Protocol.readListSize(in, false);
+        request.browsers = new ArrayList<>(browsers);
+        for (int i = 0; i < browsers; i++) {
+            request.browsers.add(in.readUTF());
+        }
+
+        return request;
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this)
+            .add("name", name)
+            .add("preset", preset)
+            .add("mode", mode)
+            .add("conditions", conditions)
+            .add("browsers", browsers)
+            .toString();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.salesforce.omakase.util.As;
+
+/**
+ * The result of a {@link CompileRequest}, sent back by the {@link CompileDaemon}.
+ *
+ * @author nmcwilliams
+ */
+public final class CompileResult {
+    private final boolean successful;
+    private final String output;
+    private final long nanos;
+
+    CompileResult(boolean successful, String output, long nanos) {
+        this.successful = successful;
+        this.output = output;
+        this.nanos = nanos;
+    }
+
+    /** whether the compile was successful */
+    public boolean successful() {
+        return successful;
+    }
+
+    /** the compiled CSS if successful, otherwise the error messages */
+    public String output() {
+        return output;
+    }
+
+    /** how long the compile took in the daemon, in nanoseconds */
+    public long nanos() {
+        return nanos;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeBoolean(successful);
+        out.writeLong(nanos);
+        Protocol.writeString(out, output);
+    }
+
+    static CompileResult read(DataInput in) throws IOException {
+        boolean successful = in.readBoolean();
+        long nanos = in.readLong();
+        return new CompileResult(successful, Protocol.readString(in), nanos);
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this)
+            .add("successful", successful)
+            .add("nanos", nanos)
+            .toString();
+    }
+}
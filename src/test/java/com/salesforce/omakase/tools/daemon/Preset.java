@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.StandardValidation;
+import com.salesforce.omakase.plugin.prefixer.PrefixCleaner;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+
+/**
+ * Sets of plugins that can be requested from the {@link CompileDaemon}.
+ *
+ * @author nmcwilliams
+ */
+public enum Preset {
+    /** no plugins, only the writer */
+    PLAIN {
+        @Override
+        void apply(Omakase.Request request, Prefixer prefixer) {
+            if (prefixer != null) request.use(prefixer);
+        }
+    },
+
+    /** auto refinement of everything and standard validation */
+    STANDARD {
+        @Override
+        void apply(Omakase.Request request, Prefixer prefixer) {
+            request.use(AutoRefine.everything()).use(new StandardValidation());
+            if (prefixer != null) request.use(prefixer);
+        }
+    },
+
+    /** same as {@link #STANDARD}, plus prefixing (for the default browsers if none are given) and removal of mismatched units */
+    PREFIX {
+        @Override
+        void apply(Omakase.Request request, Prefixer prefixer) {
+            STANDARD.apply(request, prefixer != null ? prefixer : Prefixer.defaultBrowserSupport());
+            request.use(PrefixCleaner.mismatchedPrefixedUnits()); // must be after the prefixer
+        }
+    };
+
+    /**
+     * Registers the plugins in this preset.
+     *
+     * @param request
+     *     Register the plugins with this request.
+     * @param prefixer
+     *     The prefixer for the requested browser targets, or null if none were requested.
+     */
+    abstract void apply(Omakase.Request request, Prefixer prefixer);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.daemon;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for the {@link CompileDaemon} wire protocol.
+ * <p>
+ * A client opens a connection and sends any number of {@link CompileRequest}s, each followed by reading the {@link CompileResult}.
+ * The connection is closed by the client when done. Strings are sent as an int byte length followed by the UTF-8 bytes, since
+ * stylesheets can easily exceed the 64k limit of {@link DataOutput#writeUTF(String)}.
+ * <p>
+ * Everything read from a connection is checked against the limits here before anything is allocated for it. A request that
+ * fails the checks can't be read any further, so the daemon responds with a failed {@link CompileResult} and closes the
+ * connection.
+ *
+ * @author nmcwilliams
+ */
+final class Protocol {
+    /** sent by the client at the start of each connection */
+    static final int MAGIC = 0x4F4D4B44;
+
+    /** version of the protocol */
+    static final int VERSION = 1;
+
+    /** maximum number of bytes in a string, i.e., the largest stylesheet or output that can be sent */
+    static final int MAX_STRING_BYTES = 64 << 20;
+
+    /** maximum number of items in a list, e.g., conditions or browser targets */
+    static final int MAX_LIST_SIZE = 1024;
+
+    private Protocol() {}
+
+    static void writeString(DataOutput out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new ProtocolException("string of " + bytes.length + " bytes exceeds the limit of " + MAX_STRING_BYTES);
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[check(in.readInt(), 0, MAX_STRING_BYTES, "string length")];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** reads the size of a list, where -1 is allowed to indicate an absent list */
+    static int readListSize(DataInput in, boolean optional) throws IOException {
+        return check(in.readInt(), optional ? -1 : 0, MAX_LIST_SIZE, "list size");
+    }
+
+    /** reads an enum constant written as an unsigned byte ordinal */
+    static <E extends Enum<E>> E readEnum(DataInput in, Class<E> klass) throws IOException {
+        E[] constants = klass.getEnumConstants();
+        return constants[check(in.readUnsignedByte(), 0, constants.length - 1, klass.getSimpleName())];
+    }
+
+    private static int check(int value, int min, int max, String description) throws ProtocolException {
+        if (value < min || value > max) {
+            throw new ProtocolException("invalid " + description + ": " + value + " (expected " + min + " to " + max + ")");
+        }
+        return value;
+    }
+
+    /** thrown when something read from (or about to be written to) a connection doesn't fit the protocol */
+    static final class ProtocolException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ProtocolException(String message) {
+            super(message);
+        }
+    }
+}
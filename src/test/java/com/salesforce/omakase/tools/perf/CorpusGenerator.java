@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.perf;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic stylesheets of any size for performance testing, shaped like a large design system bundle.
+ * <p>
+ * The output is deterministic for a given seed and configuration, so runs can be compared. The shape is configurable: the
+ * selector complexity, the number of declarations per rule, how deeply {@code @media} and {@code @if} blocks are nested, how many
+ * declarations and selectors are handled by {@link com.salesforce.omakase.plugin.prefixer.Prefixer#defaultBrowserSupport()}, and
+ * how many comments there are.
+ * <p>
+ * The output is valid CSS (with {@link com.salesforce.omakase.plugin.conditionals.Conditionals} for the {@code @if} blocks) and
+ * only contains ASCII characters, so its length is also its size in bytes.
+ *
+ * @author nmcwilliams
+ */
+public final class CorpusGenerator {
+    private static final String[] BLOCKS = {"button", "card", "modal", "tabs", "nav", "table", "form", "badge", "pill", "menu",
+        "tooltip", "avatar", "grid", "media", "panel", "popover", "toast", "tree", "input", "select"};
+    private static final String[] ELEMENTS = {"header", "body", "footer", "title", "icon", "label", "item", "link", "content",
+        "container"};
+    private static final String[] MODIFIERS = {"small", "large", "neutral", "brand", "inverse", "selected", "active",
+        "disabled", "stretch", "bare"};
+    private static final String[] TYPES = {"div", "span", "a", "ul", "li", "button", "input", "p", "h2", "svg"};
+    private static final String[] PSEUDO_CLASSES = {":hover", ":focus", ":active", ":first-child", ":last-child", ":disabled",
+        ":not(:last-child)", ":nth-child(2n+1)"};
+    private static final String[] PSEUDO_ELEMENTS = {"::before", "::after"};
+    private static final String[] PREFIXED_PSEUDO_ELEMENTS = {"::placeholder", "::selection"};
+    private static final String[] ATTRIBUTES = {"[disabled]", "[type=\"text\"]", "[aria-selected=\"true\"]", "[dir=rtl]"};
+    private static final String[] COMBINATORS = {" ", " > ", " + ", " ~ "};
+
+    private static final String[] DECLARATIONS = {
+        "color: #%06x", "background-color: rgba(%d, %d, %d, 0.5)", "margin: 0 auto", "margin-top: %dpx",
+        "padding: %dpx %dpx", "font-size: %.3frem", "font-weight: 700", "line-height: 1.5", "display: block",
+        "display: inline-flex", "width: %d%%", "max-width: %dpx", "border: 1px solid #%06x", "border-radius: %dpx",
+        "position: relative", "z-index: %d", "text-align: center", "opacity: 0.%d", "overflow: hidden",
+        "background: url(/assets/images/icon-%d.svg) no-repeat center", "font-family: \"Salesforce Sans\", Arial, sans-serif",
+        "transition: opacity 0.%ds ease-in-out", "transform: translate(%dpx, -50%%)",
+        "box-shadow: 0 2px %dpx rgba(0, 0, 0, 0.16)", "cursor: pointer", "white-space: nowrap", "flex: 1 1 auto",
+        "align-items: center"};
+    private static final String[] PREFIXABLE = {"user-select: none", "appearance: none", "hyphens: auto",
+        "backface-visibility: hidden", "tab-size: 4"};
+    private static final String[] MEDIA = {"(min-width: %dem)", "screen and (max-width: %dpx)", "print",
+        "screen and (min-width: %dpx) and (orientation: landscape)"};
+    private static final String[] CONDITIONS = {"ie11", "webkit", "!ie11", "mobile || tablet"};
+    private static final String[] WORDS = {"layout", "spacing", "override", "theme", "todo", "legacy", "variant", "hack",
+        "density", "token", "see", "the", "design", "system", "guidelines", "for", "this", "component"};
+
+    private long seed = 1;
+    private int selectorComplexity = 3;
+    private int declarationsPerRule = 6;
+    private int nestingDepth = 2;
+    private double blockRatio = 0.1;
+    private double prefixableDensity = 0.1;
+    private double commentRatio = 0.1;
+
+    private Random random;
+
+    /**
+     * Generates a stylesheet.
+     *
+     * @param args
+     *     The size in bytes (with an optional kb or mb suffix), optionally the seed, and optionally a file to write to (otherwise
+     *     the stylesheet is printed).
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("usage: <size, e.g. 500kb> [seed] [output file]");
+            return;
+        }
+
+        CorpusGenerator generator = new CorpusGenerator();
+        if (args.length > 1) generator.seed(Long.parseLong(args[1]));
+        String css = generator.generate(parseSize(args[0]));
+
+        if (args.length > 2) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                writer.write(css);
+            }
+        } else {
+            System.out.println(css);
+        }
+    }
+
+    /**
+     * Specifies the seed for the random choices (default 1).
+     *
+     * @param seed
+     *     The seed.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of compound selectors in each selector, and of simple selectors in each compound selector
+     * (default 3).
+     *
+     * @param selectorComplexity
+     *     The maximum selector complexity.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator selectorComplexity(int selectorComplexity) {
+        checkArgument(selectorComplexity > 0, "selectorComplexity must be greater than 0");
+        this.selectorComplexity = selectorComplexity;
+        return this;
+    }
+
+    /**
+     * Specifies the average number of declarations in each rule (default 6).
+     *
+     * @param declarationsPerRule
+     *     The average number of declarations.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator declarationsPerRule(int declarationsPerRule) {
+        checkArgument(declarationsPerRule > 0, "declarationsPerRule must be greater than 0");
+        this.declarationsPerRule = declarationsPerRule;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum depth of nested {@code @media} and {@code @if} blocks (default 2). Specify 0 for no blocks.
+     * <p>
+     * Only what is allowed is generated, so the depth doesn't go beyond 2: {@code @if} blocks can't contain other {@code @if}
+     * blocks, and {@code @media} blocks can only contain rules.
+     *
+     * @param nestingDepth
+     *     The maximum nesting depth.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator nestingDepth(int nestingDepth) {
+        checkArgument(nestingDepth >= 0, "nestingDepth must be >= 0");
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    /**
+     * Specifies the chance (0 to 1) of each statement being a {@code @media} or {@code @if} block instead of a rule, at each
+     * level of nesting (default 0.1).
+     *
+     * @param blockRatio
+     *     The chance of a block.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator blockRatio(double blockRatio) {
+        this.blockRatio = checkRatio(blockRatio);
+        return this;
+    }
+
+    /**
+     * Specifies the chance (0 to 1) of each declaration and selector being one that needs prefixing (default 0.1).
+     *
+     * @param prefixableDensity
+     *     The chance of something prefixable.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator prefixableDensity(double prefixableDensity) {
+        this.prefixableDensity = checkRatio(prefixableDensity);
+        return this;
+    }
+
+    /**
+     * Specifies the chance (0 to 1) of each rule and declaration being preceded by a comment (default 0.1).
+     *
+     * @param commentRatio
+     *     The chance of a comment.
+     *
+     * @return this, for chaining.
+     */
+    public CorpusGenerator commentRatio(double commentRatio) {
+        this.commentRatio = checkRatio(commentRatio);
+        return this;
+    }
+
+    /**
+     * Generates a stylesheet of at least the given size. Each call with the same configuration returns the same stylesheet.
+     *
+     * @param size
+     *     Minimum number of characters (the output will exceed this by at most one top-level statement).
+     *
+     * @return The stylesheet.
+     */
+    public String generate(int size) {
+        random = new Random(seed);
+        StringBuilder builder = new StringBuilder(size + 4096);
+        while (builder.length() < size) {
+            statement(builder, 0, false);
+        }
+        return builder.toString();
+    }
+
+    private void statement(StringBuilder builder, int depth, boolean inConditional) {
+        if (depth < nestingDepth && chance(blockRatio)) {
+            block(builder, depth, inConditional);
+        } else {
+            rule(builder, depth);
+        }
+    }
+
+    private void block(StringBuilder builder, int depth, boolean inConditional) {
+        // conditionals can't be nested inside of other conditionals, and media blocks can only contain rules
+        boolean conditional = !inConditional && random.nextBoolean();
+
+        indent(builder, depth);
+        if (conditional) {
+            builder.append("@if (").append(pick(CONDITIONS)).append(")");
+        } else {
+            builder.append("@media ").append(format(pick(MEDIA)));
+        }
+        builder.append(" {\n");
+
+        int statements = 1 + random.nextInt(4);
+        for (int i = 0; i < statements; i++) {
+            if (conditional) {
+                statement(builder, depth + 1, true);
+            } else {
+                rule(builder, depth + 1);
+            }
+        }
+
+        indent(builder, depth);
+        builder.append("}\n\n");
+    }
+
+    private void rule(StringBuilder builder, int depth) {
+        if (chance(commentRatio)) {
+            indent(builder, depth);
+            comment(builder);
+            builder.append('\n');
+        }
+
+        indent(builder, depth);
+        int selectors = chance(0.3) ? 2 + random.nextInt(2) : 1;
+        for (int i = 0; i < selectors; i++) {
+            if (i > 0) {
+                builder.append(",\n");
+                indent(builder, depth);
+            }
+            selector(builder);
+        }
+        builder.append(" {\n");
+
+        // between half and one and a half times the average
+        int declarations = Math.max(1, declarationsPerRule / 2 + random.nextInt(declarationsPerRule + 1));
+        for (int i = 0; i < declarations; i++) {
+            indent(builder, depth + 1);
+            if (chance(commentRatio)) {
+                comment(builder);
+                builder.append(' ');
+            }
+            if (chance(prefixableDensity)) {
+                builder.append(pick(PREFIXABLE));
+            } else {
+                builder.append(format(pick(DECLARATIONS)));
+            }
+            if (chance(0.02)) builder.append(" !important");
+            builder.append(";\n");
+        }
+
+        indent(builder, depth);
+        builder.append("}\n\n");
+    }
+
+    private void selector(StringBuilder builder) {
+        int compounds = 1 + random.nextInt(selectorComplexity);
+        for (int i = 0; i < compounds; i++) {
+            if (i > 0) builder.append(pick(COMBINATORS));
+
+            int simples = 1 + random.nextInt(selectorComplexity);
+            if (chance(0.15)) builder.append(pick(TYPES));
+            for (int j = 0; j < simples; j++) {
+                if (j == 0 || chance(0.5)) {
+                    className(builder);
+                } else if (chance(0.5)) {
+                    builder.append(pick(PSEUDO_CLASSES));
+                } else {
+                    builder.append(pick(ATTRIBUTES));
+                }
+            }
+        }
+
+        // pseudo elements can only be at the end
+        if (chance(prefixableDensity)) {
+            builder.append(pick(PREFIXED_PSEUDO_ELEMENTS));
+        } else if (chance(0.1)) {
+            builder.append(pick(PSEUDO_ELEMENTS));
+        }
+    }
+
+    /** a BEM style class name, e.g. ".slds-button__icon_large" */
+    private void className(StringBuilder builder) {
+        builder.append(".slds-").append(pick(BLOCKS));
+        if (chance(0.5)) builder.append("__").append(pick(ELEMENTS));
+        if (chance(0.3)) builder.append('_').append(pick(MODIFIERS));
+    }
+
+    private void comment(StringBuilder builder) {
+        builder.append("/*");
+        int words = 2 + random.nextInt(10);
+        for (int i = 0; i < words; i++) {
+            builder.append(' ').append(pick(WORDS));
+        }
+        builder.append(" */");
+    }
+
+    /** fills in any numbers in the template */
+    private String format(String template) {
+        if (template.indexOf('%') == -1) return template;
+        if (template.contains("%06x")) return String.format(template, random.nextInt(0x1000000));
+        if (template.contains("%.3f")) return String.format(Locale.ROOT, template, 0.75 + random.nextInt(8) * 0.125);
+        return String.format(template, 1 + random.nextInt(99), 1 + random.nextInt(99), 1 + random.nextInt(99));
+    }
+
+    private String pick(String[] options) {
+        return options[random.nextInt(options.length)];
+    }
+
+    private boolean chance(double ratio) {
+        return random.nextDouble() < ratio;
+    }
+
+    private void indent(StringBuilder builder, int depth) {
+        for (int i = 0; i < depth; i++) {
+            builder.append("  ");
+        }
+    }
+
+    private static double checkRatio(double ratio) {
+        checkArgument(ratio >= 0 && ratio <= 1, "ratio must be between 0 and 1");
+        return ratio;
+    }
+
+    /**
+     * Parses a size such as "500", "10kb" or "100mb".
+     *
+     * @param size
+     *     The size, optionally with a kb or mb suffix.
+     *
+     * @return The number of bytes.
+     */
+    static int parseSize(String size) {
+        String lower = size.trim().toLowerCase(Locale.ROOT);
+        if (lower.endsWith("mb")) return Integer.parseInt(lower.substring(0, lower.length() - 2)) << 20;
+        if (lower.endsWith("kb")) return Integer.parseInt(lower.substring(0, lower.length() - 2)) << 10;
+        return Integer.parseInt(lower);
+    }
+}
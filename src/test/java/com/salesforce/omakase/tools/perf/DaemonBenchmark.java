@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.salesforce.omakase.tools.Run;
+import com.salesforce.omakase.tools.Tools;
+import com.salesforce.omakase.tools.daemon.CompileClient;
+import com.salesforce.omakase.tools.daemon.CompileDaemon;
+import com.salesforce.omakase.tools.daemon.CompileRequest;
+import com.salesforce.omakase.tools.daemon.CompileResult;
+import com.salesforce.omakase.tools.daemon.Preset;
+
+/**
+ * Compares the throughput of compiling stylesheets by starting a new JVM for each one (as a build tool spawning the CLI would)
+ * against sending them to a warmed up {@link CompileDaemon}.
+ *
+ * @author nmcwilliams
+ */
+public final class DaemonBenchmark {
+    private static final int PROCESS_COMPILES = 10;
+    private static final int DAEMON_COMPILES = 200;
+
+    private DaemonBenchmark() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String sheet = args.length > 0 ? args[0] : "heavy.css";
+        String source = Tools.readFile("/perftest/" + sheet);
+
+        File file = File.createTempFile("omakase-daemon", ".css");
+        file.deleteOnExit();
+        Files.asCharSink(file, Charsets.UTF_8).write(source);
+
+        System.out.printf("\nCompiling %s (standard plugins with prefixing, compressed output):\n\n", sheet);
+
+        // a new process per compile
+        long start = System.nanoTime();
+        for (int i = 0; i < PROCESS_COMPILES; i++) {
+            compileInProcess(file);
+        }
+        report("per-process", PROCESS_COMPILES, System.nanoTime() - start);
+
+        // a warmed up daemon
+        try (CompileDaemon daemon = CompileDaemon.start(0, Runtime.getRuntime().availableProcessors())) {
+            daemon.warmUp();
+
+            try (CompileClient client = CompileClient.connect(daemon.port())) {
+                CompileRequest request = CompileRequest.of(source).name(sheet).preset(Preset.PREFIX);
+                start = System.nanoTime();
+                for (int i = 0; i < DAEMON_COMPILES; i++) {
+                    CompileResult result = client.compile(request);
+                    if (!result.successful()) throw new IllegalStateException(result.output());
+                }
+                report("daemon", DAEMON_COMPILES, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** compiles the file with the CLI in a new JVM */
+    private static void compileInProcess(File file) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Run.class.getName());
+        command.add("-c");
+        command.add(file.getPath());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        ByteStreams.exhaust(process.getInputStream());
+        if (process.waitFor() != 0) throw new IllegalStateException("compile failed: " + command);
+    }
+
+    private static void report(String name, int compiles, long nanos) {
+        double millis = nanos / (double)TimeUnit.MILLISECONDS.toNanos(1);
+        System.out.println(String.format("%-12s %5d compiles in %8.1fms   %8.2fms/compile   %8.1f compiles/sec",
+            name, compiles, millis, millis / compiles, compiles / (millis / 1000)));
+    }
+}
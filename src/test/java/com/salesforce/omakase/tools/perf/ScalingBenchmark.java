@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.perf;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Strings;
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.parser.Source;
+import com.salesforce.omakase.parser.token.Tokens;
+import com.salesforce.omakase.plugin.conditionals.Conditionals;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.StandardValidation;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.plugin.prefixer.PrefixCleaner;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+import com.salesforce.omakase.writer.StyleWriter;
+
+/**
+ * Measures how the time and allocation of each phase of processing scale with the size of the stylesheet, from 10KB up to
+ * 100MB, using stylesheets from the {@link CorpusGenerator}.
+ * <p>
+ * The phases are:
+ * <ul>
+ * <li>parse: the first level of parsing only, into raw selectors and declarations</li>
+ * <li>refine: the additional cost of refining everything, validation, conditionals and prefixing</li>
+ * <li>write: writing the compressed output</li>
+ * </ul>
+ * <p>
+ * For each phase the time and bytes allocated per input byte are printed, followed by a plot of the time per byte at each size.
+ * Each phase should take about the same time per byte at every size, so a line that grows with the size indicates nonlinear
+ * behavior in that phase. The largest sizes need a large heap (e.g., -Xmx8g for 100MB).
+ * <p>
+ * Before measuring, this also checks that the memory used by the structure index of a {@link Source} depends on the number of
+ * braces, parenthesis and brackets rather than the length of the source, and fails if it doesn't.
+ *
+ * @author nmcwilliams
+ */
+public final class ScalingBenchmark {
+    private static final int[] SIZES = {
+        10 << 10, 32 << 10, 100 << 10, 316 << 10, 1 << 20, 3 << 20, 10 << 20, 32 << 20, 100 << 20};
+    private static final String[] PHASES = {"parse", "refine", "write"};
+    private static final int WARMUP = 20;
+    private static final int PLOT_WIDTH = 50;
+
+    /** size of the source used to check the structure index, and the most it may allocate per byte of that source */
+    private static final int INDEX_CHECK_SIZE = 1 << 20;
+    private static final double INDEX_MAX_BYTES_PER_BYTE = 0.1;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    private ScalingBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *     Optionally, the largest size to test (default 100mb), and the seed for the {@link CorpusGenerator}.
+     */
+    public static void main(String[] args) throws IOException {
+        int max = args.length > 0 ? CorpusGenerator.parseSize(args[0]) : SIZES[SIZES.length - 1];
+        CorpusGenerator generator = new CorpusGenerator();
+        if (args.length > 1) generator.seed(Long.parseLong(args[1]));
+
+        checkStructureIndex();
+
+        System.out.println("\nWarming up...");
+        String warmup = generator.generate(SIZES[0] * 10);
+        for (int i = 0; i < WARMUP; i++) {
+            measure(warmup);
+        }
+
+        System.out.printf("\n%8s  %-31s %-31s %-31s\n", "size", "parse", "refine", "write");
+        List<Integer> sizes = new ArrayList<>();
+        List<double[]> nanosPerByte = new ArrayList<>();
+
+        for (int size : SIZES) {
+            if (size > max) break;
+
+            double[] best;
+            try {
+                String css = generator.generate(size);
+                best = measure(css);
+                for (int i = 1; i < runs(size); i++) {
+                    double[] next = measure(css);
+                    for (int p = 0; p < best.length; p++) {
+                        best[p] = Math.min(best[p], next[p]);
+                    }
+                }
+            } catch (OutOfMemoryError e) {
+                System.out.println("\nout of memory at " + label(size) + ", use a larger heap (-Xmx) to test larger sizes");
+                break;
+            }
+
+            StringBuilder row = new StringBuilder(String.format("%8s", label(size)));
+            double[] perByte = new double[PHASES.length];
+            for (int p = 0; p < PHASES.length; p++) {
+                double nanos = best[p * 2];
+                double allocated = best[p * 2 + 1];
+                perByte[p] = nanos / size;
+                row.append(String.format("  %9.1fms %7.1fMB/s %6.1fB/B", nanos / 1_000_000d, (size / 1_048_576d) / (nanos / 1e9),
+                    allocated / size));
+            }
+            System.out.println(row);
+
+            sizes.add(size);
+            nanosPerByte.add(perByte);
+        }
+
+        plot(sizes, nanosPerByte);
+    }
+
+    /**
+     * Processes the stylesheet, returning the time and bytes allocated of each phase (in the order of {@link #PHASES}, time
+     * followed by allocation for each).
+     */
+    private static double[] measure(String css) throws IOException {
+        System.gc();
+        long allocated = allocated();
+        long start = System.nanoTime();
+        Omakase.source(css).use(new SyntaxTree()).process();
+        long parseNanos = System.nanoTime() - start;
+        long parseAllocated = allocated() - allocated;
+
+        System.gc();
+        StyleWriter writer = StyleWriter.compressed();
+        allocated = allocated();
+        start = System.nanoTime();
+        Omakase.source(css)
+            .use(AutoRefine.everything())
+            .use(new Conditionals(true))
+            .use(new StandardValidation())
+            .use(Prefixer.defaultBrowserSupport())
+            .use(PrefixCleaner.mismatchedPrefixedUnits())
+            .use(writer)
+            .process();
+        long refineNanos = System.nanoTime() - start - parseNanos;
+        long refineAllocated = allocated() - allocated - parseAllocated;
+
+        StringBuilder output = new StringBuilder(css.length());
+        allocated = allocated();
+        start = System.nanoTime();
+        writer.writeTo(output);
+        long writeNanos = System.nanoTime() - start;
+        long writeAllocated = allocated() - allocated;
+
+        return new double[]{parseNanos, parseAllocated, refineNanos, refineAllocated, writeNanos, writeAllocated};
+    }
+
+    /**
+     * Skips over a large block with little structure, which builds the structure index of the source, and fails if building the
+     * index allocates memory in proportion to the length of the source instead of the number of enclosing characters.
+     */
+    private static void checkStructureIndex() {
+        String css = "{" + Strings.repeat("a:b c;", INDEX_CHECK_SIZE / 6) + "}";
+        for (int i = 0; i < WARMUP; i++) {
+            new Source(css).skipEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+        }
+
+        Source source = new Source(css);
+        long allocated = allocated();
+        source.skipEnclosedValue(Tokens.OPEN_BRACE, Tokens.CLOSE_BRACE);
+        double perByte = (allocated() - allocated) / (double)css.length();
+
+        System.out.printf("\nstructure index: %.2fB/B\n", perByte);
+        if (perByte > INDEX_MAX_BYTES_PER_BYTE) {
+            throw new IllegalStateException(String.format(
+                "the structure index allocated %.2f bytes per byte of source, expected at most %.2f",
+                perByte, INDEX_MAX_BYTES_PER_BYTE));
+        }
+    }
+
+    /** prints the time per byte of each phase at each size, relative to the slowest */
+    private static void plot(List<Integer> sizes, List<double[]> nanosPerByte) {
+        for (int p = 0; p < PHASES.length; p++) {
+            double slowest = 0;
+            for (double[] perByte : nanosPerByte) {
+                slowest = Math.max(slowest, perByte[p]);
+            }
+
+            System.out.printf("\n%s (ns per byte):\n", PHASES[p]);
+            for (int i = 0; i < sizes.size(); i++) {
+                double value = nanosPerByte.get(i)[p];
+                int width = (int)Math.round(value / slowest * PLOT_WIDTH);
+                System.out.printf("%8s %7.1f %s\n", label(sizes.get(i)), value, Strings.repeat("#", width));
+            }
+        }
+    }
+
+    /** more runs for the smaller sizes, where the timings vary more */
+    private static int runs(int size) {
+        return Math.max(1, Math.min(20, (8 << 20) / size));
+    }
+
+    private static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static String label(int size) {
+        return size >= 1 << 20 ? (size >> 20) + "MB" : (size >> 10) + "KB";
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.salesforce.omakase.tools.Run;
+import com.salesforce.omakase.tools.Tools;
+
+/**
+ * Measures the startup time of a CLI compile, with and without an AppCDS archive created by 'script/appcds.sh' (see {@link
+ * com.salesforce.omakase.tools.StartupTraining}).
+ * <p>
+ * Each run starts a new JVM that compiles a small stylesheet through {@link Run}, and measures the time from starting the process
+ * until the first output is received. Both variants use the same classpath (the jars created along with the archive), so that
+ * the only difference is the archive itself.
+ *
+ * @author nmcwilliams
+ */
+public final class StartupBenchmark {
+    private static final String DEFAULT_DIR = "target/appcds";
+    private static final int RUNS = 10;
+
+    private StartupBenchmark() {}
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *     Optionally, the directory containing the archive and jars created by 'script/appcds.sh' (defaults to target/appcds).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        run(args.length > 0 ? args[0] : DEFAULT_DIR);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param dir
+     *     The directory containing the archive and jars created by 'script/appcds.sh'.
+     */
+    public static void run(String dir) throws IOException, InterruptedException {
+        File sheet = File.createTempFile("omakase-startup", ".css");
+        sheet.deleteOnExit();
+        Files.asCharSink(sheet, Charsets.UTF_8).write(Tools.readFile("/perftest/light.css"));
+        File archive = new File(dir, "omakase.jsa");
+
+        System.out.println("\nMeasuring time to first output of a CLI compile (" + RUNS + " runs each):\n");
+
+        if (!archive.isFile()) {
+            report("default", time(ImmutableList.of(), System.getProperty("java.class.path"), sheet));
+            System.out.println("\nno archive found at " + archive.getPath() + ", run script/appcds.sh to create one");
+            return;
+        }
+
+        // must match the classpath used to create the archive
+        String classpath = Joiner.on(File.pathSeparator).join(
+            "target" + File.separator + "dependency" + File.separator + "*",
+            new File(dir, "omakase.jar").getPath(),
+            new File(dir, "omakase-tools.jar").getPath());
+
+        report("default", time(ImmutableList.of(), classpath, sheet));
+        report("appcds", time(ImmutableList.of("-XX:SharedArchiveFile=" + archive.getPath()), classpath, sheet));
+    }
+
+    /** starts a JVM to compile the sheet RUNS times, returning the time until first output of each */
+    private static List<Long> time(List<String> jvmArgs, String classpath, File sheet) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(Run.class.getName());
+        command.add("-c");
+        command.add(sheet.getPath());
+
+        List<Long> times = new ArrayList<>(RUNS);
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+            try (InputStream in = process.getInputStream()) {
+                if (in.read() == -1) throw new IllegalStateException("no output received from " + command);
+                times.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                ByteStreams.exhaust(in);
+            }
+
+            if (process.waitFor() != 0) throw new IllegalStateException("compile failed: " + command);
+        }
+        return times;
+    }
+
+    private static void report(String name, List<Long> times) {
+        List<Long> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        long median = sorted.get(sorted.size() / 2);
+        System.out.println(String.format("%-10s min %-8s median %-8s %s", name, sorted.get(0) + "ms", median + "ms", times));
+    }
+}
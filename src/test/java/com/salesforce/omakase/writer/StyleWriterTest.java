@@ -28,19 +28,32 @@ package com.salesforce.omakase.writer;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.junit.Test;
 
+import com.google.common.io.ByteStreams;
 import com.salesforce.omakase.Omakase;
 import com.salesforce.omakase.ast.AbstractSyntax;
+import com.salesforce.omakase.ast.Rule;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
 import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.ClassSelector;
+import com.salesforce.omakase.ast.selector.IdSelector;
 import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.plugin.core.AutoRefine;
 
 /**
  * Unit tests for {@link StyleWriter}.
@@ -83,6 +96,148 @@ public class StyleWriterTest {
         assertThat(writer.write()).isEqualTo(".test{color:red}");
     }
 
+    @Test
+    public void writeUnitToAppendable() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        StringBuilder builder = new StringBuilder();
+        writer.writeTo(new Selector(new ClassSelector("a"), new ClassSelector("b")), builder);
+        assertThat(builder.toString()).isEqualTo(".a.b");
+    }
+
+    @Test
+    public void writeSingleDuringWrite() {
+        // a separate write in the middle of another shouldn't affect it
+        StyleWriter writer = StyleWriter.compressed();
+        writer.addCustomWriter(ClassSelector.class, (selector, w, appendable) -> {
+            appendable.append(writer.writeSingle(new IdSelector("x")));
+            return false;
+        });
+        Omakase.source(".a.b{color:red;margin:0}").use(writer).use(AutoRefine.everything()).process();
+        assertThat(writer.write()).isEqualTo("#x.a#x.b{color:red;margin:0}");
+    }
+
+    /** a stylesheet with enough statements to be written in parallel, starting with a run of unwritable (empty) rules */
+    private static String largeSource() {
+        StringBuilder builder = new StringBuilder("/*!copyright*/\n");
+        for (int i = 0; i < 300; i++) {
+            builder.append(".empty").append(i).append("{}\n");
+        }
+        for (int i = 0; i < 3000; i++) {
+            builder.append("/* rule ").append(i).append(" */\n");
+            builder.append(".a").append(i).append(" > .b, #c").append(i);
+            builder.append("{color:red; margin: 0 ").append(i).append("px}\n");
+            if (i % 10 == 0) builder.append("@media (min-width: ").append(i).append("px) {.m").append(i).append("{top:0}}\n");
+            if (i % 25 == 0) builder.append("@keyframes k").append(i).append("{from{top:0} to{top:10px}}\n");
+        }
+        return builder.append("/* orphaned */").toString();
+    }
+
+    private static void assertParallelSame(String source, StyleWriter writer) throws IOException {
+        Omakase.source(source).use(writer).use(AutoRefine.everything()).process();
+        String sequential = writer.write();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            writer.parallel(pool);
+            assertThat(writer.write()).isEqualTo(sequential);
+
+            StringBuilder builder = new StringBuilder();
+            writer.writeTo(builder);
+            assertThat(builder.toString()).isEqualTo(sequential);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelSameAsSequential() throws IOException {
+        for (WriterMode mode : WriterMode.values()) {
+            assertParallelSame(largeSource(), new StyleWriter(mode));
+            assertParallelSame(largeSource(), new StyleWriter(mode).writeAllComments(true));
+        }
+    }
+
+    @Test
+    public void parallelSmallStylesheet() throws IOException {
+        assertParallelSame(".a{color:red}\n\n.b{color:blue}", StyleWriter.verbose());
+    }
+
+    @Test
+    public void parallelWithCustomWriters() throws IOException {
+        // the custom writer for rules means writing sequentially, the one for declarations is called from the pool
+        StyleWriter writer = StyleWriter.verbose();
+        writer.addCustomWriter(Declaration.class, (declaration, w, appendable) -> {
+            appendable.append("/*d*/");
+            return false;
+        });
+        writer.addCustomWriter(Rule.class, (rule, w, appendable) -> rule.selectors().first().get().toString().startsWith("#"));
+        assertParallelSame(largeSource(), writer);
+
+        writer = StyleWriter.verbose();
+        writer.addCustomWriter(Declaration.class, (declaration, w, appendable) -> {
+            appendable.append("/*d*/");
+            return false;
+        });
+        assertParallelSame(largeSource(), writer);
+    }
+
+    @Test
+    public void parallelSettings() {
+        StyleWriter writer = StyleWriter.compressed();
+        assertThat(writer.isParallel()).isFalse();
+        assertThat(writer.parallel(true).isParallel()).isTrue();
+        assertThat(writer.parallel(false).isParallel()).isFalse();
+    }
+
+    @Test
+    public void writeToGzip() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        String source = largeSource();
+        Omakase.source(source).use(writer).process();
+        String expected = writer.write();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        EncodedOutput output = writer.writeTo(stream, OutputCodec.GZIP);
+
+        byte[] decoded = ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(stream.toByteArray())));
+        assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(output.rawBytes()).isEqualTo(decoded.length);
+        assertThat(output.encodedBytes()).isEqualTo(stream.size());
+        assertThat(output.ratio()).isLessThan(0.5);
+    }
+
+    @Test
+    public void writeToDeflate() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".a{content:\"\u00e9\"}").use(writer).process();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        EncodedOutput output = writer.writeTo(stream, OutputCodec.deflate(Deflater.BEST_SPEED));
+
+        byte[] decoded = ByteStreams.toByteArray(new InflaterInputStream(new ByteArrayInputStream(stream.toByteArray())));
+        assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo(".a{content:\"\u00e9\"}");
+        assertThat(output.rawBytes()).isEqualTo(16);
+    }
+
+    @Test
+    public void writeToIdentityDoesNotCloseStream() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".a{color:red}").use(writer).process();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        OutputStream unclosable = new FilterOutputStream(stream) {
+            @Override
+            public void close() {
+                throw new AssertionError("closed");
+            }
+        };
+        EncodedOutput output = writer.writeTo(unclosable, OutputCodec.IDENTITY);
+
+        assertThat(stream.toString("UTF-8")).isEqualTo(".a{color:red}");
+        assertThat(output.rawBytes()).isEqualTo(13);
+        assertThat(output.encodedBytes()).isEqualTo(13);
+    }
+
     @Test
     public void writeWithAllComments() {
         StyleWriter writer = StyleWriter.compressed().writeAllComments(true);
@@ -26,17 +26,13 @@
 
 package ${package};
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
+import java.util.Optional;
+
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.KeywordValue;
 import com.salesforce.omakase.ast.declaration.PropertyValue;
-import com.salesforce.omakase.ast.declaration.Term;
 import com.salesforce.omakase.util.Values;
 
-import java.util.Map;
-import java.util.Optional;
-
 /**
  * Enum of all recognized CSS keywords.
  * <p>
@@ -44,7 +40,6 @@ import java.util.Optional;
  * <p>
  * See ${generator} for instructions on updating.
  */
-@SuppressWarnings("SpellCheckingInspection")
 public enum Keyword {
     <#list keywords as keyword>
     /** CSS keyword named '${keyword}' */
@@ -53,15 +48,15 @@ public enum Keyword {
     </#list>
     ;
 
-    /** reverse lookup map */
-    private static final Map<String, Keyword> map;
-    static {
-        Builder<String, Keyword> builder = ImmutableMap.builder();
-        for (Keyword kw : Keyword.values()) {
-            builder.put(kw.toString(), kw);
-        }
-        map = builder.build();
-    }
+    /** perfect hash seeds for {@link #lookup(char[], int, int)}, computed by the generator */
+    private static final int[] SEEDS = {
+        <#list hashSeeds?chunk(16) as row>
+        <#list row as seed>${seed?c}<#sep>, </#sep></#list><#sep>,</#sep>
+        </#list>
+    };
+
+    /** reverse lookup table */
+    private static final PerfectHashTable<Keyword> table = new PerfectHashTable<>(values(), Keyword::toString, SEEDS, ${hashSize?c});
 
     private final String keyword;
 
@@ -71,7 +66,7 @@ public enum Keyword {
 
     /**
      * Gets whether this keyword is the only value of the given {@link Declaration}.
-     * <p/>
+     * <p>
      * Example:
      * <pre>
      * {@code Keyword.NONE.isOnlyValueIn(theDeclaration);}
@@ -89,7 +84,7 @@ public enum Keyword {
     /**
      * Gets whether the given {@link PropertyValue} only consists of one {@link Term} which is a {@link KeywordValue} with this
      * {@link Keyword}.
-     * <p/>
+     * <p>
      * Example:
      * <pre>
      * {@code Keyword.NONE.isOnlyValueIn(thePropertyValue);}
@@ -119,6 +114,36 @@ public enum Keyword {
     * @return The matching {@link Keyword}, or null if not found.
     */
     public static Keyword lookup(String name) {
-        return map.get(name);
+        Keyword keyword = table.get(name, 0, name.length());
+        return keyword != null && keyword.keyword.equals(name) ? keyword : null;
+    }
+
+    /**
+     * Gets the keyword associated with the given name, ignoring case. This does not allocate, so it is suitable for use while
+     * parsing.
+     *
+     * @param chars
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching {@link Keyword}, or null if not found.
+     */
+    public static Keyword lookup(char[] chars, int start, int length) {
+        return table.get(chars, start, length);
+    }
+
+    /**
+     * Gets the keyword associated with the given name, ignoring case. This does not allocate a lower-cased copy of the name.
+     *
+     * @param name
+     *     Name of the keyword.
+     *
+     * @return The matching {@link Keyword}, or null if not found.
+     */
+    public static Keyword lookupIgnoreCase(CharSequence name) {
+        return table.get(name, 0, name.length());
     }
 }
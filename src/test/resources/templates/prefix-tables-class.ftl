@@ -35,6 +35,9 @@ import com.google.common.collect.Table;
  * The *CSS Prefix data* in this file is retrieved from caniuse.com and
  * licensed under CC-BY-4.0 (http://creativecommons.org/licenses/by/4.0).
  * <p>
+ * The same data is also generated into a binary resource, which is what {@link PrefixTablesUtil} reads at runtime (see {@link
+ * PrefixTableData}). This class remains as the readable record of the data.
+ * <p>
  * THIS FILE IS GENERATED. DO NOT EDIT DIRECTLY.
  * <p>
  * See ${generator} for instructions on updating.
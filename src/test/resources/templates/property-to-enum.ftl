@@ -26,11 +26,6 @@
 
 package ${package};
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
-
-import java.util.Map;
-
 /**
  * Enum of all recognized CSS properties. Use {@link #toString()} to get the CSS-output representation.
  * <p>
@@ -46,15 +41,15 @@ public enum Property {
     </#list>
     ;
 
-    /** reverse lookup map */
-    private static final Map<String, Property> map;
-    static {
-        Builder<String, Property> builder = ImmutableMap.builder();
-        for (Property pn : Property.values()) {
-            builder.put(pn.toString(), pn);
-        }
-        map = builder.build();
-    }
+    /** perfect hash seeds for {@link #lookup(char[], int, int)}, computed by the generator */
+    private static final int[] SEEDS = {
+        <#list hashSeeds?chunk(16) as row>
+        <#list row as seed>${seed?c}<#sep>, </#sep></#list><#sep>,</#sep>
+        </#list>
+    };
+
+    /** reverse lookup table */
+    private static final PerfectHashTable<Property> table = new PerfectHashTable<>(values(), Property::toString, SEEDS, ${hashSize?c});
 
     private final String name;
 
@@ -76,6 +71,36 @@ public enum Property {
      * @return The matching {@link Property}, or null if not found.
      */
     public static Property lookup(String name) {
-        return map.get(name);
+        Property property = table.get(name, 0, name.length());
+        return property != null && property.name.equals(name) ? property : null;
+    }
+
+    /**
+     * Gets the property associated with the given name, ignoring case. This does not allocate, so it is suitable for use while
+     * parsing.
+     *
+     * @param chars
+     *     The characters containing the name.
+     * @param start
+     *     Index of the first character of the name.
+     * @param length
+     *     Number of characters in the name.
+     *
+     * @return The matching {@link Property}, or null if not found.
+     */
+    public static Property lookup(char[] chars, int start, int length) {
+        return table.get(chars, start, length);
+    }
+
+    /**
+     * Gets the property associated with the given name, ignoring case. This does not allocate a lower-cased copy of the name.
+     *
+     * @param name
+     *     Name of the property.
+     *
+     * @return The matching {@link Property}, or null if not found.
+     */
+    public static Property lookupIgnoreCase(CharSequence name) {
+        return table.get(name, 0, name.length());
     }
 }